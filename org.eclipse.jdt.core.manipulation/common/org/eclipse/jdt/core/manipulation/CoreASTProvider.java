@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2018 IBM Corporation and others.
+ * Copyright (c) 2018, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -259,13 +259,15 @@ public final class CoreASTProvider {
 	}
 
 	/**
-	 * Creates a new compilation unit AST.
+	 * Creates a new compilation unit AST with the settings of the shared AST. The AST is not
+	 * cached.
 	 *
 	 * @param input the Java element for which to create the AST
 	 * @param progressMonitor the progress monitor
-	 * @return AST
+	 * @return AST or <code>null</code> if the element has no source or the creation was cancelled
+	 * @since 1.21
 	 */
-	private static CompilationUnit createAST(final ITypeRoot input, final IProgressMonitor progressMonitor) {
+	public static CompilationUnit createAST(final ITypeRoot input, final IProgressMonitor progressMonitor) {
 		if (!hasSource(input))
 			return null;
 
@@ -14,7 +14,7 @@
 package org.eclipse.jdt.internal.common;
 
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
+import java.util.Map.Entry;
 import java.util.Set;
 import java.util.function.BiPredicate;
 import java.util.function.Function;
@@ -55,7 +55,15 @@ public class ASTProcessor<E extends HelperVisitorProvider<V, T, E>, V, T> {
 
 	Set<ASTNode> nodesprocessed;
 
-	LinkedList<VisitorEnum> nodetypekeylist;
+	/**
+	 * The chain compiled by {@link #build(ASTNode)}: the visitor kind of each stage and the
+	 * predicate that calls the stage's callee and continues with the next stage.
+	 */
+	VisitorEnum[] stagekinds;
+
+	NodeHolder[] stageholders;
+
+	BiPredicate<ASTNode, E>[] stagepredicates;
 
 	/**
 	 *
@@ -2427,43 +2435,50 @@ public class ASTProcessor<E extends HelperVisitorProvider<V, T, E>, V, T> {
 	 *
 	 * @param node - ASTNode
 	 */
+	@SuppressWarnings("unchecked")
 	public void build(ASTNode node) {
-		nodetypekeylist= new LinkedList<>(nodetypelist.keySet());
+		int size= nodetypelist.size();
+		stagekinds= new VisitorEnum[size];
+		stageholders= new ASTProcessor.NodeHolder[size];
+		stagepredicates= new BiPredicate[size];
+		int i= 0;
+		for (Entry<VisitorEnum, NodeHolder> entry : nodetypelist.entrySet()) {
+			stagekinds[i]= entry.getKey();
+			stageholders[i]= entry.getValue();
+			stagepredicates[i]= createStage(entry.getValue(), i + 1);
+			i++;
+		}
 		process(node, 0);
 	}
 
+	private BiPredicate<ASTNode, E> createStage(NodeHolder nodeHolder, int next) {
+		BiPredicate<ASTNode, E> biPredicate= nodeHolder.callee;
+		Function<ASTNode, ASTNode> navigate= nodeHolder.navigate;
+		if (navigate != null) {
+			return (node, holder) -> {
+				boolean test= biPredicate.test(node, holder);
+				process(navigate.apply(node), next);
+				return test;
+			};
+		}
+		return (node, holder) -> {
+			boolean test= biPredicate.test(node, holder);
+			process(node, next);
+			return test;
+		};
+	}
+
 	void process(ASTNode localnode, final int i) {
-		if (i == nodetypekeylist.size()) {
+		if (i == stagekinds.length) {
 			return;
 		}
-		final VisitorEnum next= nodetypekeylist.get(i);
-		ASTProcessor<E, V, T>.NodeHolder nodeHolder= nodetypelist.get(next);
-		BiPredicate<ASTNode, E> biPredicate= nodeHolder.callee;
 		HelperVisitor<E, V, T> hv= new HelperVisitor<>(nodesprocessed, dataholder);
-		if (nodeHolder.object != null) {
-			hv.add(nodeHolder.object, next, (node, holder) -> {
-				boolean test= biPredicate.test(node, holder);
-				if (nodeHolder.navigate != null) {
-					process(nodeHolder.navigate.apply(node), i + 1);
-				} else {
-					process(node, i + 1);
-				}
-				return test;
-			});
+		Object object= stageholders[i].object;
+		if (object != null) {
+			hv.add(object, stagekinds[i], stagepredicates[i]);
 		} else {
-			hv.add(next, (node, holder) -> {
-				boolean test= biPredicate.test(node, holder);
-				if (nodeHolder.navigate != null) {
-					process(nodeHolder.navigate.apply(node), i + 1);
-				} else {
-					process(node, i + 1);
-				}
-				return test;
-			});
+			hv.add(stagekinds[i], stagepredicates[i]);
 		}
 		hv.build(localnode);
 	}
-
-
-
 }
@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.common;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.IVariableBinding;
+import org.eclipse.jdt.core.dom.Javadoc;
+import org.eclipse.jdt.core.dom.MethodInvocation;
+import org.eclipse.jdt.core.dom.VariableDeclarationFragment;
+import org.eclipse.jdt.core.dom.VariableDeclarationStatement;
+
+/**
+ * Variant of {@link LambdaASTVisitor} that compiles the predicates and consumers registered on a
+ * {@link HelperVisitor} into two arrays indexed by {@link ASTNode#getNodeType()}. Dispatch happens
+ * in {@link #preVisit2(ASTNode)} and {@link #postVisit(ASTNode)}, so visiting a node costs one
+ * array load instead of two map lookups. The data filters of the convenience methods (method name
+ * for {@link MethodInvocation}, declared type for {@link VariableDeclarationStatement}) are folded
+ * into the compiled entries.
+ * <p>
+ * Callbacks may add or remove callbacks while the visitor is running. The tables are compiled again
+ * before the next dispatch whenever {@link HelperVisitor#getModificationCount()} has changed.
+ * </p>
+ *
+ * @param <E> - type that extends HelpVisitorProvider that provides {@code HelperVisitor<V, T>}
+ * @param <V> - type that HelperVisitor uses as map key type
+ * @param <T> - type that HelperVisitor uses as map value type
+ */
+@SuppressWarnings("unchecked")
+public class CompiledLambdaASTVisitor<E extends HelperVisitorProvider<V, T, E>, V, T> extends ASTVisitor {
+
+	private static final int TABLE_SIZE= VisitorEnum.stream().mapToInt(VisitorEnum::getValue).max().getAsInt() + 1;
+
+	private final HelperVisitor<E, V, T> helperVisitor;
+
+	private final BiPredicate<ASTNode, E>[] predicates= new BiPredicate[TABLE_SIZE];
+
+	private final BiConsumer<ASTNode, E>[] consumers= new BiConsumer[TABLE_SIZE];
+
+	private int compiledModificationCount;
+
+	/**
+	 * @param helperVisitor - HelperVisitor
+	 * @param visitjavadoc - true if Javadoc comments should be visited
+	 */
+	CompiledLambdaASTVisitor(HelperVisitor<E, V, T> helperVisitor, boolean visitjavadoc) {
+		super(visitjavadoc);
+		this.helperVisitor= helperVisitor;
+		compile();
+	}
+
+	private void compile() {
+		compiledModificationCount= helperVisitor.getModificationCount();
+		Arrays.fill(predicates, null);
+		Arrays.fill(consumers, null);
+		for (Entry<VisitorEnum, BiPredicate<? extends ASTNode, E>> entry : helperVisitor.predicatemap.entrySet()) {
+			VisitorEnum kind= entry.getKey();
+			predicates[kind.getValue()]= filter(kind, (BiPredicate<ASTNode, E>) entry.getValue(), helperVisitor.getSupplierData());
+		}
+		for (Entry<VisitorEnum, BiConsumer<? extends ASTNode, E>> entry : helperVisitor.consumermap.entrySet()) {
+			VisitorEnum kind= entry.getKey();
+			consumers[kind.getValue()]= filter(kind, (BiConsumer<ASTNode, E>) entry.getValue(), helperVisitor.getConsumerData());
+		}
+	}
+
+	private static <E> BiPredicate<ASTNode, E> filter(VisitorEnum kind, BiPredicate<ASTNode, E> predicate, Map<VisitorEnum, Object> datamap) {
+		Object data= datamap.get(kind);
+		if (data == null) {
+			return predicate;
+		}
+		switch (kind) {
+			case MethodInvocation:
+				String methodname= (String) data;
+				return (node, holder) -> !hasName((MethodInvocation) node, methodname) || predicate.test(node, holder);
+			case VariableDeclarationStatement:
+				String typename= ((Class<?>) data).getCanonicalName();
+				return (node, holder) -> !hasType((VariableDeclarationStatement) node, typename) || predicate.test(node, holder);
+			default:
+				return predicate;
+		}
+	}
+
+	private static <E> BiConsumer<ASTNode, E> filter(VisitorEnum kind, BiConsumer<ASTNode, E> consumer, Map<VisitorEnum, Object> datamap) {
+		Object data= datamap.get(kind);
+		if (data == null) {
+			return consumer;
+		}
+		switch (kind) {
+			case MethodInvocation:
+				String methodname= (String) data;
+				return (node, holder) -> {
+					if (hasName((MethodInvocation) node, methodname)) {
+						consumer.accept(node, holder);
+					}
+				};
+			case VariableDeclarationStatement:
+				String typename= ((Class<?>) data).getCanonicalName();
+				return (node, holder) -> {
+					if (hasType((VariableDeclarationStatement) node, typename)) {
+						consumer.accept(node, holder);
+					}
+				};
+			default:
+				return consumer;
+		}
+	}
+
+	private static boolean hasName(MethodInvocation node, String methodname) {
+		return node.getName().getIdentifier().equals(methodname);
+	}
+
+	/*
+	 * Same semantics as LambdaASTVisitor: an unresolved declaration is accepted.
+	 */
+	private static boolean hasType(VariableDeclarationStatement node, String typename) {
+		VariableDeclarationFragment fragment= (VariableDeclarationFragment) node.fragments().get(0);
+		IVariableBinding resolveBinding= fragment.resolveBinding();
+		return resolveBinding == null || typename.equals(resolveBinding.getType().getErasure().getQualifiedName());
+	}
+
+	@Override
+	public boolean preVisit2(ASTNode node) {
+		if (compiledModificationCount != helperVisitor.getModificationCount()) {
+			compile();
+		}
+		int nodetype= node.getNodeType();
+		if (nodetype >= TABLE_SIZE) {
+			return true;
+		}
+		BiPredicate<ASTNode, E> predicate= predicates[nodetype];
+		return predicate == null || predicate.test(node, helperVisitor.dataholder);
+	}
+
+	@Override
+	public void postVisit(ASTNode node) {
+		if (compiledModificationCount != helperVisitor.getModificationCount()) {
+			compile();
+		}
+		int nodetype= node.getNodeType();
+		if (nodetype >= TABLE_SIZE) {
+			return;
+		}
+		BiConsumer<ASTNode, E> consumer= consumers[nodetype];
+		if (consumer != null) {
+			consumer.accept(node, helperVisitor.dataholder);
+		}
+	}
+
+	/*
+	 * LambdaASTVisitor visits the children of Javadoc nodes whenever Javadoc is visited at all,
+	 * not only the doc tags.
+	 */
+	@Override
+	public boolean visit(Javadoc node) {
+		return true;
+	}
+}
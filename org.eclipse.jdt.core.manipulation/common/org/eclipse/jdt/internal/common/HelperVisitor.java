@@ -14,12 +14,13 @@
 package org.eclipse.jdt.internal.common;
 
 import java.util.EnumSet;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
 import java.util.function.BiPredicate;
+import java.util.function.Function;
 
 import org.eclipse.jdt.core.dom.*;
 
@@ -61,6 +62,14 @@ public class HelperVisitor<E extends HelperVisitorProvider<V, T, E>,V,T> {
 
 	Map<VisitorEnum, Object> consumerdata;
 
+	/**
+	 * Incremented whenever one of the maps above is modified, used by
+	 * {@link CompiledLambdaASTVisitor} to detect stale dispatch tables.
+	 */
+	private int modificationCount;
+
+	private boolean compiled= true;
+
 	/**
 	 *
 	 * @return - Map of visitor kinds -> BiPredicates
@@ -93,10 +102,10 @@ public class HelperVisitor<E extends HelperVisitorProvider<V, T, E>,V,T> {
 	 * @param dataholder - HelperVisitorProvider providing this HelperVisitor
 	 */
 	public HelperVisitor(Set<ASTNode> nodesprocessed, E dataholder) {
-		this.predicatemap= new LinkedHashMap<>();
-		this.consumermap= new LinkedHashMap<>();
-		this.predicatedata= new HashMap<>();
-		this.consumerdata= new HashMap<>();
+		this.predicatemap= new ModificationCountingMap<>();
+		this.consumermap= new ModificationCountingMap<>();
+		this.predicatedata= new ModificationCountingMap<>();
+		this.consumerdata= new ModificationCountingMap<>();
 
 		this.dataholder= dataholder;
 		dataholder.setHelperVisitor(this);
@@ -119,11 +128,45 @@ public class HelperVisitor<E extends HelperVisitorProvider<V, T, E>,V,T> {
 	 * @return - HelperVisitor
 	 */
 	public HelperVisitor<E, V, T> build(ASTNode node, boolean visitjavadoc) {
-		astvisitor= new LambdaASTVisitor<>(this, visitjavadoc);
+		if (compiled) {
+			astvisitor= new CompiledLambdaASTVisitor<>(this, visitjavadoc);
+		} else {
+			astvisitor= new LambdaASTVisitor<>(this, visitjavadoc);
+		}
 		node.accept(astvisitor);
 		return this;
 	}
 
+	/**
+	 * Selects how the registered callbacks are dispatched by {@link #build(ASTNode, boolean)}. A
+	 * compiled visitor (the default) turns the callbacks into tables indexed by node type once per
+	 * build, an interpreted visitor looks them up in the maps for every visited node.
+	 *
+	 * @param compiled - true to use {@link CompiledLambdaASTVisitor}, false to use
+	 *            {@link LambdaASTVisitor}
+	 * @return - HelperVisitor
+	 */
+	public HelperVisitor<E, V, T> setCompiled(boolean compiled) {
+		this.compiled= compiled;
+		return this;
+	}
+
+	/**
+	 *
+	 * @return - true if {@link #build(ASTNode, boolean)} uses compiled dispatch tables
+	 */
+	public boolean isCompiled() {
+		return compiled;
+	}
+
+	/**
+	 *
+	 * @return - number of modifications of the predicate, consumer and data maps so far
+	 */
+	int getModificationCount() {
+		return modificationCount;
+	}
+
 	/**
 	 * Add BiPredicate for visitor kind
 	 *
@@ -6840,4 +6883,90 @@ public class HelperVisitor<E extends HelperVisitorProvider<V, T, E>,V,T> {
 		this.predicatedata.clear();
 	}
 
+	/**
+	 * LinkedHashMap that counts its modifications in {@link HelperVisitor#modificationCount}.
+	 * Modifications through the collection views are not counted.
+	 */
+	private class ModificationCountingMap<K, O> extends LinkedHashMap<K, O> {
+
+		private static final long serialVersionUID= 1L;
+
+		@Override
+		public O put(K key, O value) {
+			modificationCount++;
+			return super.put(key, value);
+		}
+
+		@Override
+		public void putAll(Map<? extends K, ? extends O> m) {
+			modificationCount++;
+			super.putAll(m);
+		}
+
+		@Override
+		public O putIfAbsent(K key, O value) {
+			modificationCount++;
+			return super.putIfAbsent(key, value);
+		}
+
+		@Override
+		public O remove(Object key) {
+			modificationCount++;
+			return super.remove(key);
+		}
+
+		@Override
+		public boolean remove(Object key, Object value) {
+			modificationCount++;
+			return super.remove(key, value);
+		}
+
+		@Override
+		public O replace(K key, O value) {
+			modificationCount++;
+			return super.replace(key, value);
+		}
+
+		@Override
+		public boolean replace(K key, O oldValue, O newValue) {
+			modificationCount++;
+			return super.replace(key, oldValue, newValue);
+		}
+
+		@Override
+		public void replaceAll(BiFunction<? super K, ? super O, ? extends O> function) {
+			modificationCount++;
+			super.replaceAll(function);
+		}
+
+		@Override
+		public O computeIfAbsent(K key, Function<? super K, ? extends O> mappingFunction) {
+			modificationCount++;
+			return super.computeIfAbsent(key, mappingFunction);
+		}
+
+		@Override
+		public O computeIfPresent(K key, BiFunction<? super K, ? super O, ? extends O> remappingFunction) {
+			modificationCount++;
+			return super.computeIfPresent(key, remappingFunction);
+		}
+
+		@Override
+		public O compute(K key, BiFunction<? super K, ? super O, ? extends O> remappingFunction) {
+			modificationCount++;
+			return super.compute(key, remappingFunction);
+		}
+
+		@Override
+		public O merge(K key, O value, BiFunction<? super O, ? super O, ? extends O> remappingFunction) {
+			modificationCount++;
+			return super.merge(key, value, remappingFunction);
+		}
+
+		@Override
+		public void clear() {
+			modificationCount++;
+			super.clear();
+		}
+	}
 }
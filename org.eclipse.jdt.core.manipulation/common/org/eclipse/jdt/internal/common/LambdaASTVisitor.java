@@ -306,7 +306,7 @@ public class LambdaASTVisitor<E extends HelperVisitorProvider<V,T,E>, V, T> exte
 
 	@Override
 	public boolean visit(ExpressionMethodReference node) {
-		if (this.helperVisitor.predicatemap.containsKey(VisitorEnum.BreakStatement)) {
+		if (this.helperVisitor.predicatemap.containsKey(VisitorEnum.ExpressionMethodReference)) {
 			return ((BiPredicate<ExpressionMethodReference, E>) (this.helperVisitor.predicatemap
 					.get(VisitorEnum.ExpressionMethodReference))).test(node, this.helperVisitor.dataholder);
 		}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,6 +24,8 @@ import org.eclipse.ltk.core.refactoring.RefactoringStatus;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaProject;
 
+import org.eclipse.jdt.internal.corext.fix.CleanUpASTTraversal;
+
 import org.eclipse.jdt.ui.cleanup.CleanUpContext;
 import org.eclipse.jdt.ui.cleanup.CleanUpOptions;
 import org.eclipse.jdt.ui.cleanup.CleanUpRequirements;
@@ -105,6 +107,34 @@ public abstract class AbstractCleanUp implements ICleanUp {
 		return null;
 	}
 
+	/**
+	 * Registers the finders used by {@link #createFix(CleanUpContext)} with the traversal shared by
+	 * all clean ups applied to the AST of <code>context</code>. Called before the fix of any of these
+	 * clean ups is created. Clean ups which do not register anything visit the AST on their own.
+	 * Registered finders may only be run on the members containing changed lines, see
+	 * {@link CleanUpASTTraversal#restrictTo(org.eclipse.jface.text.IRegion[])}.
+	 *
+	 * @param context the context the fix will be created for
+	 * @param traversal the shared traversal of the AST of <code>context</code>
+	 */
+	public void registerFinders(CleanUpContext context, CleanUpASTTraversal traversal) {
+		// no finders by default
+	}
+
+	/**
+	 * Returns whether {@link #createFix(CleanUpContext)} may be called for several compilation
+	 * units at the same time. Only clean ups which keep no state of the compilation unit they
+	 * create a fix for, e.g. the unit itself or the files touched so far, may return
+	 * <code>true</code>. The compilation units are processed sequentially if any enabled clean up
+	 * returns <code>false</code>.
+	 *
+	 * @return <code>true</code> if the fixes of different compilation units can be created
+	 *         concurrently, <code>false</code> by default
+	 */
+	public boolean canRunInParallel() {
+		return false;
+	}
+
 	/*
 	 * @see org.eclipse.jdt.ui.cleanup.ICleanUp#checkPostConditions(org.eclipse.core.runtime.IProgressMonitor)
 	 * @since 3.5
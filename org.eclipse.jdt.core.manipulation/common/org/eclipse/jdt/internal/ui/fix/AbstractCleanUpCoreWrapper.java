@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2022 Red Hat and others.
+ * Copyright (c) 2022, 2024 Red Hat and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -23,6 +23,8 @@ import org.eclipse.ltk.core.refactoring.RefactoringStatus;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaProject;
 
+import org.eclipse.jdt.internal.corext.fix.CleanUpASTTraversal;
+
 import org.eclipse.jdt.ui.cleanup.CleanUpContext;
 import org.eclipse.jdt.ui.cleanup.CleanUpOptions;
 import org.eclipse.jdt.ui.cleanup.CleanUpRequirements;
@@ -52,6 +54,16 @@ public class AbstractCleanUpCoreWrapper<T extends AbstractCleanUp> extends Abstr
 		return cleanUpCore.createFix(context);
 	}
 
+	@Override
+	public void registerFinders(CleanUpContext context, CleanUpASTTraversal traversal) {
+		cleanUpCore.registerFinders(context, traversal);
+	}
+
+	@Override
+	public boolean canRunInParallel() {
+		return cleanUpCore.canRunInParallel();
+	}
+
 	@Override
 	public RefactoringStatus checkPostConditions(IProgressMonitor monitor) throws CoreException {
 		return cleanUpCore.checkPostConditions(monitor);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021 Fabrice TIERCELIN and others.
+ * Copyright (c) 2021, 2024 Fabrice TIERCELIN and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -22,6 +22,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 
 import org.eclipse.jdt.internal.corext.fix.ArrayWithCurlyFixCore;
+import org.eclipse.jdt.internal.corext.fix.CleanUpASTTraversal;
 import org.eclipse.jdt.internal.corext.fix.CleanUpConstants;
 
 import org.eclipse.jdt.ui.cleanup.CleanUpContext;
@@ -56,6 +57,13 @@ public class ArrayWithCurlyCleanUpCore extends AbstractCleanUp {
 		return ArrayWithCurlyFixCore.createCleanUp(compilationUnit);
 	}
 
+	@Override
+	public void registerFinders(final CleanUpContext context, final CleanUpASTTraversal traversal) {
+		if (isEnabled(CleanUpConstants.ARRAY_WITH_CURLY)) {
+			ArrayWithCurlyFixCore.registerFinder(traversal);
+		}
+	}
+
 	@Override
 	public String[] getStepDescriptions() {
 		List<String> result= new ArrayList<>();
@@ -75,4 +83,9 @@ public class ArrayWithCurlyCleanUpCore extends AbstractCleanUp {
 
 		return "double[] doubleArray = new double[] { 42.42 };\n"; //$NON-NLS-1$
 	}
+
+	@Override
+	public boolean canRunInParallel() {
+		return true;
+	}
 }
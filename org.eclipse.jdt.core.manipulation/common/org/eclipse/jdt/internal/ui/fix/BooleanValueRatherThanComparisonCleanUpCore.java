@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021 Fabrice TIERCELIN and others.
+ * Copyright (c) 2021, 2024 Fabrice TIERCELIN and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,6 +20,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 
 import org.eclipse.jdt.internal.corext.fix.BooleanValueRatherThanComparisonFixCore;
+import org.eclipse.jdt.internal.corext.fix.CleanUpASTTraversal;
 import org.eclipse.jdt.internal.corext.fix.CleanUpConstants;
 
 import org.eclipse.jdt.ui.cleanup.CleanUpContext;
@@ -54,6 +55,13 @@ public class BooleanValueRatherThanComparisonCleanUpCore extends AbstractCleanUp
 		return BooleanValueRatherThanComparisonFixCore.createCleanUp(compilationUnit);
 	}
 
+	@Override
+	public void registerFinders(final CleanUpContext context, final CleanUpASTTraversal traversal) {
+		if (isEnabled(CleanUpConstants.BOOLEAN_VALUE_RATHER_THAN_COMPARISON)) {
+			BooleanValueRatherThanComparisonFixCore.registerFinder(traversal);
+		}
+	}
+
 	@Override
 	public String[] getStepDescriptions() {
 		if (isEnabled(CleanUpConstants.BOOLEAN_VALUE_RATHER_THAN_COMPARISON)) {
@@ -81,4 +89,9 @@ public class BooleanValueRatherThanComparisonCleanUpCore extends AbstractCleanUp
 			boolean booleanValue4 = booleanObject.equals(Boolean.FALSE);
 			"""; //$NON-NLS-1$
 	}
+
+	@Override
+	public boolean canRunInParallel() {
+		return true;
+	}
 }
@@ -230,4 +230,9 @@ public class ConstantsForSystemPropertiesCleanUpCore extends AbstractCleanUp {
 		}
 		return sb.toString();
 	}
+
+	@Override
+	public boolean canRunInParallel() {
+		return true;
+	}
 }
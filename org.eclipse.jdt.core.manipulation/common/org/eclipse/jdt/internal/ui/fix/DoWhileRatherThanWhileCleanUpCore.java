@@ -19,6 +19,7 @@ import org.eclipse.core.runtime.CoreException;
 
 import org.eclipse.jdt.core.dom.CompilationUnit;
 
+import org.eclipse.jdt.internal.corext.fix.CleanUpASTTraversal;
 import org.eclipse.jdt.internal.corext.fix.CleanUpConstants;
 import org.eclipse.jdt.internal.corext.fix.DoWhileRatherThanWhileFixCore;
 
@@ -54,6 +55,13 @@ public class DoWhileRatherThanWhileCleanUpCore extends AbstractCleanUp {
 		return DoWhileRatherThanWhileFixCore.createCleanUp(compilationUnit);
 	}
 
+	@Override
+	public void registerFinders(final CleanUpContext context, final CleanUpASTTraversal traversal) {
+		if (isEnabled(CleanUpConstants.DO_WHILE_RATHER_THAN_WHILE)) {
+			DoWhileRatherThanWhileFixCore.registerFinder(traversal);
+		}
+	}
+
 	@Override
 	public String[] getStepDescriptions() {
 		if (isEnabled(CleanUpConstants.DO_WHILE_RATHER_THAN_WHILE)) {
@@ -107,4 +107,8 @@ public class ElseIfCleanUpCore extends AbstractMultiFix implements ICleanUpFix {
 		return null;
 	}
 
+	@Override
+	public boolean canRunInParallel() {
+		return true;
+	}
 }
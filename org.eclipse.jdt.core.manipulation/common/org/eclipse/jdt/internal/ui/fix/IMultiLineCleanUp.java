@@ -33,9 +33,24 @@ public interface IMultiLineCleanUp extends ICleanUp {
 
 		private final IRegion[] fRegions;
 
+		private final boolean fRestrictedToRegions;
+
 		public MultiLineCleanUpContext(ICompilationUnit unit, CompilationUnit ast, IRegion[] regions) {
+			this(unit, ast, regions, false);
+		}
+
+		/**
+		 * @param unit the compilation unit to clean up
+		 * @param ast the AST of <code>unit</code> or <code>null</code>
+		 * @param regions the regions of the changed lines
+		 * @param restrictedToRegions <code>true</code> to restrict the clean ups to the members
+		 *            intersecting the regions where possible, see {@link #isRestrictedToRegions()}
+		 * @since 1.21
+		 */
+		public MultiLineCleanUpContext(ICompilationUnit unit, CompilationUnit ast, IRegion[] regions, boolean restrictedToRegions) {
 			super(unit, ast);
 			fRegions= regions;
+			fRestrictedToRegions= restrictedToRegions;
 		}
 
 		/**
@@ -48,5 +63,19 @@ public interface IMultiLineCleanUp extends ICleanUp {
 		public IRegion[] getRegions() {
 			return fRegions;
 		}
+
+		/**
+		 * Tells whether the clean ups should be restricted to the members intersecting the
+		 * regions where possible. The clean ups which collect their operations in the shared
+		 * {@link org.eclipse.jdt.internal.corext.fix.CleanUpASTTraversal} then only visit these
+		 * members, all other clean ups still clean up the whole compilation unit.
+		 *
+		 * @return <code>true</code> if the clean up should be restricted to the regions where
+		 *         possible
+		 * @since 1.21
+		 */
+		public boolean isRestrictedToRegions() {
+			return fRestrictedToRegions;
+		}
 	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2023 Red Hat Inc. and others.
+ * Copyright (c) 2023, 2024 Red Hat Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -119,4 +119,8 @@ public class InlineDeprecatedMethodCleanUpCore extends AbstractMultiFix {
 		return null;
 	}
 
+	@Override
+	public boolean canRunInParallel() {
+		return true;
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021 Fabrice TIERCELIN and others.
+ * Copyright (c) 2021, 2024 Fabrice TIERCELIN and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,6 +21,7 @@ import org.eclipse.core.runtime.CoreException;
 
 import org.eclipse.jdt.core.dom.CompilationUnit;
 
+import org.eclipse.jdt.internal.corext.fix.CleanUpASTTraversal;
 import org.eclipse.jdt.internal.corext.fix.CleanUpConstants;
 import org.eclipse.jdt.internal.corext.fix.InvertEqualsFixCore;
 
@@ -56,6 +57,13 @@ public class InvertEqualsCleanUpCore extends AbstractCleanUp {
 		return InvertEqualsFixCore.createCleanUp(compilationUnit);
 	}
 
+	@Override
+	public void registerFinders(final CleanUpContext context, final CleanUpASTTraversal traversal) {
+		if (isEnabled(CleanUpConstants.INVERT_EQUALS)) {
+			InvertEqualsFixCore.registerFinder(traversal);
+		}
+	}
+
 	@Override
 	public String[] getStepDescriptions() {
 		List<String> result= new ArrayList<>();
@@ -85,4 +93,9 @@ public class InvertEqualsCleanUpCore extends AbstractCleanUp {
 			boolean result4 = text.equalsIgnoreCase("foo");
 			"""; //$NON-NLS-1$
 	}
+
+	@Override
+	public boolean canRunInParallel() {
+		return true;
+	}
 }
@@ -504,4 +504,9 @@ public class MultiCatchCleanUpCore extends AbstractMultiFix {
 			}
 		}
 	}
+
+	@Override
+	public boolean canRunInParallel() {
+		return true;
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2020, 2023 Fabrice TIERCELIN and others.
+ * Copyright (c) 2020, 2024 Fabrice TIERCELIN and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -178,4 +178,9 @@ public class NoStringCreationCleanUpCore extends AbstractMultiFix {
 			ASTNodes.replaceButKeepComment(rewrite, nodeToReplace, replacement, group);
 		}
 	}
+
+	@Override
+	public boolean canRunInParallel() {
+		return true;
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021 Fabrice TIERCELIN and others.
+ * Copyright (c) 2021, 2024 Fabrice TIERCELIN and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,6 +19,7 @@ import org.eclipse.core.runtime.CoreException;
 
 import org.eclipse.jdt.core.dom.CompilationUnit;
 
+import org.eclipse.jdt.internal.corext.fix.CleanUpASTTraversal;
 import org.eclipse.jdt.internal.corext.fix.CleanUpConstants;
 import org.eclipse.jdt.internal.corext.fix.OneIfRatherThanDuplicateBlocksThatFallThroughFixCore;
 
@@ -54,6 +55,13 @@ public class OneIfRatherThanDuplicateBlocksThatFallThroughCleanUpCore extends Ab
 		return OneIfRatherThanDuplicateBlocksThatFallThroughFixCore.createCleanUp(compilationUnit);
 	}
 
+	@Override
+	public void registerFinders(final CleanUpContext context, final CleanUpASTTraversal traversal) {
+		if (isEnabled(CleanUpConstants.ONE_IF_RATHER_THAN_DUPLICATE_BLOCKS_THAT_FALL_THROUGH)) {
+			OneIfRatherThanDuplicateBlocksThatFallThroughFixCore.registerFinder(traversal);
+		}
+	}
+
 	@Override
 	public String[] getStepDescriptions() {
 		if (isEnabled(CleanUpConstants.ONE_IF_RATHER_THAN_DUPLICATE_BLOCKS_THAT_FALL_THROUGH)) {
@@ -92,4 +100,9 @@ public class OneIfRatherThanDuplicateBlocksThatFallThroughCleanUpCore extends Ab
 
 		return bld.toString();
 	}
+
+	@Override
+	public boolean canRunInParallel() {
+		return true;
+	}
 }
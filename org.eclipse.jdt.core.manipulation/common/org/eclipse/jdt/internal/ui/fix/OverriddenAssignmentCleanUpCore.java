@@ -92,4 +92,8 @@ public class OverriddenAssignmentCleanUpCore extends AbstractCleanUp {
 		return OverriddenAssignmentFixCore.createCleanUp(compilationUnit, isEnabled(CleanUpConstants.OVERRIDDEN_ASSIGNMENT_MOVE_DECL));
 	}
 
+	@Override
+	public boolean canRunInParallel() {
+		return true;
+	}
 }
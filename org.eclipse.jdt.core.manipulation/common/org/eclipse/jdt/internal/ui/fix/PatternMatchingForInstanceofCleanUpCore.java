@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021 Fabrice TIERCELIN and others.
+ * Copyright (c) 2021, 2024 Fabrice TIERCELIN and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,6 +21,7 @@ import org.eclipse.core.runtime.CoreException;
 
 import org.eclipse.jdt.core.dom.CompilationUnit;
 
+import org.eclipse.jdt.internal.corext.fix.CleanUpASTTraversal;
 import org.eclipse.jdt.internal.corext.fix.CleanUpConstants;
 import org.eclipse.jdt.internal.corext.fix.PatternMatchingForInstanceofFixCore;
 import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
@@ -59,6 +60,14 @@ public class PatternMatchingForInstanceofCleanUpCore extends AbstractCleanUp {
 		return PatternMatchingForInstanceofFixCore.createCleanUp(compilationUnit);
 	}
 
+	@Override
+	public void registerFinders(final CleanUpContext context, final CleanUpASTTraversal traversal) {
+		if (isEnabled(CleanUpConstants.USE_PATTERN_MATCHING_FOR_INSTANCEOF)
+				&& JavaModelUtil.is16OrHigher(context.getCompilationUnit().getJavaProject())) {
+			PatternMatchingForInstanceofFixCore.registerFinder(traversal);
+		}
+	}
+
 	@Override
 	public String[] getStepDescriptions() {
 		List<String> result= new ArrayList<>();
@@ -88,4 +97,9 @@ public class PatternMatchingForInstanceofCleanUpCore extends AbstractCleanUp {
 			}
 			"""; //$NON-NLS-1$
 	}
+
+	@Override
+	public boolean canRunInParallel() {
+		return true;
+	}
 }
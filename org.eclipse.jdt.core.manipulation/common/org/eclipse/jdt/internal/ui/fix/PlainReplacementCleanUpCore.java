@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021 Fabrice TIERCELIN and others.
+ * Copyright (c) 2021, 2024 Fabrice TIERCELIN and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,6 +21,7 @@ import org.eclipse.core.runtime.CoreException;
 
 import org.eclipse.jdt.core.dom.CompilationUnit;
 
+import org.eclipse.jdt.internal.corext.fix.CleanUpASTTraversal;
 import org.eclipse.jdt.internal.corext.fix.CleanUpConstants;
 import org.eclipse.jdt.internal.corext.fix.PlainReplacementFixCore;
 
@@ -56,6 +57,13 @@ public class PlainReplacementCleanUpCore extends AbstractCleanUp {
 		return PlainReplacementFixCore.createCleanUp(compilationUnit);
 	}
 
+	@Override
+	public void registerFinders(final CleanUpContext context, final CleanUpASTTraversal traversal) {
+		if (isEnabled(CleanUpConstants.PLAIN_REPLACEMENT)) {
+			PlainReplacementFixCore.registerFinder(traversal);
+		}
+	}
+
 	@Override
 	public String[] getStepDescriptions() {
 		List<String> result= new ArrayList<>();
@@ -85,4 +93,9 @@ public class PlainReplacementCleanUpCore extends AbstractCleanUp {
 			String result4 = text.replaceAll(Pattern.quote(placeholder), Matcher.quoteReplacement(value));
 			"""; //$NON-NLS-1$
 	}
+
+	@Override
+	public boolean canRunInParallel() {
+		return true;
+	}
 }
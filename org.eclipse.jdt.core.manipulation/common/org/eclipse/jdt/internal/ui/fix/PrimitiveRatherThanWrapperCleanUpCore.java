@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021 Fabrice TIERCELIN and others.
+ * Copyright (c) 2021, 2024 Fabrice TIERCELIN and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,6 +19,7 @@ import org.eclipse.core.runtime.CoreException;
 
 import org.eclipse.jdt.core.dom.CompilationUnit;
 
+import org.eclipse.jdt.internal.corext.fix.CleanUpASTTraversal;
 import org.eclipse.jdt.internal.corext.fix.CleanUpConstants;
 import org.eclipse.jdt.internal.corext.fix.PrimitiveRatherThanWrapperFixCore;
 
@@ -54,6 +55,13 @@ public class PrimitiveRatherThanWrapperCleanUpCore extends AbstractCleanUp {
 		return PrimitiveRatherThanWrapperFixCore.createCleanUp(compilationUnit);
 	}
 
+	@Override
+	public void registerFinders(final CleanUpContext context, final CleanUpASTTraversal traversal) {
+		if (isEnabled(CleanUpConstants.PRIMITIVE_RATHER_THAN_WRAPPER)) {
+			PrimitiveRatherThanWrapperFixCore.registerFinder(traversal);
+		}
+	}
+
 	@Override
 	public String[] getStepDescriptions() {
 		if (isEnabled(CleanUpConstants.PRIMITIVE_RATHER_THAN_WRAPPER)) {
@@ -149,4 +157,9 @@ public class PrimitiveRatherThanWrapperCleanUpCore extends AbstractCleanUp {
 
 		return bld.toString();
 	}
+
+	@Override
+	public boolean canRunInParallel() {
+		return true;
+	}
 }
@@ -238,4 +238,8 @@ public class RedundantSemicolonsCleanUpCore extends AbstractMultiFix implements
 		return null;
 	}
 
+	@Override
+	public boolean canRunInParallel() {
+		return true;
+	}
 }
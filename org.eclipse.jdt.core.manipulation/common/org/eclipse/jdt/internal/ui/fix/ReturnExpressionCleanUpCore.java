@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021 Fabrice TIERCELIN and others.
+ * Copyright (c) 2021, 2024 Fabrice TIERCELIN and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,6 +21,7 @@ import org.eclipse.core.runtime.CoreException;
 
 import org.eclipse.jdt.core.dom.CompilationUnit;
 
+import org.eclipse.jdt.internal.corext.fix.CleanUpASTTraversal;
 import org.eclipse.jdt.internal.corext.fix.CleanUpConstants;
 import org.eclipse.jdt.internal.corext.fix.ReturnExpressionFixCore;
 
@@ -56,6 +57,13 @@ public class ReturnExpressionCleanUpCore extends AbstractCleanUp {
 		return ReturnExpressionFixCore.createCleanUp(compilationUnit);
 	}
 
+	@Override
+	public void registerFinders(final CleanUpContext context, final CleanUpASTTraversal traversal) {
+		if (isEnabled(CleanUpConstants.RETURN_EXPRESSION)) {
+			ReturnExpressionFixCore.registerFinder(traversal);
+		}
+	}
+
 	@Override
 	public String[] getStepDescriptions() {
 		List<String> result= new ArrayList<>();
@@ -87,4 +95,9 @@ public class ReturnExpressionCleanUpCore extends AbstractCleanUp {
 
 		return bld.toString();
 	}
+
+	@Override
+	public boolean canRunInParallel() {
+		return true;
+	}
 }
@@ -215,4 +215,8 @@ public class SimplifyBooleanIfElseCleanUpCore extends AbstractMultiFix {
 
 	}
 
+	@Override
+	public boolean canRunInParallel() {
+		return true;
+	}
 }
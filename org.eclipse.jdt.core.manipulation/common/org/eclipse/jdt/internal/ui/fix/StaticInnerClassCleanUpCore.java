@@ -423,4 +423,9 @@ public class StaticInnerClassCleanUpCore extends AbstractMultiFix {
 			}
 		}
 	}
+
+	@Override
+	public boolean canRunInParallel() {
+		return true;
+	}
 }
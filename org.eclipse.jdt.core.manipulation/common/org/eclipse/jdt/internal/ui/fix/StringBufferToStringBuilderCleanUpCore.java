@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021 Red Hat Inc. and others.
+ * Copyright (c) 2021, 2024 Red Hat Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -87,4 +87,9 @@ public class StringBufferToStringBuilderCleanUpCore extends AbstractCleanUp {
 
 		return bld.toString();
 	}
+
+	@Override
+	public boolean canRunInParallel() {
+		return true;
+	}
 }
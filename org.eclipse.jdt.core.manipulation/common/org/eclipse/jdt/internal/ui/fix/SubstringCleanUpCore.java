@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2022 Fabrice TIERCELIN and others.
+ * Copyright (c) 2022, 2024 Fabrice TIERCELIN and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -143,4 +143,9 @@ public class SubstringCleanUpCore extends AbstractMultiFix {
 			rewrite.remove((ASTNode) visited.arguments().get(1), group);
 		}
 	}
+
+	@Override
+	public boolean canRunInParallel() {
+		return true;
+	}
 }
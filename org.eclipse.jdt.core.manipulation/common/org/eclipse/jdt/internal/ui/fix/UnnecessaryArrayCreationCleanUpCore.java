@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019 Red Hat Inc. and others.
+ * Copyright (c) 2019, 2024 Red Hat Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -98,4 +98,8 @@ public class UnnecessaryArrayCreationCleanUpCore extends AbstractMultiFix {
 		return null;
 	}
 
+	@Override
+	public boolean canRunInParallel() {
+		return true;
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2023 IBM Corporation and others.
+ * Copyright (c) 2019, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -270,4 +270,9 @@ public class UnusedCodeCleanUpCore extends AbstractMultiFix {
 			result+= getNumberOfProblems(problems, IProblem.ArgumentIsNeverUsed);
 		return result;
 	}
+
+	@Override
+	public boolean canRunInParallel() {
+		return true;
+	}
 }
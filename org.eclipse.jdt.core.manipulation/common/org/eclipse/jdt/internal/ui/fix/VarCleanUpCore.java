@@ -411,4 +411,9 @@ public class VarCleanUpCore extends AbstractMultiFix {
 			}
 		}
 	}
+
+	@Override
+	public boolean canRunInParallel() {
+		return true;
+	}
 }
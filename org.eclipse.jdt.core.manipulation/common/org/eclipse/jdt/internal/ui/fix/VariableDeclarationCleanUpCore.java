@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019 IBM Corporation and others.
+ * Copyright (c) 2019, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -111,4 +111,8 @@ public class VariableDeclarationCleanUpCore extends AbstractCleanUp {
 		return bld.toString();
 	}
 
+	@Override
+	public boolean canRunInParallel() {
+		return true;
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -60,6 +60,8 @@ public class OccurrencesFinder extends ASTVisitor implements IOccurrencesFinder
 	public static final String IS_WRITEACCESS= "writeAccess"; //$NON-NLS-1$
 	public static final String IS_VARIABLE= "variable"; //$NON-NLS-1$
 
+	private static final boolean USE_INDEX= Boolean.parseBoolean(System.getProperty("org.eclipse.jdt.ui.occurrencesIndex", "true")); //$NON-NLS-1$ //$NON-NLS-2$
+
 	private CompilationUnit fRoot;
 	private Name fSelectedNode;
 	private IBinding fTarget;
@@ -72,8 +74,22 @@ public class OccurrencesFinder extends ASTVisitor implements IOccurrencesFinder
 	private String fReadDescription;
 	private String fWriteDescription;
 
+	private final boolean fUseIndex;
+
 	public OccurrencesFinder() {
+		this(USE_INDEX);
+	}
+
+	/**
+	 * Creates a finder.
+	 *
+	 * @param useIndex whether to look up the occurrences in the {@link OccurrencesIndex} of the
+	 *            AST, which is kept for later queries on the same AST, instead of visiting the AST
+	 * @since 1.21
+	 */
+	public OccurrencesFinder(boolean useIndex) {
 		super(true);
+		fUseIndex= useIndex;
 	}
 
 	@Override
@@ -102,7 +118,25 @@ public class OccurrencesFinder extends ASTVisitor implements IOccurrencesFinder
 		if (fResult == null) {
 			fResult= new ArrayList<>();
 			fWriteUsages= new HashSet<>();
-			fRoot.accept(this);
+			if (fUseIndex && !fTargetIsStaticMethodImport && OccurrencesIndex.supports(fTarget))
+				searchIndex();
+			else
+				fRoot.accept(this);
+		}
+	}
+
+	private void searchIndex() {
+		OccurrencesIndex index= OccurrencesIndex.get(fRoot);
+		for (Name name : index.getOccurrences(fTarget)) {
+			int flag= 0;
+			String description= fReadDescription;
+			if (fTarget instanceof IVariableBinding) {
+				boolean isWrite= index.isWrite(name, fTarget);
+				flag= isWrite ? F_WRITE_OCCURRENCE : F_READ_OCCURRENCE;
+				if (isWrite)
+					description= fWriteDescription;
+			}
+			fResult.add(new OccurrenceLocation(name.getStartPosition(), name.getLength(), flag, description));
 		}
 	}
 
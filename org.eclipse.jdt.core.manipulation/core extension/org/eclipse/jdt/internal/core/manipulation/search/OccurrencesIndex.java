@@ -0,0 +1,296 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.manipulation.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.Assignment;
+import org.eclipse.jdt.core.dom.ClassInstanceCreation;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.Expression;
+import org.eclipse.jdt.core.dom.FieldAccess;
+import org.eclipse.jdt.core.dom.FieldDeclaration;
+import org.eclipse.jdt.core.dom.IBinding;
+import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+import org.eclipse.jdt.core.dom.IVariableBinding;
+import org.eclipse.jdt.core.dom.ImportDeclaration;
+import org.eclipse.jdt.core.dom.Modifier;
+import org.eclipse.jdt.core.dom.ModuleQualifiedName;
+import org.eclipse.jdt.core.dom.Name;
+import org.eclipse.jdt.core.dom.NameQualifiedType;
+import org.eclipse.jdt.core.dom.ParameterizedType;
+import org.eclipse.jdt.core.dom.PostfixExpression;
+import org.eclipse.jdt.core.dom.PrefixExpression;
+import org.eclipse.jdt.core.dom.PrefixExpression.Operator;
+import org.eclipse.jdt.core.dom.QualifiedName;
+import org.eclipse.jdt.core.dom.SimpleName;
+import org.eclipse.jdt.core.dom.SimpleType;
+import org.eclipse.jdt.core.dom.SingleVariableDeclaration;
+import org.eclipse.jdt.core.dom.Type;
+import org.eclipse.jdt.core.dom.VariableDeclarationFragment;
+
+/**
+ * The names of a compilation unit AST by the declaration of their binding, used by
+ * {@link OccurrencesFinder} to find the occurrences of a binding without visiting the whole AST
+ * again.
+ * <p>
+ * The index is built by the first query on an AST with one walk that records each name the
+ * {@link OccurrencesFinder} would compare with its target. It is stored as a property of the
+ * {@link CompilationUnit}, so it is dropped together with the AST, and it is built again if the AST
+ * was modified after it was built.
+ * </p>
+ * <p>
+ * The index does not handle static methods, whose occurrences also include the matching
+ * invocations of statically imported methods, see {@link #supports(IBinding)}.
+ * </p>
+ *
+ * @since 1.21
+ */
+public final class OccurrencesIndex {
+
+	private static final String PROPERTY= OccurrencesIndex.class.getName();
+
+	/**
+	 * A name which is an occurrence of its binding.
+	 */
+	private static final class Entry {
+		final Name fName;
+		final IBinding fBinding;
+		/** The end of the subtree which is not searched when the name matches, or <code>-1</code> */
+		final int fSkipEnd;
+
+		Entry(Name name, IBinding binding, int skipEnd) {
+			fName= name;
+			fBinding= binding;
+			fSkipEnd= skipEnd;
+		}
+	}
+
+	/**
+	 * Records the names like {@link OccurrencesFinder}, but for all bindings at once.
+	 */
+	private final class IndexBuilder extends ASTVisitor {
+
+		IndexBuilder() {
+			super(true);
+		}
+
+		@Override
+		public boolean visit(QualifiedName node) {
+			final IBinding binding= node.resolveBinding();
+			int skipEnd= node.getStartPosition() + node.getLength();
+			if (binding instanceof IVariableBinding && ((IVariableBinding)binding).isField()) {
+				SimpleName name= node.getName();
+				addUsage(name, name.resolveBinding(), skipEnd);
+				return true;
+			}
+			if (binding instanceof IMethodBinding && isStaticImport(node))
+				return true; // only occurrences of static methods
+			addUsage(node, binding, skipEnd);
+			return true;
+		}
+
+		@Override
+		public boolean visit(ModuleQualifiedName node) {
+			node.resolveBinding();
+			return true;
+		}
+
+		@Override
+		public boolean visit(SimpleName node) {
+			addUsage(node, node.resolveBinding(), -1);
+			return true;
+		}
+
+		@Override
+		public boolean visit(ClassInstanceCreation node) {
+			Type type= node.getType();
+			if (type instanceof ParameterizedType) {
+				type= ((ParameterizedType) type).getType();
+			}
+			if (type instanceof SimpleType) {
+				Name name= ((SimpleType) type).getName();
+				if (name instanceof QualifiedName)
+					name= ((QualifiedName)name).getName();
+				addUsage(name, node.resolveConstructorBinding(), -1);
+			} else if (type instanceof NameQualifiedType) {
+				Name name= ((NameQualifiedType) type).getName();
+				addUsage(name, node.resolveConstructorBinding(), -1);
+			}
+			return true;
+		}
+
+		@Override
+		public boolean visit(Assignment node) {
+			SimpleName name= getSimpleName(node.getLeftHandSide());
+			if (name != null)
+				addWrite(name, name.resolveBinding());
+			return true;
+		}
+
+		@Override
+		public boolean visit(SingleVariableDeclaration node) {
+			addWrite(node.getName(), node.resolveBinding());
+			return true;
+		}
+
+		@Override
+		public boolean visit(VariableDeclarationFragment node) {
+			if (node.getParent() instanceof FieldDeclaration || node.getInitializer() != null)
+				addWrite(node.getName(), node.resolveBinding());
+			return true;
+		}
+
+		@Override
+		public boolean visit(PrefixExpression node) {
+			PrefixExpression.Operator operator= node.getOperator();
+			if (operator == Operator.INCREMENT || operator == Operator.DECREMENT) {
+				SimpleName name= getSimpleName(node.getOperand());
+				if (name != null)
+					addWrite(name, name.resolveBinding());
+			}
+			return true;
+		}
+
+		@Override
+		public boolean visit(PostfixExpression node) {
+			SimpleName name= getSimpleName(node.getOperand());
+			if (name != null)
+				addWrite(name, name.resolveBinding());
+			return true;
+		}
+	}
+
+	/** The entries by the key of their binding, in the order of the {@link OccurrencesFinder} */
+	private final Map<String, List<Entry>> fEntries= new HashMap<>();
+
+	/** The bindings written by names */
+	private final Map<Name, IBinding> fWrites= new IdentityHashMap<>();
+
+	private final long fModificationCount;
+
+	private OccurrencesIndex(CompilationUnit root) {
+		fModificationCount= root.getAST().modificationCount();
+		root.accept(new IndexBuilder());
+	}
+
+	/**
+	 * Returns the index of an AST, building it if needed.
+	 *
+	 * @param root the AST
+	 * @return the index
+	 */
+	public static OccurrencesIndex get(CompilationUnit root) {
+		synchronized (root) {
+			Object index= root.getProperty(PROPERTY);
+			if (index instanceof OccurrencesIndex && ((OccurrencesIndex) index).fModificationCount == root.getAST().modificationCount())
+				return (OccurrencesIndex) index;
+			OccurrencesIndex newIndex= new OccurrencesIndex(root);
+			root.setProperty(PROPERTY, newIndex);
+			return newIndex;
+		}
+	}
+
+	/**
+	 * @param target the declaration of a binding
+	 * @return <code>true</code> if {@link #getOccurrences(IBinding)} finds the same occurrences as
+	 *         visiting the AST
+	 */
+	public static boolean supports(IBinding target) {
+		if (target.getKey() == null)
+			return false;
+		return !(target instanceof IMethodBinding) || !Modifier.isStatic(target.getModifiers());
+	}
+
+	/**
+	 * Returns the names referring to a binding, in the order they are found by visiting the AST.
+	 *
+	 * @param target the declaration of a binding, see {@link #supports(IBinding)}
+	 * @return the names
+	 */
+	public List<Name> getOccurrences(IBinding target) {
+		List<Entry> entries= fEntries.get(target.getKey());
+		if (entries == null)
+			return Collections.emptyList();
+		List<Name> result= new ArrayList<>();
+		int skipEnd= -1;
+		for (Entry entry : entries) {
+			if (entry.fName.getStartPosition() < skipEnd || !entry.fBinding.isEqualTo(target))
+				continue;
+			result.add(entry.fName);
+			skipEnd= Math.max(skipEnd, entry.fSkipEnd);
+		}
+		return result;
+	}
+
+	/**
+	 * @param name a name returned by {@link #getOccurrences(IBinding)}
+	 * @param target the binding the name refers to
+	 * @return <code>true</code> if the name is written
+	 */
+	public boolean isWrite(Name name, IBinding target) {
+		IBinding binding= fWrites.get(name);
+		return binding != null && binding.isEqualTo(target);
+	}
+
+	private void addUsage(Name node, IBinding binding, int skipEnd) {
+		if (binding == null)
+			return;
+		binding= getBindingDeclaration(binding);
+		String key= binding.getKey();
+		if (key != null) // not supported as target
+			fEntries.computeIfAbsent(key, k -> new ArrayList<>(4)).add(new Entry(node, binding, skipEnd));
+	}
+
+	private void addWrite(Name node, IBinding binding) {
+		if (binding != null)
+			fWrites.put(node, getBindingDeclaration(binding));
+	}
+
+	private static boolean isStaticImport(ASTNode node) {
+		ASTNode parent= node.getParent();
+		return parent instanceof ImportDeclaration && ((ImportDeclaration) parent).isStatic();
+	}
+
+	private static SimpleName getSimpleName(Expression expression) {
+		if (expression instanceof SimpleName)
+			return ((SimpleName)expression);
+		else if (expression instanceof QualifiedName)
+			return (((QualifiedName) expression).getName());
+		else if (expression instanceof FieldAccess)
+			return ((FieldAccess)expression).getName();
+		return null;
+	}
+
+	private static IBinding getBindingDeclaration(IBinding binding) {
+		switch (binding.getKind()) {
+			case IBinding.TYPE :
+				return ((ITypeBinding)binding).getTypeDeclaration();
+			case IBinding.METHOD :
+				return ((IMethodBinding)binding).getMethodDeclaration();
+			case IBinding.VARIABLE :
+				return ((IVariableBinding)binding).getVariableDeclaration();
+			default:
+				return binding;
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2021 IBM Corporation and others.
+ * Copyright (c) 2019, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -50,12 +50,16 @@ public class CallHierarchyCore {
     private static final String PREF_USE_FILTERS= "PREF_USE_FILTERS"; //$NON-NLS-1$
     private static final String PREF_FILTERS_LIST= "PREF_FILTERS_LIST"; //$NON-NLS-1$
     private static final String PREF_FILTER_TESTCODE= "PREF_FILTER_TESTCODE"; //$NON-NLS-1$
+    private static final String PREF_USE_CALLER_INDEX= "PREF_USE_CALLER_INDEX"; //$NON-NLS-1$
 
     private String defaultIgnoreFilters= "java.*,javax.*"; //$NON-NLS-1$
 
     private static CallHierarchyCore fgInstance;
     private IJavaSearchScope fSearchScope;
+    private String fSearchFilters;
+    private String fSearchSettingsKey;
     private StringMatcher[] fFilters;
+    private CallerIndex fCallerIndex;
 
     public static CallHierarchyCore getDefault() {
         if (fgInstance == null) {
@@ -73,6 +77,68 @@ public class CallHierarchyCore {
         return Boolean.parseBoolean(JavaManipulation.getPreference(PREF_FILTER_TESTCODE, null));
     }
 
+    /**
+     * @return <code>true</code> if the callers found are kept in the {@link CallerIndex}
+     * @since 1.21
+     */
+    public boolean isCallerIndexEnabled() {
+        return Boolean.parseBoolean(JavaManipulation.getPreference(PREF_USE_CALLER_INDEX, null));
+    }
+
+    /**
+     * Returns the index of the callers shared by all caller hierarchies.
+     *
+     * @return the caller index, or <code>null</code> if it is not enabled
+     * @since 1.21
+     */
+    public synchronized CallerIndex getCallerIndex() {
+        if (!isCallerIndexEnabled()) {
+            if (fCallerIndex != null) {
+                fCallerIndex.dispose();
+                fCallerIndex= null;
+            }
+            return null;
+        }
+        if (fCallerIndex == null) {
+            fCallerIndex= new CallerIndex();
+        }
+        return fCallerIndex;
+    }
+
+    /**
+     * Disposes the caller index of the default instance, if any.
+     *
+     * @since 1.21
+     */
+    public static void disposeCallerIndex() {
+        CallHierarchyCore instance= fgInstance;
+        if (instance != null) {
+            synchronized (instance) {
+                if (instance.fCallerIndex != null) {
+                    instance.fCallerIndex.dispose();
+                    instance.fCallerIndex= null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns a key identifying the search scope and the filters, i.e. everything besides the
+     * member which determines the callers found. The same string is returned as long as the
+     * settings do not change.
+     *
+     * @return the key of the current search settings
+     */
+    synchronized String getSearchSettingsKey() {
+        String filters= isFilterEnabled() + "|" + getFilters() + "|" + defaultIgnoreFilters + "|" + isFilterTestCode(); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        if (fSearchSettingsKey == null || !filters.equals(fSearchFilters)) {
+            fSearchFilters= filters;
+            // the search scopes print the elements they enclose
+            fSearchSettingsKey= getSearchScope().toString() + '|' + filters;
+        }
+        return fSearchSettingsKey;
+    }
+
     public Collection<IJavaElement> getImplementingMethods(IMethod method) {
         if (isSearchUsingImplementorsEnabled()) {
             IJavaElement[] result= Implementors.getInstance().searchForImplementors(new IJavaElement[] {
@@ -178,6 +244,7 @@ public class CallHierarchyCore {
 
     public void setSearchScope(IJavaSearchScope searchScope) {
         this.fSearchScope= searchScope;
+        this.fSearchSettingsKey= null;
     }
 
 	/**
@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.callhierarchy;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.JavaCore;
+
+import org.eclipse.jdt.internal.corext.util.ChangedUnits;
+import org.eclipse.jdt.internal.corext.util.LRUMap;
+
+/**
+ * An index of the callers found by {@link CallerMethodWrapper}, shared by all call hierarchies.
+ * <p>
+ * The index is filled by the searches of the caller hierarchies and answers repeated queries, e.g.
+ * when a hierarchy is refreshed or the same member is expanded in another hierarchy, from memory.
+ * The callers of a member are kept until a Java element delta may have changed them, as described
+ * in {@link ChangedUnits}. Members which are not indexed yet are searched as before.
+ * </p>
+ *
+ * @see CallHierarchyCore#getCallerIndex()
+ * @since 1.21
+ */
+public final class CallerIndex implements IElementChangedListener {
+
+	private static final int MAX_ENTRIES= Math.max(1, Integer.getInteger("org.eclipse.jdt.ui.callHierarchy.callerIndex.maxEntries", 10000).intValue()); //$NON-NLS-1$
+
+	private static class Entry {
+		final String fName;
+		final String fDeclaringUnit;
+		final String fSettingsKey;
+		final Map<String, MethodCall> fCallers;
+		final Set<String> fCallingUnits;
+
+		Entry(IMember member, String settingsKey, Map<String, MethodCall> callers) {
+			IJavaElement unit= member.getCompilationUnit();
+			fName= member.getElementName();
+			fDeclaringUnit= unit != null ? unit.getHandleIdentifier() : null;
+			fSettingsKey= settingsKey;
+			fCallers= new HashMap<>(callers);
+			fCallingUnits= new HashSet<>();
+			for (MethodCall call : callers.values()) {
+				IJavaElement callingUnit= call.getMember().getCompilationUnit();
+				if (callingUnit != null)
+					fCallingUnits.add(callingUnit.getHandleIdentifier());
+			}
+		}
+	}
+
+	private final Map<String, Entry> fEntries= new LRUMap<>(MAX_ENTRIES);
+
+	private long fGeneration;
+
+	CallerIndex() {
+		JavaCore.addElementChangedListener(this);
+	}
+
+	void dispose() {
+		JavaCore.removeElementChangedListener(this);
+		clear();
+	}
+
+	/**
+	 * Returns the indexed callers of a member.
+	 *
+	 * @param key the key of the query, see {@link CallerMethodWrapper}
+	 * @param settingsKey the search scope and filters of the query, see
+	 *            {@link CallHierarchyCore#getSearchSettingsKey()}
+	 * @return a copy of the map from handle identifier to {@link MethodCall}, or <code>null</code>
+	 *         if the member is not indexed
+	 */
+	public Map<String, MethodCall> getCallers(String key, String settingsKey) {
+		synchronized (fEntries) {
+			Entry entry= fEntries.get(key);
+			if (entry == null || !entry.fSettingsKey.equals(settingsKey))
+				return null;
+			return new HashMap<>(entry.fCallers);
+		}
+	}
+
+	/**
+	 * @return the current generation, to be passed to
+	 *         {@link #putCallers(String, IMember, String, Map, long)}
+	 */
+	public long getGeneration() {
+		synchronized (fEntries) {
+			return fGeneration;
+		}
+	}
+
+	/**
+	 * Indexes the callers of a member. The callers are dropped if the index was invalidated since
+	 * the given generation, i.e. while they were searched.
+	 *
+	 * @param key the key of the query
+	 * @param member the called member
+	 * @param settingsKey the search scope and filters of the query
+	 * @param callers a map from handle identifier to {@link MethodCall}
+	 * @param generation the generation when the search was started
+	 */
+	public void putCallers(String key, IMember member, String settingsKey, Map<String, MethodCall> callers, long generation) {
+		Entry entry= new Entry(member, settingsKey, callers);
+		synchronized (fEntries) {
+			if (generation == fGeneration)
+				fEntries.put(key, entry);
+		}
+	}
+
+	public void clear() {
+		synchronized (fEntries) {
+			fGeneration++;
+			fEntries.clear();
+		}
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		ChangedUnits changes= ChangedUnits.of(event.getDelta());
+		if (changes.isEmpty())
+			return;
+		synchronized (fEntries) {
+			fGeneration++;
+			if (changes.affectsAll()) {
+				fEntries.clear();
+			} else {
+				fEntries.values().removeIf(entry -> changes.affects(entry.fName, entry.fDeclaringUnit, entry.fCallingUnits));
+			}
+		}
+	}
+}
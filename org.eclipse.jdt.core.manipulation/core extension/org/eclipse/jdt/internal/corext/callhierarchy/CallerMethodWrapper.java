@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -137,8 +137,8 @@ public class CallerMethodWrapper extends MethodWrapper {
 							SearchUtils.GENERICS_AGNOSTIC_MATCH_RULE);
 				}
 			}
+			int limitTo= IJavaSearchConstants.REFERENCES;
 			if (pattern == null) {
-				int limitTo= IJavaSearchConstants.REFERENCES;
 				if (member.getElementType() == IJavaElement.FIELD)
 					limitTo= getFieldSearchMode();
 				pattern= SearchPattern.createPattern(member, limitTo, SearchUtils.GENERICS_AGNOSTIC_MATCH_RULE);
@@ -147,14 +147,31 @@ public class CallerMethodWrapper extends MethodWrapper {
 				return new HashMap<>(0);
 			}
 
+			IJavaSearchScope defaultSearchScope= getSearchScope();
+			CallHierarchyCore callHierarchy= CallHierarchyCore.getDefault();
+			CallerIndex index= defaultSearchScope == callHierarchy.getSearchScope() ? callHierarchy.getCallerIndex() : null;
+			String key= null;
+			String settingsKey= null;
+			long generation= 0;
+			if (index != null) {
+				key= member.getHandleIdentifier() + '|' + limitTo;
+				settingsKey= callHierarchy.getSearchSettingsKey();
+				Map<String, MethodCall> callers= index.getCallers(key, settingsKey);
+				if (callers != null)
+					return callers;
+				generation= index.getGeneration();
+			}
+
 			SearchEngine searchEngine= new SearchEngine();
 			MethodReferencesSearchRequestor searchRequestor= new MethodReferencesSearchRequestor();
-			IJavaSearchScope defaultSearchScope= getSearchScope();
 			boolean isWorkspaceScope= SearchEngine.createWorkspaceScope().equals(defaultSearchScope);
 			IJavaSearchScope searchScope= isWorkspaceScope ? getAccurateSearchScope(defaultSearchScope, member) : defaultSearchScope;
 			searchEngine.search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() }, searchScope, searchRequestor,
 					monitor);
-			return searchRequestor.getCallers();
+			Map<String, MethodCall> callers= searchRequestor.getCallers();
+			if (index != null)
+				index.putCallers(key, type != null ? type : member, settingsKey, callers, generation);
+			return callers;
 
 		} catch (CoreException e) {
 			JavaManipulationPlugin.log(e);
@@ -0,0 +1,829 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.dom;
+
+import java.util.Arrays;
+
+import org.eclipse.jdt.core.dom.*;
+
+/**
+ * ASTVisitor that runs several visitors in a single traversal of an AST.
+ * <p>
+ * Each visitor observes the same sequence of <code>preVisit2</code>, <code>visit</code>,
+ * <code>endVisit</code> and <code>postVisit</code> calls it would observe when the AST was
+ * visited with the visitor alone. When a visitor skips the children of a node, only this visitor
+ * stops receiving calls for the subtree; the traversal itself only skips a subtree if all visitors
+ * skip it.
+ * </p>
+ * <p>
+ * A visitor can be added together with the node types it is interested in. Such a visitor only
+ * receives calls for nodes of these types (and for {@link Javadoc} nodes, so that the doc comment
+ * handling of the visitor is kept), all other nodes are treated as if the visitor returned
+ * <code>true</code>. This requires that the visitor only overrides the <code>visit</code> and
+ * <code>endVisit</code> methods of these node types.
+ * </p>
+ * <p>
+ * A runtime exception thrown by a visitor stops the calls to this visitor only, it can be queried
+ * with {@link #getException(int)} after the traversal.
+ * </p>
+ *
+ * @since 1.21
+ */
+// @see JDTUIHelperClasses
+public class FusedASTVisitor extends ASTVisitor {
+
+	private static final int INITIAL_CAPACITY= 8;
+
+	private ASTVisitor[] fVisitors= new ASTVisitor[INITIAL_CAPACITY];
+
+	/**
+	 * The node types each visitor is interested in, indexed by node type, or <code>null</code> if
+	 * the visitor is interested in all nodes.
+	 */
+	private boolean[][] fInterests= new boolean[INITIAL_CAPACITY][];
+
+	/**
+	 * The node whose children are currently skipped for each visitor, or <code>null</code>.
+	 */
+	private ASTNode[] fSkippedAt= new ASTNode[INITIAL_CAPACITY];
+
+	/**
+	 * Whether <code>endVisit</code> is still due for the node in {@link #fSkippedAt}.
+	 */
+	private boolean[] fEndVisitDue= new boolean[INITIAL_CAPACITY];
+
+	private RuntimeException[] fExceptions= new RuntimeException[INITIAL_CAPACITY];
+
+	private int fSize;
+
+	/**
+	 * The number of visitors that receive calls for the children of the current node.
+	 */
+	private int fActive;
+
+	public FusedASTVisitor() {
+		super(true);
+	}
+
+	/**
+	 * Adds a visitor that receives calls for all nodes.
+	 *
+	 * @param visitor the visitor to add
+	 * @return the index of the visitor
+	 */
+	public int add(ASTVisitor visitor) {
+		return add(visitor, null);
+	}
+
+	/**
+	 * Adds a visitor that only receives calls for nodes of the given types.
+	 *
+	 * @param visitor the visitor to add
+	 * @param nodeTypes the node types as defined by {@link ASTNode#getNodeType()}, or
+	 *            <code>null</code> for all nodes
+	 * @return the index of the visitor
+	 */
+	public int add(ASTVisitor visitor, int[] nodeTypes) {
+		if (fSize == fVisitors.length) {
+			int capacity= fSize * 2;
+			fVisitors= Arrays.copyOf(fVisitors, capacity);
+			fInterests= Arrays.copyOf(fInterests, capacity);
+			fSkippedAt= Arrays.copyOf(fSkippedAt, capacity);
+			fEndVisitDue= Arrays.copyOf(fEndVisitDue, capacity);
+			fExceptions= Arrays.copyOf(fExceptions, capacity);
+		}
+		boolean[] interest= null;
+		if (nodeTypes != null) {
+			int max= ASTNode.JAVADOC;
+			for (int nodeType : nodeTypes) {
+				max= Math.max(max, nodeType);
+			}
+			interest= new boolean[max + 1];
+			interest[ASTNode.JAVADOC]= true;
+			for (int nodeType : nodeTypes) {
+				interest[nodeType]= true;
+			}
+		}
+		fVisitors[fSize]= visitor;
+		fInterests[fSize]= interest;
+		return fSize++;
+	}
+
+	public int getVisitorCount() {
+		return fSize;
+	}
+
+	public ASTVisitor getVisitor(int index) {
+		return fVisitors[index];
+	}
+
+	/**
+	 * Returns the exception thrown by the visitor with the given index.
+	 *
+	 * @param index the index of the visitor
+	 * @return the exception that stopped the visitor or <code>null</code> if the visitor completed
+	 */
+	public RuntimeException getException(int index) {
+		return fExceptions[index];
+	}
+
+	/**
+	 * Visits <code>node</code> with all visitors added so far.
+	 *
+	 * @param node the root of the traversal
+	 */
+	public void traverse(ASTNode node) {
+		fActive= 0;
+		for (int i= 0; i < fSize; i++) {
+			fSkippedAt[i]= null;
+			if (fExceptions[i] == null)
+				fActive++;
+		}
+		if (fActive > 0)
+			node.accept(this);
+	}
+
+	private boolean isInterested(int index, int nodeType) {
+		boolean[] interest= fInterests[index];
+		return interest == null || nodeType < interest.length && interest[nodeType];
+	}
+
+	@Override
+	public boolean preVisit2(ASTNode node) {
+		int nodeType= node.getNodeType();
+		for (int i= 0; i < fSize; i++) {
+			if (fSkippedAt[i] != null || fExceptions[i] != null || !isInterested(i, nodeType))
+				continue;
+
+			ASTVisitor visitor= fVisitors[i];
+			try {
+				if (!visitor.preVisit2(node)) {
+					skipChildren(i, node, false);
+				} else if (!dispatchVisit(visitor, node)) {
+					skipChildren(i, node, true);
+				}
+			} catch (RuntimeException e) {
+				fail(i, e);
+			}
+		}
+		return fActive > 0;
+	}
+
+	@Override
+	public void postVisit(ASTNode node) {
+		int nodeType= node.getNodeType();
+		for (int i= 0; i < fSize; i++) {
+			if (fExceptions[i] != null)
+				continue;
+
+			boolean endVisit;
+			if (fSkippedAt[i] == null) {
+				if (!isInterested(i, nodeType))
+					continue;
+				endVisit= true;
+			} else if (fSkippedAt[i] == node) {
+				endVisit= fEndVisitDue[i];
+				fSkippedAt[i]= null;
+				fActive++;
+			} else {
+				continue;
+			}
+
+			ASTVisitor visitor= fVisitors[i];
+			try {
+				if (endVisit)
+					dispatchEndVisit(visitor, node);
+				visitor.postVisit(node);
+			} catch (RuntimeException e) {
+				fail(i, e);
+			}
+		}
+	}
+
+	private void skipChildren(int index, ASTNode node, boolean endVisitDue) {
+		fSkippedAt[index]= node;
+		fEndVisitDue[index]= endVisitDue;
+		fActive--;
+	}
+
+	private void fail(int index, RuntimeException e) {
+		if (fSkippedAt[index] == null)
+			fActive--;
+		fSkippedAt[index]= null;
+		fExceptions[index]= e;
+	}
+
+	/**
+	 * Calls the type specific <code>visit</code> method of <code>visitor</code>.
+	 *
+	 * @param visitor the visitor
+	 * @param node the visited node
+	 * @return the result of the <code>visit</code> method, <code>true</code> for unknown node
+	 *         types
+	 */
+	public static boolean dispatchVisit(ASTVisitor visitor, ASTNode node) {
+		switch (node.getNodeType()) {
+			case ASTNode.ANNOTATION_TYPE_DECLARATION:
+				return visitor.visit((AnnotationTypeDeclaration) node);
+			case ASTNode.ANNOTATION_TYPE_MEMBER_DECLARATION:
+				return visitor.visit((AnnotationTypeMemberDeclaration) node);
+			case ASTNode.ANONYMOUS_CLASS_DECLARATION:
+				return visitor.visit((AnonymousClassDeclaration) node);
+			case ASTNode.ARRAY_ACCESS:
+				return visitor.visit((ArrayAccess) node);
+			case ASTNode.ARRAY_CREATION:
+				return visitor.visit((ArrayCreation) node);
+			case ASTNode.ARRAY_INITIALIZER:
+				return visitor.visit((ArrayInitializer) node);
+			case ASTNode.ARRAY_TYPE:
+				return visitor.visit((ArrayType) node);
+			case ASTNode.ASSERT_STATEMENT:
+				return visitor.visit((AssertStatement) node);
+			case ASTNode.ASSIGNMENT:
+				return visitor.visit((Assignment) node);
+			case ASTNode.BLOCK:
+				return visitor.visit((Block) node);
+			case ASTNode.BLOCK_COMMENT:
+				return visitor.visit((BlockComment) node);
+			case ASTNode.BOOLEAN_LITERAL:
+				return visitor.visit((BooleanLiteral) node);
+			case ASTNode.BREAK_STATEMENT:
+				return visitor.visit((BreakStatement) node);
+			case ASTNode.CASE_DEFAULT_EXPRESSION:
+				return visitor.visit((CaseDefaultExpression) node);
+			case ASTNode.CAST_EXPRESSION:
+				return visitor.visit((CastExpression) node);
+			case ASTNode.CATCH_CLAUSE:
+				return visitor.visit((CatchClause) node);
+			case ASTNode.CHARACTER_LITERAL:
+				return visitor.visit((CharacterLiteral) node);
+			case ASTNode.CLASS_INSTANCE_CREATION:
+				return visitor.visit((ClassInstanceCreation) node);
+			case ASTNode.COMPILATION_UNIT:
+				return visitor.visit((CompilationUnit) node);
+			case ASTNode.CONDITIONAL_EXPRESSION:
+				return visitor.visit((ConditionalExpression) node);
+			case ASTNode.CONSTRUCTOR_INVOCATION:
+				return visitor.visit((ConstructorInvocation) node);
+			case ASTNode.CONTINUE_STATEMENT:
+				return visitor.visit((ContinueStatement) node);
+			case ASTNode.CREATION_REFERENCE:
+				return visitor.visit((CreationReference) node);
+			case ASTNode.DIMENSION:
+				return visitor.visit((Dimension) node);
+			case ASTNode.DO_STATEMENT:
+				return visitor.visit((DoStatement) node);
+			case ASTNode.EITHER_OR_MULTI_PATTERN:
+				return visitor.visit((EitherOrMultiPattern) node);
+			case ASTNode.EMPTY_STATEMENT:
+				return visitor.visit((EmptyStatement) node);
+			case ASTNode.ENHANCED_FOR_STATEMENT:
+				return visitor.visit((EnhancedForStatement) node);
+			case ASTNode.ENUM_CONSTANT_DECLARATION:
+				return visitor.visit((EnumConstantDeclaration) node);
+			case ASTNode.ENUM_DECLARATION:
+				return visitor.visit((EnumDeclaration) node);
+			case ASTNode.EXPORTS_DIRECTIVE:
+				return visitor.visit((ExportsDirective) node);
+			case ASTNode.EXPRESSION_METHOD_REFERENCE:
+				return visitor.visit((ExpressionMethodReference) node);
+			case ASTNode.EXPRESSION_STATEMENT:
+				return visitor.visit((ExpressionStatement) node);
+			case ASTNode.FIELD_ACCESS:
+				return visitor.visit((FieldAccess) node);
+			case ASTNode.FIELD_DECLARATION:
+				return visitor.visit((FieldDeclaration) node);
+			case ASTNode.FOR_STATEMENT:
+				return visitor.visit((ForStatement) node);
+			case ASTNode.GUARDED_PATTERN:
+				return visitor.visit((GuardedPattern) node);
+			case ASTNode.IF_STATEMENT:
+				return visitor.visit((IfStatement) node);
+			case ASTNode.IMPLICIT_TYPE_DECLARATION:
+				return visitor.visit((ImplicitTypeDeclaration) node);
+			case ASTNode.IMPORT_DECLARATION:
+				return visitor.visit((ImportDeclaration) node);
+			case ASTNode.INFIX_EXPRESSION:
+				return visitor.visit((InfixExpression) node);
+			case ASTNode.INITIALIZER:
+				return visitor.visit((Initializer) node);
+			case ASTNode.INSTANCEOF_EXPRESSION:
+				return visitor.visit((InstanceofExpression) node);
+			case ASTNode.INTERSECTION_TYPE:
+				return visitor.visit((IntersectionType) node);
+			case ASTNode.JAVADOC_REGION:
+				return visitor.visit((JavaDocRegion) node);
+			case ASTNode.JAVADOC_TEXT_ELEMENT:
+				return visitor.visit((JavaDocTextElement) node);
+			case ASTNode.JAVADOC:
+				return visitor.visit((Javadoc) node);
+			case ASTNode.LABELED_STATEMENT:
+				return visitor.visit((LabeledStatement) node);
+			case ASTNode.LAMBDA_EXPRESSION:
+				return visitor.visit((LambdaExpression) node);
+			case ASTNode.LINE_COMMENT:
+				return visitor.visit((LineComment) node);
+			case ASTNode.MARKER_ANNOTATION:
+				return visitor.visit((MarkerAnnotation) node);
+			case ASTNode.MEMBER_REF:
+				return visitor.visit((MemberRef) node);
+			case ASTNode.MEMBER_VALUE_PAIR:
+				return visitor.visit((MemberValuePair) node);
+			case ASTNode.METHOD_DECLARATION:
+				return visitor.visit((MethodDeclaration) node);
+			case ASTNode.METHOD_INVOCATION:
+				return visitor.visit((MethodInvocation) node);
+			case ASTNode.METHOD_REF:
+				return visitor.visit((MethodRef) node);
+			case ASTNode.METHOD_REF_PARAMETER:
+				return visitor.visit((MethodRefParameter) node);
+			case ASTNode.MODIFIER:
+				return visitor.visit((Modifier) node);
+			case ASTNode.MODULE_DECLARATION:
+				return visitor.visit((ModuleDeclaration) node);
+			case ASTNode.MODULE_MODIFIER:
+				return visitor.visit((ModuleModifier) node);
+			case ASTNode.MODULE_QUALIFIED_NAME:
+				return visitor.visit((ModuleQualifiedName) node);
+			case ASTNode.NAME_QUALIFIED_TYPE:
+				return visitor.visit((NameQualifiedType) node);
+			case ASTNode.NORMAL_ANNOTATION:
+				return visitor.visit((NormalAnnotation) node);
+			case ASTNode.NULL_LITERAL:
+				return visitor.visit((NullLiteral) node);
+			case ASTNode.NULL_PATTERN:
+				return visitor.visit((NullPattern) node);
+			case ASTNode.NUMBER_LITERAL:
+				return visitor.visit((NumberLiteral) node);
+			case ASTNode.OPENS_DIRECTIVE:
+				return visitor.visit((OpensDirective) node);
+			case ASTNode.PACKAGE_DECLARATION:
+				return visitor.visit((PackageDeclaration) node);
+			case ASTNode.PARAMETERIZED_TYPE:
+				return visitor.visit((ParameterizedType) node);
+			case ASTNode.PARENTHESIZED_EXPRESSION:
+				return visitor.visit((ParenthesizedExpression) node);
+			case ASTNode.PATTERN_INSTANCEOF_EXPRESSION:
+				return visitor.visit((PatternInstanceofExpression) node);
+			case ASTNode.POSTFIX_EXPRESSION:
+				return visitor.visit((PostfixExpression) node);
+			case ASTNode.PREFIX_EXPRESSION:
+				return visitor.visit((PrefixExpression) node);
+			case ASTNode.PRIMITIVE_TYPE:
+				return visitor.visit((PrimitiveType) node);
+			case ASTNode.PROVIDES_DIRECTIVE:
+				return visitor.visit((ProvidesDirective) node);
+			case ASTNode.QUALIFIED_NAME:
+				return visitor.visit((QualifiedName) node);
+			case ASTNode.QUALIFIED_TYPE:
+				return visitor.visit((QualifiedType) node);
+			case ASTNode.RECORD_DECLARATION:
+				return visitor.visit((RecordDeclaration) node);
+			case ASTNode.RECORD_PATTERN:
+				return visitor.visit((RecordPattern) node);
+			case ASTNode.REQUIRES_DIRECTIVE:
+				return visitor.visit((RequiresDirective) node);
+			case ASTNode.RETURN_STATEMENT:
+				return visitor.visit((ReturnStatement) node);
+			case ASTNode.SIMPLE_NAME:
+				return visitor.visit((SimpleName) node);
+			case ASTNode.SIMPLE_TYPE:
+				return visitor.visit((SimpleType) node);
+			case ASTNode.SINGLE_MEMBER_ANNOTATION:
+				return visitor.visit((SingleMemberAnnotation) node);
+			case ASTNode.SINGLE_VARIABLE_DECLARATION:
+				return visitor.visit((SingleVariableDeclaration) node);
+			case ASTNode.STRING_LITERAL:
+				return visitor.visit((StringLiteral) node);
+			case ASTNode.SUPER_CONSTRUCTOR_INVOCATION:
+				return visitor.visit((SuperConstructorInvocation) node);
+			case ASTNode.SUPER_FIELD_ACCESS:
+				return visitor.visit((SuperFieldAccess) node);
+			case ASTNode.SUPER_METHOD_INVOCATION:
+				return visitor.visit((SuperMethodInvocation) node);
+			case ASTNode.SUPER_METHOD_REFERENCE:
+				return visitor.visit((SuperMethodReference) node);
+			case ASTNode.SWITCH_CASE:
+				return visitor.visit((SwitchCase) node);
+			case ASTNode.SWITCH_EXPRESSION:
+				return visitor.visit((SwitchExpression) node);
+			case ASTNode.SWITCH_STATEMENT:
+				return visitor.visit((SwitchStatement) node);
+			case ASTNode.SYNCHRONIZED_STATEMENT:
+				return visitor.visit((SynchronizedStatement) node);
+			case ASTNode.TAG_ELEMENT:
+				return visitor.visit((TagElement) node);
+			case ASTNode.TAG_PROPERTY:
+				return visitor.visit((TagProperty) node);
+			case ASTNode.TEXT_BLOCK:
+				return visitor.visit((TextBlock) node);
+			case ASTNode.TEXT_ELEMENT:
+				return visitor.visit((TextElement) node);
+			case ASTNode.THIS_EXPRESSION:
+				return visitor.visit((ThisExpression) node);
+			case ASTNode.THROW_STATEMENT:
+				return visitor.visit((ThrowStatement) node);
+			case ASTNode.TRY_STATEMENT:
+				return visitor.visit((TryStatement) node);
+			case ASTNode.TYPE_DECLARATION:
+				return visitor.visit((TypeDeclaration) node);
+			case ASTNode.TYPE_DECLARATION_STATEMENT:
+				return visitor.visit((TypeDeclarationStatement) node);
+			case ASTNode.TYPE_LITERAL:
+				return visitor.visit((TypeLiteral) node);
+			case ASTNode.TYPE_METHOD_REFERENCE:
+				return visitor.visit((TypeMethodReference) node);
+			case ASTNode.TYPE_PARAMETER:
+				return visitor.visit((TypeParameter) node);
+			case ASTNode.TYPE_PATTERN:
+				return visitor.visit((TypePattern) node);
+			case ASTNode.UNION_TYPE:
+				return visitor.visit((UnionType) node);
+			case ASTNode.USES_DIRECTIVE:
+				return visitor.visit((UsesDirective) node);
+			case ASTNode.VARIABLE_DECLARATION_EXPRESSION:
+				return visitor.visit((VariableDeclarationExpression) node);
+			case ASTNode.VARIABLE_DECLARATION_FRAGMENT:
+				return visitor.visit((VariableDeclarationFragment) node);
+			case ASTNode.VARIABLE_DECLARATION_STATEMENT:
+				return visitor.visit((VariableDeclarationStatement) node);
+			case ASTNode.WHILE_STATEMENT:
+				return visitor.visit((WhileStatement) node);
+			case ASTNode.WILDCARD_TYPE:
+				return visitor.visit((WildcardType) node);
+			case ASTNode.YIELD_STATEMENT:
+				return visitor.visit((YieldStatement) node);
+			default:
+				return true;
+		}
+	}
+
+	/**
+	 * Calls the type specific <code>endVisit</code> method of <code>visitor</code>.
+	 *
+	 * @param visitor the visitor
+	 * @param node the visited node
+	 */
+	public static void dispatchEndVisit(ASTVisitor visitor, ASTNode node) {
+		switch (node.getNodeType()) {
+			case ASTNode.ANNOTATION_TYPE_DECLARATION:
+				visitor.endVisit((AnnotationTypeDeclaration) node);
+				break;
+			case ASTNode.ANNOTATION_TYPE_MEMBER_DECLARATION:
+				visitor.endVisit((AnnotationTypeMemberDeclaration) node);
+				break;
+			case ASTNode.ANONYMOUS_CLASS_DECLARATION:
+				visitor.endVisit((AnonymousClassDeclaration) node);
+				break;
+			case ASTNode.ARRAY_ACCESS:
+				visitor.endVisit((ArrayAccess) node);
+				break;
+			case ASTNode.ARRAY_CREATION:
+				visitor.endVisit((ArrayCreation) node);
+				break;
+			case ASTNode.ARRAY_INITIALIZER:
+				visitor.endVisit((ArrayInitializer) node);
+				break;
+			case ASTNode.ARRAY_TYPE:
+				visitor.endVisit((ArrayType) node);
+				break;
+			case ASTNode.ASSERT_STATEMENT:
+				visitor.endVisit((AssertStatement) node);
+				break;
+			case ASTNode.ASSIGNMENT:
+				visitor.endVisit((Assignment) node);
+				break;
+			case ASTNode.BLOCK:
+				visitor.endVisit((Block) node);
+				break;
+			case ASTNode.BLOCK_COMMENT:
+				visitor.endVisit((BlockComment) node);
+				break;
+			case ASTNode.BOOLEAN_LITERAL:
+				visitor.endVisit((BooleanLiteral) node);
+				break;
+			case ASTNode.BREAK_STATEMENT:
+				visitor.endVisit((BreakStatement) node);
+				break;
+			case ASTNode.CASE_DEFAULT_EXPRESSION:
+				visitor.endVisit((CaseDefaultExpression) node);
+				break;
+			case ASTNode.CAST_EXPRESSION:
+				visitor.endVisit((CastExpression) node);
+				break;
+			case ASTNode.CATCH_CLAUSE:
+				visitor.endVisit((CatchClause) node);
+				break;
+			case ASTNode.CHARACTER_LITERAL:
+				visitor.endVisit((CharacterLiteral) node);
+				break;
+			case ASTNode.CLASS_INSTANCE_CREATION:
+				visitor.endVisit((ClassInstanceCreation) node);
+				break;
+			case ASTNode.COMPILATION_UNIT:
+				visitor.endVisit((CompilationUnit) node);
+				break;
+			case ASTNode.CONDITIONAL_EXPRESSION:
+				visitor.endVisit((ConditionalExpression) node);
+				break;
+			case ASTNode.CONSTRUCTOR_INVOCATION:
+				visitor.endVisit((ConstructorInvocation) node);
+				break;
+			case ASTNode.CONTINUE_STATEMENT:
+				visitor.endVisit((ContinueStatement) node);
+				break;
+			case ASTNode.CREATION_REFERENCE:
+				visitor.endVisit((CreationReference) node);
+				break;
+			case ASTNode.DIMENSION:
+				visitor.endVisit((Dimension) node);
+				break;
+			case ASTNode.DO_STATEMENT:
+				visitor.endVisit((DoStatement) node);
+				break;
+			case ASTNode.EITHER_OR_MULTI_PATTERN:
+				visitor.endVisit((EitherOrMultiPattern) node);
+				break;
+			case ASTNode.EMPTY_STATEMENT:
+				visitor.endVisit((EmptyStatement) node);
+				break;
+			case ASTNode.ENHANCED_FOR_STATEMENT:
+				visitor.endVisit((EnhancedForStatement) node);
+				break;
+			case ASTNode.ENUM_CONSTANT_DECLARATION:
+				visitor.endVisit((EnumConstantDeclaration) node);
+				break;
+			case ASTNode.ENUM_DECLARATION:
+				visitor.endVisit((EnumDeclaration) node);
+				break;
+			case ASTNode.EXPORTS_DIRECTIVE:
+				visitor.endVisit((ExportsDirective) node);
+				break;
+			case ASTNode.EXPRESSION_METHOD_REFERENCE:
+				visitor.endVisit((ExpressionMethodReference) node);
+				break;
+			case ASTNode.EXPRESSION_STATEMENT:
+				visitor.endVisit((ExpressionStatement) node);
+				break;
+			case ASTNode.FIELD_ACCESS:
+				visitor.endVisit((FieldAccess) node);
+				break;
+			case ASTNode.FIELD_DECLARATION:
+				visitor.endVisit((FieldDeclaration) node);
+				break;
+			case ASTNode.FOR_STATEMENT:
+				visitor.endVisit((ForStatement) node);
+				break;
+			case ASTNode.GUARDED_PATTERN:
+				visitor.endVisit((GuardedPattern) node);
+				break;
+			case ASTNode.IF_STATEMENT:
+				visitor.endVisit((IfStatement) node);
+				break;
+			case ASTNode.IMPLICIT_TYPE_DECLARATION:
+				visitor.endVisit((ImplicitTypeDeclaration) node);
+				break;
+			case ASTNode.IMPORT_DECLARATION:
+				visitor.endVisit((ImportDeclaration) node);
+				break;
+			case ASTNode.INFIX_EXPRESSION:
+				visitor.endVisit((InfixExpression) node);
+				break;
+			case ASTNode.INITIALIZER:
+				visitor.endVisit((Initializer) node);
+				break;
+			case ASTNode.INSTANCEOF_EXPRESSION:
+				visitor.endVisit((InstanceofExpression) node);
+				break;
+			case ASTNode.INTERSECTION_TYPE:
+				visitor.endVisit((IntersectionType) node);
+				break;
+			case ASTNode.JAVADOC_REGION:
+				visitor.endVisit((JavaDocRegion) node);
+				break;
+			case ASTNode.JAVADOC_TEXT_ELEMENT:
+				visitor.endVisit((JavaDocTextElement) node);
+				break;
+			case ASTNode.JAVADOC:
+				visitor.endVisit((Javadoc) node);
+				break;
+			case ASTNode.LABELED_STATEMENT:
+				visitor.endVisit((LabeledStatement) node);
+				break;
+			case ASTNode.LAMBDA_EXPRESSION:
+				visitor.endVisit((LambdaExpression) node);
+				break;
+			case ASTNode.LINE_COMMENT:
+				visitor.endVisit((LineComment) node);
+				break;
+			case ASTNode.MARKER_ANNOTATION:
+				visitor.endVisit((MarkerAnnotation) node);
+				break;
+			case ASTNode.MEMBER_REF:
+				visitor.endVisit((MemberRef) node);
+				break;
+			case ASTNode.MEMBER_VALUE_PAIR:
+				visitor.endVisit((MemberValuePair) node);
+				break;
+			case ASTNode.METHOD_DECLARATION:
+				visitor.endVisit((MethodDeclaration) node);
+				break;
+			case ASTNode.METHOD_INVOCATION:
+				visitor.endVisit((MethodInvocation) node);
+				break;
+			case ASTNode.METHOD_REF:
+				visitor.endVisit((MethodRef) node);
+				break;
+			case ASTNode.METHOD_REF_PARAMETER:
+				visitor.endVisit((MethodRefParameter) node);
+				break;
+			case ASTNode.MODIFIER:
+				visitor.endVisit((Modifier) node);
+				break;
+			case ASTNode.MODULE_DECLARATION:
+				visitor.endVisit((ModuleDeclaration) node);
+				break;
+			case ASTNode.MODULE_MODIFIER:
+				visitor.endVisit((ModuleModifier) node);
+				break;
+			case ASTNode.MODULE_QUALIFIED_NAME:
+				visitor.endVisit((ModuleQualifiedName) node);
+				break;
+			case ASTNode.NAME_QUALIFIED_TYPE:
+				visitor.endVisit((NameQualifiedType) node);
+				break;
+			case ASTNode.NORMAL_ANNOTATION:
+				visitor.endVisit((NormalAnnotation) node);
+				break;
+			case ASTNode.NULL_LITERAL:
+				visitor.endVisit((NullLiteral) node);
+				break;
+			case ASTNode.NULL_PATTERN:
+				visitor.endVisit((NullPattern) node);
+				break;
+			case ASTNode.NUMBER_LITERAL:
+				visitor.endVisit((NumberLiteral) node);
+				break;
+			case ASTNode.OPENS_DIRECTIVE:
+				visitor.endVisit((OpensDirective) node);
+				break;
+			case ASTNode.PACKAGE_DECLARATION:
+				visitor.endVisit((PackageDeclaration) node);
+				break;
+			case ASTNode.PARAMETERIZED_TYPE:
+				visitor.endVisit((ParameterizedType) node);
+				break;
+			case ASTNode.PARENTHESIZED_EXPRESSION:
+				visitor.endVisit((ParenthesizedExpression) node);
+				break;
+			case ASTNode.PATTERN_INSTANCEOF_EXPRESSION:
+				visitor.endVisit((PatternInstanceofExpression) node);
+				break;
+			case ASTNode.POSTFIX_EXPRESSION:
+				visitor.endVisit((PostfixExpression) node);
+				break;
+			case ASTNode.PREFIX_EXPRESSION:
+				visitor.endVisit((PrefixExpression) node);
+				break;
+			case ASTNode.PRIMITIVE_TYPE:
+				visitor.endVisit((PrimitiveType) node);
+				break;
+			case ASTNode.PROVIDES_DIRECTIVE:
+				visitor.endVisit((ProvidesDirective) node);
+				break;
+			case ASTNode.QUALIFIED_NAME:
+				visitor.endVisit((QualifiedName) node);
+				break;
+			case ASTNode.QUALIFIED_TYPE:
+				visitor.endVisit((QualifiedType) node);
+				break;
+			case ASTNode.RECORD_DECLARATION:
+				visitor.endVisit((RecordDeclaration) node);
+				break;
+			case ASTNode.RECORD_PATTERN:
+				visitor.endVisit((RecordPattern) node);
+				break;
+			case ASTNode.REQUIRES_DIRECTIVE:
+				visitor.endVisit((RequiresDirective) node);
+				break;
+			case ASTNode.RETURN_STATEMENT:
+				visitor.endVisit((ReturnStatement) node);
+				break;
+			case ASTNode.SIMPLE_NAME:
+				visitor.endVisit((SimpleName) node);
+				break;
+			case ASTNode.SIMPLE_TYPE:
+				visitor.endVisit((SimpleType) node);
+				break;
+			case ASTNode.SINGLE_MEMBER_ANNOTATION:
+				visitor.endVisit((SingleMemberAnnotation) node);
+				break;
+			case ASTNode.SINGLE_VARIABLE_DECLARATION:
+				visitor.endVisit((SingleVariableDeclaration) node);
+				break;
+			case ASTNode.STRING_LITERAL:
+				visitor.endVisit((StringLiteral) node);
+				break;
+			case ASTNode.SUPER_CONSTRUCTOR_INVOCATION:
+				visitor.endVisit((SuperConstructorInvocation) node);
+				break;
+			case ASTNode.SUPER_FIELD_ACCESS:
+				visitor.endVisit((SuperFieldAccess) node);
+				break;
+			case ASTNode.SUPER_METHOD_INVOCATION:
+				visitor.endVisit((SuperMethodInvocation) node);
+				break;
+			case ASTNode.SUPER_METHOD_REFERENCE:
+				visitor.endVisit((SuperMethodReference) node);
+				break;
+			case ASTNode.SWITCH_CASE:
+				visitor.endVisit((SwitchCase) node);
+				break;
+			case ASTNode.SWITCH_EXPRESSION:
+				visitor.endVisit((SwitchExpression) node);
+				break;
+			case ASTNode.SWITCH_STATEMENT:
+				visitor.endVisit((SwitchStatement) node);
+				break;
+			case ASTNode.SYNCHRONIZED_STATEMENT:
+				visitor.endVisit((SynchronizedStatement) node);
+				break;
+			case ASTNode.TAG_ELEMENT:
+				visitor.endVisit((TagElement) node);
+				break;
+			case ASTNode.TAG_PROPERTY:
+				visitor.endVisit((TagProperty) node);
+				break;
+			case ASTNode.TEXT_BLOCK:
+				visitor.endVisit((TextBlock) node);
+				break;
+			case ASTNode.TEXT_ELEMENT:
+				visitor.endVisit((TextElement) node);
+				break;
+			case ASTNode.THIS_EXPRESSION:
+				visitor.endVisit((ThisExpression) node);
+				break;
+			case ASTNode.THROW_STATEMENT:
+				visitor.endVisit((ThrowStatement) node);
+				break;
+			case ASTNode.TRY_STATEMENT:
+				visitor.endVisit((TryStatement) node);
+				break;
+			case ASTNode.TYPE_DECLARATION:
+				visitor.endVisit((TypeDeclaration) node);
+				break;
+			case ASTNode.TYPE_DECLARATION_STATEMENT:
+				visitor.endVisit((TypeDeclarationStatement) node);
+				break;
+			case ASTNode.TYPE_LITERAL:
+				visitor.endVisit((TypeLiteral) node);
+				break;
+			case ASTNode.TYPE_METHOD_REFERENCE:
+				visitor.endVisit((TypeMethodReference) node);
+				break;
+			case ASTNode.TYPE_PARAMETER:
+				visitor.endVisit((TypeParameter) node);
+				break;
+			case ASTNode.TYPE_PATTERN:
+				visitor.endVisit((TypePattern) node);
+				break;
+			case ASTNode.UNION_TYPE:
+				visitor.endVisit((UnionType) node);
+				break;
+			case ASTNode.USES_DIRECTIVE:
+				visitor.endVisit((UsesDirective) node);
+				break;
+			case ASTNode.VARIABLE_DECLARATION_EXPRESSION:
+				visitor.endVisit((VariableDeclarationExpression) node);
+				break;
+			case ASTNode.VARIABLE_DECLARATION_FRAGMENT:
+				visitor.endVisit((VariableDeclarationFragment) node);
+				break;
+			case ASTNode.VARIABLE_DECLARATION_STATEMENT:
+				visitor.endVisit((VariableDeclarationStatement) node);
+				break;
+			case ASTNode.WHILE_STATEMENT:
+				visitor.endVisit((WhileStatement) node);
+				break;
+			case ASTNode.WILDCARD_TYPE:
+				visitor.endVisit((WildcardType) node);
+				break;
+			case ASTNode.YIELD_STATEMENT:
+				visitor.endVisit((YieldStatement) node);
+				break;
+			default:
+				break;
+		}
+	}
+}
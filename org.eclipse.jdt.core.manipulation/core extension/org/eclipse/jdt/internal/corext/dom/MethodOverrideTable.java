@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.dom;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+import org.eclipse.jdt.core.dom.Modifier;
+
+/**
+ * Finds the methods overridden by the methods of one AST, with the same result as
+ * {@link Bindings#findOverriddenMethod(IMethodBinding, boolean)}.
+ * <p>
+ * {@link Bindings#findOverriddenMethod(IMethodBinding, boolean)} walks the whole hierarchy of the
+ * declaring type and compares with every declared method for each method it is asked for. The
+ * table remembers the declared methods of each super type by name and, for each super type and
+ * method name, the candidates of its hierarchy in the order of the walk. The candidates are computed
+ * once for all methods of the AST with the same name, so a method is only compared with the
+ * methods of the same name.
+ * </p>
+ * <p>
+ * A table holds the bindings of one AST and must not be used with bindings of other ASTs. It is
+ * meant to be created for one pass over an AST, it does not notice changes of the super types.
+ * </p>
+ *
+ * @since 1.21
+ */
+public final class MethodOverrideTable {
+
+	/** The declared methods of types by type and name */
+	private final Map<ITypeBinding, Map<String, List<IMethodBinding>>> fDeclaredMethods= new HashMap<>();
+
+	/** The methods of the hierarchy of types in search order, by type and name */
+	private final Map<ITypeBinding, Map<String, List<IMethodBinding>>> fCandidates= new HashMap<>();
+
+	/**
+	 * Finds the method that is overridden by the given method, see
+	 * {@link Bindings#findOverriddenMethod(IMethodBinding, boolean)}.
+	 *
+	 * @param overriding overriding method
+	 * @param testVisibility if <code>true</code> the result is tested on visibility.
+	 *            <code>null</code> is returned if the method is not visible.
+	 * @return the method binding representing the method, or <code>null</code>
+	 */
+	public IMethodBinding findOverriddenMethod(IMethodBinding overriding, boolean testVisibility) {
+		int modifiers= overriding.getModifiers();
+		if (Modifier.isPrivate(modifiers) || Modifier.isStatic(modifiers) || overriding.isConstructor())
+			return null;
+
+		ITypeBinding type= overriding.getDeclaringClass();
+		ITypeBinding superClass= type.getSuperclass();
+		if (superClass != null) {
+			IMethodBinding res= findOverriddenMethodInHierarchy(superClass, overriding);
+			if (res != null && !Modifier.isPrivate(res.getModifiers())) {
+				if (!testVisibility || Bindings.isVisibleInHierarchy(res, type.getPackage()))
+					return res;
+			}
+		}
+		for (ITypeBinding intf : type.getInterfaces()) {
+			IMethodBinding res= findOverriddenMethodInHierarchy(intf, overriding);
+			if (res != null)
+				return res; // methods from interfaces are always public and therefore visible
+		}
+		return null;
+	}
+
+	private IMethodBinding findOverriddenMethodInHierarchy(ITypeBinding type, IMethodBinding overriding) {
+		for (IMethodBinding candidate : getCandidates(type, overriding.getName())) {
+			if (Bindings.isSubsignature(overriding, candidate))
+				return candidate;
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the methods of the given name in the order
+	 * {@link Bindings#findOverriddenMethodInHierarchy(ITypeBinding, IMethodBinding)} visits them:
+	 * the declared methods of the type, the methods of the hierarchy of its super class and the
+	 * ones of the hierarchies of its interfaces. Methods met again are left out, they cannot
+	 * change the first match.
+	 *
+	 * @param type the type
+	 * @param name the method name
+	 * @return the methods
+	 */
+	private List<IMethodBinding> getCandidates(ITypeBinding type, String name) {
+		Map<String, List<IMethodBinding>> byName= fCandidates.computeIfAbsent(type, t -> new HashMap<>());
+		List<IMethodBinding> candidates= byName.get(name);
+		if (candidates != null)
+			return candidates;
+		byName.put(name, Collections.emptyList()); // in case of a cyclic hierarchy
+
+		Set<IMethodBinding> result= new LinkedHashSet<>(getDeclaredMethods(type, name));
+		ITypeBinding superClass= type.getSuperclass();
+		if (superClass != null)
+			result.addAll(getCandidates(superClass, name));
+		for (ITypeBinding intf : type.getInterfaces())
+			result.addAll(getCandidates(intf, name));
+
+		candidates= result.isEmpty() ? Collections.emptyList() : new ArrayList<>(result);
+		byName.put(name, candidates);
+		return candidates;
+	}
+
+	private List<IMethodBinding> getDeclaredMethods(ITypeBinding type, String name) {
+		Map<String, List<IMethodBinding>> byName= fDeclaredMethods.get(type);
+		if (byName == null) {
+			byName= new HashMap<>();
+			for (IMethodBinding method : type.getDeclaredMethods())
+				byName.computeIfAbsent(method.getName(), n -> new ArrayList<>(1)).add(method);
+			fDeclaredMethods.put(type, byName);
+		}
+		List<IMethodBinding> methods= byName.get(name);
+		return methods != null ? methods : Collections.emptyList();
+	}
+}
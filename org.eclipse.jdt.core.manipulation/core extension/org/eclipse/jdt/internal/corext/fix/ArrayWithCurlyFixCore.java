@@ -14,7 +14,6 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.fix;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
@@ -129,10 +128,12 @@ public class ArrayWithCurlyFixCore extends CompilationUnitRewriteOperationsFixCo
 	}
 
 
+	public static void registerFinder(final CleanUpASTTraversal traversal) {
+		traversal.register(ArrayWithCurlyFixCore.class, ArrayWithCurlyFinder::new, ASTNode.ARRAY_CREATION);
+	}
+
 	public static ICleanUpFix createCleanUp(final CompilationUnit compilationUnit) {
-		List<ArrayWithCurlyFixOperation> operations= new ArrayList<>();
-		ArrayWithCurlyFinder finder= new ArrayWithCurlyFinder(operations);
-		compilationUnit.accept(finder);
+		List<ArrayWithCurlyFixOperation> operations= CleanUpASTTraversal.collect(compilationUnit, ArrayWithCurlyFixCore.class, ArrayWithCurlyFinder::new);
 
 		if (operations.isEmpty()) {
 			return null;
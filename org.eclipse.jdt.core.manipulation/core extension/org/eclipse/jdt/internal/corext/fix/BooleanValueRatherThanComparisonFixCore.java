@@ -13,7 +13,6 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.fix;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.core.runtime.CoreException;
@@ -168,10 +167,12 @@ public class BooleanValueRatherThanComparisonFixCore extends CompilationUnitRewr
 		}
 	}
 
+	public static void registerFinder(final CleanUpASTTraversal traversal) {
+		traversal.register(BooleanValueRatherThanComparisonFixCore.class, BooleanValueRatherThanComparisonFinder::new, ASTNode.METHOD_INVOCATION, ASTNode.PARENTHESIZED_EXPRESSION, ASTNode.INFIX_EXPRESSION);
+	}
+
 	public static ICleanUpFix createCleanUp(final CompilationUnit compilationUnit) {
-		List<CompilationUnitRewriteOperation> operations= new ArrayList<>();
-		BooleanValueRatherThanComparisonFinder finder= new BooleanValueRatherThanComparisonFinder(operations);
-		compilationUnit.accept(finder);
+		List<CompilationUnitRewriteOperation> operations= CleanUpASTTraversal.collect(compilationUnit, BooleanValueRatherThanComparisonFixCore.class, BooleanValueRatherThanComparisonFinder::new);
 
 		if (operations.isEmpty()) {
 			return null;
@@ -0,0 +1,240 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.fix;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.eclipse.jface.text.IRegion;
+
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
+import org.eclipse.jdt.core.dom.BodyDeclaration;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.EnumDeclaration;
+
+import org.eclipse.jdt.internal.corext.dom.FusedASTVisitor;
+
+/**
+ * A traversal of a compilation unit shared by the clean ups applied to it.
+ * <p>
+ * Clean ups which collect their operations with a single finder visitor register the finder
+ * before any of them creates its fix. When the first registered clean up asks for its operations,
+ * the compilation unit is visited once with all registered finders using a
+ * {@link FusedASTVisitor}. The cost of finding the operations then scales with the size of the
+ * AST instead of with the size of the AST times the number of clean ups.
+ * </p>
+ * <p>
+ * The traversal is attached to the AST as a property while it is installed. Clean ups which are not
+ * registered, which ask for their operations more than once, or whose finder failed during the
+ * shared traversal fall back to visiting the compilation unit on their own, see
+ * {@link #collect(CompilationUnit, Object, Function)}.
+ * </p>
+ * <p>
+ * The traversal can be restricted to the members intersecting some regions of the compilation unit,
+ * see {@link #restrictTo(IRegion[])}. Finders are therefore expected to only depend on the member
+ * declaration containing the nodes they look at. Clean ups which cannot guarantee this must not
+ * register their finder and visit the compilation unit on their own.
+ * </p>
+ *
+ * @since 1.21
+ */
+public final class CleanUpASTTraversal {
+
+	private static final String PROPERTY= "org.eclipse.jdt.internal.corext.fix.CleanUpASTTraversal"; //$NON-NLS-1$
+
+	private static final class Participant {
+		final Function<List<Object>, ASTVisitor> fFinderFactory;
+		final int[] fNodeTypes;
+		List<Object> fOperations;
+		int fIndex;
+
+		Participant(Function<List<Object>, ASTVisitor> finderFactory, int[] nodeTypes) {
+			fFinderFactory= finderFactory;
+			fNodeTypes= nodeTypes;
+		}
+	}
+
+	private final CompilationUnit fUnit;
+
+	private final Map<Object, Participant> fParticipants= new LinkedHashMap<>();
+
+	private FusedASTVisitor fVisitor;
+
+	private IRegion[] fRegions;
+
+	private CleanUpASTTraversal(CompilationUnit unit) {
+		fUnit= unit;
+	}
+
+	/**
+	 * Attaches a new shared traversal to <code>unit</code>. The caller is responsible to
+	 * {@link #dispose()} it once the fixes for the unit have been created.
+	 *
+	 * @param unit the AST of the compilation unit to clean up
+	 * @return the new traversal
+	 */
+	public static CleanUpASTTraversal install(CompilationUnit unit) {
+		CleanUpASTTraversal traversal= new CleanUpASTTraversal(unit);
+		unit.setProperty(PROPERTY, traversal);
+		return traversal;
+	}
+
+	/**
+	 * @param unit the AST of a compilation unit
+	 * @return the traversal attached to <code>unit</code> or <code>null</code>
+	 */
+	public static CleanUpASTTraversal get(CompilationUnit unit) {
+		Object traversal= unit.getProperty(PROPERTY);
+		return traversal instanceof CleanUpASTTraversal ? (CleanUpASTTraversal) traversal : null;
+	}
+
+	/**
+	 * Detaches this traversal from its AST and drops all collected operations.
+	 */
+	public void dispose() {
+		if (fUnit.getProperty(PROPERTY) == this)
+			fUnit.setProperty(PROPERTY, null);
+		fParticipants.clear();
+		fVisitor= null;
+	}
+
+	/**
+	 * Registers the finder of a clean up. Registering after the traversal has been performed has
+	 * no effect, the clean up will visit the compilation unit on its own.
+	 *
+	 * @param key identifies the clean up, usually its fix class
+	 * @param finderFactory creates the visitor which adds the operations found to the given list
+	 * @param nodeTypes the node types the finder overrides <code>visit</code> or
+	 *            <code>endVisit</code> for, or none if the finder needs to see all nodes
+	 */
+	@SuppressWarnings("unchecked")
+	public <O> void register(Object key, Function<List<O>, ASTVisitor> finderFactory, int... nodeTypes) {
+		if (fVisitor != null)
+			return;
+		Function<?, ASTVisitor> factory= finderFactory;
+		fParticipants.put(key, new Participant((Function<List<Object>, ASTVisitor>) factory, nodeTypes.length == 0 ? null : nodeTypes));
+	}
+
+	public boolean isRegistered(Object key) {
+		return fParticipants.containsKey(key);
+	}
+
+	/**
+	 * Restricts the traversal to the member declarations intersecting the given regions. Nodes
+	 * outside of these members are not visited, the finders only find the operations inside of
+	 * them. Restricting after the traversal has been performed has no effect.
+	 * <p>
+	 * Members are field, method and initializer declarations and enum constants. If a region
+	 * intersects a type declaration but none of its members, for example its header, the whole type
+	 * declaration is visited.
+	 * </p>
+	 *
+	 * @param regions the regions, usually the changed lines
+	 */
+	public void restrictTo(IRegion[] regions) {
+		if (fVisitor != null)
+			return;
+		fRegions= regions;
+	}
+
+	/**
+	 * Returns the operations found by the finder of a clean up in <code>unit</code>. If a shared
+	 * traversal is attached to <code>unit</code> and the clean up has been registered with it, the
+	 * operations are taken from the shared traversal, else <code>unit</code> is visited with a
+	 * finder created by <code>finderFactory</code>.
+	 *
+	 * @param unit the AST of the compilation unit to clean up
+	 * @param key identifies the clean up, as given to {@link #register(Object, Function, int...)}
+	 * @param finderFactory creates the visitor which adds the operations found to the given list
+	 * @return the operations found
+	 */
+	public static <O> List<O> collect(CompilationUnit unit, Object key, Function<List<O>, ASTVisitor> finderFactory) {
+		CleanUpASTTraversal traversal= get(unit);
+		if (traversal != null) {
+			List<O> operations= traversal.getOperations(key);
+			if (operations != null)
+				return operations;
+		}
+
+		List<O> operations= new ArrayList<>();
+		unit.accept(finderFactory.apply(operations));
+		return operations;
+	}
+
+	@SuppressWarnings("unchecked")
+	private <O> List<O> getOperations(Object key) {
+		Participant participant= fParticipants.get(key);
+		if (participant == null)
+			return null;
+
+		if (fVisitor == null)
+			traverse();
+		fParticipants.remove(key);
+
+		if (fVisitor.getException(participant.fIndex) != null)
+			return null;
+		return (List<O>) participant.fOperations;
+	}
+
+	private void traverse() {
+		fVisitor= new FusedASTVisitor();
+		for (Participant participant : fParticipants.values()) {
+			participant.fOperations= new ArrayList<>();
+			participant.fIndex= fVisitor.add(participant.fFinderFactory.apply(participant.fOperations), participant.fNodeTypes);
+		}
+		if (fRegions == null) {
+			fVisitor.traverse(fUnit);
+		} else {
+			List<ASTNode> members= new ArrayList<>();
+			collectMembers(fUnit.types(), members);
+			for (ASTNode member : members) {
+				fVisitor.traverse(member);
+			}
+		}
+	}
+
+	private void collectMembers(List<?> declarations, List<ASTNode> result) {
+		for (Object element : declarations) {
+			BodyDeclaration declaration= (BodyDeclaration) element;
+			if (!intersectsRegion(declaration))
+				continue;
+
+			if (declaration instanceof AbstractTypeDeclaration) {
+				int size= result.size();
+				if (declaration instanceof EnumDeclaration)
+					collectMembers(((EnumDeclaration) declaration).enumConstants(), result);
+				collectMembers(((AbstractTypeDeclaration) declaration).bodyDeclarations(), result);
+				if (result.size() == size)
+					result.add(declaration);
+			} else {
+				result.add(declaration);
+			}
+		}
+	}
+
+	private boolean intersectsRegion(ASTNode node) {
+		int start= node.getStartPosition();
+		int end= start + node.getLength();
+		for (IRegion region : fRegions) {
+			if (region.getOffset() <= end && start <= region.getOffset() + region.getLength())
+				return true;
+		}
+		return false;
+	}
+}
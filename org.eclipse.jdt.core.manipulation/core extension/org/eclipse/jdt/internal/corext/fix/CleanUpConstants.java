@@ -2328,6 +2328,21 @@ public class CleanUpConstants {
 
 	public static final String CLEANUP_ON_SAVE_ADDITIONAL_OPTIONS= "cleanup.on_save_use_additional_actions"; //$NON-NLS-1$
 
+	/**
+	 * If true then the additional actions on save only clean up the members which contain changed
+	 * lines. Clean ups which cannot be restricted to members still clean up the whole compilation
+	 * unit. Only has an effect if {@link #CLEANUP_ON_SAVE_ADDITIONAL_OPTIONS} is TRUE <br>
+	 * <br>
+	 * Possible values: {TRUE, FALSE}<br>
+	 * Default value: FALSE<br>
+	 * <br>
+	 *
+	 * @see CleanUpOptions#TRUE
+	 * @see CleanUpOptions#FALSE
+	 * @since 4.35
+	 */
+	public static final String CLEANUP_ON_SAVE_CHANGES_ONLY= "cleanup.on_save_changes_only"; //$NON-NLS-1$
+
 	/**
 	 * The id of the profile used as a default profile when executing clean up.<br>
 	 * <br>
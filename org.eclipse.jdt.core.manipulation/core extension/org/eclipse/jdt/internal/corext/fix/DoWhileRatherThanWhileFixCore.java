@@ -356,10 +356,12 @@ public class DoWhileRatherThanWhileFixCore extends CompilationUnitRewriteOperati
 		}
 	}
 
+	public static void registerFinder(final CleanUpASTTraversal traversal) {
+		traversal.register(DoWhileRatherThanWhileFixCore.class, DoWhileRatherThanWhileFinder::new, ASTNode.WHILE_STATEMENT);
+	}
+
 	public static ICleanUpFix createCleanUp(final CompilationUnit compilationUnit) {
-		List<CompilationUnitRewriteOperation> operations= new ArrayList<>();
-		DoWhileRatherThanWhileFinder finder= new DoWhileRatherThanWhileFinder(operations);
-		compilationUnit.accept(finder);
+		List<CompilationUnitRewriteOperation> operations= CleanUpASTTraversal.collect(compilationUnit, DoWhileRatherThanWhileFixCore.class, DoWhileRatherThanWhileFinder::new);
 
 		if (operations.isEmpty()) {
 			return null;
@@ -41,6 +41,9 @@ public final class FixMessages extends NLS {
 	public static String CleanUpRefactoring_ProcessingCompilationUnit_message;
 	public static String CleanUpRefactoring_Initialize_message;
 	public static String CleanUpRefactoring_exception;
+	public static String CleanUpRefactoring_undo_journal_change_name;
+	public static String CleanUpRefactoring_undo_journal_error;
+	public static String CleanUpRefactoring_undo_journal_modified;
 
 	public static String CleanUpRegistry_ErrorTabPage_description;
 	public static String CleanUpRegistry_ErrorTabPage_preview;
@@ -13,7 +13,6 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.fix;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.core.runtime.CoreException;
@@ -127,10 +126,12 @@ public class InvertEqualsFixCore extends CompilationUnitRewriteOperationsFixCore
 	}
 
 
+	public static void registerFinder(final CleanUpASTTraversal traversal) {
+		traversal.register(InvertEqualsFixCore.class, InvertEqualsFinder::new, ASTNode.METHOD_INVOCATION);
+	}
+
 	public static ICleanUpFix createCleanUp(final CompilationUnit compilationUnit) {
-		List<InvertEqualsFixOperation> operations= new ArrayList<>();
-		InvertEqualsFinder finder= new InvertEqualsFinder(operations);
-		compilationUnit.accept(finder);
+		List<InvertEqualsFixOperation> operations= CleanUpASTTraversal.collect(compilationUnit, InvertEqualsFixCore.class, InvertEqualsFinder::new);
 
 		if (operations.isEmpty()) {
 			return null;
@@ -195,10 +195,12 @@ public class OneIfRatherThanDuplicateBlocksThatFallThroughFixCore extends Compil
 		}
 	}
 
+	public static void registerFinder(final CleanUpASTTraversal traversal) {
+		traversal.register(OneIfRatherThanDuplicateBlocksThatFallThroughFixCore.class, OneIfRatherThanDuplicateBlocksThatFallThroughFinder::new, ASTNode.BLOCK);
+	}
+
 	public static ICleanUpFix createCleanUp(final CompilationUnit compilationUnit) {
-		List<CompilationUnitRewriteOperation> operations= new ArrayList<>();
-		OneIfRatherThanDuplicateBlocksThatFallThroughFinder finder= new OneIfRatherThanDuplicateBlocksThatFallThroughFinder(operations);
-		compilationUnit.accept(finder);
+		List<CompilationUnitRewriteOperation> operations= CleanUpASTTraversal.collect(compilationUnit, OneIfRatherThanDuplicateBlocksThatFallThroughFixCore.class, OneIfRatherThanDuplicateBlocksThatFallThroughFinder::new);
 
 		if (operations.isEmpty()) {
 			return null;
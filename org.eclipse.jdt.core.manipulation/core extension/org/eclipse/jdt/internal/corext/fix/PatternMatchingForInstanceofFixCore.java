@@ -13,7 +13,6 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.fix;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
@@ -238,10 +237,12 @@ public class PatternMatchingForInstanceofFixCore extends CompilationUnitRewriteO
 	}
 
 
+	public static void registerFinder(final CleanUpASTTraversal traversal) {
+		traversal.register(PatternMatchingForInstanceofFixCore.class, PatternMatchingForInstanceofFinder::new, ASTNode.BLOCK);
+	}
+
 	public static ICleanUpFix createCleanUp(final CompilationUnit compilationUnit) {
-		List<PatternMatchingForInstanceofFixOperation> operations= new ArrayList<>();
-		PatternMatchingForInstanceofFinder finder= new PatternMatchingForInstanceofFinder(operations);
-		compilationUnit.accept(finder);
+		List<PatternMatchingForInstanceofFixOperation> operations= CleanUpASTTraversal.collect(compilationUnit, PatternMatchingForInstanceofFixCore.class, PatternMatchingForInstanceofFinder::new);
 
 		if (operations.isEmpty()) {
 			return null;
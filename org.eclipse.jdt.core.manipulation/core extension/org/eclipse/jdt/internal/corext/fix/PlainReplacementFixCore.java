@@ -14,7 +14,6 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.fix;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -162,10 +161,12 @@ public class PlainReplacementFixCore extends CompilationUnitRewriteOperationsFix
 
 	}
 
+	public static void registerFinder(final CleanUpASTTraversal traversal) {
+		traversal.register(PlainReplacementFixCore.class, PlainReplacementFinder::new, ASTNode.METHOD_INVOCATION);
+	}
+
 	public static ICleanUpFix createCleanUp(final CompilationUnit compilationUnit) {
-		List<PlainReplacementFixOperation> operations= new ArrayList<>();
-		PlainReplacementFinder finder= new PlainReplacementFinder(operations);
-		compilationUnit.accept(finder);
+		List<PlainReplacementFixOperation> operations= CleanUpASTTraversal.collect(compilationUnit, PlainReplacementFixCore.class, PlainReplacementFinder::new);
 
 		if (operations.isEmpty()) {
 			return null;
@@ -13,7 +13,6 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.fix;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.core.runtime.CoreException;
@@ -134,10 +133,12 @@ public class PrimitiveComparisonFixCore extends CompilationUnitRewriteOperations
 	}
 
 
+	public static void registerFinder(final CleanUpASTTraversal traversal) {
+		traversal.register(PrimitiveComparisonFixCore.class, PrimitiveComparisonFinder::new, ASTNode.METHOD_INVOCATION);
+	}
+
 	public static ICleanUpFix createCleanUp(final CompilationUnit compilationUnit) {
-		List<PrimitiveComparisonFixOperation> operations= new ArrayList<>();
-		PrimitiveComparisonFinder finder= new PrimitiveComparisonFinder(operations);
-		compilationUnit.accept(finder);
+		List<PrimitiveComparisonFixOperation> operations= CleanUpASTTraversal.collect(compilationUnit, PrimitiveComparisonFixCore.class, PrimitiveComparisonFinder::new);
 
 		if (operations.isEmpty()) {
 			return null;
@@ -15,22 +15,36 @@ package org.eclipse.jdt.internal.corext.fix;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTVisitor;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 
 import org.eclipse.jdt.ui.cleanup.ICleanUpFix;
 
 public class PrimitiveRatherThanWrapperFixCore extends CompilationUnitRewriteOperationsFixCore {
+	private static final List<Function<List<CompilationUnitRewriteOperation>, ASTVisitor>> FINDERS= List.of(
+			PrimitiveBooleanRatherThanWrapperFinder::new,
+			PrimitiveCharRatherThanWrapperFinder::new,
+			PrimitiveByteRatherThanWrapperFinder::new,
+			PrimitiveShortRatherThanWrapperFinder::new,
+			PrimitiveIntRatherThanWrapperFinder::new,
+			PrimitiveLongRatherThanWrapperFinder::new,
+			PrimitiveFloatRatherThanWrapperFinder::new,
+			PrimitiveDoubleRatherThanWrapperFinder::new);
+
+	public static void registerFinder(final CleanUpASTTraversal traversal) {
+		for (Function<List<CompilationUnitRewriteOperation>, ASTVisitor> finder : FINDERS) {
+			traversal.register(finder, finder, ASTNode.VARIABLE_DECLARATION_STATEMENT);
+		}
+	}
+
 	public static ICleanUpFix createCleanUp(final CompilationUnit compilationUnit) {
 		List<CompilationUnitRewriteOperation> operations= new ArrayList<>();
-		compilationUnit.accept(new PrimitiveBooleanRatherThanWrapperFinder(operations));
-		compilationUnit.accept(new PrimitiveCharRatherThanWrapperFinder(operations));
-		compilationUnit.accept(new PrimitiveByteRatherThanWrapperFinder(operations));
-		compilationUnit.accept(new PrimitiveShortRatherThanWrapperFinder(operations));
-		compilationUnit.accept(new PrimitiveIntRatherThanWrapperFinder(operations));
-		compilationUnit.accept(new PrimitiveLongRatherThanWrapperFinder(operations));
-		compilationUnit.accept(new PrimitiveFloatRatherThanWrapperFinder(operations));
-		compilationUnit.accept(new PrimitiveDoubleRatherThanWrapperFinder(operations));
+		for (Function<List<CompilationUnitRewriteOperation>, ASTVisitor> finder : FINDERS) {
+			operations.addAll(CleanUpASTTraversal.collect(compilationUnit, finder, finder));
+		}
 
 		if (operations.isEmpty()) {
 			return null;
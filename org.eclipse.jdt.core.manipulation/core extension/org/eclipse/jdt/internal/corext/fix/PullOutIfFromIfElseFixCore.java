@@ -13,7 +13,6 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.fix;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.core.runtime.CoreException;
@@ -105,10 +104,12 @@ public class PullOutIfFromIfElseFixCore extends CompilationUnitRewriteOperations
 		}
 	}
 
+	public static void registerFinder(final CleanUpASTTraversal traversal) {
+		traversal.register(PullOutIfFromIfElseFixCore.class, PullOutIfFromIfElseFinder::new, ASTNode.IF_STATEMENT);
+	}
+
 	public static ICleanUpFix createCleanUp(final CompilationUnit compilationUnit) {
-		List<CompilationUnitRewriteOperation> operations= new ArrayList<>();
-		PullOutIfFromIfElseFinder finder= new PullOutIfFromIfElseFinder(operations);
-		compilationUnit.accept(finder);
+		List<CompilationUnitRewriteOperation> operations= CleanUpASTTraversal.collect(compilationUnit, PullOutIfFromIfElseFixCore.class, PullOutIfFromIfElseFinder::new);
 
 		if (operations.isEmpty()) {
 			return null;
@@ -13,7 +13,6 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.fix;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -427,10 +426,12 @@ public class RedundantComparatorFixCore extends CompilationUnitRewriteOperations
 		}
 	}
 
+	public static void registerFinder(final CleanUpASTTraversal traversal) {
+		traversal.register(RedundantComparatorFixCore.class, RedundantComparatorFinder::new, ASTNode.METHOD_INVOCATION);
+	}
+
 	public static ICleanUpFix createCleanUp(final CompilationUnit compilationUnit) {
-		List<RedundantComparatorFixOperation> operations= new ArrayList<>();
-		RedundantComparatorFinder finder= new RedundantComparatorFinder(operations);
-		compilationUnit.accept(finder);
+		List<RedundantComparatorFixOperation> operations= CleanUpASTTraversal.collect(compilationUnit, RedundantComparatorFixCore.class, RedundantComparatorFinder::new);
 
 		if (operations.isEmpty()) {
 			return null;
@@ -13,7 +13,6 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.fix;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.core.runtime.CoreException;
@@ -281,10 +280,12 @@ public class ReturnExpressionFixCore extends CompilationUnitRewriteOperationsFix
 		}
 	}
 
+	public static void registerFinder(final CleanUpASTTraversal traversal) {
+		traversal.register(ReturnExpressionFixCore.class, ReturnExpressionFinder::new, ASTNode.BLOCK);
+	}
+
 	public static ICleanUpFix createCleanUp(final CompilationUnit compilationUnit) {
-		List<CompilationUnitRewriteOperation> operations= new ArrayList<>();
-		ReturnExpressionFinder finder= new ReturnExpressionFinder(operations);
-		compilationUnit.accept(finder);
+		List<CompilationUnitRewriteOperation> operations= CleanUpASTTraversal.collect(compilationUnit, ReturnExpressionFixCore.class, ReturnExpressionFinder::new);
 
 		if (operations.isEmpty()) {
 			return null;
@@ -13,7 +13,6 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.fix;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
@@ -124,10 +123,12 @@ public class StandardComparisonFixCore extends CompilationUnitRewriteOperationsF
 	}
 
 
+	public static void registerFinder(final CleanUpASTTraversal traversal) {
+		traversal.register(StandardComparisonFixCore.class, StandardComparisonFinder::new, ASTNode.INFIX_EXPRESSION);
+	}
+
 	public static ICleanUpFix createCleanUp(final CompilationUnit compilationUnit) {
-		List<StandardComparisonFixOperation> operations= new ArrayList<>();
-		StandardComparisonFinder finder= new StandardComparisonFinder(operations);
-		compilationUnit.accept(finder);
+		List<StandardComparisonFixOperation> operations= CleanUpASTTraversal.collect(compilationUnit, StandardComparisonFixCore.class, StandardComparisonFinder::new);
 
 		if (operations.isEmpty()) {
 			return null;
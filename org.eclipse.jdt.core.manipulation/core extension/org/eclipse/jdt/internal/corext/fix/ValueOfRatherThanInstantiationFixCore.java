@@ -13,7 +13,6 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.fix;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.core.runtime.CoreException;
@@ -258,10 +257,12 @@ public class ValueOfRatherThanInstantiationFixCore extends CompilationUnitRewrit
 		}
 	}
 
+	public static void registerFinder(final CleanUpASTTraversal traversal) {
+		traversal.register(ValueOfRatherThanInstantiationFixCore.class, ValueOfRatherThanInstantiationFinder::new, ASTNode.CLASS_INSTANCE_CREATION);
+	}
+
 	public static ICleanUpFix createCleanUp(final CompilationUnit compilationUnit) {
-		List<CompilationUnitRewriteOperation> operations= new ArrayList<>();
-		ValueOfRatherThanInstantiationFinder finder= new ValueOfRatherThanInstantiationFinder(operations);
-		compilationUnit.accept(finder);
+		List<CompilationUnitRewriteOperation> operations= CleanUpASTTraversal.collect(compilationUnit, ValueOfRatherThanInstantiationFixCore.class, ValueOfRatherThanInstantiationFinder::new);
 
 		if (operations.isEmpty()) {
 			return null;
@@ -0,0 +1,226 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.JavaModelException;
+
+/**
+ * The compilation units changed by a Java element delta, as seen by caches of search results.
+ * <p>
+ * A cached search for references to an element is outdated by a delta if a changed unit contained
+ * one of the found references, or if the element's name occurs in the new contents of a changed
+ * unit, as only those can contain a new reference. Changes to the build path, to archives or to
+ * packages can change any search result, see {@link #affectsAll()}. So can added or removed types
+ * and changes to the super types or modifiers of a type, as they change what the unchanged
+ * references in other units bind to.
+ * </p>
+ *
+ * @since 1.21
+ */
+public final class ChangedUnits {
+
+	private static final int STRUCTURAL_CHANGE_FLAGS= IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED
+			| IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH | IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED
+			| IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED;
+
+	private static final int UNIT_CHANGE_FLAGS= IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_FINE_GRAINED | IJavaElementDelta.F_PRIMARY_WORKING_COPY;
+
+	private static final int TYPE_CHANGE_FLAGS= IJavaElementDelta.F_SUPER_TYPES | IJavaElementDelta.F_MODIFIERS;
+
+	/** The flags of a unit delta for changes in method bodies, which do not affect other units */
+	private static final int BODY_CHANGE_FLAGS= IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_FINE_GRAINED | IJavaElementDelta.F_AST_AFFECTED;
+
+	private final Set<String> fUnits= new HashSet<>();
+
+	private final List<ICompilationUnit> fChangedContents= new ArrayList<>();
+
+	private boolean fAffectsAll;
+
+	private boolean fMembersChanged;
+
+	private Set<String> fIdentifiers;
+
+	private ChangedUnits() {
+	}
+
+	/**
+	 * Collects the compilation units changed by the given delta.
+	 *
+	 * @param delta the delta
+	 * @return the changed units
+	 */
+	public static ChangedUnits of(IJavaElementDelta delta) {
+		ChangedUnits result= new ChangedUnits();
+		result.fAffectsAll= result.collect(delta);
+		return result;
+	}
+
+	/**
+	 * @return <code>true</code> if the delta can change arbitrary search results
+	 */
+	public boolean affectsAll() {
+		return fAffectsAll;
+	}
+
+	/**
+	 * @return <code>true</code> if no compilation unit changed
+	 */
+	public boolean isEmpty() {
+		return !fAffectsAll && fUnits.isEmpty();
+	}
+
+	/**
+	 * @param unit the handle identifier of a compilation unit
+	 * @return <code>true</code> if the unit was added, removed or changed
+	 */
+	public boolean contains(String unit) {
+		return fUnits.contains(unit);
+	}
+
+	/**
+	 * Tells whether the delta can change the bindings of unchanged units, i.e. whether a unit was
+	 * added or removed or a change was not limited to method bodies.
+	 *
+	 * @return <code>true</code> if the delta can change the bindings of any unit
+	 */
+	public boolean changesMembers() {
+		return fAffectsAll || fMembersChanged;
+	}
+
+	/**
+	 * Tells whether a cached result is outdated by the delta.
+	 *
+	 * @param name the name of the element the result was searched for
+	 * @param declaringUnit the handle identifier of the unit declaring the element, or
+	 *            <code>null</code>
+	 * @param referencingUnits the handle identifiers of the units containing the found references
+	 * @return <code>true</code> if the result has to be searched again
+	 */
+	public boolean affects(String name, String declaringUnit, Collection<String> referencingUnits) {
+		if (fAffectsAll)
+			return true;
+		if (fUnits.isEmpty())
+			return false;
+		if (declaringUnit != null && fUnits.contains(declaringUnit))
+			return true;
+		for (String unit : referencingUnits) {
+			if (fUnits.contains(unit))
+				return true;
+		}
+		return getIdentifiers().contains(name);
+	}
+
+	private Set<String> getIdentifiers() {
+		if (fIdentifiers == null) {
+			fIdentifiers= new HashSet<>();
+			for (ICompilationUnit unit : fChangedContents) {
+				try {
+					String source= unit.getSource();
+					if (source != null)
+						collectIdentifiers(source, fIdentifiers);
+				} catch (JavaModelException e) {
+					// the unit is gone, references from it are covered by the referencing units
+				}
+			}
+		}
+		return fIdentifiers;
+	}
+
+	private boolean collect(IJavaElementDelta delta) {
+		IJavaElement element= delta.getElement();
+		int kind= delta.getKind();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+			case IJavaElement.JAVA_PROJECT:
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+			case IJavaElement.PACKAGE_FRAGMENT:
+				if ((delta.getFlags() & STRUCTURAL_CHANGE_FLAGS) != 0)
+					return true;
+				if (kind != IJavaElementDelta.CHANGED && element.getElementType() != IJavaElement.JAVA_MODEL)
+					return true;
+				for (IJavaElementDelta child : delta.getAffectedChildren()) {
+					if (collect(child))
+						return true;
+				}
+				return false;
+			case IJavaElement.COMPILATION_UNIT:
+				int flags= delta.getFlags();
+				if (kind == IJavaElementDelta.REMOVED) {
+					fUnits.add(element.getHandleIdentifier());
+					fMembersChanged= true;
+				} else if (kind == IJavaElementDelta.ADDED || (flags & UNIT_CHANGE_FLAGS) != 0) {
+					fUnits.add(element.getHandleIdentifier());
+					if (kind == IJavaElementDelta.ADDED || (flags & IJavaElementDelta.F_FINE_GRAINED) == 0 || (flags & ~BODY_CHANGE_FLAGS) != 0
+							|| delta.getAffectedChildren().length > 0)
+						fMembersChanged= true;
+					fChangedContents.add((ICompilationUnit) element);
+					for (IJavaElementDelta child : delta.getAffectedChildren()) {
+						if (changesTypes(child))
+							return true;
+					}
+				}
+				return false;
+			case IJavaElement.CLASS_FILE:
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	/*
+	 * Whether a fine grained delta adds or removes a type or changes its super types or modifiers.
+	 */
+	private static boolean changesTypes(IJavaElementDelta delta) {
+		if (delta.getElement().getElementType() != IJavaElement.TYPE)
+			return false;
+		if (delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & TYPE_CHANGE_FLAGS) != 0)
+			return true;
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (changesTypes(child))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Collects the identifiers in the given source. Over-approximates the referenced names, as
+	 * identifiers in comments and string literals are included.
+	 *
+	 * @param source the source
+	 * @param names the set to add the identifiers to
+	 */
+	public static void collectIdentifiers(String source, Set<String> names) {
+		int length= source.length();
+		int i= 0;
+		while (i < length) {
+			if (Character.isJavaIdentifierStart(source.charAt(i))) {
+				int start= i++;
+				while (i < length && Character.isJavaIdentifierPart(source.charAt(i)))
+					i++;
+				names.add(source.substring(start, i));
+			} else {
+				i++;
+			}
+		}
+	}
+}
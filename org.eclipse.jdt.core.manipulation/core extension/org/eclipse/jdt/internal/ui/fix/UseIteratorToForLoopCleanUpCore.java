@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021, 2022 Carsten Hammer.
+ * Copyright (c) 2021, 2024 Carsten Hammer.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -104,4 +104,9 @@ public class UseIteratorToForLoopCleanUpCore extends AbstractCleanUp {
 		}
 		return fixSet;
 	}
+
+	@Override
+	public boolean canRunInParallel() {
+		return true;
+	}
 }
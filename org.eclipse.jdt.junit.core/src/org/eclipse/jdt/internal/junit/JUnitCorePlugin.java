@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -38,6 +38,7 @@ import org.eclipse.core.runtime.Plugin;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.preferences.InstanceScope;
 
+import org.eclipse.jdt.internal.junit.launcher.TestDiscoveryIndex;
 import org.eclipse.jdt.internal.junit.model.JUnitModel;
 
 /**
@@ -84,8 +85,12 @@ public class JUnitCorePlugin extends Plugin {
 
 	private static final String HISTORY_DIR_NAME= "history"; //$NON-NLS-1$
 
+	private static final String TEST_DISCOVERY_INDEX_FILE_NAME= "testDiscoveryIndex.dat"; //$NON-NLS-1$
+
 	private final JUnitModel fJUnitModel= new JUnitModel();
 
+	private TestDiscoveryIndex fTestDiscoveryIndex;
+
 
 	/**
 	 * List storing the registered test run listeners
@@ -133,6 +138,8 @@ public class JUnitCorePlugin extends Plugin {
 		super.start(context);
 		fBundleContext= context;
 		fJUnitModel.start();
+		fTestDiscoveryIndex= new TestDiscoveryIndex(getStateLocation().append(TEST_DISCOVERY_INDEX_FILE_NAME).toFile());
+		fTestDiscoveryIndex.start();
 	}
 
 	/**
@@ -144,6 +151,7 @@ public class JUnitCorePlugin extends Plugin {
 		try {
 			InstanceScope.INSTANCE.getNode(JUnitCorePlugin.CORE_PLUGIN_ID).flush();
 			fJUnitModel.stop();
+			fTestDiscoveryIndex.stop();
 		} finally {
 			super.stop(context);
 		}
@@ -168,6 +176,10 @@ public class JUnitCorePlugin extends Plugin {
 		return getDefault().fJUnitModel;
 	}
 
+	public static TestDiscoveryIndex getTestDiscoveryIndex() {
+		return getDefault().fTestDiscoveryIndex;
+	}
+
 	/**
 	 * Initializes TestRun Listener extensions
 	 * @deprecated to avoid deprecation warning
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2015 IBM Corporation and others.
+ * Copyright (c) 2006, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -42,6 +42,13 @@ public class JUnit3TestFinder implements ITestFinder {
 			throw new IllegalArgumentException();
 		}
 
+		if (JUnitCorePlugin.getTestDiscoveryIndex().findTests(TestKindRegistry.JUNIT3_TEST_KIND_ID, element, result, this::searchTestsInContainer, pm)) {
+			return;
+		}
+		searchTestsInContainer(element, result, pm);
+	}
+
+	private void searchTestsInContainer(IJavaElement element, Set<IType> result, IProgressMonitor pm) throws CoreException {
 		SubMonitor subMon= SubMonitor.convert(pm, JUnitMessages.TestSearchEngine_message_searching, 10);
 		try {
 			if (element instanceof IType) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2022 IBM Corporation and others.
+ * Copyright (c) 2006, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -123,6 +123,13 @@ public class JUnit4TestFinder implements ITestFinder {
 			}
 		}
 
+		if (JUnitCorePlugin.getTestDiscoveryIndex().findTests(TestKindRegistry.JUNIT4_TEST_KIND_ID, element, result, this::searchTestsInContainer, pm)) {
+			return;
+		}
+		searchTestsInContainer(element, result, pm);
+	}
+
+	private void searchTestsInContainer(IJavaElement element, Set<IType> result, IProgressMonitor pm) throws CoreException {
 		SubMonitor subMon= SubMonitor.convert(pm, JUnitMessages.JUnit4TestFinder_searching_description, 4);
 		try {
 
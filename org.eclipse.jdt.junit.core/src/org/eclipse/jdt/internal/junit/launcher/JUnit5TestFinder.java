@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2022 IBM Corporation and others.
+ * Copyright (c) 2016, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -210,6 +210,13 @@ public class JUnit5TestFinder implements ITestFinder {
 			}
 		}
 
+		if (JUnitCorePlugin.getTestDiscoveryIndex().findTests(TestKindRegistry.JUNIT5_TEST_KIND_ID, element, result, this::searchTestsInContainer, pm)) {
+			return;
+		}
+		searchTestsInContainer(element, result, pm);
+	}
+
+	private void searchTestsInContainer(IJavaElement element, Set<IType> result, IProgressMonitor pm) throws CoreException {
 		var subMonitor = SubMonitor.convert(pm, JUnitMessages.JUnit5TestFinder_searching_description, 4);
 
 		IRegion region= CoreTestSearchEngine.getRegion(element);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -42,6 +42,18 @@ public class JUnitLaunchConfigurationConstants {
 
 	public static final String ATTR_PORT= JUnitCorePlugin.PLUGIN_ID+".PORT"; //$NON-NLS-1$
 
+	/**
+	 * The ports of the test runtimes of a sharded launch, separated by commas. Set on the launch
+	 * in addition to {@link #ATTR_PORT}, which is the port of the first runtime.
+	 */
+	public static final String ATTR_SHARD_PORTS= JUnitCorePlugin.PLUGIN_ID + ".SHARD_PORTS"; //$NON-NLS-1$
+
+	/**
+	 * The number of test runtimes the test classes are distributed to when running (not
+	 * debugging) more than one test class, or 1 to run all tests in one runtime.
+	 */
+	public static final String ATTR_SHARDS= JUnitCorePlugin.PLUGIN_ID + ".SHARDS"; //$NON-NLS-1$
+
 	public static final String ATTR_DONT_ADD_MISSING_JUNIT5_DEPENDENCY= JUnitCorePlugin.PLUGIN_ID + ".DONT_ADD_MISSING_JUNIT5_DEPENDENCY"; //$NON-NLS-1$
 
 	/**
@@ -70,6 +82,30 @@ public class JUnitLaunchConfigurationConstants {
 
 	public static final String ATTR_FAILURES_NAMES= JUnitCorePlugin.PLUGIN_ID+".FAILURENAMES"; //$NON-NLS-1$
 
+	/**
+	 * The order to run the tests in, based on earlier runs of the launch configuration: one of
+	 * {@link #TEST_ORDER_FASTEST_FIRST}, {@link #TEST_ORDER_LONGEST_FIRST} and
+	 * {@link #TEST_ORDER_CHANGED_FIRST}, or not set to run the tests in their declared order.
+	 * Ignored when rerunning failures first, see {@link #ATTR_FAILURES_NAMES}.
+	 */
+	public static final String ATTR_TEST_ORDER= JUnitCorePlugin.PLUGIN_ID + ".TEST_ORDER"; //$NON-NLS-1$
+
+	/**
+	 * Runs the test classes and the tests of a class that took the least time first.
+	 */
+	public static final String TEST_ORDER_FASTEST_FIRST= "fastest"; //$NON-NLS-1$
+
+	/**
+	 * Runs the test classes and the tests of a class that took the most time first.
+	 */
+	public static final String TEST_ORDER_LONGEST_FIRST= "longest"; //$NON-NLS-1$
+
+	/**
+	 * Runs the test classes whose source changed since the last run first, then the other
+	 * classes, both fastest first.
+	 */
+	public static final String TEST_ORDER_CHANGED_FIRST= "changed"; //$NON-NLS-1$
+
 	public static final String ATTR_TEST_RUNNER_KIND= JUnitCorePlugin.PLUGIN_ID+".TEST_KIND"; //$NON-NLS-1$
 
 	public static final String ATTR_TEST_HAS_INCLUDE_TAGS= JUnitCorePlugin.PLUGIN_ID + ".HAS_INCLUDE_TAGS"; //$NON-NLS-1$
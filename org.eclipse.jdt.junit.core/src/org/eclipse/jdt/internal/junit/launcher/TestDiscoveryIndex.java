@@ -0,0 +1,683 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.launcher;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaModel;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+
+import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
+
+/**
+ * A workspace wide index of the tests found by the {@link ITestFinder}s and of the test methods
+ * of test classes, so that launching tests or opening a launch configuration does not search the
+ * whole project again.
+ * <p>
+ * The index is kept per Java project. A compilation unit which is added or whose structure changed
+ * is remembered by the entries of its project and of all projects which require it. Before the
+ * tests of a kind are taken from an entry, the changed compilation units and the compilation units
+ * with subtypes of their types are searched again, all other tests are kept. Changes in method
+ * bodies do not change which tests exist and are ignored. Other changes, like removed compilation
+ * units or class path changes, drop the entries of the project and of all projects which require
+ * it. The index is saved when the plug-in is stopped, together with a fingerprint
+ * of the sources and the class path of each project. A loaded entry is only used if the
+ * fingerprint still matches, so that changes made while the workspace was closed are noticed.
+ * </p>
+ */
+public class TestDiscoveryIndex implements IElementChangedListener {
+
+	/**
+	 * Searches the tests of a Java element.
+	 */
+	public interface TestSearch {
+		/**
+		 * @param element the element to search
+		 * @param result the set to add the tests to
+		 * @param pm the progress monitor
+		 * @throws CoreException if the search fails
+		 */
+		void search(IJavaElement element, Set<IType> result, IProgressMonitor pm) throws CoreException;
+	}
+
+	public static final boolean ENABLED= Boolean.parseBoolean(System.getProperty("org.eclipse.jdt.junit.testDiscoveryIndex", "true")); //$NON-NLS-1$ //$NON-NLS-2$
+
+	private static final int VERSION= 1;
+
+	/** Flags of a compilation unit delta which only reports changes in method bodies */
+	private static final int BODY_CHANGE_FLAGS= IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_FINE_GRAINED | IJavaElementDelta.F_AST_AFFECTED;
+
+	private static class ProjectEntry {
+		/** Handle identifiers of the tests, by test kind and container */
+		final Map<String, Set<String>> fTests= new HashMap<>();
+
+		/** Names of the test methods, by test kind and type */
+		final Map<String, Set<String>> fTestMethods= new HashMap<>();
+
+		/** Handle identifiers of the compilation units changed since the tests were searched, by test kind */
+		final Map<String, Set<String>> fChangedUnits= new HashMap<>();
+
+		/** The fingerprint a loaded entry was saved with, <code>null</code> once verified */
+		String fFingerprint;
+	}
+
+	private final File fFile;
+
+	private final Map<String, ProjectEntry> fProjects= new HashMap<>();
+
+	/** Incremented whenever entries change, so that results of older searches are not added */
+	private long fGeneration;
+
+	/**
+	 * @param file the file to save the index to
+	 */
+	public TestDiscoveryIndex(File file) {
+		fFile= file;
+	}
+
+	public void start() {
+		if (!ENABLED)
+			return;
+		load();
+		JavaCore.addElementChangedListener(this, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+	}
+
+	public void stop() {
+		if (!ENABLED)
+			return;
+		JavaCore.removeElementChangedListener(this);
+		save();
+	}
+
+	/**
+	 * Adds the tests of the given element to the result. The tests are taken from the index if
+	 * possible, otherwise they are searched and added to the index.
+	 *
+	 * @param kindId the ID of the test kind
+	 * @param element the element to find the tests in
+	 * @param result the set to add the tests to
+	 * @param search searches the tests if they are not in the index
+	 * @param pm the progress monitor
+	 * @return <code>false</code> if the element cannot be indexed and the tests have not been
+	 *         searched
+	 * @throws CoreException if the search fails
+	 */
+	public boolean findTests(String kindId, IJavaElement element, Set<IType> result, TestSearch search, IProgressMonitor pm) throws CoreException {
+		if (!ENABLED || !isIndexable(element))
+			return false;
+
+		IJavaProject project= element.getJavaProject();
+		String key= getKey(kindId, element);
+		String projectKey= getKey(kindId, project);
+		Set<String> changedUnits= null;
+		synchronized (this) {
+			ProjectEntry entry= getVerifiedEntry(project);
+			if (entry != null)
+				changedUnits= entry.fChangedUnits.remove(kindId);
+		}
+		if (changedUnits != null)
+			updateTests(kindId, project, changedUnits, search, pm);
+
+		long generation;
+		synchronized (this) {
+			ProjectEntry entry= getVerifiedEntry(project);
+			if (entry != null && !entry.fChangedUnits.containsKey(kindId)) {
+				Set<String> tests= entry.fTests.get(key);
+				if (tests != null) {
+					addTypes(tests, null, result);
+					return true;
+				}
+				// a container's tests are the tests of the project within the container
+				tests= entry.fTests.get(projectKey);
+				if (tests != null) {
+					addTypes(tests, element, result);
+					return true;
+				}
+			}
+			generation= fGeneration;
+		}
+
+		Set<IType> found= new HashSet<>();
+		search.search(element, found, pm);
+		if (pm == null || !pm.isCanceled()) {
+			Set<String> tests= new HashSet<>(found.size());
+			for (IType type : found) {
+				tests.add(type.getHandleIdentifier());
+			}
+			synchronized (this) {
+				if (generation == fGeneration)
+					getEntry(project).fTests.put(key, tests);
+			}
+		}
+		result.addAll(found);
+		return true;
+	}
+
+	/**
+	 * Searches the changed compilation units and the compilation units of the project with
+	 * subtypes of their types again and replaces their tests in the entry of the project. The test
+	 * methods of the types in these compilation units are dropped.
+	 *
+	 * @param kindId the ID of the test kind
+	 * @param project the project
+	 * @param changedUnits the handle identifiers of the changed compilation units, which may
+	 *            belong to projects required by <code>project</code>
+	 * @param search searches the tests of a compilation unit
+	 * @param pm the progress monitor
+	 * @throws CoreException if the search fails
+	 */
+	private void updateTests(String kindId, IJavaProject project, Set<String> changedUnits, TestSearch search, IProgressMonitor pm) throws CoreException {
+		Set<ICompilationUnit> units= new HashSet<>();
+		Set<IType> found= new HashSet<>();
+		boolean searched= false;
+		try {
+			for (String handle : changedUnits) {
+				IJavaElement element= JavaCore.create(handle);
+				if (!(element instanceof ICompilationUnit) || !element.exists())
+					continue;
+				ICompilationUnit cu= (ICompilationUnit) element;
+				if (project.equals(cu.getJavaProject()))
+					units.add(cu);
+				for (IType type : cu.getAllTypes()) {
+					ITypeHierarchy hierarchy= type.newTypeHierarchy(project, pm);
+					for (IType subtype : hierarchy.getAllSubtypes(type)) {
+						ICompilationUnit subtypeUnit= subtype.getCompilationUnit();
+						if (subtypeUnit != null && project.equals(subtypeUnit.getJavaProject()))
+							units.add(subtypeUnit);
+					}
+				}
+			}
+			for (ICompilationUnit cu : units) {
+				search.search(cu, found, pm);
+			}
+			searched= pm == null || !pm.isCanceled();
+		} finally {
+			if (!searched) {
+				// search again next time
+				synchronized (this) {
+					ProjectEntry entry= fProjects.get(project.getElementName());
+					if (entry != null)
+						entry.fChangedUnits.computeIfAbsent(kindId, kind -> new HashSet<>()).addAll(changedUnits);
+				}
+			}
+		}
+		if (!searched)
+			return;
+
+		Set<String> unitHandles= new HashSet<>(changedUnits);
+		for (ICompilationUnit cu : units) {
+			unitHandles.add(cu.getHandleIdentifier());
+		}
+		String prefix= kindId + '\n';
+		synchronized (this) {
+			ProjectEntry entry= fProjects.get(project.getElementName());
+			if (entry == null)
+				return; // dropped in the meantime
+			for (Map.Entry<String, Set<String>> tests : entry.fTests.entrySet()) {
+				if (!tests.getKey().startsWith(prefix))
+					continue;
+				IJavaElement container= JavaCore.create(tests.getKey().substring(prefix.length()));
+				tests.getValue().removeIf(handle -> unitHandles.contains(getUnitHandle(handle)));
+				for (IType type : found) {
+					if (isInContainer(type, container))
+						tests.getValue().add(type.getHandleIdentifier());
+				}
+			}
+			entry.fTestMethods.keySet().removeIf(key -> key.startsWith(prefix) && unitHandles.contains(getUnitHandle(key.substring(prefix.length()))));
+		}
+	}
+
+	/**
+	 * @param typeHandle the handle identifier of a type
+	 * @return the handle identifier of the compilation unit of the type, or <code>null</code>
+	 */
+	private static String getUnitHandle(String typeHandle) {
+		IJavaElement element= JavaCore.create(typeHandle);
+		IJavaElement cu= element != null ? element.getAncestor(IJavaElement.COMPILATION_UNIT) : null;
+		return cu != null ? cu.getHandleIdentifier() : null;
+	}
+
+	/**
+	 * @param kindId the ID of the test kind
+	 * @param project the project the methods were resolved in
+	 * @param type the test class
+	 * @return the names of the test methods, or <code>null</code> if they are not in the index
+	 */
+	public Set<String> getTestMethods(String kindId, IJavaProject project, IType type) {
+		if (!ENABLED)
+			return null;
+		Set<String> result;
+		Set<String> changedUnits;
+		synchronized (this) {
+			ProjectEntry entry= getVerifiedEntry(project);
+			if (entry == null)
+				return null;
+			Set<String> methods= entry.fTestMethods.get(getKey(kindId, type));
+			if (methods == null)
+				return null;
+			result= new HashSet<>(methods);
+			changedUnits= entry.fChangedUnits.get(kindId);
+			if (changedUnits == null)
+				return result;
+			changedUnits= new HashSet<>(changedUnits);
+		}
+		return isInChangedUnits(type, changedUnits) ? null : result;
+	}
+
+	/*
+	 * The test methods of a type change with the type and with its super types.
+	 */
+	private static boolean isInChangedUnits(IType type, Set<String> changedUnits) {
+		try {
+			for (IType curr : type.newSupertypeHierarchy(null).getAllTypes()) {
+				ICompilationUnit cu= curr.getCompilationUnit();
+				if (cu != null && changedUnits.contains(cu.getHandleIdentifier()))
+					return true;
+			}
+			return false;
+		} catch (JavaModelException e) {
+			return true;
+		}
+	}
+
+	/**
+	 * @param kindId the ID of the test kind
+	 * @param project the project the methods were resolved in
+	 * @param type the test class
+	 * @param methods the names of the test methods
+	 * @param generation the generation read before the methods were collected, see
+	 *            {@link #getGeneration()}
+	 */
+	public synchronized void putTestMethods(String kindId, IJavaProject project, IType type, Set<String> methods, long generation) {
+		if (ENABLED && generation == fGeneration)
+			getEntry(project).fTestMethods.put(getKey(kindId, type), new HashSet<>(methods));
+	}
+
+	/**
+	 * @return the generation of the index, which changes whenever entries change
+	 */
+	public synchronized long getGeneration() {
+		return fGeneration;
+	}
+
+	private static boolean isIndexable(IJavaElement element) {
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_PROJECT:
+			case IJavaElement.COMPILATION_UNIT:
+				return true;
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+			case IJavaElement.PACKAGE_FRAGMENT:
+				IPackageFragmentRoot root= (IPackageFragmentRoot) element.getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT);
+				return !root.isArchive();
+			default:
+				return false;
+		}
+	}
+
+	private static String getKey(String kindId, IJavaElement element) {
+		return kindId + '\n' + element.getHandleIdentifier();
+	}
+
+	private static void addTypes(Set<String> handles, IJavaElement container, Set<IType> result) {
+		for (String handle : handles) {
+			IJavaElement element= JavaCore.create(handle);
+			if (element instanceof IType && element.exists() && (container == null || isInContainer(element, container)))
+				result.add((IType) element);
+		}
+	}
+
+	private static boolean isInContainer(IJavaElement element, IJavaElement container) {
+		return container.equals(element.getAncestor(container.getElementType()));
+	}
+
+	private ProjectEntry getEntry(IJavaProject project) {
+		return fProjects.computeIfAbsent(project.getElementName(), name -> new ProjectEntry());
+	}
+
+	/**
+	 * @param project the project
+	 * @return the entry of the project, or <code>null</code> if there is none or if the project
+	 *         changed since a loaded entry was saved
+	 */
+	private ProjectEntry getVerifiedEntry(IJavaProject project) {
+		String name= project.getElementName();
+		ProjectEntry entry= fProjects.get(name);
+		if (entry == null || entry.fFingerprint == null)
+			return entry;
+		try {
+			if (entry.fFingerprint.equals(computeFingerprint(project))) {
+				entry.fFingerprint= null;
+				return entry;
+			}
+		} catch (CoreException e) {
+			// the project cannot be verified, search it again
+		}
+		fProjects.remove(name);
+		return null;
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		Set<String> changedProjects= new HashSet<>();
+		Map<String, Set<String>> changedUnits= new HashMap<>();
+		collectChanges(event.getDelta(), changedProjects, changedUnits);
+		if (changedProjects.isEmpty() && changedUnits.isEmpty())
+			return;
+		synchronized (this) {
+			fGeneration++;
+			for (Iterator<Map.Entry<String, ProjectEntry>> iter= fProjects.entrySet().iterator(); iter.hasNext();) {
+				Map.Entry<String, ProjectEntry> projectEntry= iter.next();
+				String name= projectEntry.getKey();
+				if (requiresAny(name, changedProjects)) {
+					iter.remove();
+					continue;
+				}
+				for (Map.Entry<String, Set<String>> units : changedUnits.entrySet()) {
+					if (requiresAny(name, Set.of(units.getKey())))
+						addChangedUnits(projectEntry.getValue(), units.getValue());
+				}
+			}
+		}
+	}
+
+	private static void addChangedUnits(ProjectEntry entry, Set<String> units) {
+		Set<String> kinds= new HashSet<>();
+		for (String key : entry.fTests.keySet()) {
+			kinds.add(key.substring(0, key.indexOf('\n')));
+		}
+		for (String key : entry.fTestMethods.keySet()) {
+			kinds.add(key.substring(0, key.indexOf('\n')));
+		}
+		for (String kind : kinds) {
+			entry.fChangedUnits.computeIfAbsent(kind, k -> new HashSet<>()).addAll(units);
+		}
+	}
+
+	/**
+	 * Collects the projects whose entries must be dropped and the compilation units whose tests
+	 * must be searched again.
+	 *
+	 * @param delta the delta
+	 * @param projects the set to add the names of the projects to drop to
+	 * @param units the map to add the handle identifiers of the changed compilation units to, by
+	 *            project name
+	 */
+	private static void collectChanges(IJavaElementDelta delta, Set<String> projects, Map<String, Set<String>> units) {
+		IJavaElement element= delta.getElement();
+		int flags= delta.getFlags();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+				for (IJavaElementDelta child : delta.getAffectedChildren()) {
+					collectChanges(child, projects, units);
+				}
+				break;
+			case IJavaElement.COMPILATION_UNIT:
+				if (!affectsTests(delta))
+					break;
+				String projectName= element.getJavaProject().getElementName();
+				if (delta.getKind() == IJavaElementDelta.REMOVED)
+					projects.add(projectName); // the former subtypes of its types cannot be found
+				else
+					units.computeIfAbsent(projectName, name -> new HashSet<>()).add(element.getHandleIdentifier());
+				break;
+			case IJavaElement.JAVA_PROJECT:
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+			case IJavaElement.PACKAGE_FRAGMENT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED
+						|| (flags & ~(IJavaElementDelta.F_CHILDREN | IJavaElementDelta.F_CONTENT)) != 0) {
+					projects.add(element.getJavaProject().getElementName());
+					break;
+				}
+				for (IJavaElementDelta child : delta.getAffectedChildren()) {
+					collectChanges(child, projects, units);
+				}
+				break;
+			default:
+				projects.add(element.getJavaProject().getElementName());
+				break;
+		}
+	}
+
+	private static boolean affectsTests(IJavaElementDelta delta) {
+		ICompilationUnit cu= (ICompilationUnit) delta.getElement();
+		int flags= delta.getFlags();
+		if (cu.getOwner() != null)
+			return false; // only primary working copies are searched
+		if (delta.getKind() != IJavaElementDelta.CHANGED)
+			return true;
+		if ((flags & IJavaElementDelta.F_PRIMARY_WORKING_COPY) != 0)
+			return !cu.isWorkingCopy(); // the unsaved contents of a closed working copy were dropped
+		if (flags == IJavaElementDelta.F_PRIMARY_RESOURCE)
+			return !cu.isWorkingCopy(); // a saved working copy, its changes were reported when it was reconciled
+		return (flags & IJavaElementDelta.F_FINE_GRAINED) == 0 || (flags & ~BODY_CHANGE_FLAGS) != 0
+				|| delta.getAffectedChildren().length > 0;
+	}
+
+	private static boolean requiresAny(String projectName, Set<String> projectNames) {
+		IJavaModel model= JavaCore.create(ResourcesPlugin.getWorkspace().getRoot());
+		Set<String> visited= new HashSet<>();
+		Deque<String> queue= new ArrayDeque<>();
+		queue.add(projectName);
+		while (!queue.isEmpty()) {
+			String name= queue.remove();
+			if (!visited.add(name))
+				continue;
+			if (projectNames.contains(name))
+				return true;
+			IJavaProject project= model.getJavaProject(name);
+			if (!project.exists())
+				return true;
+			try {
+				for (String required : project.getRequiredProjectNames()) {
+					queue.add(required);
+				}
+			} catch (JavaModelException e) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Computes a fingerprint of the sources, class folders and libraries of the project and of the
+	 * projects it requires.
+	 *
+	 * @param project the project
+	 * @return the fingerprint
+	 * @throws CoreException if the project cannot be read
+	 */
+	private static String computeFingerprint(IJavaProject project) throws CoreException {
+		Fingerprint fingerprint= new Fingerprint();
+		addProject(project, new HashSet<>(), fingerprint);
+		return Long.toHexString(fingerprint.fValue);
+	}
+
+	private static void addProject(IJavaProject project, Set<String> visited, Fingerprint fingerprint) throws CoreException {
+		if (!visited.add(project.getElementName()))
+			return;
+		fingerprint.add(project.getElementName());
+		if (!project.exists())
+			return;
+		IWorkspaceRoot root= ResourcesPlugin.getWorkspace().getRoot();
+		for (IClasspathEntry entry : project.getResolvedClasspath(true)) {
+			IPath path= entry.getPath();
+			fingerprint.add(path.toString());
+			fingerprint.add(entry.getEntryKind());
+			switch (entry.getEntryKind()) {
+				case IClasspathEntry.CPE_PROJECT:
+					addProject(project.getJavaModel().getJavaProject(path.lastSegment()), visited, fingerprint);
+					break;
+				case IClasspathEntry.CPE_SOURCE:
+				case IClasspathEntry.CPE_LIBRARY:
+					IResource resource= root.findMember(path);
+					if (resource != null) {
+						resource.accept(proxy -> {
+							fingerprint.add(proxy.getName());
+							fingerprint.add(proxy.getModificationStamp());
+							return true;
+						}, IResource.NONE);
+					} else {
+						File file= path.toFile();
+						fingerprint.add(file.lastModified());
+						fingerprint.add(file.length());
+					}
+					break;
+				default:
+					break;
+			}
+		}
+	}
+
+	private static class Fingerprint {
+		long fValue= 17;
+
+		void add(long value) {
+			fValue= 31 * fValue + value;
+		}
+
+		void add(String value) {
+			add(value.hashCode());
+			add(value.length());
+		}
+	}
+
+	private synchronized void load() {
+		if (!fFile.isFile())
+			return;
+		try (DataInputStream in= new DataInputStream(new BufferedInputStream(new FileInputStream(fFile)))) {
+			if (in.readInt() != VERSION)
+				return;
+			for (int projects= in.readInt(); projects > 0; projects--) {
+				String name= in.readUTF();
+				ProjectEntry entry= new ProjectEntry();
+				entry.fFingerprint= in.readUTF();
+				readMap(in, entry.fTests);
+				readMap(in, entry.fTestMethods);
+				fProjects.put(name, entry);
+			}
+		} catch (IOException e) {
+			// start with an empty index
+			fProjects.clear();
+		}
+	}
+
+	private synchronized void save() {
+		try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(fFile)))) {
+			Map<String, String> fingerprints= new HashMap<>();
+			Set<String> unsaved= getProjectsWithUnsavedChanges();
+			IJavaModel model= JavaCore.create(ResourcesPlugin.getWorkspace().getRoot());
+			for (Map.Entry<String, ProjectEntry> projectEntry : fProjects.entrySet()) {
+				String name= projectEntry.getKey();
+				ProjectEntry entry= projectEntry.getValue();
+				if (entry.fFingerprint != null) {
+					fingerprints.put(name, entry.fFingerprint);
+				} else if (entry.fChangedUnits.isEmpty() && !requiresAny(name, unsaved)) {
+					try {
+						fingerprints.put(name, computeFingerprint(model.getJavaProject(name)));
+					} catch (CoreException e) {
+						// do not save the entry
+					}
+				}
+			}
+
+			out.writeInt(VERSION);
+			out.writeInt(fingerprints.size());
+			for (Map.Entry<String, String> fingerprint : fingerprints.entrySet()) {
+				ProjectEntry entry= fProjects.get(fingerprint.getKey());
+				out.writeUTF(fingerprint.getKey());
+				out.writeUTF(fingerprint.getValue());
+				writeMap(out, entry.fTests);
+				writeMap(out, entry.fTestMethods);
+			}
+		} catch (IOException e) {
+			JUnitCorePlugin.log(e);
+			fFile.delete();
+		}
+	}
+
+	/**
+	 * @return the names of the projects with working copies which have unsaved changes, the
+	 *         entries of these projects have been computed from contents which are not on disk
+	 */
+	private static Set<String> getProjectsWithUnsavedChanges() {
+		Set<String> projects= new HashSet<>();
+		for (ICompilationUnit cu : JavaCore.getWorkingCopies(null)) {
+			try {
+				if (cu.hasUnsavedChanges())
+					projects.add(cu.getJavaProject().getElementName());
+			} catch (JavaModelException e) {
+				projects.add(cu.getJavaProject().getElementName());
+			}
+		}
+		return projects;
+	}
+
+	private static void readMap(DataInputStream in, Map<String, Set<String>> map) throws IOException {
+		for (int keys= in.readInt(); keys > 0; keys--) {
+			String key= in.readUTF();
+			int size= in.readInt();
+			Set<String> values= new HashSet<>(size);
+			for (int i= 0; i < size; i++) {
+				values.add(in.readUTF());
+			}
+			map.put(key, values);
+		}
+	}
+
+	private static void writeMap(DataOutputStream out, Map<String, Set<String>> map) throws IOException {
+		out.writeInt(map.size());
+		for (Map.Entry<String, Set<String>> entry : map.entrySet()) {
+			out.writeUTF(entry.getKey());
+			Collection<String> values= entry.getValue();
+			out.writeInt(values.size());
+			for (String value : values) {
+				out.writeUTF(value);
+			}
+		}
+	}
+}
@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.launcher;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.resources.IResource;
+
+import org.eclipse.jdt.core.IType;
+
+import org.eclipse.jdt.internal.junit.model.TestCaseElement;
+import org.eclipse.jdt.internal.junit.model.TestElement;
+import org.eclipse.jdt.internal.junit.model.TestRunSession;
+
+/**
+ * Orders the tests of a launch by earlier runs of its launch configuration, see
+ * {@link JUnitLaunchConfigurationConstants#ATTR_TEST_ORDER}. The order is passed to the test
+ * runtime with <code>-testorder</code>.
+ */
+public class TestPriorities {
+
+	/**
+	 * Returns the durations of the tests in earlier runs of a launch configuration, the youngest run
+	 * first.
+	 *
+	 * @param testRunName the name of the launch configuration
+	 * @return the durations in seconds, by test name of the form <code>method(class)</code>
+	 */
+	public static Map<String, Double> getDurations(String testRunName) {
+		return TestRunHistory.getDurations(testRunName, TestCaseElement::getTestName);
+	}
+
+	/**
+	 * Returns the test classes whose source changed since the last run of a launch configuration.
+	 *
+	 * @param testRunName the name of the launch configuration
+	 * @param types the test classes
+	 * @return the binary names of the changed classes, empty if the configuration did not run yet
+	 */
+	public static Set<String> getChangedClasses(String testRunName, List<IType> types) {
+		Set<String> changed= new HashSet<>();
+		long lastRun= 0;
+		for (TestRunSession session : TestRunHistory.getFinishedSessions(testRunName)) {
+			if (session.getStartTime() > 0) { // not set if the test runtime did not connect
+				lastRun= session.getStartTime();
+				break;
+			}
+		}
+		if (lastRun == 0)
+			return changed;
+		for (IType type : types) {
+			IResource resource= type.getResource();
+			if (resource != null && resource.getLocalTimeStamp() > lastRun)
+				changed.add(type.getFullyQualifiedName());
+		}
+		return changed;
+	}
+
+	/**
+	 * Orders tests by their durations. Test classes are ordered by the sum of the durations of
+	 * their tests, the tests of a class by their own duration, ties by name.
+	 *
+	 * @param order the order, see {@link JUnitLaunchConfigurationConstants#ATTR_TEST_ORDER}
+	 * @param durations the durations of the tests, see {@link #getDurations(String)}
+	 * @param changedClasses the changed classes for
+	 *            {@link JUnitLaunchConfigurationConstants#TEST_ORDER_CHANGED_FIRST}, see
+	 *            {@link #getChangedClasses(String, List)}
+	 * @return test names of the form <code>method(class)</code> and the names of changed classes
+	 *         without durations, in the order to run them
+	 */
+	public static List<String> getTestOrder(String order, Map<String, Double> durations, Set<String> changedClasses) {
+		boolean longestFirst= JUnitLaunchConfigurationConstants.TEST_ORDER_LONGEST_FIRST.equals(order);
+		boolean changedFirst= JUnitLaunchConfigurationConstants.TEST_ORDER_CHANGED_FIRST.equals(order);
+
+		Map<String, List<String>> classTests= new HashMap<>();
+		Map<String, Double> classDurations= new HashMap<>();
+		durations.forEach((testName, duration) -> {
+			String className= TestElement.extractRawClassName(testName);
+			classTests.computeIfAbsent(className, k -> new ArrayList<>()).add(testName);
+			classDurations.merge(className, duration, Double::sum);
+		});
+
+		Comparator<String> classOrder= byDuration(classDurations, longestFirst);
+		List<String> result= new ArrayList<>();
+		if (changedFirst) {
+			// new test classes first, they have no durations
+			changedClasses.stream().filter(className -> !classTests.containsKey(className)).sorted().forEach(result::add);
+			classOrder= Comparator.comparing((String className) -> !changedClasses.contains(className)).thenComparing(classOrder);
+		}
+		List<String> classes= new ArrayList<>(classTests.keySet());
+		classes.sort(classOrder);
+		for (String className : classes) {
+			List<String> tests= classTests.get(className);
+			tests.sort(byDuration(durations, longestFirst));
+			result.addAll(tests);
+		}
+		return result;
+	}
+
+	private static Comparator<String> byDuration(Map<String, Double> durations, boolean longestFirst) {
+		Comparator<String> comparator= Comparator.comparing(durations::get);
+		if (longestFirst)
+			comparator= comparator.reversed();
+		return comparator.thenComparing(Comparator.naturalOrder());
+	}
+
+	private TestPriorities() {
+	}
+}
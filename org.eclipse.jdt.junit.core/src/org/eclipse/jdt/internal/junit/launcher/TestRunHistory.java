@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.launcher;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.eclipse.jdt.junit.model.ITestElement;
+
+import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
+import org.eclipse.jdt.internal.junit.model.TestCaseElement;
+import org.eclipse.jdt.internal.junit.model.TestRunSession;
+import org.eclipse.jdt.internal.junit.model.TestSuiteElement;
+
+/**
+ * Access to the earlier runs of a launch configuration, used by {@link TestPriorities} and
+ * {@link TestShards}.
+ */
+final class TestRunHistory {
+
+	/** The number of earlier test runs of a launch configuration the durations are taken from */
+	private static final int MAX_SESSIONS= 3;
+
+	/**
+	 * @param testRunName the name of the launch configuration
+	 * @return the finished runs of the launch configuration, the youngest run first
+	 */
+	static List<TestRunSession> getFinishedSessions(String testRunName) {
+		List<TestRunSession> sessions= new ArrayList<>();
+		for (TestRunSession session : JUnitCorePlugin.getModel().getTestRunSessions()) {
+			if (testRunName.equals(session.getTestRunName()) && !session.isStarting() && !session.isRunning())
+				sessions.add(session);
+		}
+		return sessions;
+	}
+
+	/**
+	 * Returns the durations of the tests in earlier runs of a launch configuration. The durations
+	 * of the tests with the same key are added, a key is taken from the youngest run it occurs in.
+	 *
+	 * @param testRunName the name of the launch configuration
+	 * @param key returns the key of a test
+	 * @return the durations in seconds, by key
+	 */
+	static Map<String, Double> getDurations(String testRunName, Function<TestCaseElement, String> key) {
+		Map<String, Double> durations= new HashMap<>();
+		int sessions= 0;
+		for (TestRunSession session : getFinishedSessions(testRunName)) {
+			if (sessions++ == MAX_SESSIONS)
+				break;
+			Map<String, Double> sessionDurations= new HashMap<>();
+			addDurations(session.getTestRoot(), key, sessionDurations);
+			sessionDurations.forEach(durations::putIfAbsent);
+		}
+		return durations;
+	}
+
+	private static void addDurations(ITestElement element, Function<TestCaseElement, String> key, Map<String, Double> durations) {
+		if (element instanceof TestSuiteElement) {
+			for (ITestElement child : ((TestSuiteElement) element).getChildren()) {
+				addDurations(child, key, durations);
+			}
+		} else if (element instanceof TestCaseElement) {
+			double time= element.getElapsedTimeInSeconds();
+			if (!Double.isNaN(time))
+				durations.merge(key.apply((TestCaseElement) element), Double.valueOf(time), Double::sum);
+		}
+	}
+
+	private TestRunHistory() {
+	}
+}
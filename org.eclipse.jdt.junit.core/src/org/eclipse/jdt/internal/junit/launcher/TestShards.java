@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.launcher;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.core.IType;
+
+import org.eclipse.jdt.internal.junit.model.TestCaseElement;
+
+/**
+ * Distributes the test classes of a launch to several test runtimes, see
+ * {@link JUnitLaunchConfigurationConstants#ATTR_SHARDS}.
+ */
+public class TestShards {
+
+	/**
+	 * Returns the durations of the test classes in earlier runs of a launch configuration, the
+	 * youngest run first.
+	 *
+	 * @param testRunName the name of the launch configuration
+	 * @return the durations in seconds, by binary class name, i.e. with '$' for nested classes
+	 */
+	public static Map<String, Double> getDurations(String testRunName) {
+		return TestRunHistory.getDurations(testRunName, TestCaseElement::getClassName);
+	}
+
+	/**
+	 * Distributes the test classes so that the shards take about the same time: the longest
+	 * classes are assigned first, each to the shard with the least total duration. Classes without
+	 * a duration count with the average duration.
+	 *
+	 * @param types the test classes
+	 * @param shardCount the number of shards
+	 * @param durations the durations of the test classes, see {@link #getDurations(String)}
+	 * @return the non-empty shards
+	 */
+	public static List<List<IType>> distribute(List<IType> types, int shardCount, Map<String, Double> durations) {
+		double known= 0;
+		int knownCount= 0;
+		Map<IType, Double> typeDurations= new HashMap<>();
+		for (IType type : types) {
+			Double duration= durations.get(type.getFullyQualifiedName('$'));
+			if (duration != null) {
+				typeDurations.put(type, duration);
+				known+= duration.doubleValue();
+				knownCount++;
+			}
+		}
+		Double average= Double.valueOf(knownCount > 0 ? known / knownCount : 1);
+
+		List<IType> sorted= new ArrayList<>(types);
+		sorted.sort(Comparator.comparing((IType type) -> typeDurations.getOrDefault(type, average)).reversed()
+				.thenComparing(type -> type.getFullyQualifiedName()));
+
+		List<List<IType>> shards= new ArrayList<>();
+		double[] loads= new double[Math.min(shardCount, sorted.size())];
+		for (int i= 0; i < loads.length; i++) {
+			shards.add(new ArrayList<>());
+		}
+		for (IType type : sorted) {
+			int shard= 0;
+			for (int i= 1; i < loads.length; i++) {
+				if (loads[i] < loads[shard])
+					shard= i;
+			}
+			shards.get(shard).add(type);
+			loads[shard]+= typeDurations.getOrDefault(type, average).doubleValue();
+		}
+		return shards;
+	}
+
+	private TestShards() {
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,8 +15,10 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.junit.model;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
@@ -25,11 +27,17 @@ import java.net.ServerSocket;
 import java.net.Socket;
 import java.net.SocketException;
 import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
+
+import org.eclipse.osgi.util.NLS;
 
 import org.eclipse.core.runtime.ISafeRunnable;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.SafeRunner;
+import org.eclipse.core.runtime.Status;
 
 import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
+import org.eclipse.jdt.internal.junit.runner.BinaryMessageReader;
 import org.eclipse.jdt.internal.junit.runner.MessageIds;
 import org.eclipse.jdt.internal.junit.runner.RemoteTestRunner;
 
@@ -224,6 +232,49 @@ public class RemoteTestRunnerClient {
 	ProcessingState fRerunState= new AppendingProcessingState(fFailedRerunTrace, MessageIds.RTRACE_END);
 	ProcessingState fCurrentState= fDefaultState;
 
+	private static final Pattern LINE_DELIMITERS= Pattern.compile("\\r\\n|\\n|\\r"); //$NON-NLS-1$
+
+	/**
+	 * Passes the messages of the binary protocol to the state machine. Test messages in the default
+	 * state are handled directly, without building and parsing their text form.
+	 */
+	private class BinaryMessageHandler implements BinaryMessageReader.Handler {
+
+		@Override
+		public void testMessage(String header, String testId, String testName) {
+			if (fBinaryReader == null)
+				return; // shut down
+			if (MessageIds.TEST_START.equals(header) || MessageIds.TEST_END.equals(header)) {
+				fLastTestHeader= header;
+				fLastTestName= testName;
+			}
+			if (fCurrentState != fDefaultState) {
+				receiveMessage(header + testId + ',' + testName);
+			} else if (MessageIds.TEST_START.equals(header)) {
+				notifyTestStarted(testId, testName);
+			} else if (MessageIds.TEST_END.equals(header)) {
+				notifyTestEnded(testId, testName);
+			} else {
+				fFailedTestId= testId;
+				fFailedTest= testName;
+				fFailureKind= MessageIds.TEST_ERROR.equals(header) ? ITestRunListener2.STATUS_ERROR : ITestRunListener2.STATUS_FAILURE;
+			}
+		}
+
+		@Override
+		public void message(String message) {
+			if (fBinaryReader == null)
+				return; // shut down
+			// traces are sent as one message, the text protocol sends their lines
+			if (message.indexOf('\n') == -1 && message.indexOf('\r') == -1) {
+				receiveMessage(message);
+				return;
+			}
+			for (String line : LINE_DELIMITERS.split(message, -1))
+				receiveMessage(line);
+		}
+	}
+
 	/**
 	 * An array of listeners that are informed about test events.
 	 */
@@ -237,6 +288,10 @@ public class RemoteTestRunnerClient {
 	private int fPort= -1;
 	private PrintWriter fWriter;
 	private PushbackReader fPushbackReader;
+	/**
+	 * The reader of the binary protocol, or <code>null</code> if the text protocol is used
+	 */
+	private BinaryMessageReader fBinaryReader;
 	private String fLastLineDelimiter;
 	/**
 	 * The protocol version
@@ -254,6 +309,16 @@ public class RemoteTestRunnerClient {
 	 * The kind of failure of the test that is currently reported as failed
 	 */
 	private int fFailureKind;
+	/**
+	 * The header and the name of the last test started or ended, reported if the connection is
+	 * lost before the run ended, see {@link #reportLostConnection()}
+	 */
+	private String fLastTestHeader;
+	private String fLastTestName;
+	/**
+	 * Whether the RemoteTestRunner reported the end or the stop of the test run
+	 */
+	private volatile boolean fRunFinished;
 
 	private boolean fDebug= false;
 
@@ -275,21 +340,48 @@ public class RemoteTestRunnerClient {
 					System.out.println("Creating server socket "+fServerPort); //$NON-NLS-1$
 				fServerSocket= new ServerSocket(fServerPort);
 				fSocket= fServerSocket.accept();
-				fPushbackReader= new PushbackReader(new BufferedReader(new InputStreamReader(fSocket.getInputStream(), StandardCharsets.UTF_8)));
 				fWriter= new PrintWriter(new OutputStreamWriter(fSocket.getOutputStream(), StandardCharsets.UTF_8), true);
-				String message;
-				while(fPushbackReader != null && (message= readMessage(fPushbackReader)) != null)
-					receiveMessage(message);
+				InputStream in= new BufferedInputStream(fSocket.getInputStream());
+				in.mark(1);
+				int first= in.read();
+				in.reset();
+				if (BinaryMessageReader.isBinaryProtocol(first)) {
+					// sent by a runtime that was passed MessageIds.BINARY_PROTOCOL_ARGUMENT
+					BinaryMessageReader reader= new BinaryMessageReader(in);
+					fLastLineDelimiter= reader.getLineDelimiter();
+					fBinaryReader= reader;
+					BinaryMessageHandler handler= new BinaryMessageHandler();
+					while (fBinaryReader != null && reader.read(handler)) {
+						// handled by the handler
+					}
+				} else {
+					fPushbackReader= new PushbackReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+					String message;
+					while(fPushbackReader != null && (message= readMessage(fPushbackReader)) != null)
+						receiveMessage(message);
+				}
 			} catch (SocketException e) {
 				notifyTestRunTerminated();
 			} catch (IOException e) {
 				JUnitCorePlugin.log(e);
 				// fall through
 			}
+			if (!fRunFinished && fLastTestName != null)
+				reportLostConnection();
 			shutDown();
 		}
 	}
 
+	/*
+	 * The binary protocol writes the messages in batches. When the test VM is killed, the messages
+	 * of the last batch are lost, so the test which killed it may be the one after the last test
+	 * the client has been told about.
+	 */
+	private void reportLostConnection() {
+		String message= MessageIds.TEST_START.equals(fLastTestHeader) ? ModelMessages.RemoteTestRunnerClient_connection_lost_after_start : ModelMessages.RemoteTestRunnerClient_connection_lost_after_end;
+		JUnitCorePlugin.log(new Status(IStatus.INFO, JUnitCorePlugin.getPluginId(), NLS.bind(message, fLastTestName)));
+	}
+
 	/**
 	 * Start listening to a test run. Start a server connection that
 	 * the RemoteTestRunner can connect to.
@@ -328,6 +420,7 @@ public class RemoteTestRunnerClient {
 			fWriter.close();
 			fWriter= null;
 		}
+		fBinaryReader= null;
 		try {
 			if (fPushbackReader != null) {
 				fPushbackReader.close();
@@ -496,6 +589,7 @@ public class RemoteTestRunnerClient {
 	}
 
 	private void notifyTestRunStopped(final long elapsedTime) {
+		fRunFinished= true;
 		if (JUnitCorePlugin.isStopped())
 			return;
 		for (ITestRunListener2 listener : fListeners) {
@@ -509,6 +603,7 @@ public class RemoteTestRunnerClient {
 	}
 
 	private void testRunEnded(final long elapsedTime) {
+		fRunFinished= true;
 		if (JUnitCorePlugin.isStopped())
 			return;
 		for (ITestRunListener2 listener : fListeners) {
@@ -535,6 +630,19 @@ public class RemoteTestRunnerClient {
 		}
 	}
 
+	private void notifyTestEnded(final String testId, final String testName) {
+		if (JUnitCorePlugin.isStopped())
+			return;
+		for (ITestRunListener2 listener : fListeners) {
+			SafeRunner.run(new ListenerSafeRunnable() {
+				@Override
+				public void run() {
+					listener.testEnded(testId, testName);
+				}
+			});
+		}
+	}
+
 	private void notifyTestStarted(final String test) {
 		if (JUnitCorePlugin.isStopped())
 			return;
@@ -549,6 +657,19 @@ public class RemoteTestRunnerClient {
 		}
 	}
 
+	private void notifyTestStarted(final String testId, final String testName) {
+		if (JUnitCorePlugin.isStopped())
+			return;
+		for (ITestRunListener2 listener : fListeners) {
+			SafeRunner.run(new ListenerSafeRunnable() {
+				@Override
+				public void run() {
+					listener.testStarted(testId, testName);
+				}
+			});
+		}
+	}
+
 	private void notifyTestRunStarted(final int count) {
 		if (JUnitCorePlugin.isStopped())
 			return;
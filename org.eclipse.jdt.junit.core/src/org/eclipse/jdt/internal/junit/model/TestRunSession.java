@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -71,6 +71,29 @@ public class TestRunSession implements ITestRunSession {
 	 */
 	private RemoteTestRunnerClient fTestRunnerClient;
 
+	/**
+	 * The test runner clients of a sharded launch, or <code>null</code>.
+	 */
+	private RemoteTestRunnerClient[] fShardClients;
+
+	/**
+	 * The notifiers of the shards of a sharded launch, or <code>null</code>.
+	 */
+	private ShardNotifier[] fShards;
+
+	/**
+	 * Guards the state of the shards and the test elements while the shards report to this session.
+	 */
+	private final Object fShardLock= new Object();
+
+	private int fStartedShards;
+
+	private int fFinishedShards;
+
+	private boolean fShardStopped;
+
+	private boolean fShardTerminated;
+
 	private final ListenerList<ITestSessionListener> fSessionListeners;
 
 	/**
@@ -100,6 +123,13 @@ public class TestRunSession implements ITestRunSession {
 	 */
 	private TestSuiteElement fUnrootedSuite;
 
+	/**
+	 * <code>true</code> iff the swap file contains the current test tree. The tree of a swapped in
+	 * session refers to the swap file for the children of its deferred suites, see
+	 * {@link TestRunSessionBinaryFormat}.
+	 */
+	private boolean fSwapFileCurrent;
+
 	private static final String EMPTY_STRING= ""; //$NON-NLS-1$
 
 	/**
@@ -176,6 +206,18 @@ public class TestRunSession implements ITestRunSession {
 
 
 	public TestRunSession(ILaunch launch, IJavaProject project, int port) {
+		this(launch, project, new int[] { port });
+	}
+
+	/**
+	 * Creates a test run session for a launch.
+	 *
+	 * @param launch the launch
+	 * @param project the Java project
+	 * @param ports the ports of the test runtimes; more than one for a sharded launch, whose test
+	 *            runs are merged into this session
+	 */
+	public TestRunSession(ILaunch launch, IJavaProject project, int[] ports) {
 		Assert.isNotNull(launch);
 
 		fLaunch= launch;
@@ -193,26 +235,33 @@ public class TestRunSession implements ITestRunSession {
 		fTestRoot= new TestRoot(this);
 		fIdToTest= new HashMap<>();
 
-		fTestRunnerClient= new RemoteTestRunnerClient();
-		fTestRunnerClient.startListening(new ITestRunListener2[] { new TestSessionNotifier() }, port);
+		if (ports.length == 1) {
+			fTestRunnerClient= new RemoteTestRunnerClient();
+			fTestRunnerClient.startListening(new ITestRunListener2[] { new TestSessionNotifier() }, ports[0]);
+		} else {
+			fShardClients= new RemoteTestRunnerClient[ports.length];
+			fShards= new ShardNotifier[ports.length];
+			for (int i= 0; i < ports.length; i++) {
+				fShards[i]= new ShardNotifier(i);
+				fShardClients[i]= new RemoteTestRunnerClient();
+				fShardClients[i].startListening(new ITestRunListener2[] { fShards[i] }, ports[i]);
+			}
+		}
 
 		final ILaunchManager launchManager= DebugPlugin.getDefault().getLaunchManager();
 		launchManager.addLaunchListener(new ILaunchesListener2() {
 			@Override
 			public void launchesTerminated(ILaunch[] launches) {
 				if (Arrays.asList(launches).contains(fLaunch)) {
-					if (fTestRunnerClient != null) {
-						fTestRunnerClient.stopWaiting();
-					}
+					stopWaiting();
+					terminateShards();
 					launchManager.removeLaunchListener(this);
 				}
 			}
 			@Override
 			public void launchesRemoved(ILaunch[] launches) {
 				if (Arrays.asList(launches).contains(fLaunch)) {
-					if (fTestRunnerClient != null) {
-						fTestRunnerClient.stopWaiting();
-					}
+					stopWaiting();
 					launchManager.removeLaunchListener(this);
 				}
 			}
@@ -228,6 +277,32 @@ public class TestRunSession implements ITestRunSession {
 		addTestSessionListener(new TestRunListenerAdapter(this));
 	}
 
+	private void stopWaiting() {
+		if (fTestRunnerClient != null) {
+			fTestRunnerClient.stopWaiting();
+		}
+		RemoteTestRunnerClient[] shardClients= fShardClients;
+		if (shardClients != null) {
+			for (RemoteTestRunnerClient client : shardClients) {
+				client.stopWaiting();
+			}
+		}
+	}
+
+	/**
+	 * Ends the test runs of the shards whose runtime has closed the connection without ending its
+	 * test run, e.g. because the runtime was terminated.
+	 */
+	private void terminateShards() {
+		RemoteTestRunnerClient[] shardClients= fShardClients;
+		if (shardClients == null)
+			return;
+		for (int i= 0; i < shardClients.length; i++) {
+			if (!shardClients[i].isRunning())
+				fShards[i].testRunTerminated();
+		}
+	}
+
 	void reset() {
 		fStartedCount= 0;
 		fFailureCount= 0;
@@ -239,6 +314,7 @@ public class TestRunSession implements ITestRunSession {
 		fTestRoot= new TestRoot(this);
 		fTestResult= null;
 		fIdToTest= new HashMap<>();
+		fSwapFileCurrent= false;
 	}
 
 	@Override
@@ -370,10 +446,14 @@ public class TestRunSession implements ITestRunSession {
 		try {
 			File swapFile= getSwapFile();
 
-			JUnitModel.exportTestRunSession(this, swapFile);
+			if (!fSwapFileCurrent || !swapFile.isFile()) {
+				TestRunSessionBinaryFormat.write(this, swapFile);
+				fSwapFileCurrent= true;
+			}
 			fTestResult= fTestRoot.getTestResult(true);
 			fTestRoot= null;
 			fTestRunnerClient= null;
+			fShardClients= null;
 			fIdToTest= new HashMap<>();
 			fIncompleteTestSuites= null;
 			fFactoryTestSuites= null;
@@ -398,7 +478,7 @@ public class TestRunSession implements ITestRunSession {
 	private File getSwapFile() throws IllegalStateException {
 		File historyDir= JUnitCorePlugin.getHistoryDirectory();
 		String isoTime= new SimpleDateFormat("yyyyMMdd-HHmmss.SSS").format(new Date(getStartTime())); //$NON-NLS-1$
-		String swapFileName= isoTime + ".xml"; //$NON-NLS-1$
+		String swapFileName= isoTime + ".swap"; //$NON-NLS-1$
 		return new File(historyDir, swapFileName);
 	}
 
@@ -408,7 +488,8 @@ public class TestRunSession implements ITestRunSession {
 			return;
 
 		try {
-			JUnitModel.importIntoTestRunSession(getSwapFile(), this);
+			TestRunSessionBinaryFormat.read(getSwapFile(), this);
+			fSwapFileCurrent= true;
 		} catch (IllegalStateException | CoreException e) {
 			JUnitCorePlugin.log(e);
 			fTestRoot= new TestRoot(this);
@@ -421,6 +502,12 @@ public class TestRunSession implements ITestRunSession {
 			fIsStopped= true;
 		if (fTestRunnerClient != null)
 			fTestRunnerClient.stopTest();
+		RemoteTestRunnerClient[] shardClients= fShardClients;
+		if (shardClients != null) {
+			for (RemoteTestRunnerClient client : shardClients) {
+				client.stopTest();
+			}
+		}
 	}
 
 	/**
@@ -477,10 +564,10 @@ public class TestRunSession implements ITestRunSession {
 		return fIdToTest.get(id);
 	}
 
-	private TestElement addTreeEntry(String treeEntry) {
+	private TestElement addTreeEntry(String treeEntry, String idPrefix) {
 		// format: testId","testName","isSuite","testcount","isDynamicTest","parentId","displayName","parameterTypes","uniqueId
 		int index0= treeEntry.indexOf(',');
-		String id= treeEntry.substring(0, index0);
+		String id= idPrefix + treeEntry.substring(0, index0);
 
 		StringBuffer testNameBuffer= new StringBuffer(100);
 		int index1= scanTestName(treeEntry, index0 + 1, testNameBuffer);
@@ -516,6 +603,8 @@ public class TestRunSession implements ITestRunSession {
 			parentId= treeEntry.substring(index4 + 1, index5);
 			if ("-1".equals(parentId)) { //$NON-NLS-1$
 				parentId= null;
+			} else {
+				parentId= idPrefix + parentId;
 			}
 
 			int index6= scanTestName(treeEntry, index5 + 1, displayNameBuffer);
@@ -625,8 +714,22 @@ public class TestRunSession implements ITestRunSession {
 	 */
 	private class TestSessionNotifier implements ITestRunListener2 {
 
+		/**
+		 * Makes the test IDs of a shard unique within the session.
+		 */
+		private final String fIdPrefix;
+
+		TestSessionNotifier() {
+			this(""); //$NON-NLS-1$
+		}
+
+		TestSessionNotifier(String idPrefix) {
+			fIdPrefix= idPrefix;
+		}
+
 		@Override
 		public void testRunStarted(int testCount) {
+			fSwapFileCurrent= false;
 			fIncompleteTestSuites= new ArrayList<>();
 			fFactoryTestSuites= new ArrayList<>();
 
@@ -676,7 +779,7 @@ public class TestRunSession implements ITestRunSession {
 
 		@Override
 		public void testTreeEntry(String description) {
-			TestElement testElement= addTreeEntry(description);
+			TestElement testElement= addTreeEntry(description, fIdPrefix);
 
 			for (ITestSessionListener listener : fSessionListeners) {
 				listener.testAdded(testElement);
@@ -701,9 +804,9 @@ public class TestRunSession implements ITestRunSession {
 					listener.runningBegins();
 				}
 			}
-			TestElement testElement= getTestElement(testId);
+			TestElement testElement= getTestElement(fIdPrefix + testId);
 			if (testElement == null) {
-				testElement= createUnrootedTestElement(testId, testName);
+				testElement= createUnrootedTestElement(fIdPrefix + testId, testName);
 			} else if (! (testElement instanceof TestCaseElement)) {
 				logUnexpectedTest(testId, testElement);
 				return;
@@ -726,9 +829,9 @@ public class TestRunSession implements ITestRunSession {
 		public void testEnded(String testId, String testName) {
 			boolean isIgnored= testName.startsWith(MessageIds.IGNORED_TEST_PREFIX);
 
-			TestElement testElement= getTestElement(testId);
+			TestElement testElement= getTestElement(fIdPrefix + testId);
 			if (testElement == null) {
-				testElement= createUnrootedTestElement(testId, testName);
+				testElement= createUnrootedTestElement(fIdPrefix + testId, testName);
 			} else if (! (testElement instanceof TestCaseElement)) {
 				if (isIgnored) {
 					testElement.setAssumptionFailed(true);
@@ -756,9 +859,9 @@ public class TestRunSession implements ITestRunSession {
 
 		@Override
 		public void testFailed(int statusCode, String testId, String testName, String trace, String expected, String actual) {
-			TestElement testElement= getTestElement(testId);
+			TestElement testElement= getTestElement(fIdPrefix + testId);
 			if (testElement == null) {
-				testElement= createUnrootedTestElement(testId, testName);
+				testElement= createUnrootedTestElement(fIdPrefix + testId, testName);
 			}
 
 			Status status;
@@ -779,9 +882,9 @@ public class TestRunSession implements ITestRunSession {
 
 		@Override
 		public void testReran(String testId, String className, String testName, int statusCode, String trace, String expectedResult, String actualResult) {
-			TestElement testElement= getTestElement(testId);
+			TestElement testElement= getTestElement(fIdPrefix + testId);
 			if (testElement == null) {
-				testElement= createUnrootedTestElement(testId, testName);
+				testElement= createUnrootedTestElement(fIdPrefix + testId, testName);
 			} else if (! (testElement instanceof TestCaseElement)) {
 				logUnexpectedTest(testId, testElement);
 				return;
@@ -802,6 +905,118 @@ public class TestRunSession implements ITestRunSession {
 		}
 	}
 
+	/**
+	 * Reports the test run of one runtime of a sharded launch to the session. The test runs of the
+	 * shards are merged: the session starts with the first shard and ends when all shards ended.
+	 */
+	private class ShardNotifier extends TestSessionNotifier {
+
+		private final List<IncompleteTestSuite> fShardIncompleteTestSuites= new ArrayList<>();
+
+		private final List<IncompleteTestSuite> fShardFactoryTestSuites= new ArrayList<>();
+
+		private boolean fFinished;
+
+		ShardNotifier(int index) {
+			super(index + ":"); //$NON-NLS-1$
+		}
+
+		/**
+		 * Lets the session build the test tree of this shard, whose tree entries may arrive
+		 * interleaved with those of the other shards.
+		 */
+		private void useShardSuites() {
+			fIncompleteTestSuites= fShardIncompleteTestSuites;
+			fFactoryTestSuites= fShardFactoryTestSuites;
+		}
+
+		@Override
+		public void testRunStarted(int testCount) {
+			synchronized (fShardLock) {
+				if (fStartedShards++ == 0) {
+					super.testRunStarted(testCount);
+				} else {
+					fTotalCount+= testCount;
+				}
+			}
+		}
+
+		@Override
+		public void testRunEnded(long elapsedTime) {
+			finish(false, false);
+		}
+
+		@Override
+		public void testRunStopped(long elapsedTime) {
+			finish(true, false);
+		}
+
+		@Override
+		public void testRunTerminated() {
+			finish(false, true);
+		}
+
+		private void finish(boolean stopped, boolean terminated) {
+			synchronized (fShardLock) {
+				if (fFinished)
+					return;
+				fFinished= true;
+				fShardStopped|= stopped;
+				fShardTerminated|= terminated;
+				if (++fFinishedShards < fShards.length)
+					return;
+				long elapsedTime= System.currentTimeMillis() - fStartTime;
+				if (fShardTerminated) {
+					super.testRunTerminated();
+				} else if (fShardStopped) {
+					super.testRunStopped(elapsedTime);
+				} else {
+					super.testRunEnded(elapsedTime);
+				}
+			}
+		}
+
+		@Override
+		public void testTreeEntry(String description) {
+			synchronized (fShardLock) {
+				useShardSuites();
+				super.testTreeEntry(description);
+			}
+		}
+
+		@Override
+		public void testStarted(String testId, String testName) {
+			synchronized (fShardLock) {
+				useShardSuites();
+				super.testStarted(testId, testName);
+			}
+		}
+
+		@Override
+		public void testEnded(String testId, String testName) {
+			synchronized (fShardLock) {
+				useShardSuites();
+				super.testEnded(testId, testName);
+			}
+		}
+
+		@Override
+		public void testFailed(int statusCode, String testId, String testName, String trace, String expected, String actual) {
+			synchronized (fShardLock) {
+				useShardSuites();
+				super.testFailed(statusCode, testId, testName, trace, expected, actual);
+			}
+		}
+
+		@Override
+		public void testReran(String testId, String className, String testName, int statusCode, String trace, String expectedResult, String actualResult) {
+			synchronized (fShardLock) {
+				useShardSuites();
+				super.testReran(testId, className, testName, statusCode, trace, expectedResult, actualResult);
+			}
+		}
+	}
+
 	private static class IncompleteTestSuite {
 		public TestSuiteElement fTestSuiteElement;
 		public int fOutstandingChildren;
@@ -859,6 +1074,10 @@ public class TestRunSession implements ITestRunSession {
 		}
 		if (testElement instanceof TestSuiteElement) {
 			TestSuiteElement testSuiteElement= (TestSuiteElement) testElement;
+			if (!testSuiteElement.isChildrenLoaded() && testResult != Result.ERROR && testResult != Result.FAILURE) {
+				// the cumulated status is known, don't load children that cannot contain failures
+				return;
+			}
 			ITestElement[] children= testSuiteElement.getChildren();
 			for (ITestElement child : children) {
 				addFailures(failures, child);
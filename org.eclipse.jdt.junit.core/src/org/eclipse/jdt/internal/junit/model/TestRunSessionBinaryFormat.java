@@ -0,0 +1,726 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.internal.junit.model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.junit.model.ITestElement;
+import org.eclipse.jdt.junit.model.ITestElement.FailureTrace;
+import org.eclipse.jdt.junit.model.ITestElement.ProgressState;
+import org.eclipse.jdt.junit.model.ITestElement.Result;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+
+import org.eclipse.jdt.internal.junit.BasicElementLabels;
+import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
+import org.eclipse.jdt.internal.junit.Messages;
+import org.eclipse.jdt.internal.junit.model.TestElement.Status;
+
+/**
+ * Compact binary format used to swap test run sessions to disk.
+ * <p>
+ * Unlike the XML format written by {@link TestRunSessionSerializer}, this format is private to
+ * the running workbench and not meant for interchange. It stores the test tree in pre-order and
+ * writes every string only once: later occurrences of the same string (e.g. class names, or
+ * frames of similar stack traces) refer to an entry of a string table which is built while
+ * writing and rebuilt while reading.
+ * </p>
+ * <p>
+ * The restored test tree is identical to the one restored from the XML format, i.e. the
+ * elements are registered at the {@link TestRunSession} the same way {@link TestRunHandler}
+ * does.
+ * </p>
+ * <p>
+ * Suites with many descendants are written as deferred suites: the suite header is followed by
+ * the aggregated counters and the cumulated status of its subtree, and by a length prefixed block
+ * with the subtree itself. When reading from a file, only the headers of the top level suites are
+ * restored and the blocks are skipped. A block is read when the children of its suite are first
+ * accessed, e.g. when the suite is expanded in the JUnit view. Like that, opening a huge test run
+ * from the history does not have to restore the whole tree.
+ * </p>
+ */
+public final class TestRunSessionBinaryFormat {
+
+	private static final int MAGIC= 0x4A545253; // "JTRS"
+	private static final int VERSION= 2;
+
+	/**
+	 * Suites with at least this many descendants are written as deferred suites.
+	 */
+	public static final int DEFAULT_DEFERRED_SUITE_SIZE= Integer.getInteger("org.eclipse.jdt.junit.swap.deferredSuiteSize", 64).intValue(); //$NON-NLS-1$
+
+	private static final int END= 0;
+	private static final int SUITE= 1;
+	private static final int CASE= 2;
+	private static final int DEFERRED_SUITE= 3;
+
+	private static final int FLAG_INCOMPLETE= 1;
+	private static final int FLAG_IGNORED= 1 << 1;
+	private static final int FLAG_DYNAMIC= 1 << 2;
+
+	private static final int FAILURE_NONE= 0;
+	private static final int FAILURE_ERROR= 1;
+	private static final int FAILURE_FAILURE= 2;
+	private static final int FAILURE_SKIPPED= 3;
+
+	/**
+	 * Indexed by {@link Status#getOldCode()}.
+	 */
+	private static final Status[] STATUS= { Status.OK, Status.ERROR, Status.FAILURE, Status.RUNNING, Status.NOT_RUN, Status.RUNNING_ERROR, Status.RUNNING_FAILURE };
+
+	private TestRunSessionBinaryFormat() {
+	}
+
+	/**
+	 * Writes the test tree of the given test run session to a file.
+	 *
+	 * @param testRunSession the test run session
+	 * @param file the destination
+	 * @throws CoreException if the file could not be written
+	 */
+	public static void write(TestRunSession testRunSession, File file) throws CoreException {
+		// the deferred suites of the current tree may still have to be read from the file
+		File tempFile= new File(file.getParentFile(), file.getName() + ".tmp"); //$NON-NLS-1$
+		try {
+			try (OutputStream out= new FileOutputStream(tempFile)) {
+				write(testRunSession, out, DEFAULT_DEFERRED_SUITE_SIZE);
+			}
+			Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			tempFile.delete();
+			throw new CoreException(new org.eclipse.core.runtime.Status(IStatus.ERROR, JUnitCorePlugin.getPluginId(),
+					Messages.format(ModelMessages.JUnitModel_could_not_write, BasicElementLabels.getPathLabel(file)), e));
+		}
+	}
+
+	/**
+	 * Reads a test tree written by {@link #write(TestRunSession, File)} into the given test run
+	 * session. The session is reset before. The children of deferred suites are read from the file
+	 * on demand.
+	 *
+	 * @param file the file to read
+	 * @param testRunSession the test run session to fill
+	 * @throws CoreException if the file could not be read
+	 */
+	public static void read(File file, TestRunSession testRunSession) throws CoreException {
+		try (InputStream in= new FileInputStream(file)) {
+			Reader reader= new Reader(new PositionInputStream(new BufferedInputStream(in, 1 << 16)), testRunSession, file);
+			reader.readSession();
+		} catch (IOException e) {
+			throw new CoreException(new org.eclipse.core.runtime.Status(IStatus.ERROR, JUnitCorePlugin.getPluginId(),
+					Messages.format(ModelMessages.JUnitModel_could_not_read, BasicElementLabels.getPathLabel(file)), e));
+		}
+	}
+
+	public static void write(TestRunSession testRunSession, OutputStream out) throws IOException {
+		write(testRunSession, out, DEFAULT_DEFERRED_SUITE_SIZE);
+	}
+
+	/**
+	 * Writes the test tree of the given test run session.
+	 *
+	 * @param testRunSession the test run session
+	 * @param out the stream to write to
+	 * @param deferredSuiteSize the minimal number of descendants of a deferred suite
+	 * @throws IOException if writing failed
+	 */
+	public static void write(TestRunSession testRunSession, OutputStream out, int deferredSuiteSize) throws IOException {
+		Writer writer= new Writer(new DataOutputStream(new BufferedOutputStream(out, 1 << 16)), deferredSuiteSize);
+		writer.writeSession(testRunSession);
+		writer.fOut.flush();
+	}
+
+	/**
+	 * Reads a test tree from a stream. The blocks of deferred suites are kept in memory until the
+	 * children are accessed.
+	 *
+	 * @param in the stream to read
+	 * @param testRunSession the test run session to fill
+	 * @throws IOException if reading failed
+	 */
+	public static void read(InputStream in, TestRunSession testRunSession) throws IOException {
+		Reader reader= new Reader(new PositionInputStream(new BufferedInputStream(in, 1 << 16)), testRunSession, null);
+		reader.readSession();
+	}
+
+	private static final class Writer {
+
+		private final DataOutputStream fOut;
+		private final int fDeferredSuiteSize;
+		private final Map<String, Integer> fStringTable= new HashMap<>();
+
+		/*
+		 * Aggregates of the written elements, counted the same way as the session counts them when
+		 * the elements are read.
+		 */
+		private final Counts fCounts= new Counts();
+
+		Writer(DataOutputStream out, int deferredSuiteSize) {
+			fOut= out;
+			fDeferredSuiteSize= deferredSuiteSize;
+		}
+
+		void writeSession(TestRunSession session) throws IOException {
+			fOut.writeInt(MAGIC);
+			fOut.writeByte(VERSION);
+			for (ITestElement child : session.getTestRoot().getChildren()) {
+				writeElement(child);
+			}
+			fOut.writeByte(END);
+		}
+
+		/**
+		 * @return the number of written elements, including all descendants
+		 */
+		private int writeElement(ITestElement testElement) throws IOException {
+			if (testElement instanceof TestSuiteElement) {
+				TestSuiteElement suite= (TestSuiteElement) testElement;
+				int flags= suite.getProgressState() != ProgressState.COMPLETED || suite.getTestResult(false) != Result.UNDEFINED ? FLAG_INCOMPLETE : 0;
+				ITestElement[] children= suite.getChildren();
+				if (children.length > 0 && countDescendants(children, fDeferredSuiteSize) >= fDeferredSuiteSize) {
+					return writeDeferredSuite(suite, flags, children);
+				}
+
+				fOut.writeByte(SUITE);
+				writeCommon(suite, flags);
+				int count= 1;
+				for (ITestElement child : children) {
+					count+= writeElement(child);
+				}
+				fOut.writeByte(END);
+				return count;
+
+			} else if (testElement instanceof TestCaseElement) {
+				TestCaseElement testCase= (TestCaseElement) testElement;
+				int flags= 0;
+				if (testCase.getProgressState() != ProgressState.COMPLETED)
+					flags|= FLAG_INCOMPLETE;
+				if (testCase.isIgnored())
+					flags|= FLAG_IGNORED;
+				if (testCase.isDynamicTest())
+					flags|= FLAG_DYNAMIC;
+				fOut.writeByte(CASE);
+				writeCommon(testCase, flags);
+				return 1;
+
+			} else {
+				throw new IllegalStateException(String.valueOf(testElement));
+			}
+		}
+
+		/*
+		 * The subtree is written to a block with its own string table, such that the block can be
+		 * read without reading the preceding blocks.
+		 */
+		private int writeDeferredSuite(TestSuiteElement suite, int flags, ITestElement[] children) throws IOException {
+			fOut.writeByte(DEFERRED_SUITE);
+			writeCommon(suite, flags);
+
+			ByteArrayOutputStream block= new ByteArrayOutputStream();
+			Writer blockWriter= new Writer(new DataOutputStream(block), fDeferredSuiteSize);
+			int count= 0;
+			for (ITestElement child : children) {
+				count+= blockWriter.writeElement(child);
+			}
+			blockWriter.fOut.writeByte(END);
+			blockWriter.fOut.flush();
+
+			blockWriter.fCounts.write(this);
+			Status childrenStatus= suite.getChildrenStatus();
+			writeVarInt(childrenStatus == null ? 0 : childrenStatus.getOldCode() + 1);
+			writeVarInt(count);
+			writeVarInt(block.size());
+			block.writeTo(fOut);
+
+			fCounts.add(blockWriter.fCounts);
+			return count + 1;
+		}
+
+		private static int countDescendants(ITestElement[] children, int limit) {
+			int count= children.length;
+			for (int i= 0; i < children.length && count < limit; i++) {
+				if (children[i] instanceof TestSuiteElement) {
+					TestSuiteElement suite= (TestSuiteElement) children[i];
+					count+= suite.isChildrenLoaded() ? countDescendants(suite.getChildren(), limit - count) : limit;
+				}
+			}
+			return count;
+		}
+
+		private void writeCommon(TestElement testElement, int flags) throws IOException {
+			fOut.writeByte(flags);
+			writeString(testElement.getTestName());
+			writeString(testElement.getDisplayName());
+			writeString(testElement.getUniqueId());
+			String[] parameterTypes= testElement.getParameterTypes();
+			if (parameterTypes == null) {
+				writeVarInt(0);
+			} else {
+				writeVarInt(parameterTypes.length + 1);
+				for (String parameterType : parameterTypes) {
+					writeString(parameterType);
+				}
+			}
+			fOut.writeDouble(testElement.getElapsedTimeInSeconds());
+
+			boolean isCase= testElement instanceof TestCaseElement;
+			boolean ignored= (flags & FLAG_IGNORED) != 0;
+			boolean assumptionFailure= false;
+			FailureTrace failureTrace= testElement.getFailureTrace();
+			if (testElement.isAssumptionFailure()) {
+				String trace= failureTrace != null ? failureTrace.getTrace() : null;
+				fOut.writeByte(FAILURE_SKIPPED);
+				writeString(trace);
+				if (trace != null && trace.length() > 0 || !isCase) {
+					assumptionFailure= true;
+				} else {
+					ignored= true;
+				}
+			} else if (failureTrace != null) {
+				boolean isError= testElement.getTestResult(false) == Result.ERROR;
+				fOut.writeByte(isError ? FAILURE_ERROR : FAILURE_FAILURE);
+				writeString(failureTrace.getTrace());
+				writeString(failureTrace.getExpected());
+				writeString(failureTrace.getActual());
+				if (isError) {
+					fCounts.fErrorCount++;
+				} else {
+					fCounts.fFailureCount++;
+				}
+			} else {
+				fOut.writeByte(FAILURE_NONE);
+			}
+			fCounts.registerTestEnded(isCase, (flags & FLAG_INCOMPLETE) == 0, ignored, assumptionFailure);
+		}
+
+		/*
+		 * 0: null, 1..n: reference to entry n-1 of the string table, n+1: new entry follows
+		 */
+		private void writeString(String string) throws IOException {
+			if (string == null) {
+				writeVarInt(0);
+				return;
+			}
+			Integer index= fStringTable.get(string);
+			if (index != null) {
+				writeVarInt(index.intValue() + 1);
+				return;
+			}
+			int newIndex= fStringTable.size();
+			fStringTable.put(string, Integer.valueOf(newIndex));
+			writeVarInt(newIndex + 1);
+			byte[] bytes= string.getBytes(StandardCharsets.UTF_8);
+			writeVarInt(bytes.length);
+			fOut.write(bytes);
+		}
+
+		private void writeVarInt(int value) throws IOException {
+			while ((value & ~0x7F) != 0) {
+				fOut.writeByte((value & 0x7F) | 0x80);
+				value>>>= 7;
+			}
+			fOut.writeByte(value);
+		}
+	}
+
+	private static final class Reader {
+
+		private final PositionInputStream fPosition;
+		private final DataInputStream fIn;
+		private final TestRunSession fTestRunSession;
+		private final File fFile;
+		private final List<String> fStringTable= new ArrayList<>();
+		private int fId;
+
+		/*
+		 * Elements read by a deferred suite's loader are already contained in the session counters.
+		 */
+		private boolean fRegister= true;
+
+		/**
+		 * @param in the stream to read
+		 * @param testRunSession the session to fill
+		 * @param file the file that is read, or <code>null</code> if the deferred blocks have to
+		 *            be kept in memory
+		 */
+		Reader(PositionInputStream in, TestRunSession testRunSession, File file) {
+			fPosition= in;
+			fIn= new DataInputStream(in);
+			fTestRunSession= testRunSession;
+			fFile= file;
+		}
+
+		void readSession() throws IOException {
+			if (fIn.readInt() != MAGIC)
+				throw new IOException("Not a test run session swap file"); //$NON-NLS-1$
+			int version= fIn.readUnsignedByte();
+			if (version != VERSION)
+				throw new IOException("Unsupported test run session swap file version: " + version); //$NON-NLS-1$
+
+			fTestRunSession.reset();
+			TestRoot root= fTestRunSession.getTestRoot();
+			int kind;
+			while ((kind= fIn.readUnsignedByte()) != END) {
+				readElement(kind, root);
+			}
+		}
+
+		private void readElement(int kind, TestSuiteElement parent) throws IOException {
+			if (Thread.interrupted())
+				throw new IOException("Interrupted while reading test run session"); //$NON-NLS-1$
+
+			int flags= fIn.readUnsignedByte();
+			String testName= readString();
+			String displayName= readString();
+			String uniqueId= readString();
+			String[] parameterTypes= null;
+			int parameterCount= readVarInt();
+			if (parameterCount > 0) {
+				parameterTypes= new String[parameterCount - 1];
+				for (int i= 0; i < parameterTypes.length; i++) {
+					parameterTypes[i]= readString();
+				}
+			}
+			double elapsedTime= fIn.readDouble();
+
+			TestElement testElement;
+			if (kind == SUITE || kind == DEFERRED_SUITE) {
+				testElement= fTestRunSession.createTestElement(parent, getNextId(), testName, true, 0, false, displayName, parameterTypes, uniqueId);
+			} else if (kind == CASE) {
+				testElement= fTestRunSession.createTestElement(parent, getNextId(), testName, false, 0, (flags & FLAG_DYNAMIC) != 0, displayName, parameterTypes, uniqueId);
+				((TestCaseElement) testElement).setIgnored((flags & FLAG_IGNORED) != 0);
+			} else {
+				throw new IOException("Corrupt test run session swap file, unknown element kind: " + kind); //$NON-NLS-1$
+			}
+			if (!Double.isNaN(elapsedTime))
+				testElement.setElapsedTimeInSeconds(elapsedTime);
+
+			readFailure(testElement);
+
+			if (kind == SUITE) {
+				int childKind;
+				while ((childKind= fIn.readUnsignedByte()) != END) {
+					readElement(childKind, (TestSuiteElement) testElement);
+				}
+			} else if (kind == DEFERRED_SUITE) {
+				readDeferredChildren((TestSuiteElement) testElement);
+			}
+			registerTestEnded(testElement, (flags & FLAG_INCOMPLETE) == 0);
+		}
+
+		private void readDeferredChildren(TestSuiteElement suite) throws IOException {
+			Counts counts= Counts.read(this);
+			int statusCode= readVarInt();
+			if (statusCode > STATUS.length)
+				throw new IOException("Corrupt test run session swap file, unknown status: " + statusCode); //$NON-NLS-1$
+			Status childrenStatus= statusCode == 0 ? null : STATUS[statusCode - 1];
+			int elementCount= readVarInt();
+			int length= readVarInt();
+
+			DeferredChildren loader;
+			if (fFile != null) {
+				loader= new DeferredChildren(fTestRunSession, fFile, fPosition.getPosition(), length, null, fId, counts.hasSkippedTests());
+				fIn.skipNBytes(length);
+			} else {
+				byte[] block= new byte[length];
+				fIn.readFully(block);
+				loader= new DeferredChildren(fTestRunSession, null, 0, length, block, fId, counts.hasSkippedTests());
+			}
+			fId+= elementCount;
+			suite.setChildrenLoader(loader, childrenStatus);
+			if (fRegister)
+				counts.addTo(fTestRunSession);
+		}
+
+		private void registerTestFailureStatus(TestElement testElement, Status status, String trace, String expected, String actual) {
+			if (fRegister) {
+				fTestRunSession.registerTestFailureStatus(testElement, status, trace, expected, actual);
+			} else {
+				testElement.setStatus(status, trace, expected, actual);
+			}
+		}
+
+		private void registerTestEnded(TestElement testElement, boolean completed) {
+			if (fRegister) {
+				fTestRunSession.registerTestEnded(testElement, completed);
+			} else if (testElement instanceof TestCaseElement && completed && !testElement.getStatus().isErrorOrFailure()) {
+				testElement.setStatus(Status.OK);
+			}
+		}
+
+		private void readFailure(TestElement testElement) throws IOException {
+			int failureKind= fIn.readUnsignedByte();
+			switch (failureKind) {
+				case FAILURE_NONE:
+					break;
+				case FAILURE_ERROR:
+				case FAILURE_FAILURE:
+					{
+						Status status= failureKind == FAILURE_ERROR ? Status.ERROR : Status.FAILURE;
+						String trace= readString();
+						String expected= readString();
+						String actual= readString();
+						registerTestFailureStatus(testElement, status, trace, expected, actual);
+						break;
+					}
+				case FAILURE_SKIPPED:
+					{
+						// same as TestRunHandler for <skipped> nodes
+						String trace= readString();
+						if (trace != null && trace.length() > 0) {
+							registerTestFailureStatus(testElement, Status.OK, trace, null, null);
+							testElement.setAssumptionFailed(true);
+						} else if (testElement instanceof TestCaseElement) {
+							((TestCaseElement) testElement).setIgnored(true);
+						} else {
+							testElement.setAssumptionFailed(true);
+						}
+						break;
+					}
+				default:
+					throw new IOException("Corrupt test run session swap file, unknown failure kind: " + failureKind); //$NON-NLS-1$
+			}
+		}
+
+		private String readString() throws IOException {
+			int index= readVarInt();
+			if (index == 0)
+				return null;
+			if (index <= fStringTable.size())
+				return fStringTable.get(index - 1);
+			if (index != fStringTable.size() + 1)
+				throw new IOException("Corrupt test run session swap file, invalid string reference: " + index); //$NON-NLS-1$
+
+			byte[] bytes= new byte[readVarInt()];
+			fIn.readFully(bytes);
+			String string= new String(bytes, StandardCharsets.UTF_8);
+			fStringTable.add(string);
+			return string;
+		}
+
+		private int readVarInt() throws IOException {
+			int result= 0;
+			for (int shift= 0; shift < 32; shift+= 7) {
+				int b= fIn.readUnsignedByte();
+				result|= (b & 0x7F) << shift;
+				if ((b & 0x80) == 0)
+					return result;
+			}
+			throw new IOException("Corrupt test run session swap file, malformed number"); //$NON-NLS-1$
+		}
+
+		private String getNextId() {
+			return Integer.toString(fId++);
+		}
+	}
+
+	/**
+	 * The session counters of a subtree.
+	 */
+	private static final class Counts {
+		int fTotalCount;
+		int fStartedCount;
+		int fIgnoredCount;
+		int fAssumptionFailureCount;
+		int fErrorCount;
+		int fFailureCount;
+
+		/*
+		 * Same as TestRunSession#registerTestEnded(TestElement, boolean)
+		 */
+		void registerTestEnded(boolean isCase, boolean completed, boolean ignored, boolean assumptionFailure) {
+			if (isCase) {
+				fTotalCount++;
+				if (!completed)
+					return;
+				fStartedCount++;
+				if (ignored)
+					fIgnoredCount++;
+			}
+			if (assumptionFailure)
+				fAssumptionFailureCount++;
+		}
+
+		void add(Counts other) {
+			fTotalCount+= other.fTotalCount;
+			fStartedCount+= other.fStartedCount;
+			fIgnoredCount+= other.fIgnoredCount;
+			fAssumptionFailureCount+= other.fAssumptionFailureCount;
+			fErrorCount+= other.fErrorCount;
+			fFailureCount+= other.fFailureCount;
+		}
+
+		void addTo(TestRunSession session) {
+			session.fTotalCount+= fTotalCount;
+			session.fStartedCount+= fStartedCount;
+			session.fIgnoredCount+= fIgnoredCount;
+			session.fAssumptionFailureCount+= fAssumptionFailureCount;
+			session.fErrorCount+= fErrorCount;
+			session.fFailureCount+= fFailureCount;
+		}
+
+		boolean hasSkippedTests() {
+			return fIgnoredCount > 0 || fAssumptionFailureCount > 0;
+		}
+
+		void write(Writer writer) throws IOException {
+			writer.writeVarInt(fTotalCount);
+			writer.writeVarInt(fStartedCount);
+			writer.writeVarInt(fIgnoredCount);
+			writer.writeVarInt(fAssumptionFailureCount);
+			writer.writeVarInt(fErrorCount);
+			writer.writeVarInt(fFailureCount);
+		}
+
+		static Counts read(Reader reader) throws IOException {
+			Counts counts= new Counts();
+			counts.fTotalCount= reader.readVarInt();
+			counts.fStartedCount= reader.readVarInt();
+			counts.fIgnoredCount= reader.readVarInt();
+			counts.fAssumptionFailureCount= reader.readVarInt();
+			counts.fErrorCount= reader.readVarInt();
+			counts.fFailureCount= reader.readVarInt();
+			return counts;
+		}
+	}
+
+	/**
+	 * Reads the block of a deferred suite, either from the swap file or from memory.
+	 */
+	private static final class DeferredChildren implements TestSuiteElement.ChildrenLoader {
+
+		private final TestRunSession fTestRunSession;
+		private final File fFile;
+		private final long fOffset;
+		private final int fLength;
+		private final byte[] fBlock;
+		private final int fFirstId;
+		private final boolean fHasSkippedTests;
+
+		DeferredChildren(TestRunSession testRunSession, File file, long offset, int length, byte[] block, int firstId, boolean hasSkippedTests) {
+			fTestRunSession= testRunSession;
+			fFile= file;
+			fOffset= offset;
+			fLength= length;
+			fBlock= block;
+			fFirstId= firstId;
+			fHasSkippedTests= hasSkippedTests;
+		}
+
+		@Override
+		public boolean hasSkippedTests() {
+			return fHasSkippedTests;
+		}
+
+		@Override
+		public void loadChildren(TestSuiteElement testSuite) {
+			// the session is locked while swapping, see TestRunSession#swapIn() and #swapOut()
+			synchronized (fTestRunSession) {
+				if (testSuite.getChildrenLoader() != this)
+					return;
+				try {
+					byte[] block= fBlock != null ? fBlock : readBlock();
+					Reader reader= new Reader(new PositionInputStream(new ByteArrayInputStream(block)), fTestRunSession, null);
+					reader.fRegister= false;
+					reader.fId= fFirstId;
+					int kind;
+					while ((kind= reader.fIn.readUnsignedByte()) != END) {
+						reader.readElement(kind, testSuite);
+					}
+				} catch (IOException e) {
+					String source= fFile != null ? BasicElementLabels.getPathLabel(fFile) : fTestRunSession.getTestRunName();
+					JUnitCorePlugin.log(new CoreException(new org.eclipse.core.runtime.Status(IStatus.ERROR, JUnitCorePlugin.getPluginId(),
+							Messages.format(ModelMessages.JUnitModel_could_not_read, source), e)));
+				} finally {
+					testSuite.childrenLoaded(this);
+				}
+			}
+		}
+
+		private byte[] readBlock() throws IOException {
+			byte[] block= new byte[fLength];
+			try (RandomAccessFile file= new RandomAccessFile(fFile, "r")) { //$NON-NLS-1$
+				file.seek(fOffset);
+				file.readFully(block);
+			}
+			return block;
+		}
+	}
+
+	/**
+	 * Keeps track of the number of bytes consumed from the underlying stream.
+	 */
+	private static final class PositionInputStream extends FilterInputStream {
+
+		private long fPosition;
+
+		PositionInputStream(InputStream in) {
+			super(in);
+		}
+
+		long getPosition() {
+			return fPosition;
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b= super.read();
+			if (b != -1)
+				fPosition++;
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int count= super.read(b, off, len);
+			if (count > 0)
+				fPosition+= count;
+			return count;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			long count= super.skip(n);
+			fPosition+= count;
+			return count;
+		}
+
+		@Override
+		public boolean markSupported() {
+			return false;
+		}
+	}
+}
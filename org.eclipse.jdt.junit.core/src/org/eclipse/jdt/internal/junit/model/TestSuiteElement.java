@@ -23,8 +23,31 @@ import org.eclipse.jdt.junit.model.ITestSuiteElement;
 
 public class TestSuiteElement extends TestElement implements ITestSuiteElement {
 
+	/**
+	 * Loads the children of a test suite which have been restored without its children.
+	 *
+	 * @see TestSuiteElement#setChildrenLoader(ChildrenLoader, Status)
+	 */
+	interface ChildrenLoader {
+		/**
+		 * Adds the children to the given suite. Implementations must call
+		 * {@link TestSuiteElement#childrenLoaded(ChildrenLoader)} when done, also in case of
+		 * failure.
+		 *
+		 * @param testSuite the test suite to load
+		 */
+		void loadChildren(TestSuiteElement testSuite);
+
+		/**
+		 * @return <code>true</code> if any of the not yet loaded test cases has been skipped
+		 */
+		boolean hasSkippedTests();
+	}
+
 	private List<TestElement> fChildren;
 	private Status fChildrenStatus;
+	private volatile ChildrenLoader fChildrenLoader;
+	private Status fDeferredChildrenStatus;
 
 	public TestSuiteElement(TestSuiteElement parent, String id, String testName, int childrenCount, String displayName, String[] parameterTypes, String uniqueId) {
 		super(parent, id, testName, displayName, parameterTypes, uniqueId);
@@ -51,6 +74,7 @@ public class TestSuiteElement extends TestElement implements ITestSuiteElement {
 
 	@Override
 	public ITestElement[] getChildren() {
+		ensureChildrenLoaded();
 		TestElement[] elements= fChildren.toArray(new TestElement[fChildren.size()]);
 		if (elements.length != 1 || !isSingleDynamicTest(elements[0])) {
 			return elements;
@@ -59,6 +83,76 @@ public class TestSuiteElement extends TestElement implements ITestSuiteElement {
 		return new ITestElement[0];
 	}
 
+	/**
+	 * Tells whether this suite has children without loading them.
+	 *
+	 * @return <code>true</code> iff {@link #getChildren()} is not empty
+	 */
+	public boolean hasChildren() {
+		if (fChildrenLoader != null)
+			return true; // deferred suites are never empty
+		return getChildren().length != 0;
+	}
+
+	/**
+	 * @return <code>true</code> iff the children of this suite are in memory
+	 */
+	public boolean isChildrenLoaded() {
+		return fChildrenLoader == null;
+	}
+
+	/**
+	 * Tells whether this suite may contain skipped test cases. Does not load the children.
+	 *
+	 * @return <code>false</code> if it is known that none of the test cases below this suite has
+	 *         been skipped
+	 */
+	public boolean mayContainSkippedTests() {
+		ChildrenLoader loader= fChildrenLoader;
+		return loader == null || loader.hasSkippedTests();
+	}
+
+	/**
+	 * Defers the creation of the children of this suite until they are first accessed.
+	 *
+	 * @param loader the loader which will create the children
+	 * @param childrenStatus the cumulated status of the children
+	 */
+	void setChildrenLoader(ChildrenLoader loader, Status childrenStatus) {
+		fChildrenStatus= childrenStatus;
+		fDeferredChildrenStatus= childrenStatus;
+		fChildrenLoader= loader;
+	}
+
+	ChildrenLoader getChildrenLoader() {
+		return fChildrenLoader;
+	}
+
+	Status getChildrenStatus() {
+		return fChildrenStatus;
+	}
+
+	private void ensureChildrenLoaded() {
+		ChildrenLoader loader= fChildrenLoader;
+		if (loader != null)
+			loader.loadChildren(this);
+	}
+
+	/**
+	 * Called by the {@link ChildrenLoader} after the children have been added. The status changes
+	 * of the loaded children have not been propagated, the cumulated status is the one known
+	 * before loading.
+	 *
+	 * @param loader the loader that has been installed
+	 */
+	void childrenLoaded(ChildrenLoader loader) {
+		if (fChildrenLoader != loader)
+			return;
+		fChildrenStatus= fDeferredChildrenStatus;
+		fDeferredChildrenStatus= null;
+		fChildrenLoader= null;
+	}
+
 	public void addChild(TestElement child) {
 		fChildren.add(child);
 	}
@@ -100,6 +194,10 @@ public class TestSuiteElement extends TestElement implements ITestSuiteElement {
 	}
 
 	public void childChangedStatus(TestElement child, Status childStatus) {
+		if (fChildrenLoader != null) {
+			// children are being loaded, the cumulated status is already known
+			return;
+		}
 		int childCount= fChildren.size();
 		if (child == fChildren.get(0) && childStatus.isRunning()) {
 			// is first child, and is running -> copy status
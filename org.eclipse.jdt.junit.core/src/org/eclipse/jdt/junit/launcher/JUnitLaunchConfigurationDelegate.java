@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -71,6 +71,9 @@ import org.eclipse.jdt.internal.junit.launcher.ITestKind;
 import org.eclipse.jdt.internal.junit.launcher.JUnitLaunchConfigurationConstants;
 import org.eclipse.jdt.internal.junit.launcher.JUnitRuntimeClasspathEntry;
 import org.eclipse.jdt.internal.junit.launcher.TestKindRegistry;
+import org.eclipse.jdt.internal.junit.launcher.TestPriorities;
+import org.eclipse.jdt.internal.junit.launcher.TestShards;
+import org.eclipse.jdt.internal.junit.runner.MessageIds;
 import org.eclipse.jdt.internal.junit.util.CoreTestSearchEngine;
 import org.eclipse.jdt.internal.junit.util.IJUnitStatusConstants;
 
@@ -96,9 +99,18 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 	private boolean fKeepAlive= false;
 	private int fPort;
 	private IJavaElement[] fTestElements;
+	private List<IJavaElement[]> fShardElements;
+	private int[] fShardPorts;
+	private String fTestOrderFile;
 
 	private static final String DEFAULT= "<default>"; //$NON-NLS-1$
 
+	/**
+	 * Whether the test runner is asked to send its messages in the binary protocol. Runtimes which
+	 * do not know the protocol ignore the argument and send the text protocol.
+	 */
+	private static final boolean BINARY_PROTOCOL= Boolean.parseBoolean(System.getProperty("org.eclipse.jdt.junit.binaryProtocol", "true")); //$NON-NLS-1$ //$NON-NLS-2$
+
 	@Override
 	public String showCommandLine(ILaunchConfiguration configuration, String mode, ILaunch launch, IProgressMonitor monitor) throws CoreException {
 		if (monitor == null) {
@@ -123,7 +135,7 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 	}
 
 	private VMRunnerConfiguration getVMRunnerConfiguration(ILaunchConfiguration configuration, ILaunch launch, String mode, IProgressMonitor monitor) throws CoreException {
-		SubMonitor subMon= SubMonitor.convert(monitor, JUnitMessages.JUnitLaunchConfigurationDelegate_verifying_attriburtes_description, 4);
+		SubMonitor subMon= SubMonitor.convert(monitor, JUnitMessages.JUnitLaunchConfigurationDelegate_verifying_attriburtes_description, 6);
 		// check for cancellation
 		if (subMon.isCanceled()) {
 			return null;
@@ -165,103 +177,123 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 				}
 			}
 
-			String mainTypeName= verifyMainTypeName(configuration);
+			fTestOrderFile= createTestOrderFile(configuration, subMon.newChild(1));
+			fShardElements= getShardElements(configuration, mode, subMon.newChild(1));
+			if (fShardElements != null) {
+				fShardPorts= evaluateShardPorts(fShardElements.size());
+				StringBuilder shardPorts= new StringBuilder();
+				for (int shardPort : fShardPorts) {
+					if (shardPorts.length() > 0)
+						shardPorts.append(',');
+					shardPorts.append(shardPort);
+				}
+				launch.setAttribute(JUnitLaunchConfigurationConstants.ATTR_SHARD_PORTS, shardPorts.toString());
+				fTestElements= fShardElements.get(0);
+			}
 
+			VMRunnerConfiguration runConfig= createVMRunnerConfiguration(configuration, mode);
 
-			File workingDir = verifyWorkingDirectory(configuration);
-			String workingDirName = null;
-			if (workingDir != null) {
-				workingDirName= workingDir.getAbsolutePath();
+			// check for cancellation
+			if (subMon.isCanceled()) {
+				return null;
 			}
+			return runConfig;
+		} finally {
+			// done the verification phase
+			subMon.worked(1);
+		}
+	}
 
-			// Environment variables
-			String[] envp= getEnvironment(configuration);
+	private VMRunnerConfiguration createVMRunnerConfiguration(ILaunchConfiguration configuration, String mode) throws CoreException {
+		IJavaProject javaProject= getJavaProject(configuration);
+		String mainTypeName= verifyMainTypeName(configuration);
 
-			ArrayList<String> vmArguments= new ArrayList<>();
-			ArrayList<String> programArguments= new ArrayList<>();
-			collectExecutionArguments(configuration, vmArguments, programArguments);
-			vmArguments.addAll(Arrays.asList(DebugPlugin.parseArguments(getVMArguments(configuration, mode))));
-			if (JavaRuntime.isModularProject(javaProject)) {
-				vmArguments.add("--add-modules=ALL-MODULE-PATH"); //$NON-NLS-1$
-			}
 
-			// VM-specific attributes
-			Map<String, Object> vmAttributesMap= getVMSpecificAttributesMap(configuration);
+		File workingDir = verifyWorkingDirectory(configuration);
+		String workingDirName = null;
+		if (workingDir != null) {
+			workingDirName= workingDir.getAbsolutePath();
+		}
 
-			// Classpath and modulepath
-			String[][] classpathAndModulepath= getClasspathAndModulepath(configuration);
-			String[] classpath= classpathAndModulepath[0];
-			String[] modulepath= classpathAndModulepath[1];
+		// Environment variables
+		String[] envp= getEnvironment(configuration);
 
-			if (TestKindRegistry.JUNIT5_TEST_KIND_ID.equals(getTestRunnerKind(configuration).getId())) {
-				if (!configuration.getAttribute(JUnitLaunchConfigurationConstants.ATTR_DONT_ADD_MISSING_JUNIT5_DEPENDENCY, false)) {
-					if (!Arrays.stream(classpath).anyMatch(s -> s.contains("junit-platform-launcher") || s.contains("org.junit.platform.launcher"))) { //$NON-NLS-1$ //$NON-NLS-2$
-						try {
-							JUnitRuntimeClasspathEntry x= new JUnitRuntimeClasspathEntry("junit-platform-launcher", null); //$NON-NLS-1$
-							String entryString= new ClasspathLocalizer(Platform.inDevelopmentMode()).entryString(x);
-							int length= classpath.length;
-							System.arraycopy(classpath, 0, classpath= new String[length + 1], 0, length);
-							classpath[length]= entryString;
-						} catch (IOException | URISyntaxException e) {
-							throw new CoreException(new Status(IStatus.ERROR, JUnitCorePlugin.CORE_PLUGIN_ID, IStatus.ERROR, "", e)); //$NON-NLS-1$
-						}
+		ArrayList<String> vmArguments= new ArrayList<>();
+		ArrayList<String> programArguments= new ArrayList<>();
+		collectExecutionArguments(configuration, vmArguments, programArguments);
+		vmArguments.addAll(Arrays.asList(DebugPlugin.parseArguments(getVMArguments(configuration, mode))));
+		if (JavaRuntime.isModularProject(javaProject)) {
+			vmArguments.add("--add-modules=ALL-MODULE-PATH"); //$NON-NLS-1$
+		}
+
+		// VM-specific attributes
+		Map<String, Object> vmAttributesMap= getVMSpecificAttributesMap(configuration);
+
+		// Classpath and modulepath
+		String[][] classpathAndModulepath= getClasspathAndModulepath(configuration);
+		String[] classpath= classpathAndModulepath[0];
+		String[] modulepath= classpathAndModulepath[1];
+
+		if (TestKindRegistry.JUNIT5_TEST_KIND_ID.equals(getTestRunnerKind(configuration).getId())) {
+			if (!configuration.getAttribute(JUnitLaunchConfigurationConstants.ATTR_DONT_ADD_MISSING_JUNIT5_DEPENDENCY, false)) {
+				if (!Arrays.stream(classpath).anyMatch(s -> s.contains("junit-platform-launcher") || s.contains("org.junit.platform.launcher"))) { //$NON-NLS-1$ //$NON-NLS-2$
+					try {
+						JUnitRuntimeClasspathEntry x= new JUnitRuntimeClasspathEntry("junit-platform-launcher", null); //$NON-NLS-1$
+						String entryString= new ClasspathLocalizer(Platform.inDevelopmentMode()).entryString(x);
+						int length= classpath.length;
+						System.arraycopy(classpath, 0, classpath= new String[length + 1], 0, length);
+						classpath[length]= entryString;
+					} catch (IOException | URISyntaxException e) {
+						throw new CoreException(new Status(IStatus.ERROR, JUnitCorePlugin.CORE_PLUGIN_ID, IStatus.ERROR, "", e)); //$NON-NLS-1$
 					}
-					if (!Arrays.stream(classpath).anyMatch(s -> s.contains("junit-jupiter-engine") || s.contains("org.junit.jupiter.engine"))) { //$NON-NLS-1$ //$NON-NLS-2$
-						try {
-							JUnitRuntimeClasspathEntry x= new JUnitRuntimeClasspathEntry("junit-jupiter-engine", null); //$NON-NLS-1$
-							String entryString= new ClasspathLocalizer(false).entryString(x);
-							int length= classpath.length;
-							System.arraycopy(classpath, 0, classpath= new String[length + 1], 0, length);
-							classpath[length]= entryString;
-						} catch (IOException | URISyntaxException e) {
-							throw new CoreException(new Status(IStatus.ERROR, JUnitCorePlugin.CORE_PLUGIN_ID, IStatus.ERROR, "", e)); //$NON-NLS-1$
-						}
+				}
+				if (!Arrays.stream(classpath).anyMatch(s -> s.contains("junit-jupiter-engine") || s.contains("org.junit.jupiter.engine"))) { //$NON-NLS-1$ //$NON-NLS-2$
+					try {
+						JUnitRuntimeClasspathEntry x= new JUnitRuntimeClasspathEntry("junit-jupiter-engine", null); //$NON-NLS-1$
+						String entryString= new ClasspathLocalizer(false).entryString(x);
+						int length= classpath.length;
+						System.arraycopy(classpath, 0, classpath= new String[length + 1], 0, length);
+						classpath[length]= entryString;
+					} catch (IOException | URISyntaxException e) {
+						throw new CoreException(new Status(IStatus.ERROR, JUnitCorePlugin.CORE_PLUGIN_ID, IStatus.ERROR, "", e)); //$NON-NLS-1$
 					}
-					if (!Arrays.stream(classpath).anyMatch(s -> s.contains("junit-jupiter-api") || s.contains("org.junit.jupiter.api"))) { //$NON-NLS-1$ //$NON-NLS-2$
-						try {
-							JUnitRuntimeClasspathEntry x= new JUnitRuntimeClasspathEntry("junit-jupiter-api", null); //$NON-NLS-1$
-							String entryString= new ClasspathLocalizer(false).entryString(x);
-							int length= classpath.length;
-							System.arraycopy(classpath, 0, classpath= new String[length + 1], 0, length);
-							classpath[length]= entryString;
-						} catch (IOException | URISyntaxException e) {
-							throw new CoreException(new Status(IStatus.ERROR, JUnitCorePlugin.CORE_PLUGIN_ID, IStatus.ERROR, "", e)); //$NON-NLS-1$
-						}
+				}
+				if (!Arrays.stream(classpath).anyMatch(s -> s.contains("junit-jupiter-api") || s.contains("org.junit.jupiter.api"))) { //$NON-NLS-1$ //$NON-NLS-2$
+					try {
+						JUnitRuntimeClasspathEntry x= new JUnitRuntimeClasspathEntry("junit-jupiter-api", null); //$NON-NLS-1$
+						String entryString= new ClasspathLocalizer(false).entryString(x);
+						int length= classpath.length;
+						System.arraycopy(classpath, 0, classpath= new String[length + 1], 0, length);
+						classpath[length]= entryString;
+					} catch (IOException | URISyntaxException e) {
+						throw new CoreException(new Status(IStatus.ERROR, JUnitCorePlugin.CORE_PLUGIN_ID, IStatus.ERROR, "", e)); //$NON-NLS-1$
 					}
 				}
 			}
+		}
 
-			// Create VM config
-			VMRunnerConfiguration runConfig= new VMRunnerConfiguration(mainTypeName, classpath);
-			runConfig.setVMArguments(vmArguments.toArray(new String[vmArguments.size()]));
-			runConfig.setProgramArguments(programArguments.toArray(new String[programArguments.size()]));
-			runConfig.setEnvironment(envp);
-			runConfig.setWorkingDirectory(workingDirName);
-			runConfig.setVMSpecificAttributesMap(vmAttributesMap);
-			runConfig.setPreviewEnabled(supportsPreviewFeatures(configuration));
+		// Create VM config
+		VMRunnerConfiguration runConfig= new VMRunnerConfiguration(mainTypeName, classpath);
+		runConfig.setVMArguments(vmArguments.toArray(new String[vmArguments.size()]));
+		runConfig.setProgramArguments(programArguments.toArray(new String[programArguments.size()]));
+		runConfig.setEnvironment(envp);
+		runConfig.setWorkingDirectory(workingDirName);
+		runConfig.setVMSpecificAttributesMap(vmAttributesMap);
+		runConfig.setPreviewEnabled(supportsPreviewFeatures(configuration));
 
-			if (!JavaRuntime.isModularConfiguration(configuration)) {
-				// Bootpath
-				runConfig.setBootClassPath(getBootpath(configuration));
+		if (!JavaRuntime.isModularConfiguration(configuration)) {
+			// Bootpath
+			runConfig.setBootClassPath(getBootpath(configuration));
+		} else {
+			// module path
+			runConfig.setModulepath(modulepath);
+			if (!configuration.getAttribute(IJavaLaunchConfigurationConstants.ATTR_DEFAULT_MODULE_CLI_OPTIONS, true)) {
+				runConfig.setOverrideDependencies(configuration.getAttribute(IJavaLaunchConfigurationConstants.ATTR_MODULE_CLI_OPTIONS, "")); //$NON-NLS-1$
 			} else {
-				// module path
-				runConfig.setModulepath(modulepath);
-				if (!configuration.getAttribute(IJavaLaunchConfigurationConstants.ATTR_DEFAULT_MODULE_CLI_OPTIONS, true)) {
-					runConfig.setOverrideDependencies(configuration.getAttribute(IJavaLaunchConfigurationConstants.ATTR_MODULE_CLI_OPTIONS, "")); //$NON-NLS-1$
-				} else {
-					runConfig.setOverrideDependencies(getModuleCLIOptions(configuration));
-				}
+				runConfig.setOverrideDependencies(getModuleCLIOptions(configuration));
 			}
-
-			// check for cancellation
-			if (subMon.isCanceled()) {
-				return null;
-			}
-			return runConfig;
-		} finally {
-			// done the verification phase
-			subMon.worked(1);
 		}
+		return runConfig;
 	}
 
 	@Override
@@ -285,12 +317,24 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 			// Launch the configuration - 1 unit of work
 			runner.run(runConfig, launch, monitor);
 
+			if (fShardElements != null) {
+				// start the runtimes of the other shards, see JUnitLaunchConfigurationConstants.ATTR_SHARDS
+				for (int i= 1; i < fShardElements.size() && !monitor.isCanceled(); i++) {
+					fTestElements= fShardElements.get(i);
+					fPort= fShardPorts[i];
+					runner.run(createVMRunnerConfiguration(configuration, ILaunchManager.RUN_MODE), launch, monitor);
+				}
+			}
+
 			// check for cancellation
 			if (monitor.isCanceled()) {
 				return;
 			}
 		} finally {
 			fTestElements= null;
+			fShardElements= null;
+			fShardPorts= null;
+			fTestOrderFile= null;
 			monitor.done();
 		}
 	}
@@ -303,6 +347,132 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 		return port;
 	}
 
+	private int[] evaluateShardPorts(int shardCount) throws CoreException {
+		int[] ports= new int[shardCount];
+		Set<Integer> usedPorts= new HashSet<>();
+		ports[0]= fPort;
+		usedPorts.add(Integer.valueOf(fPort));
+		for (int i= 1; i < shardCount; i++) {
+			do {
+				ports[i]= evaluatePort();
+			} while (!usedPorts.add(Integer.valueOf(ports[i])));
+		}
+		return ports;
+	}
+
+	/**
+	 * Distributes the test classes to several test runtimes if the launch configuration asks for
+	 * it, see {@link JUnitLaunchConfigurationConstants#ATTR_SHARDS}. The classes are balanced by
+	 * their durations in earlier runs of the configuration. Tests are only distributed when
+	 * running more than one test class.
+	 *
+	 * @param configuration the launch configuration
+	 * @param mode the launch mode
+	 * @param monitor the progress monitor
+	 * @return the test classes of each runtime, or <code>null</code> to run all tests in one
+	 *         runtime
+	 * @throws CoreException if the search for tests failed
+	 */
+	private List<IJavaElement[]> getShardElements(ILaunchConfiguration configuration, String mode, IProgressMonitor monitor) throws CoreException {
+		int shardCount= configuration.getAttribute(JUnitLaunchConfigurationConstants.ATTR_SHARDS, 1);
+		if (shardCount <= 1 || !ILaunchManager.RUN_MODE.equals(mode)
+				|| !configuration.getAttribute(JUnitLaunchConfigurationConstants.ATTR_TEST_UNIQUE_ID, "").trim().isEmpty()) { //$NON-NLS-1$
+			return null;
+		}
+
+		IJavaElement[] testElements= fTestElements;
+		if (testElements.length == 1 && !(testElements[0] instanceof IMember)) {
+			// a JUnit 5 test container
+			testElements= evaluateTests(configuration, monitor);
+		}
+		Set<IJavaElement> elements= new HashSet<>(Arrays.asList(testElements));
+		boolean isJUnit5= TestKindRegistry.JUNIT5_TEST_KIND_ID.equals(getTestRunnerKind(configuration).getId());
+		List<IType> types= new ArrayList<>();
+		for (IJavaElement element : testElements) {
+			if (!(element instanceof IType)) {
+				return null;
+			}
+			IType type= (IType) element;
+			if (isJUnit5 && isEnclosedBy(type, elements)) {
+				continue; // runs with its enclosing class
+			}
+			types.add(type);
+		}
+		if (types.size() < 2) {
+			return null;
+		}
+
+		List<IJavaElement[]> shards= new ArrayList<>();
+		for (List<IType> shard : TestShards.distribute(types, shardCount, TestShards.getDurations(configuration.getName()))) {
+			shards.add(shard.toArray(new IJavaElement[shard.size()]));
+		}
+		return shards;
+	}
+
+	/**
+	 * Writes the order to run the tests in if the launch configuration asks for it, see
+	 * {@link JUnitLaunchConfigurationConstants#ATTR_TEST_ORDER}. The order is not used when
+	 * running a single test or rerunning failures first.
+	 *
+	 * @param configuration the launch configuration
+	 * @param monitor the progress monitor
+	 * @return the name of the file with the order, or <code>null</code> to run the tests in their
+	 *         declared order
+	 * @throws CoreException if the search for tests failed or the file could not be written
+	 */
+	private String createTestOrderFile(ILaunchConfiguration configuration, IProgressMonitor monitor) throws CoreException {
+		String order= configuration.getAttribute(JUnitLaunchConfigurationConstants.ATTR_TEST_ORDER, (String) null);
+		if (order == null
+				|| !configuration.getAttribute(JUnitLaunchConfigurationConstants.ATTR_FAILURES_NAMES, "").isEmpty() //$NON-NLS-1$
+				|| !configuration.getAttribute(JUnitLaunchConfigurationConstants.ATTR_TEST_UNIQUE_ID, "").trim().isEmpty() //$NON-NLS-1$
+				|| fTestElements.length == 1 && fTestElements[0] instanceof IMethod) {
+			return null;
+		}
+
+		Set<String> changedClasses= new HashSet<>();
+		if (JUnitLaunchConfigurationConstants.TEST_ORDER_CHANGED_FIRST.equals(order)) {
+			IJavaElement[] testElements= fTestElements;
+			if (testElements.length == 1 && !(testElements[0] instanceof IMember)) {
+				// a JUnit 5 test container
+				testElements= evaluateTests(configuration, monitor);
+			}
+			List<IType> types= new ArrayList<>();
+			for (IJavaElement element : testElements) {
+				if (element instanceof IType) {
+					types.add((IType) element);
+				}
+			}
+			changedClasses= TestPriorities.getChangedClasses(configuration.getName(), types);
+		}
+		List<String> testOrder= TestPriorities.getTestOrder(order, TestPriorities.getDurations(configuration.getName()), changedClasses);
+		if (testOrder.isEmpty()) {
+			return null;
+		}
+
+		try {
+			File file= File.createTempFile("testOrder", ".txt"); //$NON-NLS-1$ //$NON-NLS-2$
+			file.deleteOnExit();
+			try (BufferedWriter bw= new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8));) {
+				for (String name : testOrder) {
+					bw.write(name);
+					bw.newLine();
+				}
+			}
+			return file.getAbsolutePath();
+		} catch (IOException e) {
+			throw new CoreException(new Status(IStatus.ERROR, JUnitCorePlugin.CORE_PLUGIN_ID, IStatus.ERROR, "", e)); //$NON-NLS-1$
+		}
+	}
+
+	private static boolean isEnclosedBy(IType type, Set<IJavaElement> types) {
+		for (IType declaring= type.getDeclaringType(); declaring != null; declaring= declaring.getDeclaringType()) {
+			if (types.contains(declaring)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * Performs a check on the launch configuration's attributes. If an attribute contains an invalid value, a {@link CoreException}
 	 * with the error is thrown.
@@ -435,6 +605,9 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 		programArguments.add("-port"); //$NON-NLS-1$
 		programArguments.add(String.valueOf(fPort));
 
+		if (BINARY_PROTOCOL)
+			programArguments.add(MessageIds.BINARY_PROTOCOL_ARGUMENT);
+
 		if (fKeepAlive)
 			programArguments.add(0, "-keepalive"); //$NON-NLS-1$
 
@@ -494,6 +667,9 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 		if (testFailureNames.length() > 0) {
 			programArguments.add("-testfailures"); //$NON-NLS-1$
 			programArguments.add(testFailureNames);
+		} else if (fTestOrderFile != null) {
+			programArguments.add("-testorder"); //$NON-NLS-1$
+			programArguments.add(fTestOrderFile);
 		}
 
 		String uniqueId= configuration.getAttribute(JUnitLaunchConfigurationConstants.ATTR_TEST_UNIQUE_ID, ""); //$NON-NLS-1$
@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.runner;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the messages sent by a {@link BinaryMessageSender}, see
+ * {@link MessageIds#BINARY_PROTOCOL_MAGIC}.
+ */
+public class BinaryMessageReader {
+
+	/**
+	 * Receives the messages read by a {@link BinaryMessageReader}.
+	 */
+	public interface Handler {
+		/**
+		 * A test start, end, error or failure.
+		 *
+		 * @param header the header of the message, e.g. {@link MessageIds#TEST_START}
+		 * @param testId the test ID
+		 * @param testName the escaped test name
+		 */
+		void testMessage(String header, String testId, String testName);
+
+		/**
+		 * Any other message, in the format of the text protocol.
+		 *
+		 * @param message the message
+		 */
+		void message(String message);
+	}
+
+	private final DataInputStream fIn;
+
+	private final String fLineDelimiter;
+
+	private final List<String> fStrings= new ArrayList<>();
+
+	/**
+	 * @param firstByte the first byte sent by a test runner
+	 * @return <code>true</code> if the test runner sends the binary protocol
+	 */
+	public static boolean isBinaryProtocol(int firstByte) {
+		return firstByte == MessageIds.BINARY_PROTOCOL_MAGIC[0];
+	}
+
+	/**
+	 * Creates a reader and reads the header of the protocol.
+	 *
+	 * @param in the stream to read from, should be buffered
+	 * @throws IOException if the header cannot be read or is not supported
+	 */
+	public BinaryMessageReader(InputStream in) throws IOException {
+		fIn= new DataInputStream(in);
+		byte[] magic= new byte[MessageIds.BINARY_PROTOCOL_MAGIC.length];
+		fIn.readFully(magic);
+		for (int i= 0; i < magic.length; i++) {
+			if (magic[i] != MessageIds.BINARY_PROTOCOL_MAGIC[i])
+				throw new IOException("Not a binary test runner protocol"); //$NON-NLS-1$
+		}
+		int version= fIn.readUnsignedByte();
+		if (version != MessageIds.BINARY_PROTOCOL_VERSION)
+			throw new IOException("Unsupported binary test runner protocol version: " + version); //$NON-NLS-1$
+		fLineDelimiter= fIn.readUTF();
+	}
+
+	/**
+	 * @return the line delimiter of the test runner
+	 */
+	public String getLineDelimiter() {
+		return fLineDelimiter;
+	}
+
+	/**
+	 * Reads one batch of messages and passes them to the handler.
+	 *
+	 * @param handler the handler
+	 * @return <code>false</code> if the end of the stream was reached
+	 * @throws IOException if the batch cannot be read
+	 */
+	public boolean read(Handler handler) throws IOException {
+		int size;
+		try {
+			size= fIn.readInt();
+		} catch (EOFException e) {
+			return false;
+		}
+		byte[] batch= new byte[size];
+		fIn.readFully(batch);
+		DataInputStream in= new DataInputStream(new ByteArrayInputStream(batch));
+		while (in.available() > 0) {
+			int op= in.readUnsignedByte();
+			switch (op) {
+				case BinaryMessageSender.OP_MESSAGE:
+					handler.message(readString(in));
+					break;
+				case BinaryMessageSender.OP_TEST:
+					int header= in.readUnsignedByte();
+					if (header >= BinaryMessageSender.TEST_HEADERS.length)
+						throw new IOException("Illegal test message: " + header); //$NON-NLS-1$
+					String testId= readInterned(in);
+					String testName= readInterned(in);
+					handler.testMessage(BinaryMessageSender.TEST_HEADERS[header], testId, testName);
+					break;
+				case BinaryMessageSender.OP_TREE:
+					String id= readInterned(in);
+					String name= readInterned(in);
+					String rest= readString(in);
+					handler.message(MessageIds.TEST_TREE + id + ',' + name + ',' + rest);
+					break;
+				default:
+					throw new IOException("Illegal operation: " + op); //$NON-NLS-1$
+			}
+		}
+		return true;
+	}
+
+	private String readInterned(DataInputStream in) throws IOException {
+		int ref= readVarInt(in);
+		if (ref == BinaryMessageSender.NEW_STRING) {
+			String s= readString(in);
+			fStrings.add(s);
+			return s;
+		} else if (ref == BinaryMessageSender.LITERAL_STRING) {
+			return readString(in);
+		}
+		int index= ref - BinaryMessageSender.FIRST_STRING_REFERENCE;
+		if (index >= fStrings.size())
+			throw new IOException("Illegal string reference: " + index); //$NON-NLS-1$
+		return fStrings.get(index);
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		byte[] bytes= new byte[readVarInt(in)];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static int readVarInt(DataInputStream in) throws IOException {
+		int value= 0;
+		for (int shift= 0; shift < 32; shift+= 7) {
+			int b= in.readUnsignedByte();
+			value|= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0)
+				return value;
+		}
+		throw new IOException("Illegal variable length integer"); //$NON-NLS-1$
+	}
+}
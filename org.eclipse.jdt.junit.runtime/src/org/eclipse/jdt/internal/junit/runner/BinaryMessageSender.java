@@ -0,0 +1,265 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.runner;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sends the messages of the RemoteTestRunner in the binary protocol, see
+ * {@link MessageIds#BINARY_PROTOCOL_MAGIC}.
+ * <p>
+ * The messages are collected in batches. A batch is written when it is full, when a message ending
+ * a test run was flushed or when the oldest message waited for {@link #FLUSH_INTERVAL}
+ * milliseconds, so that a test run with many short tests does not write to the socket for each
+ * message. The last batch of a test which exits the VM is written by {@link #close()} from a
+ * shutdown hook, see {@link RemoteTestRunner#connect()}. The test IDs and names of test messages
+ * are interned: each string is sent once and then referenced by its index.
+ * </p>
+ */
+public class BinaryMessageSender implements MessageSender {
+
+	/** A message as text */
+	static final int OP_MESSAGE= 0;
+
+	/** A test start, end, error or failure: header index, test ID and name */
+	static final int OP_TEST= 1;
+
+	/** A test tree entry: test ID, name and the rest of the entry */
+	static final int OP_TREE= 2;
+
+	/** An interned string which is sent for the first time */
+	static final int NEW_STRING= 0;
+
+	/** A string which is not interned */
+	static final int LITERAL_STRING= 1;
+
+	/** References to interned strings start with this index */
+	static final int FIRST_STRING_REFERENCE= 2;
+
+	static final int MAX_INTERNED_STRINGS= 1 << 20;
+
+	/** The headers of the messages sent with {@link #OP_TEST} */
+	static final String[] TEST_HEADERS= { MessageIds.TEST_START, MessageIds.TEST_END, MessageIds.TEST_ERROR, MessageIds.TEST_FAILED };
+
+	/** The headers of the messages after which a flush writes the batch at once */
+	private static final String[] FINAL_HEADERS= { MessageIds.TEST_RUN_END, MessageIds.TEST_STOPPED, MessageIds.TEST_RERAN };
+
+	private static final int BATCH_SIZE= 16 * 1024;
+
+	private static final long FLUSH_INTERVAL= 100;
+
+	private OutputStream fOut;
+
+	private final ByteArrayOutputStream fBatch= new ByteArrayOutputStream(BATCH_SIZE + 1024);
+
+	private final DataOutputStream fData= new DataOutputStream(fBatch);
+
+	private final Map<String, Integer> fStrings= new HashMap<>();
+
+	/** Whether the batch contains a message ending a test run */
+	private boolean fFinal;
+
+	private boolean fClosed;
+
+	private Thread fFlusher;
+
+	/**
+	 * Creates a sender and writes the header of the protocol.
+	 *
+	 * @param out the stream to write to, should be buffered
+	 * @throws IOException if the header cannot be written
+	 */
+	public BinaryMessageSender(OutputStream out) throws IOException {
+		fOut= out;
+		DataOutputStream header= new DataOutputStream(out);
+		header.write(MessageIds.BINARY_PROTOCOL_MAGIC);
+		header.writeByte(MessageIds.BINARY_PROTOCOL_VERSION);
+		header.writeUTF(System.lineSeparator());
+		header.flush();
+	}
+
+	@Override
+	public synchronized void sendMessage(String msg) {
+		if (fClosed || fOut == null)
+			return;
+		boolean wasEmpty= fBatch.size() == 0;
+		try {
+			encode(msg);
+		} catch (IOException e) {
+			// cannot happen, writes to memory
+		}
+		for (String header : FINAL_HEADERS) {
+			if (msg.startsWith(header))
+				fFinal= true;
+		}
+		if (fBatch.size() >= BATCH_SIZE) {
+			writeBatch();
+		} else if (wasEmpty) {
+			startFlusher();
+			notifyAll();
+		}
+	}
+
+	@Override
+	public synchronized void flush() {
+		// other messages are written by the flusher, see FLUSH_INTERVAL
+		if (fFinal)
+			writeBatch();
+	}
+
+	/**
+	 * Writes the pending messages and stops sending messages. The stream is closed.
+	 */
+	public synchronized void close() {
+		if (fClosed)
+			return;
+		writeBatch();
+		fClosed= true;
+		notifyAll();
+		if (fOut != null) {
+			try {
+				fOut.close();
+			} catch (IOException e) {
+				// the connection is closed anyway
+			}
+			fOut= null;
+		}
+	}
+
+	private void encode(String msg) throws IOException {
+		int length= MessageIds.MSG_HEADER_LENGTH;
+		for (int i= 0; i < TEST_HEADERS.length; i++) {
+			if (msg.startsWith(TEST_HEADERS[i])) {
+				int comma= msg.indexOf(',', length);
+				if (comma != -1) {
+					fData.writeByte(OP_TEST);
+					fData.writeByte(i);
+					writeInterned(msg.substring(length, comma));
+					writeInterned(msg.substring(comma + 1));
+					return;
+				}
+			}
+		}
+		if (msg.startsWith(MessageIds.TEST_TREE)) {
+			int comma= msg.indexOf(',', length);
+			int nameEnd= comma != -1 ? indexOfUnescapedComma(msg, comma + 1) : -1;
+			if (nameEnd != -1) {
+				fData.writeByte(OP_TREE);
+				writeInterned(msg.substring(length, comma));
+				writeInterned(msg.substring(comma + 1, nameEnd));
+				writeString(msg.substring(nameEnd + 1));
+				return;
+			}
+		}
+		fData.writeByte(OP_MESSAGE);
+		writeString(msg);
+	}
+
+	/**
+	 * @param s a string escaped by {@link RemoteTestRunner#escapeText(String)}
+	 * @param start the index to start at
+	 * @return the index of the first comma which is not escaped, or <code>-1</code>
+	 */
+	private static int indexOfUnescapedComma(String s, int start) {
+		for (int i= start; i < s.length(); i++) {
+			char c= s.charAt(i);
+			if (c == '\\')
+				i++;
+			else if (c == ',')
+				return i;
+		}
+		return -1;
+	}
+
+	private void writeInterned(String s) throws IOException {
+		Integer index= fStrings.get(s);
+		if (index != null) {
+			writeVarInt(index.intValue() + FIRST_STRING_REFERENCE);
+		} else if (fStrings.size() < MAX_INTERNED_STRINGS) {
+			fStrings.put(s, Integer.valueOf(fStrings.size()));
+			writeVarInt(NEW_STRING);
+			writeString(s);
+		} else {
+			writeVarInt(LITERAL_STRING);
+			writeString(s);
+		}
+	}
+
+	private void writeString(String s) throws IOException {
+		byte[] bytes= s.getBytes(StandardCharsets.UTF_8);
+		writeVarInt(bytes.length);
+		fData.write(bytes);
+	}
+
+	private void writeVarInt(int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			fData.writeByte((value & 0x7F) | 0x80);
+			value>>>= 7;
+		}
+		fData.writeByte(value);
+	}
+
+	private void writeBatch() {
+		fFinal= false;
+		int size= fBatch.size();
+		if (size == 0)
+			return;
+		if (fOut != null) {
+			try {
+				fOut.write(size >>> 24);
+				fOut.write(size >>> 16);
+				fOut.write(size >>> 8);
+				fOut.write(size);
+				fBatch.writeTo(fOut);
+				fOut.flush();
+			} catch (IOException e) {
+				// like the PrintWriter of the text protocol, drop the messages of a broken connection
+				fOut= null;
+			}
+		}
+		fBatch.reset();
+	}
+
+	private void startFlusher() {
+		if (fFlusher != null)
+			return;
+		fFlusher= new Thread("BinaryMessageSender") { //$NON-NLS-1$
+			@Override
+			public void run() {
+				synchronized (BinaryMessageSender.this) {
+					try {
+						while (!fClosed) {
+							if (fBatch.size() == 0) {
+								BinaryMessageSender.this.wait();
+							} else {
+								BinaryMessageSender.this.wait(FLUSH_INTERVAL);
+								writeBatch();
+							}
+						}
+					} catch (InterruptedException e) {
+						// stop flushing, close() writes the rest
+					}
+				}
+			}
+		};
+		fFlusher.setDaemon(true);
+		fFlusher.start();
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2019 IBM Corporation and others.
+ * Copyright (c) 2006, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,12 +21,14 @@ public interface ITestLoader {
 	 * @param testClasses classes to be run
 	 * @param testName individual method to be run
 	 * @param failureNames may want to run these first, since they failed
+	 * @param testOrder test and class names in the order to run them if there are no failure names,
+	 *            see {@link TestOrder}
 	 * @param packages packages containing tests to run
 	 * @param includeExcludeTags tags to be included and excluded in the test run
 	 * @param uniqueId unique ID of the test to run
 	 * @param listener to be notified if tests could not be loaded
 	 * @return the loaded test references
 	 */
-	ITestReference[] loadTests(Class<?>[] testClasses, String testName, String[] failureNames, String[] packages, String[][] includeExcludeTags, String uniqueId, RemoteTestRunner listener);
+	ITestReference[] loadTests(Class<?>[] testClasses, String testName, String[] failureNames, String[] testOrder, String[] packages, String[][] includeExcludeTags, String uniqueId, RemoteTestRunner listener);
 }
 
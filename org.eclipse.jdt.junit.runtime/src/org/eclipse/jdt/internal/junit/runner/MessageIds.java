@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -149,6 +149,31 @@ public class MessageIds {
 	 */
 	public static final String ASSUMPTION_FAILED_TEST_PREFIX= "@AssumptionFailure: "; //$NON-NLS-1$
 
+	/**
+	 * Argument of the RemoteTestRunner by which the client offers to read the binary protocol.
+	 * Runtimes which do not know the argument ignore it and send the text messages.
+	 */
+	public static final String BINARY_PROTOCOL_ARGUMENT= "-binaryprotocol"; //$NON-NLS-1$
+
+	/**
+	 * The first bytes sent by a RemoteTestRunner which uses the binary protocol. A text message
+	 * never starts with a <code>0</code> byte, so the client can tell the protocols apart.
+	 * <p>
+	 * The magic is followed by the version byte {@link #BINARY_PROTOCOL_VERSION} and the line
+	 * delimiter of the runtime, as written by <code>DataOutput#writeUTF(String)</code>. Then
+	 * batches of messages follow, each prefixed with its length as an <code>int</code>. The
+	 * messages are the ones of the text protocol: test start, end, failure and tree messages are
+	 * written with interned test IDs and names, all other messages as they are. See
+	 * {@link BinaryMessageSender} and {@link BinaryMessageReader}.
+	 * </p>
+	 */
+	public static final byte[] BINARY_PROTOCOL_MAGIC= { 0, 'J', 'U', 'B' };
+
+	/**
+	 * The version of the binary protocol.
+	 */
+	public static final int BINARY_PROTOCOL_VERSION= 1;
+
 	private MessageIds() {
 	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,7 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.junit.runner;
 
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
@@ -26,6 +27,8 @@ import java.io.StringWriter;
 import java.io.UnsupportedEncodingException;
 import java.net.Socket;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Vector;
 
 import org.eclipse.jdt.internal.junit.runner.junit3.JUnit3TestLoader;
@@ -131,12 +134,24 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 
 	private String[] fFailureNames;
 
+	/**
+	 * The test and class names in the order to run them, see {@link TestOrder}
+	 */
+	private String[] fTestOrder;
+
 	private ITestLoader fLoader;
 
 	private MessageSender fSender;
 
 	private boolean fConsoleMode = false;
 
+	/**
+	 * Send the messages in the binary protocol, see {@link MessageIds#BINARY_PROTOCOL_ARGUMENT}
+	 */
+	private boolean fBinaryProtocol= false;
+
+	private BinaryMessageSender fBinarySender;
+
 	/**
 	 * Reader thread that processes messages from the client.
 	 */
@@ -286,6 +301,15 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 				}
 				i++;
 
+			} else if ("-testorder".equalsIgnoreCase(args[i])) { //$NON-NLS-1$
+				String testOrderFile= args[i+1];
+				try {
+					readTestOrder(testOrderFile);
+				} catch (IOException e) {
+					throw new IllegalArgumentException("Cannot read testorder file."); //$NON-NLS-1$
+				}
+				i++;
+
 			} else if("-port".equalsIgnoreCase(args[i])) { //$NON-NLS-1$
 				fPort= Integer.parseInt(args[i+1]);
 				i++;
@@ -306,6 +330,8 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 
 			} else if ("-junitconsole".equalsIgnoreCase(args[i])) { //$NON-NLS-1$
 			    fConsoleMode  = true;
+			} else if (MessageIds.BINARY_PROTOCOL_ARGUMENT.equalsIgnoreCase(args[i])) {
+				fBinaryProtocol= true;
 			} else if ("-testloaderclass".equalsIgnoreCase(args[i])) { //$NON-NLS-1$
 				String className = args[i + 1];
 				createLoader(className);
@@ -437,6 +463,23 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 		}
 	}
 
+	private void readTestOrder(String testOrderFile) throws IOException {
+		try(BufferedReader br= new BufferedReader(new InputStreamReader(new FileInputStream(new File(testOrderFile)), StandardCharsets.UTF_8))) {
+			String line;
+			Vector<String> list= new Vector<>();
+			while ((line= br.readLine()) != null) {
+				list.add(line);
+			}
+			fTestOrder= list.toArray(new String[list.size()]);
+		}
+		if (fDebugMode) {
+			System.out.println("Test order:"); //$NON-NLS-1$
+			for (String name : fTestOrder) {
+				System.out.println("    "+name); //$NON-NLS-1$
+			}
+		}
+	}
+
 	/**
 	 * Connects to the remote ports and runs the tests.
 	 */
@@ -511,7 +554,12 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 	 * @param execution executor
 	 */
 	public void runTests(String[] testClassNames, String testName, TestExecution execution) {
-		ITestReference[] suites= fLoader.loadTests(loadClasses(testClassNames), testName, fFailureNames, fPackageNames, fIncludeExcludeTags, fUniqueId, this);
+		Class<?>[] classes= loadClasses(testClassNames);
+		if (fTestOrder != null) {
+			TestOrder order= new TestOrder(fTestOrder);
+			Arrays.sort(classes, Comparator.comparingInt((Class<?> clazz) -> order.getRank(clazz.getName())));
+		}
+		ITestReference[] suites= fLoader.loadTests(classes, testName, fFailureNames, fTestOrder, fPackageNames, fIncludeExcludeTags, fUniqueId, this);
 
 		// count all testMethods and inform ITestRunListeners
 		int count= countTests(suites);
@@ -559,7 +607,7 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 	 */
 	public void rerunTest(RerunRequest r) {
 		final Class<?>[] classes= loadClasses(new String[] { r.fRerunClassName });
-		ITestReference rerunTest1= fLoader.loadTests(classes, r.fRerunTestName, null, null, fIncludeExcludeTags, fUniqueId, this)[0];
+		ITestReference rerunTest1= fLoader.loadTests(classes, r.fRerunTestName, null, null, null, fIncludeExcludeTags, fUniqueId, this)[0];
 		RerunExecutionListener service= rerunExecutionListener();
 
 		TestExecution execution= new TestExecution(service, getClassifier());
@@ -649,11 +697,20 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 		for (int i= 1; i < 20; i++) {
 			try{
 				fClientSocket= new Socket(fHost, fPort);
-				try {
-				    fWriter= new PrintWriter(new BufferedWriter(new OutputStreamWriter(fClientSocket.getOutputStream(), StandardCharsets.UTF_8)), false/*true*/);
-	            } catch (UnsupportedEncodingException e1) {
-	                fWriter= new PrintWriter(new BufferedWriter(new OutputStreamWriter(fClientSocket.getOutputStream())), false/*true*/);
-	            }
+				if (fBinaryProtocol && fSender == this) {
+					// a sender set by a subclass is left alone, it may not expect the socket to be binary
+					BinaryMessageSender sender= new BinaryMessageSender(new BufferedOutputStream(fClientSocket.getOutputStream()));
+					// write the last batch when a test exits the VM
+					Runtime.getRuntime().addShutdownHook(new Thread(sender::close, "BinaryMessageSender")); //$NON-NLS-1$
+					fBinarySender= sender;
+					setMessageSender(sender);
+				} else {
+					try {
+					    fWriter= new PrintWriter(new BufferedWriter(new OutputStreamWriter(fClientSocket.getOutputStream(), StandardCharsets.UTF_8)), false/*true*/);
+		            } catch (UnsupportedEncodingException e1) {
+		                fWriter= new PrintWriter(new BufferedWriter(new OutputStreamWriter(fClientSocket.getOutputStream())), false/*true*/);
+		            }
+				}
 				try {
 				    fReader= new BufferedReader(new InputStreamReader(fClientSocket.getInputStream(), StandardCharsets.UTF_8));
                 } catch (UnsupportedEncodingException e1) {
@@ -678,6 +735,10 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 	 * Shutsdown the connection to the remote test listener.
 	 */
 	private void shutDown() {
+		if (fBinarySender != null) {
+			fBinarySender.close();
+			fBinarySender= null;
+		}
 		if (fWriter != null) {
 			fWriter.close();
 			fWriter= null;
@@ -751,7 +812,8 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 
 	@Override
 	public void flush() {
-	    fWriter.flush();
+		if (fWriter != null)
+			fWriter.flush();
 	}
 
 	public void runTests(TestExecution execution) {
@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.runner;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The order to run tests in, as passed with <code>-testorder</code>. The order lists test names of
+ * the form <code>method(class)</code> and class names. Test classes run in the order of their first
+ * listed test, the tests of a class in the order they are listed. Tests that are not listed run
+ * after the listed ones, in their original order.
+ */
+public class TestOrder {
+
+	/** The rank of tests and classes that are not listed */
+	public static final int UNRANKED= Integer.MAX_VALUE;
+
+	private final Map<String, Integer> fRanks= new HashMap<>();
+
+	/**
+	 * @param names the test names and class names, in the order to run them
+	 */
+	public TestOrder(String[] names) {
+		for (int i= 0; i < names.length; i++) {
+			Integer rank= Integer.valueOf(i);
+			fRanks.putIfAbsent(names[i], rank);
+			fRanks.putIfAbsent(getClassName(names[i]), rank);
+		}
+	}
+
+	/**
+	 * @param name a test name of the form <code>method(class)</code> or a class name
+	 * @return the position of the test or class in the order, or {@link #UNRANKED}
+	 */
+	public int getRank(String name) {
+		Integer rank= fRanks.get(name);
+		return rank != null ? rank.intValue() : UNRANKED;
+	}
+
+	private static String getClassName(String name) {
+		int index= name.lastIndexOf('(');
+		if (index < 0 || !name.endsWith(")")) //$NON-NLS-1$
+			return name;
+		return name.substring(index + 1, name.length() - 1);
+	}
+}
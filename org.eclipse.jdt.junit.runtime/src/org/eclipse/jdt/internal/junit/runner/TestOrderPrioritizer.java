@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.runner;
+
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Vector;
+
+import junit.extensions.TestDecorator;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Sorts the tests of all suites by a {@link TestOrder}. A suite ranks like its first test.
+ */
+public class TestOrderPrioritizer implements ITestPrioritizer {
+
+	private final TestOrder fOrder;
+
+	public TestOrderPrioritizer(String[] testOrder) {
+		fOrder= new TestOrder(testOrder);
+	}
+
+	@Override
+	public Test prioritize(Test suite) {
+		doPrioritize(suite);
+		return suite;
+	}
+
+	private int doPrioritize(Test test) {
+		if (test instanceof TestCase) {
+			return fOrder.getRank(test.toString());
+		} else if (test instanceof TestSuite) {
+			TestSuite suite= (TestSuite) test;
+			Map<Test, Integer> ranks= new IdentityHashMap<>();
+			int rank= fOrder.getRank(String.valueOf(suite.getName()));
+			for (Enumeration<Test> e= suite.tests(); e.hasMoreElements();) {
+				Test child= e.nextElement();
+				int childRank= doPrioritize(child);
+				ranks.put(child, Integer.valueOf(childRank));
+				rank= Math.min(rank, childRank);
+			}
+			@SuppressWarnings("unchecked")
+			Vector<Test> tests= (Vector<Test>) FailuresFirstPrioritizer.getField(suite, "fTests"); //$NON-NLS-1$
+			if (tests != null)
+				tests.sort(Comparator.comparing(ranks::get));
+			return rank;
+		} else if (test instanceof TestDecorator) {
+			return doPrioritize(((TestDecorator) test).getTest());
+		}
+		return TestOrder.UNRANKED;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2021 IBM Corporation and others.
+ * Copyright (c) 2006, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -28,6 +28,7 @@ import org.eclipse.jdt.internal.junit.runner.ITestReference;
 import org.eclipse.jdt.internal.junit.runner.JUnitMessages;
 import org.eclipse.jdt.internal.junit.runner.NullPrioritizer;
 import org.eclipse.jdt.internal.junit.runner.RemoteTestRunner;
+import org.eclipse.jdt.internal.junit.runner.TestOrderPrioritizer;
 
 import junit.framework.Test;
 import junit.framework.TestCase;
@@ -40,13 +41,15 @@ public class JUnit3TestLoader implements ITestLoader {
 	// WANT: give test loaders a schema
 
 	@Override
-	public ITestReference[] loadTests(Class<?>[] testClasses, String testName, String[] failureNames, String[] packages, String[][] includeExcludeTags, String uniqueId, RemoteTestRunner listener) {
+	public ITestReference[] loadTests(Class<?>[] testClasses, String testName, String[] failureNames, String[] testOrder, String[] packages, String[][] includeExcludeTags, String uniqueId, RemoteTestRunner listener) {
 		// instantiate all tests
 		ITestReference[] suites= new ITestReference[testClasses.length];
 		ITestPrioritizer prioritizer;
 
 		if (failureNames != null)
 			prioritizer= new FailuresFirstPrioritizer(failureNames);
+		else if (testOrder != null)
+			prioritizer= new TestOrderPrioritizer(testOrder);
 		else
 			prioritizer= new NullPrioritizer();
 
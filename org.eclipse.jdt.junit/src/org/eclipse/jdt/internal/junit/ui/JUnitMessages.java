@@ -143,6 +143,14 @@ public final class JUnitMessages extends NLS {
 	public static String JUnitLaunchConfigurationTab_label_containerTest;
 
 	public static String JUnitLaunchConfigurationTab_label_keeprunning;
+	public static String JUnitLaunchConfigurationTab_label_shards;
+	public static String JUnitLaunchConfigurationTab_tooltip_shards;
+	public static String JUnitLaunchConfigurationTab_label_test_order;
+	public static String JUnitLaunchConfigurationTab_tooltip_test_order;
+	public static String JUnitLaunchConfigurationTab_test_order_declared;
+	public static String JUnitLaunchConfigurationTab_test_order_fastest_first;
+	public static String JUnitLaunchConfigurationTab_test_order_longest_first;
+	public static String JUnitLaunchConfigurationTab_test_order_changed_first;
 
 	public static String JUnitLaunchConfigurationTab_label_method;
 
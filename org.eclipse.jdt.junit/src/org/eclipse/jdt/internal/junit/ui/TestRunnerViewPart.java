@@ -38,6 +38,7 @@ import java.text.MessageFormat;
 import java.text.NumberFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
@@ -200,6 +201,15 @@ public class TestRunnerViewPart extends ViewPart {
 	protected boolean fShowOnErrorOnly= false;
 	protected Clipboard fClipboard;
 	protected volatile String fInfoMessage;
+	/**
+	 * The started test to show as info message if there is no {@link #fInfoMessage}. The message
+	 * is only formatted in the UI thread, and only for the last test started before an update.
+	 */
+	private volatile TestCaseElement fInfoTestCase;
+	/**
+	 * The counts shown in the counter panel, to skip redrawing it if nothing changed
+	 */
+	private int[] fShownCounts;
 
 	private FailureTrace fFailureTrace;
 
@@ -818,10 +828,8 @@ public class TestRunnerViewPart extends ViewPart {
 			fTestViewer.registerAutoScrollTarget(testCaseElement);
 			fTestViewer.registerViewerUpdate(testCaseElement);
 
-			String className= BasicElementLabels.getJavaElementName(testCaseElement.getClassName());
-			String method= BasicElementLabels.getJavaElementName(testCaseElement.getTestMethodName());
-			String status= Messages.format(JUnitMessages.TestRunnerViewPart_message_started, new String[] { className, method });
-			registerInfoMessage(status);
+			fInfoMessage= null;
+			fInfoTestCase= testCaseElement;
 		}
 
 		@Override
@@ -877,10 +885,14 @@ public class TestRunnerViewPart extends ViewPart {
 		}
 		@Override
 		public IStatus runInUIThread(IProgressMonitor monitor) {
+			long delay= REFRESH_INTERVAL;
 			if (!isDisposed()) {
+				long start= System.currentTimeMillis();
 				processChangesInUI();
+				// leave the UI thread at least as much time for other work as the update took
+				delay= Math.max(delay, System.currentTimeMillis() - start);
 			}
-			schedule(REFRESH_INTERVAL);
+			schedule(delay);
 			return Status.OK_STATUS;
 		}
 
@@ -1747,10 +1759,6 @@ action enablement
 	}
 
 	private void refreshCounters() {
-		 // TODO: Inefficient. Either
-		// - keep a boolean fHasTestRun and update only on changes, or
-		// - improve components to only redraw on changes (once!).
-
 		int startedCount;
 		int ignoredCount;
 		int totalCount;
@@ -1780,10 +1788,14 @@ action enablement
 			stopped= false;
 		}
 
-		fCounterPanel.setTotal(totalCount);
-		fCounterPanel.setRunValue(startedCount, ignoredCount, assumptionFailureCount);
-		fCounterPanel.setErrorValue(errorCount);
-		fCounterPanel.setFailureValue(failureCount);
+		int[] counts= { totalCount, startedCount, ignoredCount, assumptionFailureCount, errorCount, failureCount };
+		if (! Arrays.equals(counts, fShownCounts)) {
+			fShownCounts= counts;
+			fCounterPanel.setTotal(totalCount);
+			fCounterPanel.setRunValue(startedCount, ignoredCount, assumptionFailureCount);
+			fCounterPanel.setErrorValue(errorCount);
+			fCounterPanel.setFailureValue(failureCount);
+		}
 
 		int ticksDone;
 		if (startedCount == 0)
@@ -1830,10 +1842,19 @@ action enablement
 		if (fInfoMessage != null) {
 			setContentDescription(fInfoMessage);
 			fInfoMessage= null;
+		} else {
+			TestCaseElement testCaseElement= fInfoTestCase;
+			if (testCaseElement != null) {
+				fInfoTestCase= null;
+				String className= BasicElementLabels.getJavaElementName(testCaseElement.getClassName());
+				String method= BasicElementLabels.getJavaElementName(testCaseElement.getTestMethodName());
+				setContentDescription(Messages.format(JUnitMessages.TestRunnerViewPart_message_started, new String[] { className, method }));
+			}
 		}
 	}
 
 	protected void registerInfoMessage(String message) {
+		fInfoTestCase= null;
 		fInfoMessage= message;
 	}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -28,6 +28,12 @@ import org.eclipse.jdt.internal.junit.model.TestSuiteElement;
 
 public class TestSessionTableContentProvider implements IStructuredContentProvider {
 
+	/** The elements returned last */
+	private Object[] fElements= new Object[0];
+
+	/** The index of the element found last by {@link #indexOf(Object)} */
+	private int fLastIndex;
+
 	@Override
 	public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
 	}
@@ -36,7 +42,28 @@ public class TestSessionTableContentProvider implements IStructuredContentProvid
 	public Object[] getElements(Object inputElement) {
 		ArrayList<ITestElement> all= new ArrayList<>();
 		addAll(all, (TestRoot) inputElement);
-		return all.toArray();
+		fElements= all.toArray();
+		return fElements;
+	}
+
+	/**
+	 * Returns the index of an element in the elements returned last. The search starts at the
+	 * element found last, so finding the running tests one after the other is cheap.
+	 *
+	 * @param element the element
+	 * @return the index, or <code>-1</code> if not found
+	 */
+	int indexOf(Object element) {
+		Object[] elements= fElements;
+		int length= elements.length;
+		for (int i= 0; i < length; i++) {
+			int index= (fLastIndex + i) % length;
+			if (elements[index] == element) {
+				fLastIndex= index;
+				return index;
+			}
+		}
+		return -1;
 	}
 
 	private void addAll(ArrayList<ITestElement> all, TestSuiteElement suite) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,13 +21,17 @@
 package org.eclipse.jdt.internal.junit.ui;
 
 import java.util.AbstractList;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.junit.model.ITestElement;
@@ -40,6 +44,7 @@ import org.eclipse.swt.events.SelectionEvent;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Menu;
+import org.eclipse.swt.widgets.Table;
 import org.eclipse.swt.widgets.TableItem;
 
 import org.eclipse.core.runtime.CoreException;
@@ -87,6 +92,12 @@ import org.eclipse.jdt.internal.ui.viewsupport.SelectionProviderMediator;
 
 
 public class TestViewer {
+	/**
+	 * Whether the table of the flat layout is virtual, i.e. creates the items of visible tests
+	 * only
+	 */
+	private static final boolean VIRTUAL_TABLE= Boolean.parseBoolean(System.getProperty("org.eclipse.jdt.junit.virtualTable", "true")); //$NON-NLS-1$ //$NON-NLS-2$
+
 	private final class TestSelectionListener implements ISelectionChangedListener {
 		@Override
 		public void selectionChanged(SelectionChangedEvent event) {
@@ -140,6 +151,9 @@ public class TestViewer {
 		 */
 		private boolean hasIgnoredInTestResult(TestElement testElement) {
 			if (testElement instanceof TestSuiteElement) {
+				if (!((TestSuiteElement) testElement).mayContainSkippedTests()) {
+					return false;
+				}
 				ITestElement[] children= ((TestSuiteElement) testElement).getChildren();
 				for (ITestElement child : children) {
 					boolean hasIgnoredTestResult= hasIgnoredInTestResult((TestElement) child);
@@ -219,7 +233,9 @@ public class TestViewer {
 
 	private boolean fTreeNeedsRefresh;
 	private boolean fTableNeedsRefresh;
-	private HashSet<TestElement> fNeedUpdate;
+	private Set<TestElement> fNeedUpdate;
+	/** Tests added to the session since the last {@link #processChangesInUI()} */
+	private Set<TestElement> fNeedAdd;
 	private TestCaseElement fAutoScrollTarget;
 
 	private LinkedList<TestSuiteElement> fAutoClose;
@@ -250,7 +266,7 @@ public class TestViewer {
 		fTreeLabelProvider= new TestSessionLabelProvider(fTestRunnerPart, TestRunnerViewPart.LAYOUT_HIERARCHICAL);
 		fTreeViewer.setLabelProvider(new ColoringLabelProvider(fTreeLabelProvider));
 
-		fTableViewer= new TableViewer(fViewerbook, SWT.V_SCROLL | SWT.H_SCROLL | SWT.SINGLE);
+		fTableViewer= new TableViewer(fViewerbook, SWT.V_SCROLL | SWT.H_SCROLL | SWT.SINGLE | (VIRTUAL_TABLE ? SWT.VIRTUAL : SWT.NONE));
 		fTableViewer.setUseHashlookup(true);
 		fTableContentProvider= new TestSessionTableContentProvider();
 		fTableViewer.setContentProvider(fTableContentProvider);
@@ -700,38 +716,76 @@ public class TestViewer {
 			viewer.setInput(testRoot);
 
 		} else {
-			Object[] toUpdate;
+			Set<TestElement> toUpdate;
+			Set<TestElement> toAdd;
 			synchronized (this) {
-				toUpdate= fNeedUpdate.toArray();
-				fNeedUpdate.clear();
+				toUpdate= fNeedUpdate;
+				toAdd= fNeedAdd;
+				fNeedUpdate= new LinkedHashSet<>();
+				fNeedAdd= new LinkedHashSet<>();
 			}
-			if (! fTreeNeedsRefresh && toUpdate.length > 0) {
-				if (fTreeHasFilter)
-					for (Object element : toUpdate)
-						updateElementInTree((TestElement) element);
-				else {
-					HashSet<Object> toUpdateWithParents= new HashSet<>(Arrays.asList(toUpdate));
-					for (Object element : toUpdate) {
-						TestElement parent= ((TestElement) element).getParent();
-						while (parent != null) {
-							toUpdateWithParents.add(parent);
-							parent= parent.getParent();
-						}
-					}
-					fTreeViewer.update(toUpdateWithParents.toArray(), null);
+			if (! toUpdate.isEmpty() || ! toAdd.isEmpty()) {
+				// only the visible viewer is updated, the other one is refreshed when it is shown
+				if (fLayoutMode == TestRunnerViewPart.LAYOUT_HIERARCHICAL) {
+					fTableNeedsRefresh= true;
+					updateTree(toUpdate, toAdd);
+				} else {
+					fTreeNeedsRefresh= true;
+					updateTable(toUpdate, toAdd);
 				}
 			}
-			if (! fTableNeedsRefresh && toUpdate.length > 0) {
-				if (fTableHasFilter)
-					for (Object element : toUpdate)
-						updateElementInTable((TestElement) element);
-				else
-					fTableViewer.update(toUpdate, null);
-			}
 		}
 		autoScrollInUI();
 	}
 
+	private void updateTree(Set<TestElement> toUpdate, Set<TestElement> toAdd) {
+		if (fTreeHasFilter) {
+			toUpdate.addAll(toAdd); // shown elements are added by updateElementInTree(TestElement)
+			for (TestElement element : toUpdate)
+				updateElementInTree(element);
+			return;
+		}
+
+		if (! toAdd.isEmpty()) {
+			Map<TestSuiteElement, List<TestElement>> added= new LinkedHashMap<>();
+			for (TestElement element : toAdd) {
+				TestSuiteElement parent= element.getParent();
+				if (parent != null)
+					added.computeIfAbsent(parent, p -> new ArrayList<>()).add(element);
+			}
+			for (Map.Entry<TestSuiteElement, List<TestElement>> entry : added.entrySet()) {
+				TestSuiteElement parent= entry.getKey();
+				fTreeViewer.add(parent, entry.getValue().toArray());
+				toUpdate.add(parent); // the status of the parent changed
+			}
+		}
+
+		if (! toUpdate.isEmpty()) {
+			HashSet<Object> parents= new HashSet<>();
+			for (TestElement element : toUpdate) {
+				TestElement parent= element.getParent();
+				while (parent != null && parents.add(parent)) { // the ancestors of known parents are known
+					parent= parent.getParent();
+				}
+			}
+			HashSet<Object> toUpdateWithParents= new HashSet<>(toUpdate);
+			toUpdateWithParents.addAll(parents);
+			fTreeViewer.update(toUpdateWithParents.toArray(), null);
+		}
+	}
+
+	private void updateTable(Set<TestElement> toUpdate, Set<TestElement> toAdd) {
+		if (! toAdd.isEmpty() || fTableHasFilter && VIRTUAL_TABLE) {
+			// a virtual table cannot tell which elements have items, refreshing only creates the visible ones
+			fTableViewer.refresh();
+		} else if (fTableHasFilter) {
+			for (TestElement element : toUpdate)
+				updateElementInTable(element);
+		} else {
+			fTableViewer.update(toUpdate.toArray(), null);
+		}
+	}
+
 	private void updateElementInTree(final TestElement testElement) {
 		if (isShown(testElement)) {
 			updateShownElementInTree(testElement);
@@ -796,7 +850,7 @@ public class TestViewer {
 
 		if (fLayoutMode == TestRunnerViewPart.LAYOUT_FLAT) {
 			if (fAutoScrollTarget != null)
-				fTableViewer.reveal(fAutoScrollTarget);
+				revealInTable(fAutoScrollTarget);
 			return;
 		}
 
@@ -834,6 +888,20 @@ public class TestViewer {
 			fTreeViewer.reveal(current);
 	}
 
+	private void revealInTable(TestCaseElement element) {
+		if (! VIRTUAL_TABLE || fTableViewer.testFindItem(element) != null) {
+			fTableViewer.reveal(element);
+			return;
+		}
+		// the element has no item yet, find its row if the table shows the elements in the provided order
+		if (fTableHasFilter || fTableViewer.getComparator() != null)
+			return;
+		int index= fTableContentProvider.indexOf(element);
+		Table table= fTableViewer.getTable();
+		if (index != -1 && index < table.getItemCount())
+			table.showItem(table.getItem(index));
+	}
+
 	public void selectFirstFailure() {
 		TestElement firstFailure= getNextChildFailure(fTestRunSession.getTestRoot(), true);
 		if (firstFailure != null)
@@ -931,6 +999,7 @@ public class TestViewer {
 
 	private void clearUpdateAndExpansion() {
 		fNeedUpdate= new LinkedHashSet<>();
+		fNeedAdd= new LinkedHashSet<>();
 		fAutoClose= new LinkedList<>();
 		fAutoExpand= new HashSet<>();
 	}
@@ -939,9 +1008,7 @@ public class TestViewer {
 	 * @param testElement the added test
 	 */
 	public synchronized void registerTestAdded(TestElement testElement) {
-		//TODO: performance: would only need to refresh parent of added element
-		fTreeNeedsRefresh= true;
-		fTableNeedsRefresh= true;
+		fNeedAdd.add(testElement);
 	}
 
 	public synchronized void registerViewerUpdate(final TestElement testElement) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -36,6 +36,7 @@ import org.eclipse.jdt.core.dom.Modifier;
 import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
 import org.eclipse.jdt.internal.junit.Messages;
 import org.eclipse.jdt.internal.junit.launcher.ITestKind;
+import org.eclipse.jdt.internal.junit.launcher.TestDiscoveryIndex;
 import org.eclipse.jdt.internal.junit.launcher.TestKind;
 import org.eclipse.jdt.internal.junit.launcher.TestKindRegistry;
 import org.eclipse.jdt.internal.junit.ui.JUnitMessages;
@@ -69,7 +70,15 @@ public class TestSearchEngine extends CoreTestSearchEngine {
 				String message= Messages.format(JUnitMessages.TestSearchEngine_search_message_progress_monitor, type.getElementName());
 				SubMonitor subMonitor= SubMonitor.convert(progressMonitor, message, 1);
 
+				TestDiscoveryIndex index= JUnitCorePlugin.getTestDiscoveryIndex();
+				Set<String> indexed= index.getTestMethods(testKind.getId(), javaProject, type);
+				if (indexed != null) {
+					result.addAll(indexed);
+					return;
+				}
+				long generation= index.getGeneration();
 				collectMethodNames(type, javaProject, testKind.getId(), result, subMonitor.split(1));
+				index.putTestMethods(testKind.getId(), javaProject, type, result, generation);
 			} catch (CoreException e) {
 				throw new InvocationTargetException(e);
 			}
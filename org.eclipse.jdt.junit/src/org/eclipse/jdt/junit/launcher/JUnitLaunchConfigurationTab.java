@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,6 +18,7 @@ package org.eclipse.jdt.junit.launcher;
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
@@ -30,9 +31,11 @@ import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.layout.GridData;
 import org.eclipse.swt.layout.GridLayout;
 import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Combo;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Spinner;
 import org.eclipse.swt.widgets.Text;
 
 import org.eclipse.core.runtime.CoreException;
@@ -142,6 +145,12 @@ public class JUnitLaunchConfigurationTab extends AbstractLaunchConfigurationTab
 	private Button fProjButton;
 
 	private Button fKeepRunning;
+	private Spinner fShards;
+	private Combo fTestOrder;
+
+	/** The values of {@link JUnitLaunchConfigurationConstants#ATTR_TEST_ORDER} in the order of the {@link #fTestOrder} items */
+	private static final String[] TEST_ORDERS= { null, JUnitLaunchConfigurationConstants.TEST_ORDER_FASTEST_FIRST,
+			JUnitLaunchConfigurationConstants.TEST_ORDER_LONGEST_FIRST, JUnitLaunchConfigurationConstants.TEST_ORDER_CHANGED_FIRST };
 
 	// Test class UI widgets
 	private Text fTestText;
@@ -213,6 +222,10 @@ public class JUnitLaunchConfigurationTab extends AbstractLaunchConfigurationTab
 		createSpacer(comp);
 
 		createKeepAliveGroup(comp);
+		createSpacer(comp);
+
+		createShardsGroup(comp);
+		createTestOrderGroup(comp);
 		Dialog.applyDialogFont(comp);
 		PlatformUI.getWorkbench().getHelpSystem().setHelp(getControl(), IJUnitHelpContextIds.LAUNCH_CONFIGURATION_DIALOG_JUNIT_MAIN_TAB);
 		validatePage();
@@ -463,6 +476,38 @@ public class JUnitLaunchConfigurationTab extends AbstractLaunchConfigurationTab
 		fKeepRunning.setLayoutData(gd);
 	}
 
+	private void createShardsGroup(Composite comp) {
+		Label shardsLabel= new Label(comp, SWT.NONE);
+		shardsLabel.setText(JUnitMessages.JUnitLaunchConfigurationTab_label_shards);
+		shardsLabel.setLayoutData(new GridData());
+
+		fShards= new Spinner(comp, SWT.BORDER);
+		fShards.setMinimum(1);
+		fShards.setMaximum(64);
+		fShards.setToolTipText(JUnitMessages.JUnitLaunchConfigurationTab_tooltip_shards);
+		fShards.addModifyListener(evt -> updateLaunchConfigurationDialog());
+		GridData gd= new GridData();
+		gd.horizontalSpan= 2;
+		fShards.setLayoutData(gd);
+	}
+
+	private void createTestOrderGroup(Composite comp) {
+		Label testOrderLabel= new Label(comp, SWT.NONE);
+		testOrderLabel.setText(JUnitMessages.JUnitLaunchConfigurationTab_label_test_order);
+		testOrderLabel.setLayoutData(new GridData());
+
+		fTestOrder= new Combo(comp, SWT.DROP_DOWN | SWT.READ_ONLY);
+		fTestOrder.setItems(JUnitMessages.JUnitLaunchConfigurationTab_test_order_declared,
+				JUnitMessages.JUnitLaunchConfigurationTab_test_order_fastest_first,
+				JUnitMessages.JUnitLaunchConfigurationTab_test_order_longest_first,
+				JUnitMessages.JUnitLaunchConfigurationTab_test_order_changed_first);
+		fTestOrder.setToolTipText(JUnitMessages.JUnitLaunchConfigurationTab_tooltip_test_order);
+		fTestOrder.addModifyListener(evt -> updateLaunchConfigurationDialog());
+		GridData gd= new GridData();
+		gd.horizontalSpan= 2;
+		fTestOrder.setLayoutData(gd);
+	}
+
 	private static Image createImage(String path) {
 		return JUnitPlugin.getImageDescriptor(path).createImage();
 	}
@@ -485,6 +530,8 @@ public class JUnitLaunchConfigurationTab extends AbstractLaunchConfigurationTab
 				updateTestTypeFromConfig(config);
 			}
 			updateKeepRunning(config);
+			updateShards(config);
+			updateTestOrder(config);
 			updateTestLoaderFromConfig(config);
 
 			calculateMethodsCache();
@@ -522,6 +569,24 @@ public class JUnitLaunchConfigurationTab extends AbstractLaunchConfigurationTab
 		fKeepRunning.setSelection(running);
 	}
 
+	private void updateShards(ILaunchConfiguration config) {
+		int shards= 1;
+		try {
+			shards= config.getAttribute(JUnitLaunchConfigurationConstants.ATTR_SHARDS, 1);
+		} catch (CoreException ce) {
+		}
+		fShards.setSelection(shards);
+	}
+
+	private void updateTestOrder(ILaunchConfiguration config) {
+		String testOrder= null;
+		try {
+			testOrder= config.getAttribute(JUnitLaunchConfigurationConstants.ATTR_TEST_ORDER, (String) null);
+		} catch (CoreException ce) {
+		}
+		fTestOrder.select(Math.max(0, Arrays.asList(TEST_ORDERS).indexOf(testOrder)));
+	}
+
 	private void updateProjectFromConfig(ILaunchConfiguration config) {
 		String projectName= ""; //$NON-NLS-1$
 		try {
@@ -592,6 +657,17 @@ public class JUnitLaunchConfigurationTab extends AbstractLaunchConfigurationTab
 			config.setAttribute(JUnitLaunchConfigurationConstants.ATTR_TEST_NAME, fTestMethodText.getText());
 		}
 		config.setAttribute(JUnitLaunchConfigurationConstants.ATTR_KEEPRUNNING, fKeepRunning.getSelection());
+		if (fShards.getSelection() > 1) {
+			config.setAttribute(JUnitLaunchConfigurationConstants.ATTR_SHARDS, fShards.getSelection());
+		} else {
+			config.removeAttribute(JUnitLaunchConfigurationConstants.ATTR_SHARDS);
+		}
+		String testOrder= TEST_ORDERS[Math.max(0, fTestOrder.getSelectionIndex())];
+		if (testOrder != null) {
+			config.setAttribute(JUnitLaunchConfigurationConstants.ATTR_TEST_ORDER, testOrder);
+		} else {
+			config.removeAttribute(JUnitLaunchConfigurationConstants.ATTR_TEST_ORDER);
+		}
 		try {
 			mapResources(config);
 		} catch (CoreException e) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2021 IBM Corporation and others.
+ * Copyright (c) 2006, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,6 +17,7 @@ package org.eclipse.jdt.internal.junit4.runner;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.Comparator;
 import java.util.List;
 
 import org.junit.runner.Description;
@@ -38,15 +39,17 @@ public class JUnit4TestLoader implements ITestLoader {
 			Class<?>[] testClasses,
 			String testName,
 			String[] failureNames,
+			String[] testOrder,
 			String[] packages,
 			String[][] includeExcludeTags,
 			String uniqueId,
 			RemoteTestRunner listener) {
 
+		Comparator<Description> sorter= getSorter(failureNames, testOrder);
 		ITestReference[] refs= new ITestReference[testClasses.length];
 		for (int i= 0; i < testClasses.length; i++) {
 			Class<?> clazz= testClasses[i];
-			ITestReference ref= createTest(clazz, testName, failureNames, listener);
+			ITestReference ref= createTest(clazz, testName, sorter, listener);
 			refs[i]= ref;
 		}
 		return refs;
@@ -62,7 +65,7 @@ public class JUnit4TestLoader implements ITestLoader {
 		}
 	}
 
-	private ITestReference createTest(Class<?> clazz, String testName, String[] failureNames, RemoteTestRunner listener) {
+	private ITestReference createTest(Class<?> clazz, String testName, Comparator<Description> sorter, RemoteTestRunner listener) {
 		if (clazz == null)
 			return null;
 		if (testName != null && isJUnit3SetUpTest(clazz, testName)) {
@@ -71,30 +74,39 @@ public class JUnit4TestLoader implements ITestLoader {
 			return new JUnit3TestReference(test);
 		}
 		if (testName != null) {
-			return createFilteredTest(clazz, testName, failureNames);
+			return createFilteredTest(clazz, testName, sorter);
 		}
-		return createUnfilteredTest(clazz, failureNames);
+		return createUnfilteredTest(clazz, sorter);
 	}
 
-	private ITestReference createFilteredTest(Class<?> clazz, String testName, String[] failureNames) {
+	private ITestReference createFilteredTest(Class<?> clazz, String testName, Comparator<Description> sorter) {
 		DescriptionMatcher matcher= DescriptionMatcher.create(clazz, testName);
 		SubForestFilter filter= new SubForestFilter(matcher);
-		Request request= sortByFailures(Request.classWithoutSuiteMethod(clazz).filterWith(filter), failureNames);
+		Request request= sort(Request.classWithoutSuiteMethod(clazz).filterWith(filter), sorter);
 		Runner runner= request.getRunner();
 		Description description= getRootDescription(runner, matcher);
 		return new JUnit4TestReference(runner, description);
 	}
 
-	private ITestReference createUnfilteredTest(Class<?> clazz, String[] failureNames) {
-		Request request= sortByFailures(Request.aClass(clazz), failureNames);
+	private ITestReference createUnfilteredTest(Class<?> clazz, Comparator<Description> sorter) {
+		Request request= sort(Request.aClass(clazz), sorter);
 		Runner runner= request.getRunner();
 		Description description= runner.getDescription();
 		return new JUnit4TestReference(runner, description);
 	}
 
-	private Request sortByFailures(Request request, String[] failureNames) {
+	private Comparator<Description> getSorter(String[] failureNames, String[] testOrder) {
 		if (failureNames != null) {
-			return request.sortWith(new FailuresFirstSorter(failureNames));
+			return new FailuresFirstSorter(failureNames);
+		} else if (testOrder != null) {
+			return new TestOrderSorter(testOrder);
+		}
+		return null;
+	}
+
+	private Request sort(Request request, Comparator<Description> sorter) {
+		if (sorter != null) {
+			return request.sortWith(sorter);
 		}
 		return request;
 	}
@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit4.runner;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.runner.Description;
+
+import org.eclipse.jdt.internal.junit.runner.TestOrder;
+
+/**
+ * Comparator for descriptions to sort according to a {@link TestOrder}. A description ranks
+ * like its display name or its first transitive child in the order.
+ */
+public class TestOrderSorter implements Comparator<Description> {
+
+	private final TestOrder fOrder;
+
+	private final Map<Description, Integer> fRanks= new HashMap<>();
+
+	/**
+	 * Creates a sorter.
+	 *
+	 * @param testOrder test and class names in the order to run them
+	 */
+	public TestOrderSorter(String[] testOrder) {
+		fOrder= new TestOrder(testOrder);
+	}
+
+	@Override
+	public int compare(Description d1, Description d2) {
+		return Integer.compare(getRank(d1), getRank(d2));
+	}
+
+	private int getRank(Description d) {
+		Integer rank= fRanks.get(d);
+		if (rank == null) {
+			int min= fOrder.getRank(d.getDisplayName());
+			for (Description child : d.getChildren()) {
+				min= Math.min(min, getRank(child));
+			}
+			rank= Integer.valueOf(min);
+			fRanks.put(d, rank);
+		}
+		return rank.intValue();
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2022 IBM Corporation and others.
+ * Copyright (c) 2016, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -34,12 +34,16 @@ public class JUnit5TestLoader implements ITestLoader {
 
 	public final static String FAILURE_NAMES= "org.eclipse.jdt.junit5.runtime.failureNames"; //$NON-NLS-1$
 
+	public final static String TEST_ORDER= "org.eclipse.jdt.junit5.runtime.testOrder"; //$NON-NLS-1$
+
+	private static final String DEFAULT_METHOD_ORDER= "junit.jupiter.testmethod.order.default"; //$NON-NLS-1$
+
 	private Launcher fLauncher= LauncherFactory.create();
 
 	private RemoteTestRunner fRemoteTestRunner;
 
 	@Override
-	public ITestReference[] loadTests(Class<?>[] testClasses, String testName, String[] failureNames, String[] packages, String[][] includeExcludeTags, String uniqueId, RemoteTestRunner listener) {
+	public ITestReference[] loadTests(Class<?>[] testClasses, String testName, String[] failureNames, String[] testOrder, String[] packages, String[][] includeExcludeTags, String uniqueId, RemoteTestRunner listener) {
 		fRemoteTestRunner= listener;
 		ITestReference[] refs= new ITestReference[0];
 		if (uniqueId != null && !uniqueId.trim().isEmpty()) {
@@ -48,25 +52,25 @@ public class JUnit5TestLoader implements ITestLoader {
 		} else if (packages != null) {
 			refs= new ITestReference[packages.length];
 			for (int i= 0; i < packages.length; i++) {
-				refs[i]= createTest(packages[i], includeExcludeTags);
+				refs[i]= createTest(packages[i], includeExcludeTags, testOrder);
 			}
 		} else {
 			refs= new ITestReference[testClasses.length];
 			for (int i= 0; i < testClasses.length; i++) {
-				refs[i]= createTest(testClasses[i], testName, includeExcludeTags, failureNames);
+				refs[i]= createTest(testClasses[i], testName, includeExcludeTags, failureNames, testOrder);
 			}
 		}
 		return refs;
 	}
 
-	private ITestReference createTest(Class<?> clazz, String testName, String[][] includeExcludeTags, String[] failureNames) {
+	private ITestReference createTest(Class<?> clazz, String testName, String[][] includeExcludeTags, String[] failureNames, String[] testOrder) {
 		if (clazz == null) {
 			return null;
 		}
 		if (testName != null) {
 			return createFilteredTest(clazz, testName, includeExcludeTags);
 		}
-		return createUnfilteredTest(clazz, includeExcludeTags, failureNames);
+		return createUnfilteredTest(clazz, includeExcludeTags, failureNames, testOrder);
 	}
 
 	private ITestReference createFilteredTest(Class<?> clazz, String testName, String[][] includeExcludeTags) {
@@ -74,7 +78,7 @@ public class JUnit5TestLoader implements ITestLoader {
 		return new JUnit5TestReference(request, fLauncher, fRemoteTestRunner);
 	}
 
-	private ITestReference createUnfilteredTest(Class<?> clazz, String[][] includeExcludeTags, String[] failureNames) {
+	private ITestReference createUnfilteredTest(Class<?> clazz, String[][] includeExcludeTags, String[] failureNames, String[] testOrder) {
 		LauncherDiscoveryRequestBuilder requestBuilder= LauncherDiscoveryRequestBuilder.request().selectors(DiscoverySelectors.selectClass(clazz)).filters(getTagFilters(includeExcludeTags));
 		if (failureNames != null && failureNames.length > 0) {
 			String failureNamesString= ""; //$NON-NLS-1$
@@ -82,13 +86,22 @@ public class JUnit5TestLoader implements ITestLoader {
 				failureNamesString += failureName + ";"; //$NON-NLS-1$
 			}
 			requestBuilder.configurationParameter(FAILURE_NAMES, failureNamesString);
-			requestBuilder.configurationParameter("junit.jupiter.testmethod.order.default", FailuresFirstMethodOrderer.class.getName()); //$NON-NLS-1$
+			requestBuilder.configurationParameter(DEFAULT_METHOD_ORDER, FailuresFirstMethodOrderer.class.getName());
+		} else {
+			setTestOrder(requestBuilder, testOrder);
 		}
 		LauncherDiscoveryRequest request= requestBuilder.build();
 		return new JUnit5TestReference(request, fLauncher, fRemoteTestRunner);
 	}
 
-	private ITestReference createTest(String pkg, String[][] includeExcludeTags) {
+	private void setTestOrder(LauncherDiscoveryRequestBuilder requestBuilder, String[] testOrder) {
+		if (testOrder != null && testOrder.length > 0) {
+			requestBuilder.configurationParameter(TEST_ORDER, String.join(";", testOrder)); //$NON-NLS-1$
+			requestBuilder.configurationParameter(DEFAULT_METHOD_ORDER, TestOrderMethodOrderer.class.getName());
+		}
+	}
+
+	private ITestReference createTest(String pkg, String[][] includeExcludeTags, String[] testOrder) {
 		if (pkg == null) {
 			return null;
 		}
@@ -99,11 +112,12 @@ public class JUnit5TestLoader implements ITestLoader {
 		} else {
 			pattern= "^" + pkg + "\\.[^.]+$"; //$NON-NLS-1$//$NON-NLS-2$
 		}
-		LauncherDiscoveryRequest request= LauncherDiscoveryRequestBuilder.request()
+		LauncherDiscoveryRequestBuilder requestBuilder= LauncherDiscoveryRequestBuilder.request()
 				.selectors(DiscoverySelectors.selectPackage(pkg))
 				.filters(ClassNameFilter.includeClassNamePatterns(pattern))
-				.filters(getTagFilters(includeExcludeTags))
-				.build();
+				.filters(getTagFilters(includeExcludeTags));
+		setTestOrder(requestBuilder, testOrder);
+		LauncherDiscoveryRequest request= requestBuilder.build();
 
 		return new JUnit5TestReference(request, fLauncher, fRemoteTestRunner);
 	}
@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit5.runner;
+
+import java.util.Comparator;
+import java.util.Optional;
+
+import org.junit.jupiter.api.MethodDescriptor;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.MethodOrdererContext;
+
+import org.eclipse.jdt.internal.junit.runner.TestOrder;
+
+/**
+ * Sorts the methods of a test class according to the {@link TestOrder} passed in the configuration
+ * parameter {@link JUnit5TestLoader#TEST_ORDER}.
+ */
+public class TestOrderMethodOrderer implements MethodOrderer {
+
+	/** The last parsed configuration parameter, it is the same for all classes of a run */
+	private static String fgOrderParameter;
+
+	private static TestOrder fgOrder;
+
+	private static synchronized TestOrder getOrder(String orderParameter) {
+		if (!orderParameter.equals(fgOrderParameter)) {
+			fgOrder= new TestOrder(orderParameter.split(";")); //$NON-NLS-1$
+			fgOrderParameter= orderParameter;
+		}
+		return fgOrder;
+	}
+
+	@Override
+	public void orderMethods(MethodOrdererContext context) {
+		Optional<String> testOrderParm= context.getConfigurationParameter(JUnit5TestLoader.TEST_ORDER);
+		if (!testOrderParm.isPresent()) {
+			return;
+		}
+		TestOrder order= getOrder(testOrderParm.get());
+		String className= context.getTestClass().getName();
+		// test names are of form METHOD_NAME(CLASS_NAME), see JUnit5Identifier
+		context.getMethodDescriptors().sort(Comparator.comparingInt((MethodDescriptor d) -> order.getRank(d.getMethod().getName() + "(" + className + ")"))); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+import org.eclipse.jdt.text.tests.performance.EditorTestHelper;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.source.Annotation;
+import org.eclipse.jface.text.source.SourceViewer;
+import org.eclipse.jface.text.source.projection.ProjectionAnnotationModel;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+
+import org.eclipse.jdt.internal.ui.javaeditor.EditorUtility;
+import org.eclipse.jdt.internal.ui.javaeditor.JavaEditor;
+
+/**
+ * Tests that the incremental update of the folding structure after a reconcile yields the same
+ * projection annotations as computing the whole structure.
+ */
+public class JavaFoldingStructureProviderTest {
+
+	private static final String SOURCE= """
+		package test;
+
+		/**
+		 * Header.
+		 */
+		public class A {
+			/**
+			 * Javadoc of foo.
+			 */
+			void foo() {
+				int i= 0;
+				i++;
+			}
+
+			void bar() {
+				foo();
+				foo();
+			}
+
+			class Inner {
+				void baz() {
+					bar();
+					bar();
+				}
+			}
+		}
+		""";
+
+	private IJavaProject fProject;
+	private boolean fWasFoldingEnabled;
+	private JavaEditor fEditor;
+	private SourceViewer fViewer;
+	private IDocument fDocument;
+	private ProjectionAnnotationModel fModel;
+
+	@Before
+	public void setUp() throws Exception {
+		fWasFoldingEnabled= EditorTestHelper.enableFolding(true);
+		fProject= JavaProjectHelper.createJavaProject(getClass().getName(), "bin");
+		JavaProjectHelper.addRTJar_17(fProject, true);
+		IPackageFragmentRoot root= JavaProjectHelper.addSourceContainer(fProject, "src");
+		IPackageFragment pack= root.createPackageFragment("test", true, null);
+		ICompilationUnit unit= pack.createCompilationUnit("A.java", SOURCE, true, null);
+
+		fEditor= (JavaEditor) EditorUtility.openInEditor(unit);
+		fViewer= EditorTestHelper.getSourceViewer(fEditor);
+		fDocument= EditorTestHelper.getDocument(fEditor);
+		assertTrue(EditorTestHelper.joinReconciler(fViewer, 0, 10000, 100));
+		fModel= fEditor.getAdapter(ProjectionAnnotationModel.class);
+		assertNotNull(fModel);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		EditorTestHelper.closeAllEditors();
+		JavaProjectHelper.delete(fProject);
+		EditorTestHelper.enableFolding(fWasFoldingEnabled);
+	}
+
+	private List<String> getFoldedRanges() throws BadLocationException {
+		List<String> ranges= new ArrayList<>();
+		for (Iterator<Annotation> iter= fModel.getAnnotationIterator(); iter.hasNext();) {
+			Annotation annotation= iter.next();
+			Position position= fModel.getPosition(annotation);
+			if (position != null && !position.isDeleted())
+				ranges.add(fDocument.get(position.getOffset(), position.getLength()));
+		}
+		Collections.sort(ranges);
+		return ranges;
+	}
+
+	private void replaceAndCompare(String oldText, String newText) throws Exception {
+		int offset= fDocument.get().indexOf(oldText);
+		assertTrue(oldText, offset != -1);
+		fDocument.replace(offset, oldText.length(), newText);
+		assertTrue(EditorTestHelper.joinReconciler(fViewer, 1000, 10000, 100));
+		List<String> incremental= getFoldedRanges();
+
+		fEditor.resetProjection();
+		assertEquals(getFoldedRanges(), incremental);
+	}
+
+	@Test
+	public void incrementalUpdateMatchesFullComputation() throws Exception {
+		assertFalse(getFoldedRanges().isEmpty());
+
+		// add a member to a nested type
+		replaceAndCompare("\t\tvoid baz() {\n", "\t\tvoid qux() {\n\t\t\tbaz();\n\t\t}\n\n\t\tvoid baz() {\n");
+		// edit a method body
+		replaceAndCompare("\t\tfoo();\n\t\tfoo();\n", "\t\tfoo();\n\t\tif (true) {\n\t\t\tfoo();\n\t\t}\n");
+		// add a nested type
+		replaceAndCompare("\tclass Inner {\n", "\tstatic class Nested {\n\t\tint m() {\n\t\t\treturn 1;\n\t\t}\n\t}\n\n\tclass Inner {\n");
+		// remove a member with its Javadoc
+		replaceAndCompare("\t/**\n\t * Javadoc of foo.\n\t */\n\tvoid foo() {\n\t\tint i= 0;\n\t\ti++;\n\t}\n\n", "");
+		// remove a nested type
+		replaceAndCompare("\tstatic class Nested {\n\t\tint m() {\n\t\t\treturn 1;\n\t\t}\n\t}\n\n", "");
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,8 +24,10 @@ import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.TextUtilities;
 import org.eclipse.jface.text.rules.FastPartitioner;
 
 import org.eclipse.jdt.core.JavaCore;
@@ -248,6 +250,17 @@ public class JavaHeuristicScannerTest {
 		assertEquals("\t\t", indent);
 	}
 
+	@Test
+	public void testPeersWithoutPartitioning() {
+		// a document without the Java partitioning is one default partition
+		Document document= new Document("void m() {\n\tif (a) {\n\t\tb();\n\t}\n}\n");
+		JavaHeuristicScanner scanner= new JavaHeuristicScanner(document);
+		int opening= document.get().indexOf('{');
+		int closing= document.get().lastIndexOf('}');
+		assertEquals(opening, scanner.findOpeningPeer(closing - 1, '{', '}'));
+		assertEquals(closing, scanner.findClosingPeer(opening + 1, '{', '}'));
+	}
+
 	@Test
 	public void testPrevIndentation5() {
 		fDocument.set("\tint a;\n" +
@@ -1287,4 +1300,62 @@ public class JavaHeuristicScannerTest {
 		String indent= fScanner.computeIndentation(offset).toString();
 		assertEquals("\t", indent);
 	}
+
+	@Test
+	public void testFindPeersAfterChanges() throws BadLocationException {
+		fDocument.set("""
+			class A {
+				void m(int[] a) { /* { ( [ */
+					if (a[0] > 0) { String s= "} ) ]"; char c= '}'; }
+					foo(a[1], bar(2)) ;
+				} // }
+			}
+			""");
+		assertPeersAsScanned();
+
+		fDocument.replace(fDocument.get().indexOf("foo"), 0, "{ (");
+		assertPeersAsScanned();
+
+		fDocument.replace(fDocument.get().indexOf("/*"), 0, "} ]");
+		assertPeersAsScanned();
+
+		fDocument.replace(fDocument.get().indexOf("if"), 0, "/*");
+		assertPeersAsScanned();
+
+		fDocument.replace(fDocument.get().indexOf("/*"), 2, "");
+		assertPeersAsScanned();
+
+		fDocument.replace(0, fDocument.getLength(), "}{)(][");
+		assertPeersAsScanned();
+	}
+
+	private void assertPeersAsScanned() throws BadLocationException {
+		char[][] peers= { { '{', '}' }, { '(', ')' }, { '[', ']' } };
+		int length= fDocument.getLength();
+		for (char[] peer : peers) {
+			for (int offset= 0; offset < length; offset++) {
+				assertEquals("opening " + peer[0] + " at " + offset, findPeer(offset, peer[0], peer[1], false), fHeuristicScanner.findOpeningPeer(offset, peer[0], peer[1]));
+				assertEquals("closing " + peer[1] + " at " + offset, findPeer(offset, peer[0], peer[1], true), fHeuristicScanner.findClosingPeer(offset, peer[0], peer[1]));
+			}
+		}
+		int middle= length / 2;
+		int opening= findPeer(length - 1, '{', '}', false);
+		assertEquals(opening > middle ? opening : JavaHeuristicScanner.NOT_FOUND, fHeuristicScanner.findOpeningPeer(length - 1, middle, '{', '}'));
+		int closing= findPeer(0, '{', '}', true);
+		assertEquals(closing < middle ? closing : JavaHeuristicScanner.NOT_FOUND, fHeuristicScanner.findClosingPeer(0, middle, '{', '}'));
+	}
+
+	private int findPeer(int start, char openingPeer, char closingPeer, boolean forward) throws BadLocationException {
+		int depth= 1;
+		for (int offset= start; offset >= 0 && offset < fDocument.getLength(); offset+= forward ? 1 : -1) {
+			if (!IDocument.DEFAULT_CONTENT_TYPE.equals(TextUtilities.getContentType(fDocument, IJavaPartitions.JAVA_PARTITIONING, offset, false)))
+				continue;
+			char ch= fDocument.getChar(offset);
+			if (ch == (forward ? openingPeer : closingPeer))
+				depth++;
+			else if (ch == (forward ? closingPeer : openingPeer) && --depth == 0)
+				return offset;
+		}
+		return JavaHeuristicScanner.NOT_FOUND;
+	}
 }
@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.Name;
+import org.eclipse.jdt.core.dom.QualifiedName;
+import org.eclipse.jdt.core.dom.SimpleName;
+
+import org.eclipse.jdt.internal.core.manipulation.search.IOccurrencesFinder.OccurrenceLocation;
+import org.eclipse.jdt.internal.core.manipulation.search.OccurrencesFinder;
+import org.eclipse.jdt.internal.core.manipulation.search.OccurrencesIndex;
+
+import org.eclipse.jdt.ui.tests.core.rules.Java1d8ProjectTestSetup;
+
+/**
+ * Tests that {@link OccurrencesFinder} finds the same occurrences with the
+ * {@link OccurrencesIndex} as by visiting the AST.
+ */
+public class OccurrencesIndexTest {
+	@Rule
+	public Java1d8ProjectTestSetup f18p= new Java1d8ProjectTestSetup();
+
+	private IJavaProject fJProject1;
+
+	private IPackageFragmentRoot fSourceFolder;
+
+	@Before
+	public void setUp() throws Exception {
+		fJProject1= f18p.getProject();
+		fSourceFolder= JavaProjectHelper.addSourceContainer(fJProject1, "src");
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		JavaProjectHelper.clear(fJProject1, f18p.getDefaultClasspath());
+	}
+
+	private CompilationUnit createCompilationUnit(String source) throws Exception {
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		ICompilationUnit cu= pack1.createCompilationUnit("E.java", source, true, null);
+		ASTParser parser= ASTParser.newParser(AST.getJLSLatest());
+		parser.setSource(cu);
+		parser.setResolveBindings(true);
+		return (CompilationUnit) parser.createAST(null);
+	}
+
+	private static List<Name> getNames(CompilationUnit root) {
+		List<Name> names= new ArrayList<>();
+		root.accept(new ASTVisitor(true) {
+			@Override
+			public boolean visit(SimpleName node) {
+				names.add(node);
+				return true;
+			}
+
+			@Override
+			public boolean visit(QualifiedName node) {
+				names.add(node);
+				return true;
+			}
+		});
+		return names;
+	}
+
+	private static String toString(OccurrenceLocation[] locations) {
+		if (locations == null)
+			return "null";
+		StringBuilder buf= new StringBuilder();
+		for (OccurrenceLocation location : locations) {
+			buf.append(location.getOffset()).append(':').append(location.getLength()).append(':').append(location.getFlags());
+			buf.append(':').append(location.getDescription()).append('\n');
+		}
+		return buf.toString();
+	}
+
+	private void assertSameOccurrences(String source) throws Exception {
+		CompilationUnit root= createCompilationUnit(source);
+		List<Name> names= getNames(root);
+		assertTrue(names.size() > 10);
+		for (Name name : names) {
+			OccurrencesFinder visitor= new OccurrencesFinder(false);
+			String error= visitor.initialize(root, name);
+			OccurrencesFinder indexed= new OccurrencesFinder(true);
+			assertEquals(error, indexed.initialize(root, name));
+			if (error != null)
+				continue;
+			String message= name + " at " + name.getStartPosition();
+			assertEquals(message, toString(visitor.getOccurrences()), toString(indexed.getOccurrences()));
+		}
+	}
+
+	@Test
+	public void testSameOccurrences() throws Exception {
+		String s= """
+			package test1;
+			import java.util.ArrayList;
+			import java.util.List;
+			import static java.lang.Math.max;
+			import static java.util.Collections.EMPTY_LIST;
+			public class E<T> {
+			    static int fgCount;
+			    int fValue= 1;
+			    java.util.List<String> fNames= new java.util.ArrayList<>();
+			    E<T> fNext;
+			    E(int value) {
+			        this.fValue= value;
+			        fgCount++;
+			        --E.fgCount;
+			    }
+			    int foo(int a, T t) {
+			        int b= max(a, fValue);
+			        b+= Math.max(b, E.fgCount);
+			        fNext.fValue= b;
+			        fNext.fNext.fValue++;
+			        List<String> list= new ArrayList<String>(fNames);
+			        list.addAll(EMPTY_LIST);
+			        Runnable r= () -> foo(b, t);
+			        r.run();
+			        Inner inner= new E.Inner();
+			        return inner.bar(this) + new E<T>(b).foo(a, t);
+			    }
+			    static class Inner {
+			        int bar(E<?> e) {
+			            return e.fValue + E.fgCount + java.lang.Math.abs(e.fNext.fValue);
+			        }
+			    }
+			}
+			""";
+		assertSameOccurrences(s);
+	}
+
+	@Test
+	public void testIndexIsShared() throws Exception {
+		String s= """
+			package test1;
+			public class E {
+			    int fValue;
+			    void foo() {
+			        fValue++;
+			    }
+			}
+			""";
+		CompilationUnit root= createCompilationUnit(s);
+		OccurrencesIndex index= OccurrencesIndex.get(root);
+		assertNotNull(index);
+		assertSame(index, OccurrencesIndex.get(root));
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,12 +15,27 @@
  *******************************************************************************/
 package org.eclipse.jdt.text.tests;
 
+import static org.junit.Assert.assertEquals;
+
 import org.junit.Rule;
 import org.junit.Test;
 
+import org.eclipse.jdt.text.tests.performance.ResourceTestHelper;
+
 import org.eclipse.jface.text.Position;
 
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.SimpleName;
+
+import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting;
+import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightingClassifier;
 import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightings;
+import org.eclipse.jdt.internal.ui.javaeditor.SemanticToken;
 
 public class SemanticHighlightingTest extends AbstractSemanticHighlightingTest {
 	@Rule
@@ -184,6 +199,55 @@ public class SemanticHighlightingTest extends AbstractSemanticHighlightingTest {
 		assertEqualPositions(expected, actual);
 	}
 
+	@Test
+	public void incrementalReconcileInMethodBody() throws Exception {
+		setUpSemanticHighlighting(SemanticHighlightings.LOCAL_VARIABLE);
+		int count= getSemanticHighlightingPositions().length;
+
+		replaceAndReconcile(10, 0, 0, "\t\tint local3= local;\n");
+		Position[] incremental= getSemanticHighlightingPositions();
+		assertEquals(count + 2, incremental.length);
+
+		forceReconcile();
+		assertEqualPositions(getSemanticHighlightingPositions(), incremental);
+	}
+
+	@Test
+	public void classifierEqualsLoop() throws Exception {
+		ICompilationUnit unit= JavaCore.createCompilationUnitFrom(ResourceTestHelper.findFile("/SHTest/src/SHTest.java"));
+		ASTParser parser= ASTParser.newParser(AST.getJLSLatest());
+		parser.setSource(unit);
+		parser.setResolveBindings(true);
+		CompilationUnit ast= (CompilationUnit) parser.createAST(null);
+
+		SemanticHighlighting[] highlightings= SemanticHighlightings.getSemanticHighlightings();
+		boolean[] all= new boolean[highlightings.length];
+		boolean[] some= new boolean[highlightings.length];
+		for (int i= 0; i < highlightings.length; i++) {
+			all[i]= true;
+			some[i]= i % 3 != 0;
+		}
+		for (boolean[] enabled : new boolean[][] { all, some }) {
+			SemanticHighlightingClassifier classifier= new SemanticHighlightingClassifier(highlightings, enabled);
+			SemanticToken token= new SemanticToken();
+			ast.accept(new ASTVisitor() {
+				@Override
+				public boolean visit(SimpleName node) {
+					token.update(node);
+					int expected= -1;
+					for (int i= 0; i < highlightings.length; i++) {
+						if (enabled[i] && highlightings[i].consumes(token)) {
+							expected= i;
+							break;
+						}
+					}
+					assertEquals(node.toString(), expected, classifier.classify(token));
+					return false;
+				}
+			});
+		}
+	}
+
 	@Test
 	public void localVariableHighlighting() throws Exception {
 		setUpSemanticHighlighting(SemanticHighlightings.LOCAL_VARIABLE);
@@ -0,0 +1,244 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests.codemining;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.jface.preference.IPreferenceStore;
+
+import org.eclipse.jface.text.codemining.ICodeMining;
+import org.eclipse.jface.text.tests.util.DisplayHelper;
+
+import org.eclipse.ui.IEditorReference;
+import org.eclipse.ui.IWorkbenchPage;
+import org.eclipse.ui.PlatformUI;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+
+import org.eclipse.jdt.ui.PreferenceConstants;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.javaeditor.EditorUtility;
+import org.eclipse.jdt.internal.ui.javaeditor.JavaCodeMiningReconciler;
+import org.eclipse.jdt.internal.ui.javaeditor.JavaEditor;
+import org.eclipse.jdt.internal.ui.javaeditor.JavaSourceViewer;
+import org.eclipse.jdt.internal.ui.javaeditor.codemining.JavaElementCodeMiningProvider;
+import org.eclipse.jdt.internal.ui.javaeditor.codemining.JavaReferenceCodeMining;
+import org.eclipse.jdt.internal.ui.javaeditor.codemining.JavaReferenceCountCache;
+
+public class ReferenceCodeMiningTest {
+	private static final String[] PREFERENCES= {
+			PreferenceConstants.EDITOR_CODEMINING_ENABLED,
+			PreferenceConstants.EDITOR_JAVA_CODEMINING_SHOW_REFERENCES,
+			PreferenceConstants.EDITOR_JAVA_CODEMINING_SHOW_REFERENCES_ON_TYPES,
+			PreferenceConstants.EDITOR_JAVA_CODEMINING_SHOW_REFERENCES_ON_FIELDS,
+			PreferenceConstants.EDITOR_JAVA_CODEMINING_SHOW_REFERENCES_ON_METHODS,
+	};
+
+	private IJavaProject fProject;
+	private IPackageFragment fPackage;
+	private final Map<String, Boolean> fOldValues= new HashMap<>();
+
+	@Before
+	public void setUp() throws Exception {
+		fProject= JavaProjectHelper.createJavaProject(getClass().getName(), "bin");
+		JavaProjectHelper.addRTJar_17(fProject, true);
+		IPackageFragmentRoot root= JavaProjectHelper.addSourceContainer(fProject, "src");
+		fPackage= root.createPackageFragment("test", true, null);
+
+		IPreferenceStore store= PreferenceConstants.getPreferenceStore();
+		for (String preference : PREFERENCES) {
+			fOldValues.put(preference, Boolean.valueOf(store.getBoolean(preference)));
+			store.setValue(preference, true);
+		}
+		JavaPlugin.getDefault().getReferenceCountCache().clear();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		IPreferenceStore store= PreferenceConstants.getPreferenceStore();
+		for (Map.Entry<String, Boolean> entry : fOldValues.entrySet()) {
+			store.setValue(entry.getKey(), entry.getValue().booleanValue());
+		}
+		IWorkbenchPage workbenchPage= PlatformUI.getWorkbench().getActiveWorkbenchWindow().getActivePage();
+		for (IEditorReference ref : workbenchPage.getEditorReferences()) {
+			workbenchPage.closeEditor(ref.getEditor(false), false);
+		}
+		JavaProjectHelper.delete(fProject);
+	}
+
+	private ICompilationUnit createUnits() throws Exception {
+		String a= """
+			package test;
+			public class A {
+				int f;
+				public A() {
+				}
+				public A(int i) {
+					this();
+				}
+				void foo() {
+				}
+				void foo(int i) {
+					foo();
+				}
+				int bar(int i) {
+					return i;
+				}
+				int baz() {
+					return f;
+				}
+			}
+			""";
+		String b= """
+			package test;
+			public class B extends A {
+				B() {
+					super(baz());
+				}
+				void m() {
+					foo();
+					foo(2);
+					bar(baz());
+					f++;
+					new A();
+				}
+			}
+			""";
+		ICompilationUnit unit= fPackage.createCompilationUnit("A.java", a, true, null);
+		fPackage.createCompilationUnit("B.java", b, true, null);
+		return unit;
+	}
+
+	private static JavaSourceViewer waitReconciled(JavaEditor editor) {
+		JavaSourceViewer viewer= (JavaSourceViewer) editor.getViewer();
+		assertTrue("Editor not reconciled", new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return JavaCodeMiningReconciler.isReconciled(viewer);
+			}
+		}.waitForCondition(viewer.getTextWidget().getDisplay(), 2000));
+		return viewer;
+	}
+
+	private static Map<String, String> resolveLabels(List<? extends ICodeMining> minings, JavaSourceViewer viewer) throws Exception {
+		Map<String, String> labels= new HashMap<>();
+		for (ICodeMining mining : minings) {
+			if (mining instanceof JavaReferenceCodeMining) {
+				mining.resolve(viewer, new NullProgressMonitor()).get();
+				labels.put(((JavaReferenceCodeMining) mining).getElement().getHandleIdentifier(), mining.getLabel());
+			}
+		}
+		return labels;
+	}
+
+	@Test
+	public void testBatchedCountsEqualSingleSearches() throws Exception {
+		ICompilationUnit unit= createUnits();
+		JavaEditor editor= (JavaEditor) EditorUtility.openInEditor(unit);
+		JavaSourceViewer viewer= waitReconciled(editor);
+
+		JavaElementCodeMiningProvider provider= new JavaElementCodeMiningProvider();
+		provider.setContext(editor);
+		List<? extends ICodeMining> minings= provider.provideCodeMinings(viewer, new NullProgressMonitor()).get();
+		Map<String, String> batched= resolveLabels(minings, viewer);
+		assertEquals(8, batched.size());
+
+		IType type= unit.getType("A");
+		assertEquals("2 references", batched.get(type.getField("f").getHandleIdentifier()));
+		assertEquals("2 references", batched.get(type.getMethod("A", new String[0]).getHandleIdentifier()));
+		assertEquals("1 reference", batched.get(type.getMethod("A", new String[] { "I" }).getHandleIdentifier()));
+		assertEquals("2 references", batched.get(type.getMethod("foo", new String[0]).getHandleIdentifier()));
+		assertEquals("1 reference", batched.get(type.getMethod("foo", new String[] { "I" }).getHandleIdentifier()));
+		assertEquals("1 reference", batched.get(type.getMethod("bar", new String[] { "I" }).getHandleIdentifier()));
+		assertEquals("2 references", batched.get(type.getMethod("baz", new String[0]).getHandleIdentifier()));
+
+		JavaPlugin.getDefault().getReferenceCountCache().clear();
+		Map<String, String> single= new HashMap<>();
+		for (ICodeMining mining : minings) {
+			if (mining instanceof JavaReferenceCodeMining) {
+				IJavaElement element= ((JavaReferenceCodeMining) mining).getElement();
+				JavaReferenceCodeMining singleMining= new JavaReferenceCodeMining(element, editor, viewer.getDocument(), provider, false);
+				single.putAll(resolveLabels(List.of(singleMining), viewer));
+			}
+		}
+		assertEquals(single, batched);
+	}
+
+	@Test
+	public void testCacheInvalidation() throws Exception {
+		ICompilationUnit unit= createUnits();
+		JavaEditor editor= (JavaEditor) EditorUtility.openInEditor(unit);
+		JavaSourceViewer viewer= waitReconciled(editor);
+
+		JavaElementCodeMiningProvider provider= new JavaElementCodeMiningProvider();
+		provider.setContext(editor);
+		resolveLabels(provider.provideCodeMinings(viewer, new NullProgressMonitor()).get(), viewer);
+
+		JavaReferenceCountCache cache= JavaPlugin.getDefault().getReferenceCountCache();
+		IType type= unit.getType("A");
+		IJavaElement foo= type.getMethod("foo", new String[0]);
+		IJavaElement bar= type.getMethod("bar", new String[] { "I" });
+		assertEquals(Long.valueOf(2), cache.get(foo, false));
+		assertEquals(Long.valueOf(1), cache.get(bar, false));
+
+		// a unit not mentioning the members keeps the counts
+		fPackage.createCompilationUnit("C.java", "package test;\npublic class C {\n}\n", true, null);
+		assertNotNull(cache.get(foo, false));
+
+		// a new reference to foo drops its count only
+		fPackage.createCompilationUnit("D.java", "package test;\npublic class D {\n\tvoid m(A a) {\n\t\ta.foo();\n\t}\n}\n", true, null);
+		assertNull(cache.get(foo, false));
+		assertEquals(Long.valueOf(1), cache.get(bar, false));
+
+		// changing a referencing unit drops the counts of the elements it referenced
+		fPackage.getCompilationUnit("B.java").delete(true, null);
+		assertNull(cache.get(bar, false));
+
+		// a new super type binds the unchanged e.baz() in G to A.baz
+		ICompilationUnit e= fPackage.createCompilationUnit("E.java", "package test;\npublic class E {\n}\n", true, null);
+		fPackage.createCompilationUnit("G.java", "package test;\npublic class G {\n\tint m(E e) {\n\t\treturn e.baz();\n\t}\n}\n", true, null);
+		IJavaElement baz= type.getMethod("baz", new String[0]);
+		cache.put(baz, false, 0, Set.of(), cache.getGeneration());
+		e.becomeWorkingCopy(null);
+		try {
+			e.getBuffer().setContents("package test;\npublic class E extends A {\n}\n");
+			e.reconcile(ICompilationUnit.NO_AST, false, null, null);
+		} finally {
+			e.discardWorkingCopy();
+		}
+		assertNull(cache.get(baz, false));
+	}
+}
@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests.spelling;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.eclipse.jdt.internal.ui.text.spelling.engine.DefaultPhoneticHashProvider;
+import org.eclipse.jdt.internal.ui.text.spelling.engine.IPhoneticHashProvider;
+import org.eclipse.jdt.internal.ui.text.spelling.engine.PhoneticIndex;
+
+public class PhoneticIndexTest {
+
+	private static final String[] WORDS= { "Lorry", "lorry", "Truck", "truck", "Lastwagen", "Global", "global", "sentence", "Sentence", "\u00e4rger", "\u00c4rger", "\u20ac" };
+
+	private final IPhoneticHashProvider fHashProvider= new DefaultPhoneticHashProvider();
+
+	private Map<String, List<String>> fill(PhoneticIndex index) {
+		Map<String, List<String>> expected= new LinkedHashMap<>();
+		for (int i= 0; i < 100; i++) {
+			for (String word : WORDS) {
+				String variant= i == 0 ? word : word + i;
+				String hash= fHashProvider.getHash(variant);
+				index.add(hash, variant);
+				expected.computeIfAbsent(hash, h -> new ArrayList<>()).add(variant);
+			}
+		}
+		return expected;
+	}
+
+	private static void assertContent(Map<String, List<String>> expected, PhoneticIndex index) {
+		int words= 0;
+		for (Map.Entry<String, List<String>> entry : expected.entrySet()) {
+			int key= index.find(entry.getKey());
+			assertTrue(entry.getKey(), key != PhoneticIndex.NONE);
+			List<String> actual= new ArrayList<>();
+			for (int word= index.getFirstWord(key); word != PhoneticIndex.NONE; word= index.getNextWord(word)) {
+				String string= index.getWord(word);
+				assertTrue(index.isWord(word, string));
+				assertFalse(index.isWord(word, string + "x"));
+				actual.add(string);
+			}
+			assertEquals(entry.getValue(), actual);
+			words+= actual.size();
+		}
+		assertEquals(expected.size(), index.getHashCount());
+		assertEquals(words, index.getWordCount());
+		assertEquals(PhoneticIndex.NONE, index.find("not a phonetic hash"));
+	}
+
+	@Test
+	public void addAndFind() {
+		PhoneticIndex index= new PhoneticIndex(0);
+		assertTrue(index.isEmpty());
+		Map<String, List<String>> expected= fill(index);
+		assertFalse(index.isEmpty());
+		assertContent(expected, index);
+
+		index.trimToSize();
+		assertContent(expected, index);
+
+		String hash= fHashProvider.getHash("Lorry");
+		index.add(hash, "Lorrie");
+		expected.get(hash).add("Lorrie");
+		assertContent(expected, index);
+	}
+
+	@Test
+	public void writeAndRead() throws Exception {
+		PhoneticIndex index= new PhoneticIndex(16);
+		Map<String, List<String>> expected= fill(index);
+
+		ByteArrayOutputStream bytes= new ByteArrayOutputStream();
+		try (DataOutputStream out= new DataOutputStream(bytes)) {
+			index.write(out);
+		}
+		PhoneticIndex read= PhoneticIndex.read(ByteBuffer.wrap(bytes.toByteArray()));
+		assertNotNull(read);
+		assertContent(expected, read);
+
+		byte[] truncated= new byte[bytes.size() - 1];
+		System.arraycopy(bytes.toByteArray(), 0, truncated, 0, truncated.length);
+		assertEquals(null, PhoneticIndex.read(ByteBuffer.wrap(truncated)));
+	}
+}
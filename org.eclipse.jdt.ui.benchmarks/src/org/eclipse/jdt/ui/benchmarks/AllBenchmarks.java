@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.benchmarks;
+
+import static org.junit.Assert.assertFalse;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Runs the JMH benchmarks of this bundle inside the running workbench.
+ * <p>
+ * The benchmarks need a workspace with the {@link SyntheticCorpus}, so they cannot be run in a
+ * forked VM and are run in the test VM instead. The run is configured with these system
+ * properties:
+ * </p>
+ * <ul>
+ * <li><code>jmh.include</code>: regular expression selecting the benchmarks to run</li>
+ * <li><code>jmh.warmupIterations</code>, <code>jmh.iterations</code>: number of iterations</li>
+ * <li><code>jmh.time</code>: duration of an iteration in seconds</li>
+ * <li><code>jmh.profilers</code>: comma separated profilers, <code>gc</code> reports the allocation
+ * rate per operation</li>
+ * <li><code>jmh.result</code>: file the results are written to as JSON, for comparing runs of
+ * different commits</li>
+ * </ul>
+ */
+public class AllBenchmarks {
+
+	@Test
+	public void run() throws RunnerException {
+		String include= System.getProperty("jmh.include", "org\\.eclipse\\.jdt\\.ui\\.benchmarks\\..*"); //$NON-NLS-1$ //$NON-NLS-2$
+		TimeValue time= new TimeValue(Integer.getInteger("jmh.time", 2).intValue(), TimeUnit.SECONDS); //$NON-NLS-1$
+		ChainedOptionsBuilder options= new OptionsBuilder()
+				.include(include)
+				.forks(0)
+				.warmupIterations(Integer.getInteger("jmh.warmupIterations", 5).intValue()) //$NON-NLS-1$
+				.warmupTime(time)
+				.measurementIterations(Integer.getInteger("jmh.iterations", 10).intValue()) //$NON-NLS-1$
+				.measurementTime(time)
+				.resultFormat(ResultFormatType.JSON)
+				.result(System.getProperty("jmh.result", "jmh-result.json")) //$NON-NLS-1$ //$NON-NLS-2$
+				.shouldFailOnError(true);
+		for (String profiler : System.getProperty("jmh.profilers", "gc").split(",")) { //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			if (!profiler.isBlank())
+				options.addProfiler(profiler.trim());
+		}
+
+		Collection<RunResult> results= new Runner(options.build()).run();
+		assertFalse("No benchmark matches " + include, results.isEmpty()); //$NON-NLS-1$
+	}
+}
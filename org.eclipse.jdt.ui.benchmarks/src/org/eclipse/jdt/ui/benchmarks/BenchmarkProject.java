@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.benchmarks;
+
+import java.util.Map;
+
+import org.eclipse.core.runtime.CoreException;
+
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceDescription;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+
+import org.eclipse.jdt.launching.JavaRuntime;
+
+import org.eclipse.jdt.internal.corext.fix.CleanUpRefactoring;
+
+/**
+ * A Java project in the workspace holding the {@link SyntheticCorpus}.
+ */
+public final class BenchmarkProject {
+
+	private final IJavaProject fProject;
+
+	private final ICompilationUnit[] fUnits;
+
+	private BenchmarkProject(IJavaProject project, ICompilationUnit[] units) {
+		fProject= project;
+		fUnits= units;
+	}
+
+	/**
+	 * Creates a project with the given name containing the corpus. An existing project with the
+	 * same name is replaced.
+	 *
+	 * @param name the name of the project
+	 * @param corpus the corpus to add
+	 * @return the created project
+	 * @throws CoreException if the project could not be created
+	 */
+	public static BenchmarkProject create(String name, SyntheticCorpus corpus) throws CoreException {
+		IWorkspace workspace= ResourcesPlugin.getWorkspace();
+		IWorkspaceDescription description= workspace.getDescription();
+		if (description.isAutoBuilding()) {
+			description.setAutoBuilding(false);
+			workspace.setDescription(description);
+		}
+
+		IProject project= workspace.getRoot().getProject(name);
+		if (project.exists())
+			project.delete(true, true, null);
+		project.create(null);
+		project.open(null);
+		IProjectDescription projectDescription= project.getDescription();
+		projectDescription.setNatureIds(new String[] { JavaCore.NATURE_ID });
+		project.setDescription(projectDescription, null);
+
+		IJavaProject javaProject= JavaCore.create(project);
+		Map<String, String> options= javaProject.getOptions(false);
+		JavaCore.setComplianceOptions(JavaCore.VERSION_17, options);
+		javaProject.setOptions(options);
+
+		IFolder src= project.getFolder("src"); //$NON-NLS-1$
+		src.create(true, true, null);
+		IFolder bin= project.getFolder("bin"); //$NON-NLS-1$
+		bin.create(IResource.FORCE | IResource.DERIVED, true, null);
+		javaProject.setRawClasspath(new IClasspathEntry[] {
+				JavaCore.newSourceEntry(src.getFullPath()),
+				JavaRuntime.getDefaultJREContainerEntry()
+		}, bin.getFullPath(), null);
+
+		IPackageFragmentRoot root= javaProject.getPackageFragmentRoot(src);
+		IPackageFragment pack= root.createPackageFragment(SyntheticCorpus.PACKAGE_NAME, true, null);
+		ICompilationUnit[] units= new ICompilationUnit[corpus.getUnitCount()];
+		for (int i= 0; i < units.length; i++) {
+			units[i]= pack.createCompilationUnit(corpus.getTypeName(i) + ".java", corpus.getSource(i), true, null); //$NON-NLS-1$
+		}
+		return new BenchmarkProject(javaProject, units);
+	}
+
+	public IJavaProject getJavaProject() {
+		return fProject;
+	}
+
+	public ICompilationUnit[] getCompilationUnits() {
+		return fUnits;
+	}
+
+	/**
+	 * Parses the compilation units with the settings used by the clean up refactoring.
+	 *
+	 * @return the ASTs with bindings, in the order of {@link #getCompilationUnits()}
+	 */
+	public CompilationUnit[] createASTs() {
+		CompilationUnit[] asts= new CompilationUnit[fUnits.length];
+		for (int i= 0; i < fUnits.length; i++) {
+			ASTParser parser= CleanUpRefactoring.createCleanUpASTParser();
+			parser.setSource(fUnits[i]);
+			parser.setProject(fProject);
+			asts[i]= (CompilationUnit) parser.createAST(null);
+		}
+		return asts;
+	}
+
+	public void delete() throws CoreException {
+		fProject.getProject().delete(true, true, null);
+	}
+}
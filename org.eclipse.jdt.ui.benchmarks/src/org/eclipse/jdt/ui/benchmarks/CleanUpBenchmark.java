@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.eclipse.core.runtime.CoreException;
+
+import org.eclipse.jdt.internal.corext.fix.CleanUpRefactoring;
+
+import org.eclipse.jdt.ui.cleanup.CleanUpContext;
+import org.eclipse.jdt.ui.cleanup.ICleanUp;
+
+/**
+ * Measures a single clean up the way {@link CleanUpRefactoring} applies it to a compilation unit:
+ * creating the fix and its change. One operation processes all compilation units of the corpus.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CleanUpBenchmark {
+
+	@Param({
+			"ARRAY_WITH_CURLY",
+			"BOOLEAN_VALUE_RATHER_THAN_COMPARISON",
+			"DO_WHILE_RATHER_THAN_WHILE",
+			"INVERT_EQUALS",
+			"ONE_IF_RATHER_THAN_DUPLICATE_BLOCKS_THAT_FALL_THROUGH",
+			"PATTERN_MATCHING_FOR_INSTANCEOF",
+			"PLAIN_REPLACEMENT",
+			"PRIMITIVE_COMPARISON",
+			"PRIMITIVE_RATHER_THAN_WRAPPER",
+			"PULL_OUT_IF_FROM_IF_ELSE",
+			"REDUNDANT_COMPARATOR",
+			"RETURN_EXPRESSION",
+			"STANDARD_COMPARISON",
+			"VALUEOF_RATHER_THAN_INSTANTIATION"
+	})
+	public CleanUpCase cleanUp;
+
+	private ICleanUp[] fCleanUps;
+
+	@Setup(Level.Trial)
+	public void setUp(CorpusState corpus) throws CoreException {
+		ICleanUp cleanUpInstance= cleanUp.createCleanUp();
+		cleanUpInstance.checkPreConditions(corpus.getProject().getJavaProject(), corpus.fUnits, null);
+		fCleanUps= new ICleanUp[] { cleanUpInstance };
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws CoreException {
+		fCleanUps[0].checkPostConditions(null);
+	}
+
+	@Benchmark
+	public void calculateChange(CorpusState corpus, Blackhole blackhole) throws CoreException {
+		List<ICleanUp> undone= new ArrayList<>();
+		for (int i= 0; i < corpus.fUnits.length; i++) {
+			CleanUpContext context= new CleanUpContext(corpus.fUnits[i], corpus.fASTs[i]);
+			blackhole.consume(CleanUpRefactoring.calculateChange(context, fCleanUps, undone, null));
+		}
+	}
+}
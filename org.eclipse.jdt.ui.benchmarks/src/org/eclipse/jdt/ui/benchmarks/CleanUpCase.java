@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.eclipse.jdt.core.dom.CompilationUnit;
+
+import org.eclipse.jdt.internal.corext.fix.ArrayWithCurlyFixCore;
+import org.eclipse.jdt.internal.corext.fix.BooleanValueRatherThanComparisonFixCore;
+import org.eclipse.jdt.internal.corext.fix.CleanUpConstants;
+import org.eclipse.jdt.internal.corext.fix.DoWhileRatherThanWhileFixCore;
+import org.eclipse.jdt.internal.corext.fix.InvertEqualsFixCore;
+import org.eclipse.jdt.internal.corext.fix.OneIfRatherThanDuplicateBlocksThatFallThroughFixCore;
+import org.eclipse.jdt.internal.corext.fix.PatternMatchingForInstanceofFixCore;
+import org.eclipse.jdt.internal.corext.fix.PlainReplacementFixCore;
+import org.eclipse.jdt.internal.corext.fix.PrimitiveComparisonFixCore;
+import org.eclipse.jdt.internal.corext.fix.PrimitiveRatherThanWrapperFixCore;
+import org.eclipse.jdt.internal.corext.fix.PullOutIfFromIfElseFixCore;
+import org.eclipse.jdt.internal.corext.fix.RedundantComparatorFixCore;
+import org.eclipse.jdt.internal.corext.fix.ReturnExpressionFixCore;
+import org.eclipse.jdt.internal.corext.fix.StandardComparisonFixCore;
+import org.eclipse.jdt.internal.corext.fix.ValueOfRatherThanInstantiationFixCore;
+
+import org.eclipse.jdt.ui.cleanup.CleanUpOptions;
+import org.eclipse.jdt.ui.cleanup.ICleanUp;
+import org.eclipse.jdt.ui.cleanup.ICleanUpFix;
+
+import org.eclipse.jdt.internal.ui.fix.ArrayWithCurlyCleanUpCore;
+import org.eclipse.jdt.internal.ui.fix.BooleanValueRatherThanComparisonCleanUpCore;
+import org.eclipse.jdt.internal.ui.fix.DoWhileRatherThanWhileCleanUpCore;
+import org.eclipse.jdt.internal.ui.fix.InvertEqualsCleanUpCore;
+import org.eclipse.jdt.internal.ui.fix.OneIfRatherThanDuplicateBlocksThatFallThroughCleanUpCore;
+import org.eclipse.jdt.internal.ui.fix.PatternMatchingForInstanceofCleanUpCore;
+import org.eclipse.jdt.internal.ui.fix.PlainReplacementCleanUpCore;
+import org.eclipse.jdt.internal.ui.fix.PrimitiveComparisonCleanUpCore;
+import org.eclipse.jdt.internal.ui.fix.PrimitiveRatherThanWrapperCleanUpCore;
+import org.eclipse.jdt.internal.ui.fix.PullOutIfFromIfElseCleanUpCore;
+import org.eclipse.jdt.internal.ui.fix.RedundantComparatorCleanUpCore;
+import org.eclipse.jdt.internal.ui.fix.ReturnExpressionCleanUpCore;
+import org.eclipse.jdt.internal.ui.fix.StandardComparisonCleanUpCore;
+import org.eclipse.jdt.internal.ui.fix.ValueOfRatherThanInstantiationCleanUpCore;
+
+/**
+ * The clean ups measured by the benchmarks. The names of the constants are the values of the
+ * <code>cleanUp</code> benchmark parameter.
+ */
+public enum CleanUpCase {
+
+	ARRAY_WITH_CURLY(CleanUpConstants.ARRAY_WITH_CURLY, ArrayWithCurlyCleanUpCore::new, ArrayWithCurlyFixCore::createCleanUp),
+	BOOLEAN_VALUE_RATHER_THAN_COMPARISON(CleanUpConstants.BOOLEAN_VALUE_RATHER_THAN_COMPARISON, BooleanValueRatherThanComparisonCleanUpCore::new, BooleanValueRatherThanComparisonFixCore::createCleanUp),
+	DO_WHILE_RATHER_THAN_WHILE(CleanUpConstants.DO_WHILE_RATHER_THAN_WHILE, DoWhileRatherThanWhileCleanUpCore::new, DoWhileRatherThanWhileFixCore::createCleanUp),
+	INVERT_EQUALS(CleanUpConstants.INVERT_EQUALS, InvertEqualsCleanUpCore::new, InvertEqualsFixCore::createCleanUp),
+	ONE_IF_RATHER_THAN_DUPLICATE_BLOCKS_THAT_FALL_THROUGH(CleanUpConstants.ONE_IF_RATHER_THAN_DUPLICATE_BLOCKS_THAT_FALL_THROUGH, OneIfRatherThanDuplicateBlocksThatFallThroughCleanUpCore::new, OneIfRatherThanDuplicateBlocksThatFallThroughFixCore::createCleanUp),
+	PATTERN_MATCHING_FOR_INSTANCEOF(CleanUpConstants.USE_PATTERN_MATCHING_FOR_INSTANCEOF, PatternMatchingForInstanceofCleanUpCore::new, PatternMatchingForInstanceofFixCore::createCleanUp),
+	PLAIN_REPLACEMENT(CleanUpConstants.PLAIN_REPLACEMENT, PlainReplacementCleanUpCore::new, PlainReplacementFixCore::createCleanUp),
+	PRIMITIVE_COMPARISON(CleanUpConstants.PRIMITIVE_COMPARISON, PrimitiveComparisonCleanUpCore::new, PrimitiveComparisonFixCore::createCleanUp),
+	PRIMITIVE_RATHER_THAN_WRAPPER(CleanUpConstants.PRIMITIVE_RATHER_THAN_WRAPPER, PrimitiveRatherThanWrapperCleanUpCore::new, PrimitiveRatherThanWrapperFixCore::createCleanUp),
+	PULL_OUT_IF_FROM_IF_ELSE(CleanUpConstants.PULL_OUT_IF_FROM_IF_ELSE, PullOutIfFromIfElseCleanUpCore::new, PullOutIfFromIfElseFixCore::createCleanUp),
+	REDUNDANT_COMPARATOR(CleanUpConstants.REDUNDANT_COMPARATOR, RedundantComparatorCleanUpCore::new, RedundantComparatorFixCore::createCleanUp),
+	RETURN_EXPRESSION(CleanUpConstants.RETURN_EXPRESSION, ReturnExpressionCleanUpCore::new, ReturnExpressionFixCore::createCleanUp),
+	STANDARD_COMPARISON(CleanUpConstants.STANDARD_COMPARISON, StandardComparisonCleanUpCore::new, StandardComparisonFixCore::createCleanUp),
+	VALUEOF_RATHER_THAN_INSTANTIATION(CleanUpConstants.VALUEOF_RATHER_THAN_INSTANTIATION, ValueOfRatherThanInstantiationCleanUpCore::new, ValueOfRatherThanInstantiationFixCore::createCleanUp);
+
+	private final String fKey;
+
+	private final Function<Map<String, String>, ICleanUp> fCleanUpFactory;
+
+	private final Function<CompilationUnit, ICleanUpFix> fFixFactory;
+
+	CleanUpCase(String key, Function<Map<String, String>, ICleanUp> cleanUpFactory, Function<CompilationUnit, ICleanUpFix> fixFactory) {
+		fKey= key;
+		fCleanUpFactory= cleanUpFactory;
+		fFixFactory= fixFactory;
+	}
+
+	/**
+	 * @return the key of the clean up in {@link CleanUpConstants}
+	 */
+	public String getKey() {
+		return fKey;
+	}
+
+	/**
+	 * @return a new clean up with only this clean up enabled
+	 */
+	public ICleanUp createCleanUp() {
+		return fCleanUpFactory.apply(getOptions(this));
+	}
+
+	/**
+	 * Calls the <code>createCleanUp</code> method of the fix core directly.
+	 *
+	 * @param ast the AST to clean up
+	 * @return the fix or <code>null</code> if there is nothing to do
+	 */
+	public ICleanUpFix createFix(CompilationUnit ast) {
+		return fFixFactory.apply(ast);
+	}
+
+	/**
+	 * @param cases the clean ups to enable
+	 * @return clean up options with the given clean ups enabled
+	 */
+	public static Map<String, String> getOptions(CleanUpCase... cases) {
+		Map<String, String> options= new HashMap<>();
+		for (CleanUpCase cleanUpCase : cases) {
+			options.put(cleanUpCase.fKey, CleanUpOptions.TRUE);
+		}
+		return options;
+	}
+}
@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.ltk.core.refactoring.Change;
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+
+import org.eclipse.jdt.internal.corext.fix.CleanUpRefactoring;
+
+/**
+ * Measures the clean up refactoring end to end with all {@link CleanUpCase}s enabled: parsing the
+ * compilation units, checking the conditions and creating the change. The change is not performed.
+ * One operation cleans up the whole corpus.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CleanUpRefactoringBenchmark {
+
+	@Param({ "1", "4" })
+	public int parallelism;
+
+	@Benchmark
+	public Change cleanUp(CorpusState corpus) throws CoreException {
+		CleanUpRefactoring refactoring= new CleanUpRefactoring();
+		refactoring.setParallelism(parallelism);
+		for (ICompilationUnit unit : corpus.fUnits) {
+			refactoring.addCompilationUnit(unit);
+		}
+		for (CleanUpCase cleanUpCase : CleanUpCase.values()) {
+			refactoring.addCleanUp(cleanUpCase.createCleanUp());
+		}
+		RefactoringStatus status= refactoring.checkAllConditions(new NullProgressMonitor());
+		if (status.hasFatalError())
+			throw new IllegalStateException(status.toString());
+		Change change= refactoring.createChange(null);
+		change.dispose();
+		return change;
+	}
+}
@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.eclipse.core.runtime.CoreException;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+
+/**
+ * The {@link SyntheticCorpus} in a project of the workspace, parsed once per trial. The ASTs are
+ * shared by all invocations, clean ups and quick assists only read them.
+ */
+@State(Scope.Benchmark)
+public class CorpusState {
+
+	private BenchmarkProject fProject;
+
+	ICompilationUnit[] fUnits;
+
+	CompilationUnit[] fASTs;
+
+	@Setup(Level.Trial)
+	public void setUp() throws CoreException {
+		fProject= BenchmarkProject.create("benchmark", new SyntheticCorpus()); //$NON-NLS-1$
+		fUnits= fProject.getCompilationUnits();
+		fASTs= fProject.createASTs();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws CoreException {
+		fProject.delete();
+		fProject= null;
+		fUnits= null;
+		fASTs= null;
+	}
+
+	public BenchmarkProject getProject() {
+		return fProject;
+	}
+}
@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.eclipse.jdt.core.dom.CompilationUnit;
+
+/**
+ * Measures the <code>createCleanUp</code> methods of the fix cores, that is finding the
+ * operations in an AST without creating the change. One operation processes all compilation units
+ * of the corpus.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FixCoreBenchmark {
+
+	@Param({
+			"ARRAY_WITH_CURLY",
+			"BOOLEAN_VALUE_RATHER_THAN_COMPARISON",
+			"DO_WHILE_RATHER_THAN_WHILE",
+			"INVERT_EQUALS",
+			"ONE_IF_RATHER_THAN_DUPLICATE_BLOCKS_THAT_FALL_THROUGH",
+			"PATTERN_MATCHING_FOR_INSTANCEOF",
+			"PLAIN_REPLACEMENT",
+			"PRIMITIVE_COMPARISON",
+			"PRIMITIVE_RATHER_THAN_WRAPPER",
+			"PULL_OUT_IF_FROM_IF_ELSE",
+			"REDUNDANT_COMPARATOR",
+			"RETURN_EXPRESSION",
+			"STANDARD_COMPARISON",
+			"VALUEOF_RATHER_THAN_INSTANTIATION"
+	})
+	public CleanUpCase cleanUp;
+
+	@Benchmark
+	public void createCleanUp(CorpusState corpus, Blackhole blackhole) {
+		for (CompilationUnit ast : corpus.fASTs) {
+			blackhole.consume(cleanUp.createFix(ast));
+		}
+	}
+}
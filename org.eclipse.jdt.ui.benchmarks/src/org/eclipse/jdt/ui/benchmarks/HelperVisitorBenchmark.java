@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.eclipse.jdt.core.dom.CompilationUnit;
+
+import org.eclipse.jdt.internal.common.HelperVisitor;
+import org.eclipse.jdt.internal.common.ReferenceHolder;
+import org.eclipse.jdt.internal.common.VisitorEnum;
+
+/**
+ * Measures the dispatch of a {@link HelperVisitor} with a start and an end callback for every
+ * node type. <code>compiled</code> selects the compiled dispatch instead of the interpreted
+ * <code>LambdaASTVisitor</code>. One operation visits all compilation units of the corpus.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class HelperVisitorBenchmark {
+
+	@Param({ "false", "true" })
+	public boolean compiled;
+
+	private HelperVisitor<ReferenceHolder<String, Object>, String, Object> fVisitor;
+
+	private long fCount;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		fVisitor= new HelperVisitor<>(null, new ReferenceHolder<>());
+		fVisitor.setCompiled(compiled);
+		VisitorEnum.stream().forEach(ve -> {
+			fVisitor.add(ve, (node, holder) -> {
+				fCount++;
+				return true;
+			});
+			fVisitor.addEnd(ve, (node, holder) -> fCount++);
+		});
+	}
+
+	@Benchmark
+	public long build(CorpusState corpus) {
+		fCount= 0;
+		for (CompilationUnit ast : corpus.fASTs) {
+			fVisitor.build(ast);
+		}
+		return fCount;
+	}
+}
@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.source.LineRange;
+
+import org.eclipse.jdt.ui.PreferenceConstants;
+import org.eclipse.jdt.ui.text.IJavaPartitions;
+import org.eclipse.jdt.ui.text.JavaTextTools;
+
+import org.eclipse.jdt.internal.ui.javaeditor.IndentUtil;
+
+/**
+ * Measures Correct Indentation over a whole compilation unit whose lines are not indented.
+ * <code>methods</code> is the number of methods of the unit, 40 methods are about a thousand
+ * lines. One operation indents all lines of the unit, the document is reset before each operation.
+ * <p>
+ * The indenter finds the opening braces and parentheses with the bracket index of the document,
+ * run with <code>-Dorg.eclipse.jdt.ui.text.bracketIndex=false</code> to compare with scanning the
+ * document.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class IndentationBenchmark {
+
+	@Param({ "40", "160" })
+	public int methods;
+
+	private String fSource;
+
+	private JavaTextTools fTextTools;
+
+	private IDocument fDocument;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		String source= new SyntheticCorpus(1, methods).getSource(0);
+		StringBuilder buf= new StringBuilder();
+		for (String line : source.split("\n")) //$NON-NLS-1$
+			buf.append(line.trim()).append('\n');
+		fSource= buf.toString();
+
+		fTextTools= new JavaTextTools(PreferenceConstants.getPreferenceStore(), false);
+		fDocument= new Document();
+		fTextTools.setupJavaDocumentPartitioner(fDocument, IJavaPartitions.JAVA_PARTITIONING);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		fTextTools.dispose();
+	}
+
+	@Setup(Level.Invocation)
+	public void resetDocument() {
+		fDocument.set(fSource);
+	}
+
+	@Benchmark
+	public boolean indentLines() throws BadLocationException {
+		return IndentUtil.indentLines(fDocument, new LineRange(0, fDocument.getNumberOfLines()), null, null).hasChanged();
+	}
+}
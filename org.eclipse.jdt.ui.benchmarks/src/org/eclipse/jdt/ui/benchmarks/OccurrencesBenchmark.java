@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.SimpleName;
+
+import org.eclipse.jdt.internal.core.manipulation.search.OccurrencesFinder;
+
+/**
+ * Measures Mark Occurrences on the names of the corpus. <code>visitor</code> visits the whole AST
+ * for every name, as the finder did before, <code>index</code> looks the names up in the
+ * {@link org.eclipse.jdt.internal.core.manipulation.search.OccurrencesIndex} of the AST, which is
+ * built by the first operation. One operation finds the occurrences of every 16th name of each
+ * unit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class OccurrencesBenchmark {
+
+	private static final int STEP= 16;
+
+	private SimpleName[][] fNames;
+
+	private CompilationUnit[] fASTs;
+
+	@Setup(Level.Trial)
+	public void setUp(CorpusState corpus) {
+		fASTs= corpus.fASTs;
+		fNames= new SimpleName[fASTs.length][];
+		for (int i= 0; i < fASTs.length; i++) {
+			List<SimpleName> names= new ArrayList<>();
+			fASTs[i].accept(new ASTVisitor() {
+				@Override
+				public boolean visit(SimpleName node) {
+					if (names.size() % STEP == 0)
+						node.resolveBinding();
+					names.add(node);
+					return false;
+				}
+			});
+			List<SimpleName> selected= new ArrayList<>();
+			for (int j= 0; j < names.size(); j+= STEP)
+				selected.add(names.get(j));
+			fNames[i]= selected.toArray(new SimpleName[selected.size()]);
+		}
+	}
+
+	@Benchmark
+	public void visitor(Blackhole blackhole) {
+		find(false, blackhole);
+	}
+
+	@Benchmark
+	public void index(Blackhole blackhole) {
+		find(true, blackhole);
+	}
+
+	private void find(boolean useIndex, Blackhole blackhole) {
+		for (int i= 0; i < fASTs.length; i++) {
+			for (SimpleName name : fNames[i]) {
+				OccurrencesFinder finder= new OccurrencesFinder(useIndex);
+				if (finder.initialize(fASTs[i], name) == null)
+					blackhole.consume(finder.getOccurrences());
+			}
+		}
+	}
+}
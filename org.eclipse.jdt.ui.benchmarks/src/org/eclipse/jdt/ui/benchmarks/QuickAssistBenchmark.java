@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.eclipse.core.runtime.CoreException;
+
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.Statement;
+
+import org.eclipse.jdt.ui.text.java.IProblemLocation;
+import org.eclipse.jdt.ui.text.java.IQuickAssistProcessor;
+
+import org.eclipse.jdt.internal.ui.text.correction.AdvancedQuickAssistProcessor;
+import org.eclipse.jdt.internal.ui.text.correction.AssistContext;
+import org.eclipse.jdt.internal.ui.text.correction.QuickAssistProcessor;
+
+/**
+ * Measures the quick assist processors. The assists are computed at the start of every statement
+ * of the corpus, using the already parsed ASTs. One operation visits all statements.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class QuickAssistBenchmark {
+
+	private static final IProblemLocation[] NO_PROBLEMS= new IProblemLocation[0];
+
+	@Param({ "QuickAssistProcessor", "AdvancedQuickAssistProcessor" })
+	public String processor;
+
+	private IQuickAssistProcessor fProcessor;
+
+	private int[] fUnitIndexes;
+
+	private int[] fOffsets;
+
+	@Setup(Level.Trial)
+	public void setUp(CorpusState corpus) {
+		fProcessor= "QuickAssistProcessor".equals(processor) ? new QuickAssistProcessor() : new AdvancedQuickAssistProcessor(); //$NON-NLS-1$
+
+		List<int[]> locations= new ArrayList<>();
+		for (int i= 0; i < corpus.fASTs.length; i++) {
+			int unitIndex= i;
+			corpus.fASTs[i].accept(new ASTVisitor() {
+				@Override
+				public void preVisit(ASTNode node) {
+					if (node instanceof Statement)
+						locations.add(new int[] { unitIndex, node.getStartPosition() });
+				}
+			});
+		}
+		fUnitIndexes= new int[locations.size()];
+		fOffsets= new int[locations.size()];
+		for (int i= 0; i < fOffsets.length; i++) {
+			fUnitIndexes[i]= locations.get(i)[0];
+			fOffsets[i]= locations.get(i)[1];
+		}
+	}
+
+	@Benchmark
+	public void getAssists(CorpusState corpus, Blackhole blackhole) throws CoreException {
+		for (int i= 0; i < fOffsets.length; i++) {
+			int unitIndex= fUnitIndexes[i];
+			CompilationUnit ast= corpus.fASTs[unitIndex];
+			AssistContext context= new AssistContext(corpus.fUnits[unitIndex], fOffsets[i], 0);
+			context.setASTRoot(ast);
+			blackhole.consume(fProcessor.getAssists(context, NO_PROBLEMS));
+		}
+	}
+}
@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.SimpleName;
+
+import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting;
+import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightingClassifier;
+import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightings;
+import org.eclipse.jdt.internal.ui.javaeditor.SemanticToken;
+
+/**
+ * Measures how the semantic highlighting reconciler finds the highlighting of the names in the
+ * corpus. <code>loop</code> asks every enabled semantic highlighting until one consumes the name,
+ * as the reconciler did before, <code>classifier</code> uses a
+ * {@link SemanticHighlightingClassifier}. One operation classifies all names of the corpus, the
+ * bindings are resolved before.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SemanticHighlightingBenchmark {
+
+	/**
+	 * <code>all</code> enables all semantic highlightings, <code>default</code> the ones enabled by
+	 * default.
+	 */
+	@Param({ "all", "default" })
+	public String enabled;
+
+	private SemanticHighlighting[] fHighlightings;
+
+	private boolean[] fEnabled;
+
+	private SemanticHighlightingClassifier fClassifier;
+
+	private SimpleName[] fNames;
+
+	private final SemanticToken fToken= new SemanticToken();
+
+	@Setup(Level.Trial)
+	public void setUp(CorpusState corpus) {
+		fHighlightings= SemanticHighlightings.getSemanticHighlightings();
+		fEnabled= new boolean[fHighlightings.length];
+		for (int i= 0; i < fHighlightings.length; i++)
+			fEnabled[i]= "all".equals(enabled) || fHighlightings[i].isEnabledByDefault(); //$NON-NLS-1$
+		fClassifier= new SemanticHighlightingClassifier(fHighlightings, fEnabled);
+
+		List<SimpleName> names= new ArrayList<>();
+		for (CompilationUnit ast : corpus.fASTs) {
+			ast.accept(new ASTVisitor() {
+				@Override
+				public boolean visit(SimpleName node) {
+					node.resolveBinding();
+					names.add(node);
+					return false;
+				}
+			});
+		}
+		fNames= names.toArray(new SimpleName[names.size()]);
+	}
+
+	@Benchmark
+	public void loop(Blackhole blackhole) {
+		for (SimpleName name : fNames) {
+			fToken.update(name);
+			int result= -1;
+			for (int i= 0; i < fHighlightings.length; i++) {
+				if (fEnabled[i] && fHighlightings[i].consumes(fToken)) {
+					result= i;
+					break;
+				}
+			}
+			blackhole.consume(result);
+			fToken.clear();
+		}
+	}
+
+	@Benchmark
+	public void classifier(Blackhole blackhole) {
+		for (SimpleName name : fNames) {
+			fToken.update(name);
+			blackhole.consume(fClassifier.classify(fToken));
+			fToken.clear();
+		}
+	}
+}
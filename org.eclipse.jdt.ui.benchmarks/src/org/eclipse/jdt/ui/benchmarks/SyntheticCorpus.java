@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.benchmarks;
+
+import java.util.Random;
+
+/**
+ * Generates the compilation units the benchmarks run on.
+ * <p>
+ * Each unit consists of methods built from a fixed set of statement templates, most of which
+ * offer work to at least one clean up or quick assist. The templates are picked with a random
+ * generator using a fixed seed, so the corpus only depends on its size and results of different
+ * commits can be compared.
+ * </p>
+ * <p>
+ * The size is controlled by the system properties <code>jmh.corpus.units</code> (number of
+ * compilation units) and <code>jmh.corpus.methods</code> (methods per unit).
+ * </p>
+ */
+public final class SyntheticCorpus {
+
+	public static final String PACKAGE_NAME= "corpus"; //$NON-NLS-1$
+
+	private static final long SEED= 0x4a4454L;
+
+	private static final String[] STATEMENTS= {
+			"Integer boxed$= new Integer(a + $);\n" //$NON-NLS-1$
+					+ "result+= boxed$.intValue();\n", //$NON-NLS-1$
+			"if (flag == true) {\n" //$NON-NLS-1$
+					+ "    result++;\n" //$NON-NLS-1$
+					+ "}\n", //$NON-NLS-1$
+			"if (text.equals(\"literal$\")) {\n" //$NON-NLS-1$
+					+ "    result--;\n" //$NON-NLS-1$
+					+ "}\n", //$NON-NLS-1$
+			"if (text.compareTo(\"other$\") == -1) {\n" //$NON-NLS-1$
+					+ "    result+= 2;\n" //$NON-NLS-1$
+					+ "}\n", //$NON-NLS-1$
+			"int[] array$= new int[] {a, b, $};\n" //$NON-NLS-1$
+					+ "result+= array$.length;\n", //$NON-NLS-1$
+			"result+= Integer.valueOf(a).compareTo(Integer.valueOf(b + $));\n", //$NON-NLS-1$
+			"String path$= text.replaceAll(\"\\\\.\", \"/\");\n" //$NON-NLS-1$
+					+ "result+= path$.length();\n", //$NON-NLS-1$
+			"int counter$= 0;\n" //$NON-NLS-1$
+					+ "while (true) {\n" //$NON-NLS-1$
+					+ "    if (++counter$ > $) {\n" //$NON-NLS-1$
+					+ "        break;\n" //$NON-NLS-1$
+					+ "    }\n" //$NON-NLS-1$
+					+ "}\n", //$NON-NLS-1$
+			"if (value instanceof String) {\n" //$NON-NLS-1$
+					+ "    String string$= (String) value;\n" //$NON-NLS-1$
+					+ "    result+= string$.length();\n" //$NON-NLS-1$
+					+ "}\n", //$NON-NLS-1$
+			"if (flag) {\n" //$NON-NLS-1$
+					+ "    if (a > $) {\n" //$NON-NLS-1$
+					+ "        result+= a;\n" //$NON-NLS-1$
+					+ "    } else {\n" //$NON-NLS-1$
+					+ "        result-= a;\n" //$NON-NLS-1$
+					+ "    }\n" //$NON-NLS-1$
+					+ "} else {\n" //$NON-NLS-1$
+					+ "    if (a > $) {\n" //$NON-NLS-1$
+					+ "        result+= b;\n" //$NON-NLS-1$
+					+ "    } else {\n" //$NON-NLS-1$
+					+ "        result-= b;\n" //$NON-NLS-1$
+					+ "    }\n" //$NON-NLS-1$
+					+ "}\n", //$NON-NLS-1$
+			"Collections.sort(list, (first$, second$) -> first$.compareTo(second$));\n", //$NON-NLS-1$
+			"Integer total$= 0;\n" //$NON-NLS-1$
+					+ "for (String element : list) {\n" //$NON-NLS-1$
+					+ "    total$+= element.length();\n" //$NON-NLS-1$
+					+ "}\n" //$NON-NLS-1$
+					+ "result+= total$;\n", //$NON-NLS-1$
+			"if (a == $) {\n" //$NON-NLS-1$
+					+ "    return result;\n" //$NON-NLS-1$
+					+ "}\n" //$NON-NLS-1$
+					+ "if (b == $) {\n" //$NON-NLS-1$
+					+ "    return result;\n" //$NON-NLS-1$
+					+ "}\n", //$NON-NLS-1$
+			"StringBuilder builder$= new StringBuilder();\n" //$NON-NLS-1$
+					+ "for (int i= 0; i < list.size(); i++) {\n" //$NON-NLS-1$
+					+ "    builder$.append(list.get(i)).append(',');\n" //$NON-NLS-1$
+					+ "}\n" //$NON-NLS-1$
+					+ "result+= builder$.length();\n", //$NON-NLS-1$
+			"Map<String, Integer> map$= new HashMap<String, Integer>();\n" //$NON-NLS-1$
+					+ "map$.put(text, Integer.valueOf(a));\n" //$NON-NLS-1$
+					+ "result+= map$.size();\n", //$NON-NLS-1$
+	};
+
+	private final int fUnitCount;
+
+	private final int fMethodCount;
+
+	public SyntheticCorpus() {
+		this(Integer.getInteger("jmh.corpus.units", 16).intValue(), Integer.getInteger("jmh.corpus.methods", 40).intValue()); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	public SyntheticCorpus(int unitCount, int methodCount) {
+		fUnitCount= unitCount;
+		fMethodCount= methodCount;
+	}
+
+	public int getUnitCount() {
+		return fUnitCount;
+	}
+
+	public String getTypeName(int unit) {
+		return "Unit" + unit; //$NON-NLS-1$
+	}
+
+	/**
+	 * @param unit the index of the unit, between 0 and {@link #getUnitCount()}
+	 * @return the source of the unit
+	 */
+	public String getSource(int unit) {
+		Random random= new Random(SEED + unit);
+		StringBuilder buf= new StringBuilder();
+		buf.append("package ").append(PACKAGE_NAME).append(";\n\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		buf.append("import java.util.*;\n\n"); //$NON-NLS-1$
+		buf.append("public class ").append(getTypeName(unit)).append(" {\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		for (int method= 0; method < fMethodCount; method++) {
+			buf.append("\n    public int method").append(method) //$NON-NLS-1$
+					.append("(String text, Object value, List<String> list, boolean flag, int a, int b) {\n"); //$NON-NLS-1$
+			buf.append("        int result= 0;\n"); //$NON-NLS-1$
+			int statements= 4 + random.nextInt(8);
+			for (int statement= 0; statement < statements; statement++) {
+				String template= STATEMENTS[random.nextInt(STATEMENTS.length)];
+				String code= template.replace("$", String.valueOf(statement)); //$NON-NLS-1$
+				for (String line : code.split("\n")) { //$NON-NLS-1$
+					buf.append("        ").append(line).append('\n'); //$NON-NLS-1$
+				}
+			}
+			buf.append("        int computed= result * a;\n"); //$NON-NLS-1$
+			buf.append("        return computed;\n"); //$NON-NLS-1$
+			buf.append("    }\n"); //$NON-NLS-1$
+		}
+		buf.append("}\n"); //$NON-NLS-1$
+		return buf.toString();
+	}
+}
@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.ForStatement;
+
+/**
+ * Compares the compiled dispatch of {@link HelperVisitor} with the interpreted
+ * {@link LambdaASTVisitor}.
+ */
+public class HelperVisitorDispatchTest {
+
+	private static CompilationUnit result;
+
+	@BeforeAll
+	public static void init() {
+		ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
+		String code ="""
+			package test;
+			import java.util.*;
+			/**
+			 * Javadoc with a {@link List} reference.
+			 */
+			public class Test {
+			    private final List<String> fNames = new ArrayList<>();
+			    void m(List<String> strings, List<String> strings2) {
+			        Collections.reverse(strings);
+			        Iterator it = strings.iterator();
+			        while (it.hasNext()) {
+			            Iterator it2 = strings2.iterator();
+			            while (it2.hasNext()) {
+			                String s2 = (String) it2.next();
+			                System.out.println(s2);
+			            }
+			            System.out.println(it.next());
+			        }
+			        strings.forEach(System.out::println);
+			        for (int i = 0; i < strings.size(); i++) {
+			            fNames.add(strings.get(i) + i);
+			        }
+			        System.out.println();
+			    }
+			}
+			""";
+		parser.setKind(ASTParser.K_COMPILATION_UNIT);
+		parser.setEnvironment(new String[]{}, new String[]{}, null, true);
+		parser.setBindingsRecovery(true);
+		parser.setResolveBindings(true);
+		Map<String, String> options = JavaCore.getOptions();
+		JavaCore.setComplianceOptions(JavaCore.VERSION_17, options);
+		parser.setCompilerOptions(options);
+		parser.setUnitName("Test");
+		parser.setSource(code.toCharArray());
+		result = (CompilationUnit) parser.createAST(null);
+	}
+
+	private static List<String> trace(boolean compiled, boolean visitjavadoc) {
+		List<String> trace= new ArrayList<>();
+		HelperVisitor<ReferenceHolder<String, Object>, String, Object> hv= new HelperVisitor<>(null, new ReferenceHolder<>());
+		hv.setCompiled(compiled);
+		VisitorEnum.stream().forEach(ve -> {
+			hv.add(ve, (node, holder) -> {
+				trace.add("Start " + node.getNodeType() + " :" + node); //$NON-NLS-1$ //$NON-NLS-2$
+				return !(node instanceof ForStatement);
+			});
+			hv.addEnd(ve, (node, holder) -> trace.add("End " + node.getNodeType() + " :" + node)); //$NON-NLS-1$ //$NON-NLS-2$
+		});
+		hv.addMethodInvocation("println", (node, holder) -> { //$NON-NLS-1$
+			trace.add("println " + node); //$NON-NLS-1$
+			return true;
+		});
+		hv.addVariableDeclarationStatement(String.class, (node, holder) -> {
+			trace.add("String declaration " + node); //$NON-NLS-1$
+			return true;
+		});
+		hv.build(result, visitjavadoc);
+		return trace;
+	}
+
+	@Test
+	public void compiledDispatchMatchesInterpreted() {
+		List<String> interpreted= trace(false, false);
+		List<String> compiled= trace(true, false);
+		assertFalse(interpreted.isEmpty());
+		assertEquals(interpreted, compiled);
+	}
+
+	@Test
+	public void compiledDispatchMatchesInterpretedWithJavadoc() {
+		List<String> interpreted= trace(false, true);
+		List<String> compiled= trace(true, true);
+		assertEquals(interpreted, compiled);
+	}
+
+	private static List<String> traceModification(boolean compiled) {
+		List<String> trace= new ArrayList<>();
+		HelperVisitor<ReferenceHolder<String, Object>, String, Object> hv= new HelperVisitor<>(null, new ReferenceHolder<>());
+		hv.setCompiled(compiled);
+		hv.addMethodInvocation((node, holder) -> {
+			trace.add("Start " + node); //$NON-NLS-1$
+			return true;
+		});
+		hv.addMethodInvocation((node, holder) -> {
+			trace.add("End " + node); //$NON-NLS-1$
+			holder.getHelperVisitor().removeVisitor(VisitorEnum.MethodInvocation);
+			holder.getHelperVisitor().addWhileStatement((whilenode, h) -> {
+				trace.add("While " + whilenode.getExpression()); //$NON-NLS-1$
+				return true;
+			});
+		});
+		hv.build(result);
+		return trace;
+	}
+
+	@Test
+	public void modificationDuringVisit() {
+		List<String> interpreted= traceModification(false);
+		List<String> compiled= traceModification(true);
+		assertEquals(interpreted, compiled);
+	}
+
+	@Test
+	public void processorChain() {
+		List<ASTNode> found= new ArrayList<>();
+		ReferenceHolder<String, Object> dataholder= new ReferenceHolder<>();
+		ASTProcessor<ReferenceHolder<String, Object>, String, Object> astp= new ASTProcessor<>(dataholder, null);
+		astp.callWhileStatementVisitor((node, holder) -> true)
+				.callMethodInvocationVisitor((node, holder) -> {
+					found.add(node);
+					return true;
+				});
+		astp.build(result);
+		// 7 invocations inside the outer loop, the 3 inside the inner loop are reached a second time
+		assertEquals(10, found.size());
+	}
+}
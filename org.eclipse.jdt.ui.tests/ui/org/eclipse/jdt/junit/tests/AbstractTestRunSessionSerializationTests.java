@@ -27,7 +27,9 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.util.StringTokenizer;
 import java.util.regex.Pattern;
@@ -58,6 +60,7 @@ import org.eclipse.jdt.core.IType;
 
 import org.eclipse.jdt.internal.junit.model.JUnitModel;
 import org.eclipse.jdt.internal.junit.model.TestRunSession;
+import org.eclipse.jdt.internal.junit.model.TestRunSessionBinaryFormat;
 import org.eclipse.jdt.internal.junit.model.TestSuiteElement;
 
 import org.eclipse.jdt.ui.tests.core.rules.JUnitWorkspaceTestSetup;
@@ -115,6 +118,27 @@ public class AbstractTestRunSessionSerializationTests {
 			// due to lingering TestRunnerViewPart$TestSessionListeners
 			serializationResult.fTestRunSession.swapOut();
 			assertEqualSessions(serializationResult.fTestRunSession, imported);
+
+			ByteArrayOutputStream swapped= new ByteArrayOutputStream();
+			TestRunSessionBinaryFormat.write(imported, swapped);
+			TestRunSession swappedIn= new TestRunSession(imported.getTestRunName(), null);
+			TestRunSessionBinaryFormat.read(new ByteArrayInputStream(swapped.toByteArray()), swappedIn);
+			assertEqualSessions(imported, swappedIn);
+
+			// defer every suite and read the children on demand from the file
+			File swapFile= File.createTempFile("session", ".swap");
+			try {
+				try (OutputStream swapOut= new FileOutputStream(swapFile)) {
+					TestRunSessionBinaryFormat.write(imported, swapOut, 1);
+				}
+				TestRunSession deferred= new TestRunSession(imported.getTestRunName(), null);
+				TestRunSessionBinaryFormat.read(swapFile, deferred);
+				assertEquals(imported.getTestRoot().getTestResult(true), deferred.getTestRoot().getTestResult(true));
+				assertEquals(imported.getAllFailedTestElements().length, deferred.getAllFailedTestElements().length);
+				assertEqualSessions(imported, deferred);
+			} finally {
+				swapFile.delete();
+			}
 		} finally {
 			if (resultFile.exists())
 				try {
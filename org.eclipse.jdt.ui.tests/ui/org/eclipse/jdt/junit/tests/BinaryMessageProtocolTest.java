@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.junit.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.eclipse.jdt.internal.junit.runner.BinaryMessageReader;
+import org.eclipse.jdt.internal.junit.runner.BinaryMessageSender;
+import org.eclipse.jdt.internal.junit.runner.MessageIds;
+
+public class BinaryMessageProtocolTest {
+
+	private static List<String> roundTrip(List<String> messages) throws IOException {
+		ByteArrayOutputStream out= new ByteArrayOutputStream();
+		BinaryMessageSender sender= new BinaryMessageSender(out);
+		for (String message : messages)
+			sender.sendMessage(message);
+		sender.close();
+		return read(out.toByteArray());
+	}
+
+	private static List<String> read(byte[] bytes) throws IOException {
+		assertTrue(BinaryMessageReader.isBinaryProtocol(bytes[0]));
+		BinaryMessageReader reader= new BinaryMessageReader(new ByteArrayInputStream(bytes));
+		assertEquals(System.lineSeparator(), reader.getLineDelimiter());
+		List<String> result= new ArrayList<>();
+		BinaryMessageReader.Handler handler= new BinaryMessageReader.Handler() {
+			@Override
+			public void testMessage(String header, String testId, String testName) {
+				result.add(header + testId + ',' + testName);
+			}
+
+			@Override
+			public void message(String message) {
+				result.add(message);
+			}
+		};
+		while (reader.read(handler)) {
+			// collect
+		}
+		return result;
+	}
+
+	@Test
+	public void testRoundTrip() throws Exception {
+		List<String> messages= Arrays.asList(
+				MessageIds.TEST_RUN_START + "2 v2",
+				MessageIds.TEST_TREE + "1,pack.ATestCase,true,2,false,-1,pack.ATestCase,,[engine:junit-vintage]",
+				MessageIds.TEST_TREE + "2,test1(pack.ATestCase),false,1,false,1,test1(pack.ATestCase),,",
+				MessageIds.TEST_TREE + "3,test\\,2(pack.ATestCase),false,1,false,1,test\\,2(pack.ATestCase),,",
+				MessageIds.TEST_START + "2,test1(pack.ATestCase)",
+				MessageIds.TEST_END + "2,test1(pack.ATestCase)",
+				MessageIds.TEST_START + "3,test\\,2(pack.ATestCase)",
+				MessageIds.TEST_FAILED + "3,test\\,2(pack.ATestCase)",
+				MessageIds.TRACE_START,
+				"junit.framework.AssertionFailedError: äöü" + System.lineSeparator() + "\tat pack.ATestCase.test2(ATestCase.java:5)",
+				MessageIds.TRACE_END,
+				MessageIds.TEST_END + "3,test\\,2(pack.ATestCase)",
+				MessageIds.TEST_RUN_END + "42");
+		assertEquals(messages, roundTrip(messages));
+	}
+
+	@Test
+	public void testInterning() throws Exception {
+		List<String> messages= new ArrayList<>();
+		for (int i= 0; i < 1000; i++) {
+			messages.add(MessageIds.TEST_START + "1,test(pack.ALongTestCaseName)");
+			messages.add(MessageIds.TEST_END + "1,test(pack.ALongTestCaseName)");
+		}
+		ByteArrayOutputStream out= new ByteArrayOutputStream();
+		BinaryMessageSender sender= new BinaryMessageSender(out);
+		for (String message : messages)
+			sender.sendMessage(message);
+		sender.close();
+		int textLength= 0;
+		for (String message : messages)
+			textLength+= message.length() + 1;
+		assertTrue("interned test messages should be short", out.size() < textLength / 4);
+		assertEquals(messages, roundTrip(messages));
+	}
+
+	@Test
+	public void testBatchIsWrittenByFlusher() throws Exception {
+		List<String> messages= Arrays.asList(
+				MessageIds.TEST_RUN_START + "1 v2",
+				MessageIds.TEST_START + "1,test(pack.ATestCase)");
+		ByteArrayOutputStream out= new ByteArrayOutputStream();
+		BinaryMessageSender sender= new BinaryMessageSender(out);
+		int headerSize= out.size();
+		for (String message : messages)
+			sender.sendMessage(message);
+		try {
+			// written without a flush or close(), as when a test hangs
+			long timeout= System.currentTimeMillis() + 10000;
+			while (out.size() == headerSize && System.currentTimeMillis() < timeout)
+				Thread.sleep(10);
+			assertEquals(messages, read(out.toByteArray()));
+		} finally {
+			sender.close();
+		}
+	}
+
+	@Test
+	public void testTextProtocolIsNotBinary() {
+		assertFalse(BinaryMessageReader.isBinaryProtocol(MessageIds.TEST_RUN_START.charAt(0)));
+	}
+}
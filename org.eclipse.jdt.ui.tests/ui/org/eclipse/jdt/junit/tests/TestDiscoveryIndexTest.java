@@ -0,0 +1,190 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.junit.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.core.resources.IFile;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+
+import org.eclipse.jdt.internal.junit.launcher.TestDiscoveryIndex;
+import org.eclipse.jdt.internal.junit.launcher.TestKindRegistry;
+
+public class TestDiscoveryIndexTest {
+
+	private static final String KIND= TestKindRegistry.JUNIT4_TEST_KIND_ID;
+
+	private IJavaProject fProject;
+	private IPackageFragment fPackage;
+	private ICompilationUnit fTestCase;
+	private File fFile;
+	private TestDiscoveryIndex fIndex;
+	private int fSearches;
+	private List<IJavaElement> fSearched;
+
+	@Before
+	public void setUp() throws Exception {
+		fProject= JavaProjectHelper.createJavaProject("TestProject", "bin");
+		JavaProjectHelper.addRTJar(fProject);
+		IPackageFragmentRoot root= JavaProjectHelper.addSourceContainer(fProject, "src");
+		fPackage= root.createPackageFragment("p", true, null);
+		fTestCase= fPackage.createCompilationUnit("MyTest.java", getSource("fail();"), true, null);
+		fSearched= new ArrayList<>();
+
+		fFile= File.createTempFile("testDiscoveryIndex", ".dat");
+		fFile.delete();
+		fIndex= new TestDiscoveryIndex(fFile);
+		fIndex.start();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		fIndex.stop();
+		fFile.delete();
+		JavaProjectHelper.delete(fProject);
+	}
+
+	private static String getSource(String body) {
+		return "package p;\n" //
+				+ "public class MyTest {\n" //
+				+ "	public void testFoo() {\n" //
+				+ "		" + body + "\n" //
+				+ "	}\n" //
+				+ "}\n";
+	}
+
+	private Set<IType> findTests(IJavaElement element) throws Exception {
+		Set<IType> result= new HashSet<>();
+		boolean indexed= fIndex.findTests(KIND, element, result, (e, found, pm) -> {
+			fSearches++;
+			fSearched.add(e);
+			if (e instanceof ICompilationUnit) {
+				found.add(((ICompilationUnit) e).findPrimaryType());
+			} else {
+				for (ICompilationUnit cu : fPackage.getCompilationUnits()) {
+					found.add(cu.findPrimaryType());
+				}
+			}
+		}, null);
+		assertTrue(indexed);
+		return result;
+	}
+
+	@Test
+	public void testFindInIndex() throws Exception {
+		assertEquals(Set.of(fTestCase.findPrimaryType()), findTests(fProject));
+		assertEquals(Set.of(fTestCase.findPrimaryType()), findTests(fProject));
+		assertEquals(Set.of(fTestCase.findPrimaryType()), findTests(fPackage));
+		assertEquals(1, fSearches);
+
+		ICompilationUnit other= fPackage.createCompilationUnit("OtherTest.java", "package p;\npublic class OtherTest {}\n", true, null);
+		assertEquals(Set.of(fTestCase.findPrimaryType(), other.findPrimaryType()), findTests(fProject));
+		assertEquals(Set.of(fTestCase.findPrimaryType(), other.findPrimaryType()), findTests(fPackage));
+		assertEquals(List.of(fProject, other), fSearched);
+	}
+
+	@Test
+	public void testSubtypeChange() throws Exception {
+		ICompilationUnit base= fPackage.createCompilationUnit("Base.java", "package p;\npublic class Base {}\n", true, null);
+		ICompilationUnit sub= fPackage.createCompilationUnit("SubTest.java", "package p;\npublic class SubTest extends Base {}\n", true, null);
+		findTests(fProject);
+		fSearched.clear();
+
+		IFile file= (IFile) base.getResource();
+		String source= "package p;\npublic class Base {\n	public void testBase() {}\n}\n";
+		file.setContents(new ByteArrayInputStream(source.getBytes(StandardCharsets.UTF_8)), true, false, null);
+		assertEquals(Set.of(fTestCase.findPrimaryType(), base.findPrimaryType(), sub.findPrimaryType()), findTests(fProject));
+		assertEquals(Set.of(base, sub), new HashSet<>(fSearched));
+	}
+
+	@Test
+	public void testBodyChange() throws Exception {
+		findTests(fProject);
+		fTestCase.becomeWorkingCopy(null);
+		try {
+			fTestCase.getBuffer().setContents(getSource("System.out.println();"));
+			fTestCase.reconcile(ICompilationUnit.NO_AST, false, null, null);
+			fTestCase.commitWorkingCopy(true, null);
+			findTests(fProject);
+			assertEquals(1, fSearches);
+
+			fTestCase.getBuffer().setContents(getSource("fail();\n	}\n	public void testBar() {"));
+			fTestCase.reconcile(ICompilationUnit.NO_AST, false, null, null);
+			findTests(fProject);
+			assertEquals(2, fSearches);
+		} finally {
+			fTestCase.discardWorkingCopy();
+		}
+	}
+
+	@Test
+	public void testTestMethods() throws Exception {
+		IType type= fTestCase.findPrimaryType();
+		assertEquals(null, fIndex.getTestMethods(KIND, fProject, type));
+		fIndex.putTestMethods(KIND, fProject, type, Set.of("testFoo"), fIndex.getGeneration());
+		assertEquals(Set.of("testFoo"), fIndex.getTestMethods(KIND, fProject, type));
+
+		// an unrelated change keeps the test methods
+		long generation= fIndex.getGeneration();
+		fPackage.createCompilationUnit("OtherTest.java", "package p;\npublic class OtherTest {}\n", true, null);
+		assertEquals(Set.of("testFoo"), fIndex.getTestMethods(KIND, fProject, type));
+
+		IFile file= (IFile) fTestCase.getResource();
+		String source= getSource("fail();\n	}\n	public void testBar() {");
+		file.setContents(new ByteArrayInputStream(source.getBytes(StandardCharsets.UTF_8)), true, false, null);
+		assertEquals(null, fIndex.getTestMethods(KIND, fProject, type));
+		fIndex.putTestMethods(KIND, fProject, type, Set.of("testFoo", "testBar"), generation);
+		assertEquals(null, fIndex.getTestMethods(KIND, fProject, type));
+	}
+
+	@Test
+	public void testPersistence() throws Exception {
+		findTests(fProject);
+		fIndex.stop();
+		fIndex= new TestDiscoveryIndex(fFile);
+		fIndex.start();
+		assertEquals(Set.of(fTestCase.findPrimaryType()), findTests(fProject));
+		assertEquals(1, fSearches);
+
+		// a change while the index is stopped
+		fIndex.stop();
+		IFile file= (IFile) fTestCase.getResource();
+		file.setContents(new ByteArrayInputStream(getSource("").getBytes(StandardCharsets.UTF_8)), true, false, null);
+		fIndex= new TestDiscoveryIndex(fFile);
+		fIndex.start();
+		findTests(fProject);
+		assertEquals(2, fSearches);
+	}
+}
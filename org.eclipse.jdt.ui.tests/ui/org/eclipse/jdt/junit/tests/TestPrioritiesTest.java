@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.junit.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+
+import org.eclipse.jdt.internal.junit.launcher.JUnitLaunchConfigurationConstants;
+import org.eclipse.jdt.internal.junit.launcher.TestPriorities;
+
+public class TestPrioritiesTest {
+
+	private static final Map<String, Double> DURATIONS= Map.of(
+			"a1(p.A)", 3.0, "a2(p.A)", 1.0,
+			"b1(p.B)", 0.5,
+			"c1(p.C)", 2.0, "c2(p.C)", 2.0);
+
+	@Test
+	public void testFastestFirst() throws Exception {
+		List<String> order= TestPriorities.getTestOrder(JUnitLaunchConfigurationConstants.TEST_ORDER_FASTEST_FIRST, DURATIONS, Set.of());
+		assertEquals(List.of("b1(p.B)", "a2(p.A)", "a1(p.A)", "c1(p.C)", "c2(p.C)"), order);
+	}
+
+	@Test
+	public void testLongestFirst() throws Exception {
+		List<String> order= TestPriorities.getTestOrder(JUnitLaunchConfigurationConstants.TEST_ORDER_LONGEST_FIRST, DURATIONS, Set.of());
+		assertEquals(List.of("a1(p.A)", "a2(p.A)", "c1(p.C)", "c2(p.C)", "b1(p.B)"), order);
+	}
+
+	@Test
+	public void testChangedFirst() throws Exception {
+		List<String> order= TestPriorities.getTestOrder(JUnitLaunchConfigurationConstants.TEST_ORDER_CHANGED_FIRST, DURATIONS, Set.of("p.C", "p.New", "p.A"));
+		assertEquals(List.of("p.New", "a2(p.A)", "a1(p.A)", "c1(p.C)", "c2(p.C)", "b1(p.B)"), order);
+	}
+}
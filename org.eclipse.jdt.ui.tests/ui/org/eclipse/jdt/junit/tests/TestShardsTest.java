@@ -0,0 +1,203 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.junit.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.debug.core.ILaunchManager;
+import org.eclipse.debug.core.Launch;
+
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IType;
+
+import org.eclipse.jdt.launching.SocketUtil;
+
+import org.eclipse.jdt.internal.junit.launcher.TestShards;
+import org.eclipse.jdt.internal.junit.model.ITestRunListener2;
+import org.eclipse.jdt.internal.junit.model.RemoteTestRunnerClient;
+import org.eclipse.jdt.internal.junit.model.TestRunListenerAdapter;
+import org.eclipse.jdt.internal.junit.model.TestRunSession;
+
+public class TestShardsTest {
+
+	private IJavaProject fProject;
+	private IPackageFragment fPackage;
+	private List<IType> fTypes;
+	private TestRunSession fSession;
+	private List<String> fSessionEvents;
+
+	@Before
+	public void setUp() throws Exception {
+		fProject= JavaProjectHelper.createJavaProject("TestProject", "bin");
+		fPackage= JavaProjectHelper.addSourceContainer(fProject, "src").createPackageFragment("p", true, null);
+		fTypes= new ArrayList<>();
+		for (String name : new String[] { "A", "B", "C", "D", "E" }) {
+			fTypes.add(fPackage.createCompilationUnit(name + ".java", "package p;\npublic class " + name + " {}\n", true, null).findPrimaryType());
+		}
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		if (fSession != null) {
+			for (RemoteTestRunnerClient client : (RemoteTestRunnerClient[]) getField("fShardClients")) {
+				client.stopWaiting();
+			}
+		}
+		JavaProjectHelper.delete(fProject);
+	}
+
+	private Object getField(String name) throws Exception {
+		Field field= TestRunSession.class.getDeclaredField(name);
+		field.setAccessible(true);
+		return field.get(fSession);
+	}
+
+	/*
+	 * Creates a session for a launch with two shards and returns the listeners of the shards,
+	 * which are fed with the events the runtimes would send.
+	 */
+	private ITestRunListener2[] createShardedSession() throws Exception {
+		fSession= new TestRunSession(new Launch(null, ILaunchManager.RUN_MODE, null), fProject, new int[] { SocketUtil.findFreePort(), SocketUtil.findFreePort() });
+		fSessionEvents= new ArrayList<>();
+		fSession.addTestSessionListener(new TestRunListenerAdapter(fSession) {
+			@Override
+			public void sessionStarted() {
+				fSessionEvents.add("sessionStarted");
+			}
+
+			@Override
+			public void sessionEnded(long elapsedTime) {
+				fSessionEvents.add("sessionEnded");
+			}
+
+			@Override
+			public void sessionStopped(long elapsedTime) {
+				fSessionEvents.add("sessionStopped");
+			}
+
+			@Override
+			public void sessionTerminated() {
+				fSessionEvents.add("sessionTerminated");
+			}
+		});
+		return (ITestRunListener2[]) getField("fShards");
+	}
+
+	private IType type(String name) {
+		return fTypes.stream().filter(type -> type.getElementName().equals(name)).findFirst().get();
+	}
+
+	@Test
+	public void testBalancedByDuration() throws Exception {
+		Map<String, Double> durations= Map.of("p.A", 10.0, "p.B", 6.0, "p.C", 4.0, "p.D", 1.0, "p.E", 1.0);
+		List<List<IType>> shards= TestShards.distribute(fTypes, 2, durations);
+		assertEquals(List.of(List.of(type("A"), type("D")), List.of(type("B"), type("C"), type("E"))), shards);
+	}
+
+	@Test
+	public void testUnknownDurations() throws Exception {
+		List<List<IType>> shards= TestShards.distribute(fTypes, 3, Map.of());
+		assertEquals(List.of(List.of(type("A"), type("D")), List.of(type("B"), type("E")), List.of(type("C"))), shards);
+
+		// without a duration, a class counts with the average
+		shards= TestShards.distribute(fTypes, 2, Map.of("p.A", 4.0, "p.B", 2.0));
+		assertEquals(List.of(List.of(type("A"), type("E")), List.of(type("C"), type("D"), type("B"))), shards);
+	}
+
+	@Test
+	public void testNestedClassDurations() throws Exception {
+		IType outer= fPackage.createCompilationUnit("F.java", "package p;\npublic class F {\n	public static class G {}\n}\n", true, null).findPrimaryType();
+		IType nested= outer.getType("G");
+		// durations are recorded by binary class name
+		List<List<IType>> shards= TestShards.distribute(List.of(type("A"), type("B"), nested), 2, Map.of("p.F$G", 10.0, "p.A", 1.0, "p.B", 1.0));
+		assertEquals(List.of(List.of(nested), List.of(type("A"), type("B"))), shards);
+	}
+
+	@Test
+	public void testInterleavedShards() throws Exception {
+		ITestRunListener2[] shards= createShardedSession();
+		shards[0].testRunStarted(1);
+		shards[1].testRunStarted(2);
+		assertEquals(2, getField("fStartedShards"));
+		assertEquals(3, fSession.getTotalCount());
+		assertEquals(List.of("sessionStarted"), fSessionEvents);
+
+		// both runtimes use the same IDs, each test belongs to the suite of its shard
+		shards[0].testTreeEntry("1,p.A,true,1");
+		shards[1].testTreeEntry("1,p.B,true,2");
+		shards[0].testTreeEntry("2,testA(p.A),false,1");
+		shards[1].testTreeEntry("2,testB1(p.B),false,1");
+		shards[1].testTreeEntry("3,testB2(p.B),false,1");
+		assertEquals("testA(p.A)", fSession.getTestElement("0:2").getTestName());
+		assertEquals("testB1(p.B)", fSession.getTestElement("1:2").getTestName());
+		assertSame(fSession.getTestElement("0:1"), fSession.getTestElement("0:2").getParent());
+		assertSame(fSession.getTestElement("1:1"), fSession.getTestElement("1:2").getParent());
+		assertSame(fSession.getTestElement("1:1"), fSession.getTestElement("1:3").getParent());
+
+		shards[1].testStarted("2", "testB1(p.B)");
+		shards[0].testStarted("2", "testA(p.A)");
+		shards[0].testFailed(ITestRunListener2.STATUS_FAILURE, "2", "testA(p.A)", "trace", null, null);
+		shards[0].testEnded("2", "testA(p.A)");
+		shards[0].testRunEnded(10);
+		assertEquals(1, getField("fFinishedShards"));
+		assertTrue(fSession.isRunning());
+
+		shards[1].testEnded("2", "testB1(p.B)");
+		shards[1].testRunStopped(20);
+		assertEquals(2, getField("fFinishedShards"));
+		assertFalse(fSession.isRunning());
+		assertTrue(fSession.isStopped());
+		assertEquals(2, fSession.getStartedCount());
+		assertEquals(1, fSession.getFailureCount());
+		assertEquals(List.of("sessionStarted", "sessionStopped"), fSessionEvents);
+
+		// a shard ends only once
+		shards[1].testRunTerminated();
+		assertEquals(2, getField("fFinishedShards"));
+		assertEquals(List.of("sessionStarted", "sessionStopped"), fSessionEvents);
+	}
+
+	@Test
+	public void testTerminatedShard() throws Exception {
+		ITestRunListener2[] shards= createShardedSession();
+		shards[1].testRunStarted(1);
+		shards[0].testRunStarted(1);
+		shards[1].testRunTerminated();
+		assertTrue(fSession.isRunning());
+		shards[0].testRunEnded(10);
+		assertFalse(fSession.isRunning());
+		assertEquals(List.of("sessionStarted", "sessionTerminated"), fSessionEvents);
+	}
+
+	@Test
+	public void testMoreShardsThanClasses() throws Exception {
+		List<List<IType>> shards= TestShards.distribute(fTypes.subList(0, 2), 4, Map.of());
+		assertEquals(List.of(List.of(type("A")), List.of(type("B"))), shards);
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2020 IBM Corporation and others.
+ * Copyright (c) 2007, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -27,6 +27,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.jobs.Job;
 
 import org.eclipse.text.edits.ReplaceEdit;
 
@@ -47,6 +48,10 @@ import org.eclipse.jdt.core.refactoring.CompilationUnitChange;
 import org.eclipse.jdt.ui.JavaUI;
 import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
 
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.javaeditor.ASTProvider;
+import org.eclipse.jdt.internal.ui.javaeditor.ASTWarmCache;
+
 
 /**
  * Tests the AST provider.
@@ -142,6 +147,45 @@ public class ASTProviderTest extends CoreTests {
 		cu.getBuffer().save(null, true);
 	}
 
+	@Test
+	public void testWarmASTOfRecentEditor() throws Exception {
+		ASTWarmCache warmCache= ASTProvider.getASTProvider().getWarmCache();
+		if (warmCache == null)
+			return; // disabled
+
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		String str1= """
+			package test1;
+			public class E1 {
+			}
+			""";
+		ICompilationUnit cu1= pack1.createCompilationUnit("E1.java", str1, false, null);
+		String str2= """
+			package test1;
+			public class E2 {
+			}
+			""";
+		ICompilationUnit cu2= pack1.createCompilationUnit("E2.java", str2, false, null);
+
+		try {
+			JavaUI.openInEditor(cu1);
+			assertNotNull(SharedASTProviderCore.getAST(cu1, SharedASTProviderCore.WAIT_YES, null));
+			JavaUI.openInEditor(cu2);
+			assertNotNull(SharedASTProviderCore.getAST(cu2, SharedASTProviderCore.WAIT_YES, null));
+			Job.getJobManager().join(ASTWarmCache.class, null);
+
+			long hits= warmCache.getHitCount();
+			JavaUI.openInEditor(cu1);
+			assertEquals(hits + 1, warmCache.getHitCount());
+
+			CompilationUnit ast= SharedASTProviderCore.getAST(cu1, SharedASTProviderCore.WAIT_ACTIVE_ONLY, null);
+			assertNotNull(ast);
+			assertEquals(cu1, ast.getJavaElement());
+		} finally {
+			JavaPlugin.getActivePage().closeAllEditors(false);
+		}
+	}
+
 	private static String getNormalizeNumber(int number) {
 		if (number < 10) {
 			return "000" + number;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -23,6 +23,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.After;
 import org.junit.Before;
@@ -30,6 +33,7 @@ import org.junit.Test;
 
 import org.eclipse.core.runtime.NullProgressMonitor;
 
+import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IInitializer;
 import org.eclipse.jdt.core.IMember;
 import org.eclipse.jdt.core.IMethod;
@@ -523,6 +527,63 @@ public class CallHierarchyTest {
 		checkCalls(component, expectedCaller);
     }
 
+    @Test
+    public void callersOfSiblingsInParallel() throws Exception {
+        helper.createSimpleClasses();
+
+        MethodWrapper[] siblings= getSingleCallerRoot(helper.getMethod1()).getCalls(new NullProgressMonitor());
+        assertEquals(2, siblings.length);
+
+        ExecutorService executor= Executors.newFixedThreadPool(4);
+        try {
+            List<Future<MethodWrapper[]>> futures= new ArrayList<>();
+            for (int i= 0; i < 4; i++) {
+                for (MethodWrapper sibling : siblings) {
+                    futures.add(executor.submit(() -> sibling.getCalls(new NullProgressMonitor())));
+                }
+            }
+            for (int i= 0; i < futures.size(); i++) {
+                MethodWrapper sibling= siblings[i % siblings.length];
+                Collection<IMember> expectedMethods= new ArrayList<>();
+                if (sibling.getMember().equals(helper.getMethod2())) {
+                    expectedMethods.add(helper.getMethod3());
+                } else {
+                    expectedMethods.add(helper.getMethod4());
+                }
+                helper.assertCalls(expectedMethods, futures.get(i).get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void callersFromCallerIndex() throws Exception {
+        CallHierarchy callHierarchy= CallHierarchy.getDefault();
+        boolean wasEnabled= callHierarchy.isCallerIndexEnabled();
+        callHierarchy.setCallerIndexEnabled(true);
+        try {
+            helper.createSimpleClasses();
+
+            IMethod method= helper.getMethod1();
+            Collection<IMember> expectedMethods= new ArrayList<>();
+            expectedMethods.add(helper.getMethod2());
+            expectedMethods.add(helper.getMethod3());
+
+            helper.assertCalls(expectedMethods, getSingleCallerRoot(method).getCalls(new NullProgressMonitor()));
+            // answered from the index
+            helper.assertCalls(expectedMethods, getSingleCallerRoot(method).getCalls(new NullProgressMonitor()));
+
+            // a new caller invalidates the indexed callers
+            ICompilationUnit cu= helper.getType2().getPackageFragment().createCompilationUnit("C.java",
+                    "package pack2;\npublic class C {\n public void method5(pack1.A a) { a.method1(); }\n}\n", true, null);
+            expectedMethods.add(cu.getType("C").getMethod("method5", new String[] { "Qpack1.A;" }));
+            helper.assertCalls(expectedMethods, getSingleCallerRoot(method).getCalls(new NullProgressMonitor()));
+        } finally {
+            callHierarchy.setCallerIndexEnabled(wasEnabled);
+        }
+    }
+
     private void checkCalls(IMember memberToCheck, IMethod... expectedCallers) {
         MethodWrapper[] methodWrappers = CallHierarchy.getDefault().getCallerRoots(new IMember[] { memberToCheck });
         MethodWrapper[] callers = methodWrappers[0].getCalls(new NullProgressMonitor());
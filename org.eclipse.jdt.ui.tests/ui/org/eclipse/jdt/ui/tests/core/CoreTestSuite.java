@@ -35,6 +35,7 @@ CodeFormatterTest.class,
 CodeFormatterTest9.class,
 CodeFormatterMigrationTest.class,
 HierarchicalASTVisitorTest.class,
+FusedASTVisitorTest.class,
 ImportOrganizeTest.class,
 ImportOrganizeTest1d8.class,
 JavaElementLabelsTest.class,
@@ -55,6 +56,7 @@ TypeHierarchyViewPartTest.class,
 TypeRulesTest.class,
 TypeInfoTest.class,
 StringsTest.class,
+SuperTypeHierarchyCacheTest.class,
 IndentManipulationTest.class,
 SelectionHistoryTest.class,
 ASTProviderTest.class,
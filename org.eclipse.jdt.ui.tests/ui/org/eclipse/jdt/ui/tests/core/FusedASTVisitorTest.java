@@ -0,0 +1,201 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.MethodInvocation;
+
+import org.eclipse.jdt.internal.corext.dom.FusedASTVisitor;
+import org.eclipse.jdt.internal.corext.dom.GenericVisitor;
+
+public class FusedASTVisitorTest {
+
+	private static CompilationUnit fAST;
+
+	@BeforeClass
+	public static void setUp() {
+		String source= """
+			package test;
+			import java.util.*;
+			/**
+			 * Type comment with a {@link List} reference.
+			 */
+			public class E {
+			    private int fCount;
+			    /**
+			     * @param strings the strings
+			     */
+			    void foo(List<String> strings) {
+			        for (String s : strings) {
+			            if (s.isEmpty()) {
+			                fCount++;
+			            } else {
+			                System.out.println(s.length());
+			            }
+			        }
+			        Runnable r= () -> System.out.println(fCount);
+			        r.run();
+			    }
+			}
+			""";
+		ASTParser parser= ASTParser.newParser(AST.getJLSLatest());
+		parser.setKind(ASTParser.K_COMPILATION_UNIT);
+		Map<String, String> options= JavaCore.getOptions();
+		JavaCore.setComplianceOptions(JavaCore.latestSupportedJavaVersion(), options);
+		parser.setCompilerOptions(options);
+		parser.setSource(source.toCharArray());
+		fAST= (CompilationUnit) parser.createAST(null);
+	}
+
+	private static class RecordingVisitor extends GenericVisitor {
+		final List<String> fTrace= new ArrayList<>();
+		private final int fSkippedType;
+		private final boolean fSkipInPreVisit;
+
+		RecordingVisitor(boolean visitJavadocTags, int skippedType, boolean skipInPreVisit) {
+			super(visitJavadocTags);
+			fSkippedType= skippedType;
+			fSkipInPreVisit= skipInPreVisit;
+		}
+
+		@Override
+		public boolean preVisit2(ASTNode node) {
+			fTrace.add("pre " + node.getNodeType() + " " + node.getStartPosition()); //$NON-NLS-1$ //$NON-NLS-2$
+			return !fSkipInPreVisit || node.getNodeType() != fSkippedType;
+		}
+
+		@Override
+		protected boolean visitNode(ASTNode node) {
+			fTrace.add("visit " + node.getNodeType() + " " + node.getStartPosition()); //$NON-NLS-1$ //$NON-NLS-2$
+			return fSkipInPreVisit || node.getNodeType() != fSkippedType;
+		}
+
+		@Override
+		protected void endVisitNode(ASTNode node) {
+			fTrace.add("end " + node.getNodeType() + " " + node.getStartPosition()); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+
+		@Override
+		public void postVisit(ASTNode node) {
+			fTrace.add("post " + node.getNodeType() + " " + node.getStartPosition()); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	private static RecordingVisitor[] createVisitors() {
+		return new RecordingVisitor[] {
+				new RecordingVisitor(false, -1, false),
+				new RecordingVisitor(true, -1, false),
+				new RecordingVisitor(false, ASTNode.IF_STATEMENT, false),
+				new RecordingVisitor(true, ASTNode.METHOD_INVOCATION, true),
+				new RecordingVisitor(false, ASTNode.TYPE_DECLARATION, false),
+		};
+	}
+
+	@Test
+	public void sameCallsAsSeparateTraversals() {
+		RecordingVisitor[] expected= createVisitors();
+		for (RecordingVisitor visitor : expected) {
+			fAST.accept(visitor);
+		}
+
+		RecordingVisitor[] actual= createVisitors();
+		FusedASTVisitor fused= new FusedASTVisitor();
+		for (RecordingVisitor visitor : actual) {
+			fused.add(visitor);
+		}
+		fused.traverse(fAST);
+
+		for (int i= 0; i < expected.length; i++) {
+			assertTrue(expected[i].fTrace.size() > 0);
+			assertEquals("visitor " + i, expected[i].fTrace, actual[i].fTrace); //$NON-NLS-1$
+			assertNull(fused.getException(i));
+		}
+	}
+
+	@Test
+	public void interestingNodeTypesOnly() {
+		List<MethodInvocation> expected= new ArrayList<>();
+		fAST.accept(new GenericVisitor() {
+			@Override
+			public boolean visit(MethodInvocation node) {
+				expected.add(node);
+				return true;
+			}
+		});
+
+		List<MethodInvocation> actual= new ArrayList<>();
+		List<ASTNode> others= new ArrayList<>();
+		FusedASTVisitor fused= new FusedASTVisitor();
+		fused.add(new GenericVisitor() {
+			@Override
+			public boolean visit(MethodInvocation node) {
+				actual.add(node);
+				return true;
+			}
+
+			@Override
+			protected boolean visitNode(ASTNode node) {
+				others.add(node);
+				return true;
+			}
+		}, new int[] { ASTNode.METHOD_INVOCATION });
+		fused.traverse(fAST);
+
+		assertEquals(5, expected.size());
+		assertEquals(expected, actual);
+		for (ASTNode node : others) {
+			assertEquals(ASTNode.JAVADOC, node.getNodeType());
+		}
+	}
+
+	@Test
+	public void failingVisitorIsIsolated() {
+		RuntimeException failure= new IllegalStateException();
+		RecordingVisitor expected= new RecordingVisitor(false, ASTNode.IF_STATEMENT, false);
+		fAST.accept(expected);
+
+		RecordingVisitor actual= new RecordingVisitor(false, ASTNode.IF_STATEMENT, false);
+		FusedASTVisitor fused= new FusedASTVisitor();
+		fused.add(new GenericVisitor() {
+			@Override
+			public boolean visit(MethodInvocation node) {
+				throw failure;
+			}
+		});
+		fused.add(actual);
+		fused.traverse(fAST);
+
+		assertSame(failure, fused.getException(0));
+		assertNull(fused.getException(1));
+		assertEquals(expected.fTrace, actual.fTrace);
+		assertNotNull(fused.getVisitor(1));
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -33,13 +33,16 @@ import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.compiler.IProblem;
 import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.ASTVisitor;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.IMethodBinding;
 import org.eclipse.jdt.core.dom.ITypeBinding;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
 import org.eclipse.jdt.core.dom.TypeDeclaration;
 
 import org.eclipse.jdt.internal.corext.dom.Bindings;
 import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
+import org.eclipse.jdt.internal.corext.dom.MethodOverrideTable;
 
 import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
 
@@ -813,4 +816,65 @@ public class OverrideTest {
 		assertNull(Bindings.findOverriddenMethod(efoo, true));
 	}
 
+	@Test
+	public void testOverrideTable() throws Exception {
+		String str= """
+			package override.test;
+			import java.util.AbstractList;
+			import java.util.Comparator;
+			import java.util.List;
+			public class T<E> extends AbstractList<E> implements Comparator<List<E>>, Runnable {
+			    public E get(int index) { return null; }
+			    public int size() { return hashCode(0); }
+			    public boolean add(E e) { return false; }
+			    public boolean add(String s, int i) { return false; }
+			    public int compare(List<E> o1, List<E> o2) { return 0; }
+			    public void run() {}
+			    public String toString() { return null; }
+			    private int hashCode(int seed) { return seed; }
+			    static void sort() {}
+			    class Inner extends T<String> {
+			        public String get(int index) { return null; }
+			        public void run() {}
+			        void m() {}
+			    }
+			    Runnable r= new Runnable() {
+			        public void run() {}
+			        public boolean equals(Object obj) { return false; }
+			    };
+			}
+			abstract class Base {
+			    void m() {}
+			    abstract void n(Integer i);
+			}
+			class Sub extends Base implements Runnable {
+			    void m() {}
+			    void n(Integer i) {}
+			    void n(Object o) {}
+			    public void run() {}
+			}
+			""";
+		ICompilationUnit cu= fPackage.createCompilationUnit("T.java", str, false, null);
+
+		CompilationUnit astRoot= createAST(cu);
+		IProblem[] problems= astRoot.getProblems();
+		assertEquals(Arrays.toString(problems), 0, problems.length);
+
+		MethodOverrideTable table= new MethodOverrideTable();
+		int[] overriding= new int[1];
+		astRoot.accept(new ASTVisitor() {
+			@Override
+			public boolean visit(MethodDeclaration node) {
+				IMethodBinding binding= node.resolveBinding();
+				IMethodBinding expected= Bindings.findOverriddenMethod(binding, true);
+				assertSame(binding.getName(), expected, table.findOverriddenMethod(binding, true));
+				assertSame(binding.getName(), Bindings.findOverriddenMethod(binding, false), table.findOverriddenMethod(binding, false));
+				if (expected != null)
+					overriding[0]++;
+				return true;
+			}
+		});
+		assertEquals(13, overriding[0]);
+	}
+
 }
@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+
+import org.eclipse.jdt.internal.corext.util.MethodOverrideTester;
+import org.eclipse.jdt.internal.corext.util.SuperTypeHierarchyCache;
+
+import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
+
+public class SuperTypeHierarchyCacheTest {
+
+	@Rule
+	public ProjectTestSetup pts= new ProjectTestSetup();
+
+	private IJavaProject fJProject1;
+
+	private IPackageFragment fPack;
+
+	@Before
+	public void setUp() throws Exception {
+		fJProject1= pts.getProject();
+		IPackageFragmentRoot sourceFolder= JavaProjectHelper.addSourceContainer(fJProject1, "src");
+		fPack= sourceFolder.createPackageFragment("test1", false, null);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		SuperTypeHierarchyCache.setCacheLimits(64, 20000);
+		JavaProjectHelper.clear(fJProject1, pts.getDefaultClasspath());
+	}
+
+	private IType createType(String name, String superName) throws Exception {
+		String str= "package test1;\n"
+				+ "public class " + name + (superName != null ? " extends " + superName : "") + " {\n"
+				+ "}\n";
+		ICompilationUnit cu= fPack.createCompilationUnit(name + ".java", str, false, null);
+		return cu.getType(name);
+	}
+
+	@Test
+	public void testSuperTypeFoundInSubTypeHierarchy() throws Exception {
+		IType a= createType("A", null);
+		IType b= createType("B", "A");
+
+		ITypeHierarchy hierarchy= SuperTypeHierarchyCache.getTypeHierarchy(b);
+		int hits= SuperTypeHierarchyCache.getCacheHits();
+
+		assertTrue(SuperTypeHierarchyCache.hasInCache(a));
+		assertSame(hierarchy, SuperTypeHierarchyCache.getTypeHierarchy(a));
+		assertEquals(hits + 1, SuperTypeHierarchyCache.getCacheHits());
+
+		MethodOverrideTester tester= SuperTypeHierarchyCache.getMethodOverrideTester(b);
+		assertSame(tester, SuperTypeHierarchyCache.getMethodOverrideTester(b));
+	}
+
+	@Test
+	public void testEvictionByWeight() throws Exception {
+		IType a= createType("A", null);
+		IType b= createType("B", null);
+
+		// every hierarchy contains at least the type and java.lang.Object
+		SuperTypeHierarchyCache.setCacheLimits(10, 3);
+		int evictions= SuperTypeHierarchyCache.getCacheEvictions();
+
+		SuperTypeHierarchyCache.getTypeHierarchy(a);
+		SuperTypeHierarchyCache.getTypeHierarchy(b);
+
+		assertTrue(SuperTypeHierarchyCache.hasInCache(b));
+		assertFalse(SuperTypeHierarchyCache.hasInCache(a));
+		assertTrue(SuperTypeHierarchyCache.getCacheEvictions() > evictions);
+	}
+
+	@Test
+	public void testChangedHierarchyIsReplaced() throws Exception {
+		IType a= createType("A", null);
+		IType b= createType("B", null);
+
+		ITypeHierarchy hierarchy= SuperTypeHierarchyCache.getTypeHierarchy(b);
+		assertFalse(hierarchy.contains(a));
+
+		b.getCompilationUnit().getBuffer().setContents("package test1;\npublic class B extends A {\n}\n");
+		b.getCompilationUnit().save(null, true);
+
+		ITypeHierarchy replaced= SuperTypeHierarchyCache.getTypeHierarchy(b);
+		assertNotSame(hierarchy, replaced);
+		assertFalse(hierarchy.contains(a));
+		assertTrue(replaced.contains(a));
+		assertTrue(SuperTypeHierarchyCache.hasInCache(a));
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2020 IBM Corporation and others.
+ * Copyright (c) 2007, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,16 +16,23 @@ package org.eclipse.jdt.ui.tests.quickfix;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
 import java.util.Hashtable;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.junit.Rule;
 import org.junit.Test;
 
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
 
 import org.eclipse.jface.viewers.StructuredSelection;
 
+import org.eclipse.ltk.core.refactoring.Change;
+import org.eclipse.ltk.core.refactoring.RefactoringCore;
+
 import org.eclipse.ui.IWorkbenchPartSite;
 import org.eclipse.ui.PlatformUI;
 
@@ -35,11 +42,19 @@ import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IPackageFragment;
 
 import org.eclipse.jdt.internal.corext.fix.CleanUpConstants;
+import org.eclipse.jdt.internal.corext.fix.CleanUpRefactoring;
+import org.eclipse.jdt.internal.corext.fix.CleanUpUndoJournal;
 
+import org.eclipse.jdt.ui.cleanup.CleanUpContext;
 import org.eclipse.jdt.ui.cleanup.CleanUpOptions;
+import org.eclipse.jdt.ui.cleanup.CleanUpRequirements;
+import org.eclipse.jdt.ui.cleanup.ICleanUp;
+import org.eclipse.jdt.ui.cleanup.ICleanUpFix;
 import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
 
+import org.eclipse.jdt.internal.ui.JavaPlugin;
 import org.eclipse.jdt.internal.ui.actions.MultiSortMembersAction;
+import org.eclipse.jdt.internal.ui.fix.AbstractCleanUp;
 
 /**
  * @since 3.4
@@ -103,4 +118,191 @@ public class CleanUpActionTest extends CleanUpTestCase {
 		assertEquals(expected1, cu1.getBuffer().getContents());
 	}
 
+	@Test
+	public void testParallelCleanUp() throws Exception {
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("testParallelCleanUp", false, null);
+		ICompilationUnit[] cus= new ICompilationUnit[50];
+		String[] expected= new String[cus.length];
+		for (int i= 0; i < cus.length; i++) {
+			String str= "package testParallelCleanUp;\n"
+					+ "import java.util.List;\n"
+					+ "public class E" + i + " {\n"
+					+ "    public String toString() {\n"
+					+ "        return null;\n"
+					+ "    }\n"
+					+ "}\n";
+			cus[i]= pack1.createCompilationUnit("E" + i + ".java", str, false, null);
+			expected[i]= "package testParallelCleanUp;\n"
+					+ "public class E" + i + " {\n"
+					+ "    @Override\n"
+					+ "    public String toString() {\n"
+					+ "        return null;\n"
+					+ "    }\n"
+					+ "}\n";
+		}
+
+		enable(CleanUpConstants.REMOVE_UNUSED_CODE_IMPORTS);
+		enable(CleanUpConstants.ADD_MISSING_ANNOTATIONS);
+		enable(CleanUpConstants.ADD_MISSING_ANNOTATIONS_OVERRIDE);
+
+		ICleanUp[] registered= JavaPlugin.getDefault().getCleanUpRegistry().createCleanUps();
+		ICleanUp[] cleanUps= Arrays.copyOf(registered, registered.length + 1);
+		ThreadRecordingCleanUp recorder= new ThreadRecordingCleanUp();
+		cleanUps[registered.length]= recorder;
+
+		CleanUpRefactoring ref= new CleanUpRefactoring();
+		ref.setUseOptionsFromProfile(true);
+		ref.setParallelism(4);
+		performRefactoring(ref, cus, cleanUps, null);
+
+		for (int i= 0; i < cus.length; i++) {
+			assertEquals(expected[i], cus[i].getBuffer().getContents());
+		}
+		assertTrue(recorder.fThreadNames.toString(), recorder.fThreadNames.stream().anyMatch(name -> name.startsWith("Clean Up Worker-")));
+	}
+
+	private static final class ThreadRecordingCleanUp extends AbstractCleanUp {
+
+		private final Set<String> fThreadNames= ConcurrentHashMap.newKeySet();
+
+		@Override
+		public CleanUpRequirements getRequirements() {
+			return new CleanUpRequirements(true, false, false, null);
+		}
+
+		@Override
+		public String[] getStepDescriptions() {
+			return new String[] { "Record threads" };
+		}
+
+		@Override
+		public ICleanUpFix createFix(CleanUpContext context) throws CoreException {
+			fThreadNames.add(Thread.currentThread().getName());
+			return null;
+		}
+
+		@Override
+		public boolean canRunInParallel() {
+			return true;
+		}
+	}
+
+	@Test
+	public void testStreamingCleanUp() throws Exception {
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("testStreamingCleanUp", false, null);
+		ICompilationUnit[] cus= new ICompilationUnit[25];
+		String[] original= new String[cus.length];
+		String[] expected= new String[cus.length];
+		for (int i= 0; i < cus.length; i++) {
+			original[i]= "package testStreamingCleanUp;\n"
+					+ "import java.util.List;\n"
+					+ "public class E" + i + " {\n"
+					+ "}\n";
+			cus[i]= pack1.createCompilationUnit("E" + i + ".java", original[i], false, null);
+			expected[i]= "package testStreamingCleanUp;\n"
+					+ "public class E" + i + " {\n"
+					+ "}\n";
+		}
+
+		enable(CleanUpConstants.REMOVE_UNUSED_CODE_IMPORTS);
+
+		CleanUpRefactoring ref= new CleanUpRefactoring();
+		ref.setUseOptionsFromProfile(true);
+		ref.setStreamingBatchSize(10);
+		performRefactoring(ref, cus, JavaPlugin.getDefault().getCleanUpRegistry().createCleanUps(), null);
+
+		for (int i= 0; i < cus.length; i++) {
+			assertEquals(expected[i], cus[i].getBuffer().getContents());
+		}
+
+		RefactoringCore.getUndoManager().performUndo(null, new NullProgressMonitor());
+
+		for (int i= 0; i < cus.length; i++) {
+			assertEquals(original[i], cus[i].getBuffer().getContents());
+		}
+	}
+
+	@Test
+	public void testStreamingCleanUpConditionsDoNotModify() throws Exception {
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("testStreamingCleanUpConditionsDoNotModify", false, null);
+		String original= "package testStreamingCleanUpConditionsDoNotModify;\n"
+				+ "import java.util.List;\n"
+				+ "public class E {\n"
+				+ "}\n";
+		ICompilationUnit cu= pack1.createCompilationUnit("E.java", original, false, null);
+
+		enable(CleanUpConstants.REMOVE_UNUSED_CODE_IMPORTS);
+
+		CleanUpRefactoring ref= new CleanUpRefactoring();
+		ref.setUseOptionsFromProfile(true);
+		ref.setStreamingBatchSize(10);
+		ref.addCompilationUnit(cu);
+		for (ICleanUp cleanUp : JavaPlugin.getDefault().getCleanUpRegistry().createCleanUps()) {
+			ref.addCleanUp(cleanUp);
+		}
+
+		assertTrue(ref.checkAllConditions(new NullProgressMonitor()).isOK());
+		Change change= ref.createChange(new NullProgressMonitor());
+		assertEquals(original, cu.getBuffer().getContents());
+
+		Change undo= change.perform(new NullProgressMonitor());
+		try {
+			assertEquals("package testStreamingCleanUpConditionsDoNotModify;\n"
+					+ "public class E {\n"
+					+ "}\n", cu.getBuffer().getContents());
+		} finally {
+			change.dispose();
+			undo.dispose();
+		}
+	}
+
+	@Test
+	public void testUndoJournal() throws Exception {
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("testUndoJournal", false, null);
+		String original= "package testUndoJournal;\npublic class E {\n}\n";
+		String first= "package testUndoJournal;\npublic class E {\n\tint a;\n}\n";
+		String second= "package testUndoJournal;\npublic class E {\n\tint a;\n\tint bb;\n}\n";
+		ICompilationUnit cu= pack1.createCompilationUnit("E.java", original, false, null);
+
+		CleanUpUndoJournal journal= new CleanUpUndoJournal();
+		cu.getBuffer().setContents(first);
+		cu.save(null, true);
+		journal.recordContent(cu, original, first.length());
+		cu.getBuffer().setContents(second);
+		cu.save(null, true);
+		journal.recordContent(cu, first, second.length());
+
+		Change undo= journal.createUndoChange("Undo");
+		try {
+			assertTrue(undo.isValid(new NullProgressMonitor()).isOK());
+			Change redo= undo.perform(new NullProgressMonitor());
+			redo.dispose();
+		} finally {
+			undo.dispose();
+		}
+		assertEquals(original, cu.getBuffer().getContents());
+	}
+
+	@Test
+	public void testUndoJournalAfterModification() throws Exception {
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("testUndoJournalAfterModification", false, null);
+		String original= "package testUndoJournalAfterModification;\npublic class E {\n}\n";
+		String cleanedUp= "package testUndoJournalAfterModification;\npublic class E {\n\tint a;\n}\n";
+		ICompilationUnit cu= pack1.createCompilationUnit("E.java", original, false, null);
+
+		CleanUpUndoJournal journal= new CleanUpUndoJournal();
+		cu.getBuffer().setContents(cleanedUp);
+		cu.save(null, true);
+		journal.recordContent(cu, original, cleanedUp.length());
+
+		Change undo= journal.createUndoChange("Undo");
+		try {
+			assertTrue(undo.isValid(new NullProgressMonitor()).isOK());
+			cu.getBuffer().setContents("// edited\n" + cleanedUp);
+			cu.save(null, true);
+			assertTrue(undo.isValid(new NullProgressMonitor()).hasFatalError());
+		} finally {
+			undo.dispose();
+		}
+	}
 }
@@ -1250,4 +1250,66 @@ public class SaveParticipantTest extends CleanUpTestCase {
 		// Then
 		assertEquals(expected1, cu1.getBuffer().getContents());
 	}
+
+	@Test
+	public void testCleanUpChangedMembersOnly() throws Exception {
+		// Given
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		String fileOnDisk= """
+			package test1;
+			public class E1 {
+			    public int m1() {
+			        Integer i= new Integer(1);
+			        return i;
+			    }
+
+			    public int m2() {
+			        Integer i= new Integer(1);
+			        return i;
+			    }
+			}
+			"""; //
+
+		ICompilationUnit cu1= pack1.createCompilationUnit("E1.java", fileOnDisk, false, null);
+
+		String fileOnEditor= """
+			package test1;
+			public class E1 {
+			    public int m1() {
+			        Integer i= new Integer(1);
+			        return i;
+			    }
+
+			    public int m2() {
+			        Integer i= new Integer(1);
+			        return i + 1;
+			    }
+			}
+			"""; //
+
+		String expected1= """
+			package test1;
+			public class E1 {
+			    public int m1() {
+			        Integer i= new Integer(1);
+			        return i;
+			    }
+
+			    public int m2() {
+			        Integer i= Integer.valueOf(1);
+			        return i + 1;
+			    }
+			}
+			"""; //
+
+		enable(CleanUpConstants.VALUEOF_RATHER_THAN_INSTANTIATION);
+		IEclipsePreferences node= InstanceScope.INSTANCE.getNode(JavaUI.ID_PLUGIN);
+		node.put(CleanUpPreferenceUtil.SAVE_PARTICIPANT_KEY_PREFIX + CleanUpConstants.CLEANUP_ON_SAVE_CHANGES_ONLY, CleanUpOptions.TRUE);
+
+		// When
+		editCUInEditor(cu1, fileOnEditor);
+
+		// Then
+		assertEquals(expected1, cu1.getBuffer().getContents());
+	}
 }
@@ -311,8 +311,8 @@ public class CleanUpPostSaveListener implements IPostSaveListener {
 
 	@Override
 	public boolean needsChangedRegions(ICompilationUnit unit) throws CoreException {
-		ICleanUp[] cleanUps= getCleanUps(unit.getJavaProject().getProject());
-		return requiresChangedRegions(cleanUps);
+		Map<String, String> settings= getSettings(unit.getJavaProject().getProject());
+		return isRestrictedToChangedRegions(settings) || requiresChangedRegions(getCleanUps(settings));
 	}
 
 	@Override
@@ -326,7 +326,9 @@ public class CleanUpPostSaveListener implements IPostSaveListener {
 			if (!ActionUtil.isOnBuildPath(unit))
 				return;
 
-			ICleanUp[] cleanUps= getCleanUps(unit.getJavaProject().getProject());
+			Map<String, String> settings= getSettings(unit.getJavaProject().getProject());
+			ICleanUp[] cleanUps= getCleanUps(settings);
+			boolean restrictToChangedRegions= changedRegions != null && isRestrictedToChangedRegions(settings);
 
 			long oldFileValue= unit.getResource().getModificationStamp();
 			long oldDocValue= getDocumentStamp((IFile)unit.getResource(), Progress.subMonitor(monitor, 2));
@@ -371,14 +373,14 @@ public class CleanUpPostSaveListener implements IPostSaveListener {
 
     				CompilationUnit ast= null;
     				if (requiresAST(cleanUps)) {
-    					ast= createAst(unit, options, Progress.subMonitor(monitor, 10));
+    					ast= createAst(unit, options, restrictToChangedRegions, Progress.subMonitor(monitor, 10));
     				}
 
     				CleanUpContext context;
     				if (changedRegions == null) {
     					context= new CleanUpContext(unit, ast);
     				} else {
-    					context= new MultiLineCleanUpContext(unit, ast, changedRegions);
+    					context= new MultiLineCleanUpContext(unit, ast, changedRegions, restrictToChangedRegions);
     				}
 
     				ArrayList<ICleanUp> undoneCleanUps= new ArrayList<>();
@@ -402,7 +404,7 @@ public class CleanUpPostSaveListener implements IPostSaveListener {
     					PerformChangeOperation performChangeOperation= new PerformChangeOperation(change);
     					performChangeOperation.setSchedulingRule(unit.getSchedulingRule());
 
-    					if (changedRegions != null && changedRegions.length > 0 && requiresChangedRegions(cleanUps)) {
+    					if (changedRegions != null && changedRegions.length > 0 && (restrictToChangedRegions || requiresChangedRegions(cleanUps))) {
 							changedRegions= performWithChangedRegionUpdate(performChangeOperation, changedRegions, unit, Progress.subMonitor(monitor, 5));
 						} else {
 							performChangeOperation.run(Progress.subMonitor(monitor, 5));
@@ -431,8 +433,7 @@ public class CleanUpPostSaveListener implements IPostSaveListener {
 		}
 	}
 
-	private static ICleanUp[] getCleanUps(IProject project) throws CoreException {
-		ICleanUp[] cleanUps;
+	private static Map<String, String> getSettings(IProject project) throws CoreException {
 		Map<String, String> settings= CleanUpPreferenceUtil.loadSaveParticipantOptions(new ProjectScope(project));
 		if (settings == null) {
 			IEclipsePreferences contextNode= InstanceScope.INSTANCE.getNode(JavaUI.ID_PLUGIN);
@@ -442,7 +443,11 @@ public class CleanUpPostSaveListener implements IPostSaveListener {
 			}
 			throw new CoreException(new Status(IStatus.ERROR, JavaUI.ID_PLUGIN, Messages.format(FixMessages.CleanUpPostSaveListener_unknown_profile_error_message, id)));
 		}
+		return settings;
+	}
 
+	private static ICleanUp[] getCleanUps(Map<String, String> settings) {
+		ICleanUp[] cleanUps;
 		if (CleanUpOptions.TRUE.equals(settings.get(CleanUpConstants.CLEANUP_ON_SAVE_ADDITIONAL_OPTIONS))) {
 			cleanUps= getCleanUps(settings, null);
 		} else {
@@ -569,6 +574,15 @@ public class CleanUpPostSaveListener implements IPostSaveListener {
 	    return false;
     }
 
+	/*
+	 * The additional actions are restricted to the members containing changed lines, as far as the
+	 * clean ups support it. Formatting and organize imports have their own settings.
+	 */
+	private static boolean isRestrictedToChangedRegions(Map<String, String> settings) {
+		return CleanUpOptions.TRUE.equals(settings.get(CleanUpConstants.CLEANUP_ON_SAVE_ADDITIONAL_OPTIONS))
+				&& CleanUpOptions.TRUE.equals(settings.get(CleanUpConstants.CLEANUP_ON_SAVE_CHANGES_ONLY));
+	}
+
 	private boolean requiresChangedRegions(ICleanUp[] cleanUps) {
 		for (ICleanUp cleanUp : cleanUps) {
 			CleanUpRequirements requirements= cleanUp.getRequirements();
@@ -579,10 +593,15 @@ public class CleanUpPostSaveListener implements IPostSaveListener {
 		return false;
 	}
 
-	private CompilationUnit createAst(ICompilationUnit unit, Map<String, String> cleanUpOptions, IProgressMonitor monitor) {
+	/*
+	 * When only the changed regions are cleaned up, parsing the whole unit is the dominant cost. The
+	 * AST of a reconcile which is still running is then awaited rather than parsing a second time.
+	 */
+	private CompilationUnit createAst(ICompilationUnit unit, Map<String, String> cleanUpOptions, boolean waitForActiveReconcile, IProgressMonitor monitor) {
 		IJavaProject project= unit.getJavaProject();
 		if (compatibleOptions(project, cleanUpOptions)) {
-			CompilationUnit ast= SharedASTProviderCore.getAST(unit, SharedASTProviderCore.WAIT_NO, monitor);
+			SharedASTProviderCore.WAIT_FLAG waitFlag= waitForActiveReconcile ? SharedASTProviderCore.WAIT_ACTIVE_ONLY : SharedASTProviderCore.WAIT_NO;
+			CompilationUnit ast= SharedASTProviderCore.getAST(unit, waitFlag, monitor);
 			if (ast != null)
 				return ast;
 		}
@@ -14,11 +14,21 @@
 package org.eclipse.jdt.internal.corext.fix;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.swt.widgets.Display;
 
@@ -87,7 +97,9 @@ import org.eclipse.jdt.ui.cleanup.ICleanUpFix;
 
 import org.eclipse.jdt.internal.ui.IJavaStatusConstants;
 import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.fix.AbstractCleanUp;
 import org.eclipse.jdt.internal.ui.fix.IMultiFix.MultiFixContext;
+import org.eclipse.jdt.internal.ui.fix.IMultiLineCleanUp.MultiLineCleanUpContext;
 import org.eclipse.jdt.internal.ui.fix.MapCleanUpOptions;
 import org.eclipse.jdt.internal.ui.refactoring.IScheduledRefactoring;
 import org.eclipse.jdt.ui.text.java.IProblemLocation;
@@ -239,6 +251,10 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 			return fIndex + fFlushCount;
 		}
 
+		public int getFlushCount() {
+			return fFlushCount;
+		}
+
 		public String getSubTaskMessage(ICompilationUnit source) {
 			String typeName= BasicElementLabels.getFileName(source);
 			return Messages.format(FixMessages.CleanUpRefactoring_ProcessingCompilationUnit_message, new Object[] {Integer.valueOf(getIndex()), Integer.valueOf(fSize), typeName});
@@ -295,6 +311,14 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 			return fUndoneElements;
 		}
 
+		public Hashtable<ICompilationUnit, List<CleanUpChange>> getSolutions() {
+			return fSolutions;
+		}
+
+		public int getFinishedCount() {
+			return fMonitor.getFlushCount();
+		}
+
 		private ICleanUp[] calculateSolutions(CleanUpContext context, ICleanUp[] cleanUps) {
 			List<ICleanUp>result= new ArrayList<>();
 			CleanUpChange solution;
@@ -329,10 +353,12 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		private final Hashtable<ICompilationUnit, List<CleanUpChange>> fSolutions;
 		private final Hashtable<ICompilationUnit, ICompilationUnit> fWorkingCopies; // map from primary to working copy
 		private final Map<String, String> fCleanUpOptions;
+		private final ExecutorService fExecutor;
 		private final int fSize;
 		private int fIndex;
 
-		public CleanUpFixpointIterator(CleanUpTarget[] targets, ICleanUp[] cleanUps) {
+		public CleanUpFixpointIterator(CleanUpTarget[] targets, ICleanUp[] cleanUps, ExecutorService executor) {
+			fExecutor= executor;
 			fSolutions= new Hashtable<>(targets.length);
 			fWorkingCopies= new Hashtable<>();
 
@@ -382,22 +408,15 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 
 				CleanUpRefactoringProgressMonitor cuMonitor= new CleanUpRefactoringProgressMonitor(monitor, parseList.size() + sourceList.size(), fSize, fIndex);
 				CleanUpASTRequestor requestor= new CleanUpASTRequestor(fParseList, fSolutions, cuMonitor);
-				if (parseList.size() > 0) {
-					ASTBatchParser parser= new ASTBatchParser() {
-						@Override
-						protected ASTParser createParser(IJavaProject project) {
-							ASTParser result= createCleanUpASTParser();
-							result.setProject(project);
-
-							Map<String, String> options= RefactoringASTParser.getCompilerOptions(project);
-							options.putAll(fCleanUpOptions);
-							result.setCompilerOptions(options);
-							return result;
-						}
-					};
+				List<ParseListElement> undoneElements= null;
+				int finishedInParallel= 0;
+				if (fExecutor != null && parseList.size() >= 2 * MIN_PARALLEL_BATCH_SIZE) {
+					undoneElements= new ArrayList<>();
+					finishedInParallel= parseInParallel(parseList, undoneElements, cuMonitor, monitor);
+				} else if (parseList.size() > 0) {
 					try {
 						ICompilationUnit[] units= parseList.toArray(new ICompilationUnit[parseList.size()]);
-						parser.createASTs(units, new String[0], requestor, cuMonitor);
+						createBatchParser().createASTs(units, new String[0], requestor, cuMonitor);
 					} catch (FixCalculationException e) {
 						throw e.getException();
 					}
@@ -412,10 +431,142 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 						throw new OperationCanceledException();
 				}
 
-				fParseList= requestor.getUndoneElements();
-				fIndex= cuMonitor.getIndex();
+				if (undoneElements != null) {
+					undoneElements.addAll(requestor.getUndoneElements());
+					fParseList= sortByParseOrder(undoneElements);
+				} else {
+					fParseList= requestor.getUndoneElements();
+				}
+				fIndex= cuMonitor.getIndex() + finishedInParallel;
+			} finally {
+			}
+		}
+
+		private ASTBatchParser createBatchParser() {
+			return new ASTBatchParser() {
+				@Override
+				protected ASTParser createParser(IJavaProject project) {
+					ASTParser result= createCleanUpASTParser();
+					result.setProject(project);
+
+					Map<String, String> options= RefactoringASTParser.getCompilerOptions(project);
+					options.putAll(fCleanUpOptions);
+					result.setCompilerOptions(options);
+					return result;
+				}
+			};
+		}
+
+		/**
+		 * Splits the compilation units to parse into batches and runs the parse and
+		 * {@link ICleanUp#createFix(CleanUpContext)} phases of each batch on the executor. The
+		 * solutions of all batches are merged into {@link #fSolutions} once every batch is done.
+		 *
+		 * @param parseList the compilation units to parse
+		 * @param undoneElements the list to add the elements to which have to be processed in a
+		 *            next iteration
+		 * @param cuMonitor the monitor to report the progress of the batches to
+		 * @param monitor the monitor used to check for cancellation
+		 * @return the number of compilation units for which all clean ups have been applied
+		 * @throws CoreException if a clean up failed to create a fix
+		 */
+		private int parseInParallel(List<ICompilationUnit> parseList, List<ParseListElement> undoneElements, CleanUpRefactoringProgressMonitor cuMonitor, IProgressMonitor monitor) throws CoreException {
+			Map<ICompilationUnit, ParseListElement> elements= new HashMap<>();
+			for (ParseListElement element : fParseList) {
+				elements.put(element.getTarget().getCompilationUnit(), element);
+			}
+
+			int batchCount= Math.max(1, Math.min(fParallelism * 4, parseList.size() / MIN_PARALLEL_BATCH_SIZE));
+			int batchSize= (parseList.size() + batchCount - 1) / batchCount;
+
+			IProgressMonitor workerMonitor= new NullProgressMonitor() {
+				@Override
+				public boolean isCanceled() {
+					return monitor.isCanceled();
+				}
+			};
+
+			List<Future<CleanUpASTRequestor>> futures= new ArrayList<>(batchCount);
+			for (int start= 0; start < parseList.size(); start+= batchSize) {
+				List<ICompilationUnit> batch= parseList.subList(start, Math.min(start + batchSize, parseList.size()));
+				List<ParseListElement> batchElements= new ArrayList<>(batch.size());
+				for (ICompilationUnit unit : batch) {
+					batchElements.add(elements.get(unit.getPrimary()));
+				}
+				ICompilationUnit[] units= batch.toArray(new ICompilationUnit[batch.size()]);
+				futures.add(fExecutor.submit(() -> {
+					CleanUpASTRequestor batchRequestor= new CleanUpASTRequestor(batchElements, new Hashtable<>(units.length),
+							new CleanUpRefactoringProgressMonitor(workerMonitor, units.length, fSize, fIndex));
+					createBatchParser().createASTs(units, new String[0], batchRequestor, workerMonitor);
+					return batchRequestor;
+				}));
+			}
+
+			cuMonitor.beginTask("", parseList.size()); //$NON-NLS-1$
+			int finished= 0;
+			try {
+				for (Future<CleanUpASTRequestor> future : futures) {
+					CleanUpASTRequestor batchRequestor= getResult(future, monitor);
+					for (Entry<ICompilationUnit, List<CleanUpChange>> entry : batchRequestor.getSolutions().entrySet()) {
+						List<CleanUpChange> changes= fSolutions.get(entry.getKey());
+						if (changes == null) {
+							fSolutions.put(entry.getKey(), entry.getValue());
+						} else {
+							changes.addAll(entry.getValue());
+						}
+					}
+					undoneElements.addAll(batchRequestor.getUndoneElements());
+					finished+= batchRequestor.getFinishedCount();
+					cuMonitor.worked(batchRequestor.getFinishedCount() + batchRequestor.getUndoneElements().size());
+				}
 			} finally {
+				for (Future<CleanUpASTRequestor> future : futures) {
+					future.cancel(true);
+				}
+			}
+			return finished;
+		}
+
+		private CleanUpASTRequestor getResult(Future<CleanUpASTRequestor> future, IProgressMonitor monitor) throws CoreException {
+			while (true) {
+				if (monitor.isCanceled())
+					throw new OperationCanceledException();
+				try {
+					return future.get(100, TimeUnit.MILLISECONDS);
+				} catch (TimeoutException e) {
+					// check for cancellation again
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new OperationCanceledException();
+				} catch (ExecutionException e) {
+					Throwable cause= e.getCause();
+					if (cause instanceof FixCalculationException)
+						throw ((FixCalculationException) cause).getException();
+					if (cause instanceof RuntimeException)
+						throw (RuntimeException) cause;
+					if (cause instanceof Error)
+						throw (Error) cause;
+					throw new CoreException(new Status(IStatus.ERROR, JavaPlugin.getPluginId(), IJavaStatusConstants.INTERNAL_ERROR, cause.getLocalizedMessage(), cause));
+				}
+			}
+		}
+
+		/*
+		 * Batches complete in any order, keep the order of the targets stable such that
+		 * the next iteration processes the same work as in the sequential mode.
+		 */
+		private List<ParseListElement> sortByParseOrder(List<ParseListElement> undoneElements) {
+			Map<CleanUpTarget, ParseListElement> byTarget= new HashMap<>();
+			for (ParseListElement element : undoneElements) {
+				byTarget.put(element.getTarget(), element);
 			}
+			List<ParseListElement> result= new ArrayList<>(undoneElements.size());
+			for (ParseListElement element : fParseList) {
+				ParseListElement undone= byTarget.get(element.getTarget());
+				if (undone != null)
+					result.add(undone);
+			}
+			return result;
 		}
 
 		public void dispose() {
@@ -494,6 +645,38 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		}
 	}
 
+	/**
+	 * The change created in streaming mode. Performing it cleans up the compilation units in
+	 * batches and applies the changes of each batch, see
+	 * {@link CleanUpRefactoring#performStreaming(IProgressMonitor)}.
+	 */
+	private final class StreamedCleanUpChange extends Change {
+
+		@Override
+		public String getName() {
+			return CleanUpRefactoring.this.getName();
+		}
+
+		@Override
+		public void initializeValidationData(IProgressMonitor pm) {
+		}
+
+		@Override
+		public RefactoringStatus isValid(IProgressMonitor pm) throws CoreException, OperationCanceledException {
+			return new RefactoringStatus();
+		}
+
+		@Override
+		public Change perform(IProgressMonitor pm) throws CoreException {
+			return performStreaming(pm);
+		}
+
+		@Override
+		public Object getModifiedElement() {
+			return null;
+		}
+	}
+
 	private static final RefactoringTickProvider CLEAN_UP_REFACTORING_TICK_PROVIDER= new RefactoringTickProvider(1, 1, 0, 0);
 
 	/**
@@ -502,6 +685,35 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 	 */
 	private static final int SLOW_CLEAN_UP_THRESHOLD= 2000;
 
+	/**
+	 * The default number of threads used to parse compilation units and to create fixes. Can be
+	 * set with the system property <code>org.eclipse.jdt.ui.cleanup.parallelism</code>, the
+	 * default of 1 processes the compilation units sequentially.
+	 */
+	private static final int DEFAULT_PARALLELISM= Math.max(1, Integer.getInteger("org.eclipse.jdt.ui.cleanup.parallelism", 1).intValue()); //$NON-NLS-1$
+
+	/**
+	 * The minimal number of compilation units handed to one worker thread. Smaller batches do not
+	 * amortize the startup cost of the batch parser.
+	 */
+	private static final int MIN_PARALLEL_BATCH_SIZE= 10;
+
+	/**
+	 * Whether the clean ups applied to the same AST share a single traversal of it, see
+	 * {@link CleanUpASTTraversal}. Can be switched off with the system property
+	 * <code>org.eclipse.jdt.ui.cleanup.disableSharedTraversal</code>.
+	 */
+	private static final boolean SHARED_TRAVERSAL= !Boolean.getBoolean("org.eclipse.jdt.ui.cleanup.disableSharedTraversal"); //$NON-NLS-1$
+
+	/**
+	 * Preference key for the batch size of the streaming mode used when a clean up runs without
+	 * a preview, see {@link #setStreamingBatchSize(int)}. The default of <code>0</code>, set in
+	 * {@link org.eclipse.jdt.internal.ui.JavaUIPreferenceInitializer}, disables the streaming mode.
+	 * There is no preference page for it, it can be set in a <code>plugin_customization.ini</code>
+	 * with <code>org.eclipse.jdt.ui/org.eclipse.jdt.ui.cleanup.streamingBatchSize=500</code>.
+	 */
+	public static final String PREF_STREAMING_BATCH_SIZE= "org.eclipse.jdt.ui.cleanup.streamingBatchSize"; //$NON-NLS-1$
+
 	private final List<ICleanUp> fCleanUps;
 	private final Hashtable<IJavaProject, List<CleanUpTarget>> fProjects;
 	private Change fChange;
@@ -510,6 +722,10 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 
 	private boolean fUseOptionsFromProfile;
 
+	private int fParallelism;
+
+	private int fStreamingBatchSize;
+
 	public CleanUpRefactoring() {
 		this(FixMessages.CleanUpRefactoring_Refactoring_name);
 	}
@@ -519,12 +735,56 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		fCleanUps= new ArrayList<>();
 		fProjects= new Hashtable<>();
 		fUseOptionsFromProfile= false;
+		fParallelism= DEFAULT_PARALLELISM;
 	}
 
 	public void setUseOptionsFromProfile(boolean enabled) {
 		fUseOptionsFromProfile= enabled;
 	}
 
+	/**
+	 * Sets the maximal number of threads used to parse the compilation units of a project and to
+	 * create the fixes for them. The projects themselves are still processed one after the other,
+	 * since the pre and post conditions of the clean ups are checked per project. The compilation
+	 * units of a project are processed sequentially if any clean up enabled by the options for
+	 * the project is not an {@link AbstractCleanUp} which {@link AbstractCleanUp#canRunInParallel()
+	 * can run in parallel}.
+	 *
+	 * @param parallelism the number of worker threads, <code>1</code> to process all compilation
+	 *            units on the calling thread
+	 */
+	public void setParallelism(int parallelism) {
+		fParallelism= Math.max(1, parallelism);
+	}
+
+	public int getParallelism() {
+		return fParallelism;
+	}
+
+	/**
+	 * Enables the streaming mode. In streaming mode the change returned by
+	 * {@link #createChange(IProgressMonitor)} cleans up the compilation units of each project in
+	 * batches of <code>batchSize</code> units when performed and applies the changes of a batch as
+	 * soon as the batch is done. The information required to undo the applied changes is written
+	 * to a {@link CleanUpUndoJournal} on disk, such that the memory needed does only depend on the
+	 * batch size and not on the number of compilation units cleaned up.
+	 * <p>
+	 * Since the changes are only computed when the change is performed, the refactoring cannot
+	 * be previewed in this mode. Checking the final conditions only checks the pre and post
+	 * conditions of the clean ups.
+	 * </p>
+	 *
+	 * @param batchSize the number of compilation units per batch, or <code>0</code> to disable
+	 *            the streaming mode
+	 */
+	public void setStreamingBatchSize(int batchSize) {
+		fStreamingBatchSize= Math.max(0, batchSize);
+	}
+
+	public int getStreamingBatchSize() {
+		return fStreamingBatchSize;
+	}
+
 	public void addCompilationUnit(ICompilationUnit unit) {
 		addCleanUpTarget(new CleanUpTarget(unit));
 	}
@@ -625,6 +885,8 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 
 		ICleanUp[] cleanUps= getCleanUps();
 		pm.beginTask("", cuCount * 2 * fCleanUps.size() + 4 * cleanUps.length); //$NON-NLS-1$
+		boolean streaming= fStreamingBatchSize > 0;
+		ExecutorService executor= streaming ? null : createExecutor(cuCount);
 		try {
 			DynamicValidationStateChange change= new DynamicValidationStateChange(getName());
 			change.setSchedulingRule(getSchedulingRule());
@@ -640,13 +902,20 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 				result.merge(checkPreConditions(project, targets, Progress.subMonitor(pm, 3 * cleanUps.length)));
 				if (result.hasFatalError())
 					return result;
-				Change[] changes= cleanUpProject(project, targets, cleanUps, pm);
+				if (!streaming) {
+					Change[] changes= cleanUpProject(project, targets, cleanUps, canRunInParallel(cleanUps) ? executor : null, pm);
+					for (Change c : changes) {
+						change.add(c);
+					}
+				}
 				result.merge(checkPostConditions(Progress.subMonitor(pm, cleanUps.length)));
 				if (result.hasFatalError())
 					return result;
-				for (Change c : changes) {
-					change.add(c);
-				}
+			}
+
+			if (streaming) {
+				fChange= new StreamedCleanUpChange();
+				return result;
 			}
 			fChange= change;
 
@@ -654,12 +923,172 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 			findFilesToBeModified(change, files);
 			result.merge(Checks.validateModifiesFiles(files.toArray(new IFile[files.size()]), getValidationContext(), pm));
 		} finally {
+			if (executor != null)
+				executor.shutdownNow();
 			pm.done();
 		}
 
 		return result;
 	}
 
+	/*
+	 * Performs the change created in streaming mode. Runs the clean ups project by project like
+	 * checkFinalConditions does, but applies the changes of each batch right away. Fails if a
+	 * pre or post condition has become fatal since the final conditions have been checked, the
+	 * batches applied so far are undone in that case.
+	 */
+	private Change performStreaming(IProgressMonitor pm) throws CoreException {
+		if (pm == null)
+			pm= new NullProgressMonitor();
+
+		int cuCount= getCleanUpTargetsSize();
+		ICleanUp[] cleanUps= getCleanUps();
+		pm.beginTask("", cuCount * 2 * cleanUps.length + 4 * cleanUps.length); //$NON-NLS-1$
+		ExecutorService executor= createExecutor(cuCount);
+		CleanUpUndoJournal journal= new CleanUpUndoJournal();
+		try {
+			for (Entry<IJavaProject, List<CleanUpTarget>> entry : fProjects.entrySet()) {
+				IJavaProject project= entry.getKey();
+				List<CleanUpTarget> targetsList= entry.getValue();
+				CleanUpTarget[] targets= targetsList.toArray(new CleanUpTarget[targetsList.size()]);
+				RefactoringStatus status= new RefactoringStatus();
+				if (fUseOptionsFromProfile)
+					status.merge(setOptionsFromProfile(project, cleanUps));
+				if (!status.hasFatalError())
+					status.merge(checkPreConditions(project, targets, Progress.subMonitor(pm, 3 * cleanUps.length)));
+				if (!status.hasFatalError()) {
+					status.merge(cleanUpProjectStreaming(project, targets, cleanUps, canRunInParallel(cleanUps) ? executor : null, journal, pm));
+					status.merge(checkPostConditions(Progress.subMonitor(pm, cleanUps.length)));
+				}
+				if (status.hasFatalError())
+					throw new CoreException(status.getEntryMatchingSeverity(RefactoringStatus.FATAL).toStatus());
+			}
+
+			if (journal.isEmpty()) {
+				journal.dispose();
+				journal= null;
+				return null;
+			}
+			Change undo= journal.createUndoChange(getName());
+			journal= null;
+			return undo;
+		} finally {
+			if (journal != null)
+				rollback(journal);
+			if (executor != null)
+				executor.shutdownNow();
+			pm.done();
+		}
+	}
+
+	/*
+	 * Cleans up the targets of the project in batches and applies the changes of each batch
+	 * immediately, recording their undo edits in the journal.
+	 */
+	private RefactoringStatus cleanUpProjectStreaming(IJavaProject project, CleanUpTarget[] targets, ICleanUp[] cleanUps, ExecutorService executor, CleanUpUndoJournal journal, IProgressMonitor monitor) throws CoreException {
+		RefactoringStatus result= new RefactoringStatus();
+		for (int start= 0; start < targets.length; start+= fStreamingBatchSize) {
+			CleanUpTarget[] batch= Arrays.copyOfRange(targets, start, Math.min(start + fStreamingBatchSize, targets.length));
+			Change[] changes= cleanUpProject(project, batch, cleanUps, executor, monitor);
+
+			List<IResource> files= new ArrayList<>();
+			for (Change change : changes) {
+				if (change instanceof MultiStateCompilationUnitChange) {
+					files.add(((MultiStateCompilationUnitChange)change).getCompilationUnit().getCorrespondingResource());
+				} else if (change instanceof CompilationUnitChange) {
+					files.add(((CompilationUnitChange)change).getCompilationUnit().getCorrespondingResource());
+				}
+			}
+			result.merge(Checks.validateModifiesFiles(files.toArray(new IFile[files.size()]), getValidationContext(), new NullProgressMonitor()));
+			if (result.hasFatalError())
+				return result;
+
+			for (Change change : changes) {
+				applyChange(change, journal);
+			}
+		}
+		return result;
+	}
+
+	private static void applyChange(Change change, CleanUpUndoJournal journal) throws CoreException {
+		IProgressMonitor monitor= new NullProgressMonitor();
+		change.initializeValidationData(monitor);
+		try {
+			Change undo;
+			if (change instanceof CleanUpChange) {
+				CleanUpChange cleanUpChange= (CleanUpChange) change;
+				cleanUpChange.setSaveMode(TextFileChange.KEEP_SAVE_STATE);
+				undo= cleanUpChange.perform(monitor);
+				journal.record(cleanUpChange.getCompilationUnit(), cleanUpChange.getUndoEdit());
+			} else {
+				MultiStateCompilationUnitChange multiChange= (MultiStateCompilationUnitChange) change;
+				ICompilationUnit unit= multiChange.getCompilationUnit();
+				String original= unit.getBuffer().getContents();
+				multiChange.setSaveMode(TextFileChange.KEEP_SAVE_STATE);
+				undo= multiChange.perform(monitor);
+				journal.recordContent(unit, original, unit.getBuffer().getLength());
+			}
+			if (undo != null)
+				undo.dispose();
+		} finally {
+			change.dispose();
+		}
+	}
+
+	/*
+	 * The streaming change failed after some batches have been applied already, restore them.
+	 */
+	private static void rollback(CleanUpUndoJournal journal) {
+		if (journal.isEmpty()) {
+			journal.dispose();
+			return;
+		}
+		try {
+			Change undo= journal.createUndoChange(FixMessages.CleanUpRefactoring_undo_journal_change_name);
+			try {
+				Change redo= undo.perform(new NullProgressMonitor());
+				if (redo != null)
+					redo.dispose();
+			} finally {
+				undo.dispose();
+			}
+		} catch (CoreException e) {
+			JavaPlugin.log(e);
+		}
+	}
+
+	/*
+	 * The threads of the executor are only started when the first batch is submitted, which does
+	 * not happen if the enabled clean ups cannot run in parallel.
+	 */
+	private ExecutorService createExecutor(int cuCount) {
+		int threads= Math.min(fParallelism, cuCount / MIN_PARALLEL_BATCH_SIZE);
+		if (threads <= 1)
+			return null;
+
+		AtomicInteger threadCount= new AtomicInteger();
+		return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), r -> {
+			Thread thread= new Thread(r, "Clean Up Worker-" + threadCount.incrementAndGet()); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/*
+	 * Must be called after the options have been set, disabled clean ups have no steps, see
+	 * CleanUpRegistry#ensureCleanUpsRegistered.
+	 */
+	private static boolean canRunInParallel(ICleanUp[] cleanUps) {
+		for (ICleanUp cleanUp : cleanUps) {
+			String[] steps= cleanUp.getStepDescriptions();
+			if (steps == null || steps.length == 0)
+				continue;
+			if (!(cleanUp instanceof AbstractCleanUp) || !((AbstractCleanUp) cleanUp).canRunInParallel())
+				return false;
+		}
+		return true;
+	}
+
 	private void findFilesToBeModified(CompositeChange change, List<IResource> result) throws JavaModelException {
 		for (Change child : change.getChildren()) {
 			if (child instanceof CompositeChange) {
@@ -672,8 +1101,8 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		}
 	}
 
-	private Change[] cleanUpProject(IJavaProject project, CleanUpTarget[] targets, ICleanUp[] cleanUps, IProgressMonitor monitor) throws CoreException {
-		CleanUpFixpointIterator iter= new CleanUpFixpointIterator(targets, cleanUps);
+	private Change[] cleanUpProject(IJavaProject project, CleanUpTarget[] targets, ICleanUp[] cleanUps, ExecutorService executor, IProgressMonitor monitor) throws CoreException {
+		CleanUpFixpointIterator iter= new CleanUpFixpointIterator(targets, cleanUps, executor);
 
 		IProgressMonitor subMonitor= Progress.subMonitor(monitor, 2 * targets.length * cleanUps.length);
 		subMonitor.beginTask("", targets.length); //$NON-NLS-1$
@@ -759,6 +1188,42 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		if (cleanUps.length == 0)
 			return null;
 
+		CleanUpASTTraversal traversal= null;
+		if (SHARED_TRAVERSAL && context.getAST() != null)
+			traversal= installTraversal(context, cleanUps);
+
+		try {
+			return mergeFixes(context, cleanUps, undoneCleanUps, slowCleanUps);
+		} finally {
+			if (traversal != null)
+				traversal.dispose();
+		}
+	}
+
+	/**
+	 * Attaches a shared traversal to the AST of <code>context</code> and registers the finders of
+	 * the clean ups which are applied to this AST, that is all clean ups up to the next one which
+	 * requires a fresh AST. If the context asks for it, the traversal is restricted to the changed
+	 * regions.
+	 *
+	 * @param context the context with the AST to clean up
+	 * @param cleanUps the clean ups to apply
+	 * @return the traversal
+	 */
+	private static CleanUpASTTraversal installTraversal(CleanUpContext context, ICleanUp[] cleanUps) {
+		CleanUpASTTraversal traversal= CleanUpASTTraversal.install(context.getAST());
+		if (context instanceof MultiLineCleanUpContext && ((MultiLineCleanUpContext) context).isRestrictedToRegions())
+			traversal.restrictTo(((MultiLineCleanUpContext) context).getRegions());
+		int i= 0;
+		do {
+			if (cleanUps[i] instanceof AbstractCleanUp)
+				((AbstractCleanUp) cleanUps[i]).registerFinders(context, traversal);
+			i++;
+		} while (i < cleanUps.length && !cleanUps[i].getRequirements().requiresFreshAST());
+		return traversal;
+	}
+
+	private static CleanUpChange mergeFixes(CleanUpContext context, ICleanUp[] cleanUps, List<ICleanUp> undoneCleanUps, HashSet<ICleanUp> slowCleanUps) throws CoreException {
 		CleanUpChange solution= null;
 		int i= 0;
 		do {
@@ -0,0 +1,381 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.fix;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+
+import org.eclipse.core.resources.IResource;
+
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.ITextFileBuffer;
+import org.eclipse.core.filebuffers.ITextFileBufferManager;
+import org.eclipse.core.filebuffers.LocationKind;
+
+import org.eclipse.text.edits.DeleteEdit;
+import org.eclipse.text.edits.InsertEdit;
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.ReplaceEdit;
+import org.eclipse.text.edits.TextEdit;
+
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
+
+import org.eclipse.ltk.core.refactoring.Change;
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+import org.eclipse.ltk.core.refactoring.TextFileChange;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.JavaCore;
+
+import org.eclipse.jdt.internal.core.manipulation.util.BasicElementLabels;
+import org.eclipse.jdt.internal.corext.fix.CleanUpRefactoring.CleanUpChange;
+import org.eclipse.jdt.internal.corext.util.Messages;
+
+import org.eclipse.jdt.internal.ui.IJavaStatusConstants;
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
+/**
+ * An on-disk journal of the edits required to undo changes which have already been applied to
+ * compilation units. Used by the streaming mode of the {@link CleanUpRefactoring} such that the
+ * undo information of a workspace wide clean up does not have to be kept in memory.
+ * <p>
+ * Each entry consists of the handle identifier of a compilation unit, the modification stamp the
+ * unit had after the change and the deflated, non overlapping replacements which restore its
+ * previous content. Only the file offsets of the entries are kept in memory, such that the entries
+ * can be replayed in reverse order.
+ * </p>
+ *
+ * @since 3.33
+ */
+public class CleanUpUndoJournal {
+
+	private static final String JOURNAL_FOLDER= "cleanup-undo"; //$NON-NLS-1$
+
+	private final File fFile;
+	private DataOutputStream fOutput;
+	private long fSize;
+	private final List<Long> fEntryOffsets= new ArrayList<>();
+
+	public CleanUpUndoJournal() throws CoreException {
+		File folder= JavaPlugin.getDefault().getStateLocation().append(JOURNAL_FOLDER).toFile();
+		try {
+			folder.mkdirs();
+			fFile= File.createTempFile("undo", ".journal", folder); //$NON-NLS-1$ //$NON-NLS-2$
+			fFile.deleteOnExit();
+			fOutput= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(fFile)));
+		} catch (IOException e) {
+			throw createException(folder, e);
+		}
+	}
+
+	/**
+	 * Records the edit which undoes a change already applied to <code>unit</code>, together with
+	 * the current modification stamp of <code>unit</code>.
+	 *
+	 * @param unit the changed compilation unit
+	 * @param undo the undo edit as returned by the applied change
+	 * @throws CoreException if the journal could not be written
+	 */
+	public void record(ICompilationUnit unit, TextEdit undo) throws CoreException {
+		List<TextEdit> replacements= new ArrayList<>();
+		collectReplacements(undo, replacements);
+		long stamp= getModificationStamp(unit);
+		try {
+			ByteArrayOutputStream bytes= new ByteArrayOutputStream();
+			try (DataOutputStream edits= new DataOutputStream(new DeflaterOutputStream(bytes))) {
+				edits.writeInt(replacements.size());
+				for (TextEdit edit : replacements) {
+					edits.writeInt(edit.getOffset());
+					edits.writeInt(edit.getLength());
+					writeString(edits, getText(edit));
+				}
+			}
+			ByteArrayOutputStream entry= new ByteArrayOutputStream(bytes.size() + 256);
+			DataOutputStream header= new DataOutputStream(entry);
+			header.writeUTF(unit.getHandleIdentifier());
+			header.writeLong(stamp);
+			header.writeInt(bytes.size());
+			bytes.writeTo(entry);
+			entry.writeTo(fOutput);
+			fEntryOffsets.add(Long.valueOf(fSize));
+			fSize+= entry.size();
+		} catch (IOException e) {
+			throw createException(fFile, e);
+		}
+	}
+
+	/**
+	 * Records the content <code>unit</code> had before a change has been applied to it. Used for
+	 * changes which do not expose an undo edit.
+	 *
+	 * @param unit the changed compilation unit
+	 * @param originalContent the content before the change
+	 * @param currentLength the length of the content after the change
+	 * @throws CoreException if the journal could not be written
+	 */
+	public void recordContent(ICompilationUnit unit, String originalContent, int currentLength) throws CoreException {
+		record(unit, new ReplaceEdit(0, currentLength, originalContent));
+	}
+
+	public boolean isEmpty() {
+		return fEntryOffsets.isEmpty();
+	}
+
+	/**
+	 * Closes the journal for writing and returns a change which restores the recorded contents
+	 * when performed. The returned change owns the journal and deletes it when disposed.
+	 *
+	 * @param name the name of the undo change
+	 * @return the undo change
+	 * @throws CoreException if the journal could not be closed
+	 */
+	public Change createUndoChange(String name) throws CoreException {
+		close();
+		return new JournalUndoChange(name, this);
+	}
+
+	/**
+	 * Deletes the journal from disk.
+	 */
+	public void dispose() {
+		try {
+			close();
+		} catch (CoreException e) {
+			JavaPlugin.log(e);
+		}
+		fFile.delete();
+	}
+
+	private void close() throws CoreException {
+		if (fOutput == null)
+			return;
+
+		try {
+			fOutput.close();
+		} catch (IOException e) {
+			throw createException(fFile, e);
+		} finally {
+			fOutput= null;
+		}
+	}
+
+	/*
+	 * The modification stamp of the document of the unit's file buffer, which the file takes
+	 * over when the buffer is saved, see CleanUpPostSaveListener.
+	 */
+	private static long getModificationStamp(ICompilationUnit unit) throws CoreException {
+		IResource resource= unit.getResource();
+		if (resource == null)
+			return IResource.NULL_STAMP;
+
+		ITextFileBufferManager manager= FileBuffers.getTextFileBufferManager();
+		IPath path= resource.getFullPath();
+		manager.connect(path, LocationKind.IFILE, new NullProgressMonitor());
+		try {
+			ITextFileBuffer buffer= manager.getTextFileBuffer(path, LocationKind.IFILE);
+			IDocument document= buffer.getDocument();
+			if (document instanceof IDocumentExtension4)
+				return ((IDocumentExtension4) document).getModificationStamp();
+			return resource.getModificationStamp();
+		} finally {
+			manager.disconnect(path, LocationKind.IFILE, new NullProgressMonitor());
+		}
+	}
+
+	private static void writeString(DataOutputStream output, String text) throws IOException {
+		byte[] bytes= text.getBytes(StandardCharsets.UTF_8);
+		output.writeInt(bytes.length);
+		output.write(bytes);
+	}
+
+	private static String readString(DataInputStream input) throws IOException {
+		byte[] bytes= new byte[input.readInt()];
+		input.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static void collectReplacements(TextEdit edit, List<TextEdit> result) {
+		if (edit instanceof ReplaceEdit || edit instanceof InsertEdit || edit instanceof DeleteEdit) {
+			result.add(edit);
+		}
+		for (TextEdit child : edit.getChildren()) {
+			collectReplacements(child, result);
+		}
+	}
+
+	private static String getText(TextEdit edit) {
+		if (edit instanceof ReplaceEdit replace)
+			return replace.getText();
+		if (edit instanceof InsertEdit insert)
+			return insert.getText();
+		return ""; //$NON-NLS-1$
+	}
+
+	private static CoreException createException(File file, IOException e) {
+		return new CoreException(new Status(IStatus.ERROR, JavaPlugin.getPluginId(), IJavaStatusConstants.INTERNAL_ERROR,
+				Messages.format(FixMessages.CleanUpRefactoring_undo_journal_error, file.getAbsolutePath()), e));
+	}
+
+	/**
+	 * Replays a journal, the youngest entry first. Each entry is read and applied on its own, the
+	 * edits which undo the replay are recorded in a new journal, which becomes the redo change.
+	 */
+	private static final class JournalUndoChange extends Change {
+
+		private final String fName;
+		private CleanUpUndoJournal fJournal;
+
+		public JournalUndoChange(String name, CleanUpUndoJournal journal) {
+			fName= name;
+			fJournal= journal;
+		}
+
+		@Override
+		public String getName() {
+			return fName;
+		}
+
+		@Override
+		public void initializeValidationData(IProgressMonitor pm) {
+		}
+
+		/*
+		 * The recorded offsets are only valid for the content a unit had after its youngest entry
+		 * has been recorded, so the unit must not have been modified since.
+		 */
+		@Override
+		public RefactoringStatus isValid(IProgressMonitor pm) throws CoreException, OperationCanceledException {
+			RefactoringStatus result= new RefactoringStatus();
+			if (fJournal == null || !fJournal.fFile.isFile()) {
+				result.addFatalError(Messages.format(FixMessages.CleanUpRefactoring_undo_journal_error, fJournal == null ? fName : fJournal.fFile.getAbsolutePath()));
+				return result;
+			}
+
+			List<Long> offsets= fJournal.fEntryOffsets;
+			SubMonitor monitor= SubMonitor.convert(pm, offsets.size());
+			Set<String> checked= new HashSet<>();
+			try (RandomAccessFile input= new RandomAccessFile(fJournal.fFile, "r")) { //$NON-NLS-1$
+				for (int i= offsets.size() - 1; i >= 0; i--) {
+					input.seek(offsets.get(i).longValue());
+					String handle= input.readUTF();
+					long stamp= input.readLong();
+					monitor.worked(1);
+					if (!checked.add(handle))
+						continue;
+
+					IJavaElement element= JavaCore.create(handle);
+					if (!(element instanceof ICompilationUnit) || !element.exists())
+						continue;
+					if (getModificationStamp((ICompilationUnit) element) != stamp) {
+						result.addFatalError(Messages.format(FixMessages.CleanUpRefactoring_undo_journal_modified, BasicElementLabels.getFileName((ICompilationUnit) element)));
+						return result;
+					}
+				}
+			} catch (IOException e) {
+				throw createException(fJournal.fFile, e);
+			}
+			return result;
+		}
+
+		@Override
+		public Change perform(IProgressMonitor pm) throws CoreException {
+			List<Long> offsets= fJournal.fEntryOffsets;
+			SubMonitor monitor= SubMonitor.convert(pm, offsets.size());
+			CleanUpUndoJournal redo= new CleanUpUndoJournal();
+			try (RandomAccessFile input= new RandomAccessFile(fJournal.fFile, "r")) { //$NON-NLS-1$
+				for (int i= offsets.size() - 1; i >= 0; i--) {
+					input.seek(offsets.get(i).longValue());
+					performEntry(input, redo, monitor.split(1));
+				}
+			} catch (EOFException e) {
+				// journal was truncated, the entries recorded before the truncated one are not restored
+				JavaPlugin.log(e);
+			} catch (IOException e) {
+				redo.dispose();
+				throw createException(fJournal.fFile, e);
+			}
+			return redo.createUndoChange(fName);
+		}
+
+		private void performEntry(RandomAccessFile input, CleanUpUndoJournal redo, IProgressMonitor monitor) throws IOException, CoreException {
+			String handle= input.readUTF();
+			input.readLong(); // checked in isValid
+			byte[] bytes= new byte[input.readInt()];
+			input.readFully(bytes);
+
+			MultiTextEdit edit= new MultiTextEdit();
+			try (DataInputStream edits= new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(bytes)))) {
+				int count= edits.readInt();
+				for (int i= 0; i < count; i++) {
+					int offset= edits.readInt();
+					int length= edits.readInt();
+					edit.addChild(new ReplaceEdit(offset, length, readString(edits)));
+				}
+			}
+
+			IJavaElement element= JavaCore.create(handle);
+			if (!(element instanceof ICompilationUnit) || !element.exists())
+				return;
+
+			ICompilationUnit unit= (ICompilationUnit) element;
+			CleanUpChange change= new CleanUpChange(fName, unit);
+			change.setEdit(edit);
+			change.setSaveMode(TextFileChange.KEEP_SAVE_STATE);
+			change.initializeValidationData(monitor);
+			change.perform(monitor);
+			if (change.getUndoEdit() != null)
+				redo.record(unit, change.getUndoEdit());
+			change.dispose();
+		}
+
+		@Override
+		public Object getModifiedElement() {
+			return null;
+		}
+
+		@Override
+		public void dispose() {
+			if (fJournal != null) {
+				fJournal.dispose();
+				fJournal= null;
+			}
+		}
+	}
+}
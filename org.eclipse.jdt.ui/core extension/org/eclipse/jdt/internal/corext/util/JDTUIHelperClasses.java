@@ -26,6 +26,7 @@ import org.eclipse.jdt.internal.corext.dom.ASTNodes;
 import org.eclipse.jdt.internal.corext.dom.Bindings;
 import org.eclipse.jdt.internal.corext.dom.BodyDeclarationRewrite;
 import org.eclipse.jdt.internal.corext.dom.DimensionRewrite;
+import org.eclipse.jdt.internal.corext.dom.FusedASTVisitor;
 import org.eclipse.jdt.internal.corext.dom.GenericVisitor;
 import org.eclipse.jdt.internal.corext.dom.HierarchicalASTVisitor;
 import org.eclipse.jdt.internal.corext.dom.ModifierRewrite;
@@ -111,6 +112,7 @@ import org.eclipse.jdt.internal.corext.refactoring.util.JavaElementUtil;
  * </p>
  * <ul>
  * <li>{@link GenericVisitor}</li>
+ * <li>{@link FusedASTVisitor}</li>
  * <li>{@link HierarchicalASTVisitor}</li>
  * <li>{@link NecessaryParenthesesChecker}</li>
  * </ul>
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -25,6 +25,8 @@ import org.eclipse.ui.PlatformUI;
 
 import org.eclipse.ui.editors.text.EditorsUI;
 
+import org.eclipse.jdt.internal.corext.fix.CleanUpRefactoring;
+
 import org.eclipse.jdt.ui.PreferenceConstants;
 
 public class JavaUIPreferenceInitializer extends AbstractPreferenceInitializer {
@@ -36,6 +38,9 @@ public class JavaUIPreferenceInitializer extends AbstractPreferenceInitializer {
 		EditorsUI.useAnnotationsPreferencePage(store);
 		EditorsUI.useQuickDiffPreferencePage(store);
 		PreferenceConstants.initializeDefaultValues(store);
+
+		// no preference page, see CleanUpRefactoring#PREF_STREAMING_BATCH_SIZE
+		store.setDefault(CleanUpRefactoring.PREF_STREAMING_BATCH_SIZE, 0);
 	}
 
 	public static void setThemeBasedPreferences(IPreferenceStore store, boolean fireEvent) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,10 +15,15 @@
 package org.eclipse.jdt.internal.ui.callhierarchy;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.swt.widgets.Display;
 
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 
 import org.eclipse.jface.operation.IRunnableContext;
 import org.eclipse.jface.operation.IRunnableWithProgress;
@@ -66,6 +71,7 @@ public class CallHierarchyContentProvider implements ITreeContentProvider {
 
     private DeferredTreeContentManager fManager;
     private CallHierarchyViewPart fPart;
+    private final AtomicInteger fFetchCount= new AtomicInteger();
 
     private static class MethodWrapperRunnable implements IRunnableWithProgress {
         private MethodWrapper fMethodWrapper;
@@ -88,6 +94,44 @@ public class CallHierarchyContentProvider implements ITreeContentProvider {
         }
     }
 
+    /**
+     * Searches the calls of a node in the background, so that they are shown right away when the
+     * node gets expanded.
+     *
+     * @since 3.33
+     */
+    private class PrefetchJob extends Job {
+        private final MethodWrapper fMethodWrapper;
+        private final int fDepth;
+
+        PrefetchJob(MethodWrapper methodWrapper, int depth) {
+            super(CallHierarchyMessages.CallHierarchyContentProvider_prefetchJob_name);
+            fMethodWrapper= methodWrapper;
+            fDepth= depth;
+            setSystem(true);
+            setPriority(Job.LONG);
+            setRule(DeferredMethodWrapper.getSearchRule());
+        }
+
+        @Override
+        protected IStatus run(IProgressMonitor monitor) {
+            startFetching();
+            try {
+                prefetch(fMethodWrapper.getCalls(monitor), fDepth - 1);
+            } catch (OperationCanceledException e) {
+                return Status.CANCEL_STATUS;
+            } finally {
+                doneFetching();
+            }
+            return Status.OK_STATUS;
+        }
+
+        @Override
+        public boolean belongsTo(Object family) {
+            return family == CallHierarchyContentProvider.this;
+        }
+    }
+
     public CallHierarchyContentProvider(CallHierarchyViewPart part) {
         super();
         fPart= part;
@@ -370,6 +414,31 @@ public class CallHierarchyContentProvider implements ITreeContentProvider {
     	return fPart;
     }
 
+    /**
+     * Searches the calls of the given nodes and their children in the background, breadth-first
+     * and concurrently, within the budget of {@link CallHierarchyUI#getPrefetchDepth()} and
+     * {@link CallHierarchyUI#getPrefetchFanOut()}. The searches are canceled with the other jobs
+     * of the view, see {@link #cancelJobs(MethodWrapper[])}.
+     *
+     * @param wrappers the nodes just added to the tree
+     * @since 3.33
+     */
+    void prefetch(MethodWrapper[] wrappers) {
+        prefetch(wrappers, CallHierarchyUI.getDefault().getPrefetchDepth());
+    }
+
+    private void prefetch(MethodWrapper[] wrappers, int depth) {
+        if (depth <= 0)
+            return;
+        int fanOut= Math.min(wrappers.length, CallHierarchyUI.getDefault().getPrefetchFanOut());
+        for (int i= 0; i < fanOut; i++) {
+            MethodWrapper wrapper= wrappers[i];
+            if (wrapper.canHaveChildren() && !shouldStopTraversion(wrapper)) {
+                new PrefetchJob(wrapper, depth).schedule();
+            }
+        }
+    }
+
 	private boolean shouldStopTraversion(MethodWrapper methodWrapper) {
         return (methodWrapper.getLevel() > CallHierarchyUI.getDefault().getMaxCallDepth()) || methodWrapper.isRecursive();
     }
@@ -399,7 +468,7 @@ public class CallHierarchyContentProvider implements ITreeContentProvider {
      */
     @Override
 	public void dispose() {
-        // Nothing to dispose
+        Job.getJobManager().cancel(this);
     }
 
     /**
@@ -452,6 +521,7 @@ public class CallHierarchyContentProvider implements ITreeContentProvider {
      * @param wrappers the parents to cancel jobs for
      */
     void cancelJobs(MethodWrapper[] wrappers) {
+        Job.getJobManager().cancel(this);
         if (fManager != null && wrappers != null) {
         	for (MethodWrapper wrapper : wrappers) {
         		fManager.cancel(wrapper);
@@ -463,12 +533,13 @@ public class CallHierarchyContentProvider implements ITreeContentProvider {
     }
 
     public void doneFetching() {
-        if (fPart != null) {
+        if (fFetchCount.decrementAndGet() <= 0 && fPart != null) {
             fPart.setCancelEnabled(false);
         }
     }
 
     public void startFetching() {
+        fFetchCount.incrementAndGet();
         if (fPart != null) {
             fPart.setCancelEnabled(true);
         }
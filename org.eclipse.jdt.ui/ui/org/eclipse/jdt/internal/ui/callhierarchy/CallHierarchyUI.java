@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -62,6 +62,11 @@ import org.eclipse.jdt.internal.ui.util.ExceptionHandler;
 public class CallHierarchyUI {
     private static final int DEFAULT_MAX_CALL_DEPTH= 10;
     private static final String PREF_MAX_CALL_DEPTH = "PREF_MAX_CALL_DEPTH"; //$NON-NLS-1$
+    private static final int DEFAULT_PARALLEL_SEARCHES= 4;
+    private static final String PREF_PARALLEL_SEARCHES= "PREF_PARALLEL_SEARCHES"; //$NON-NLS-1$
+    private static final String PREF_PREFETCH_DEPTH= "PREF_PREFETCH_DEPTH"; //$NON-NLS-1$
+    private static final int DEFAULT_PREFETCH_FAN_OUT= 32;
+    private static final String PREF_PREFETCH_FAN_OUT= "PREF_PREFETCH_FAN_OUT"; //$NON-NLS-1$
 
     private static CallHierarchyUI fgInstance;
     private int fViewCount= 0;
@@ -106,6 +111,80 @@ public class CallHierarchyUI {
         settings.setValue(PREF_MAX_CALL_DEPTH, maxCallDepth);
     }
 
+    /**
+     * Returns the maximum number of searches for the children of different nodes which run
+     * concurrently.
+     *
+     * @return the number of parallel searches
+     * @since 3.33
+     */
+    public int getParallelSearches() {
+        IPreferenceStore settings = JavaPlugin.getDefault().getPreferenceStore();
+        int parallelSearches= settings.getInt(PREF_PARALLEL_SEARCHES);
+        if (parallelSearches < 1 || parallelSearches > 16) {
+            parallelSearches= DEFAULT_PARALLEL_SEARCHES;
+        }
+        return parallelSearches;
+    }
+
+    /**
+     * @param parallelSearches the number of parallel searches
+     * @since 3.33
+     */
+    public void setParallelSearches(int parallelSearches) {
+        IPreferenceStore settings = JavaPlugin.getDefault().getPreferenceStore();
+        settings.setValue(PREF_PARALLEL_SEARCHES, parallelSearches);
+    }
+
+    /**
+     * Returns how many levels below an expanded node are searched in the background, so that
+     * expanding the children shows their calls right away. <code>0</code> disables the prefetching.
+     *
+     * @return the prefetch depth
+     * @since 3.33
+     */
+    public int getPrefetchDepth() {
+        IPreferenceStore settings = JavaPlugin.getDefault().getPreferenceStore();
+        int prefetchDepth= settings.getInt(PREF_PREFETCH_DEPTH);
+        if (prefetchDepth < 0 || prefetchDepth > 5) {
+            prefetchDepth= 0;
+        }
+        return prefetchDepth;
+    }
+
+    /**
+     * @param prefetchDepth the prefetch depth
+     * @since 3.33
+     */
+    public void setPrefetchDepth(int prefetchDepth) {
+        IPreferenceStore settings = JavaPlugin.getDefault().getPreferenceStore();
+        settings.setValue(PREF_PREFETCH_DEPTH, prefetchDepth);
+    }
+
+    /**
+     * Returns the maximum number of children of a node that are searched in the background.
+     *
+     * @return the prefetch fan-out
+     * @since 3.33
+     */
+    public int getPrefetchFanOut() {
+        IPreferenceStore settings = JavaPlugin.getDefault().getPreferenceStore();
+        int fanOut= settings.getInt(PREF_PREFETCH_FAN_OUT);
+        if (fanOut < 1) {
+            fanOut= DEFAULT_PREFETCH_FAN_OUT;
+        }
+        return fanOut;
+    }
+
+    /**
+     * @param fanOut the prefetch fan-out
+     * @since 3.33
+     */
+    public void setPrefetchFanOut(int fanOut) {
+        IPreferenceStore settings = JavaPlugin.getDefault().getPreferenceStore();
+        settings.setValue(PREF_PREFETCH_FAN_OUT, fanOut);
+    }
+
     public static void jumpToMember(IJavaElement element) {
         if (element != null) {
             try {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,8 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.ui.callhierarchy;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.eclipse.swt.widgets.Display;
 
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -30,6 +32,10 @@ import org.eclipse.jdt.internal.corext.callhierarchy.MethodWrapper;
 import org.eclipse.jdt.internal.ui.JavaPlugin;
 
 public class DeferredMethodWrapper extends MethodWrapperWorkbenchAdapter implements IDeferredWorkbenchAdapter {
+    private static final String RULE_ID= "org.eclipse.jdt.ui.callhierarchy.methodwrapper"; //$NON-NLS-1$
+
+    private static final AtomicInteger fgNextSlot= new AtomicInteger();
+
     private final CallHierarchyContentProvider fProvider;
 
     /**
@@ -68,16 +74,33 @@ public class DeferredMethodWrapper extends MethodWrapperWorkbenchAdapter impleme
         this.fProvider = provider;
     }
 
-    private Object getCalls(IProgressMonitor monitor) {
+    private MethodWrapper[] getCalls(IProgressMonitor monitor) {
         return getMethodWrapper().getCalls(monitor);
     }
 
+    /**
+     * Returns the scheduling rule for a search for the children of a node. The rules are taken
+     * from a fixed number of slots, so that at most {@link CallHierarchyUI#getParallelSearches()}
+     * searches run concurrently, e.g. for the siblings expanded by "Expand with Constructors".
+     *
+     * @return the scheduling rule
+     * @since 3.33
+     */
+    static ISchedulingRule getSearchRule() {
+        int slot= Math.floorMod(fgNextSlot.getAndIncrement(), CallHierarchyUI.getDefault().getParallelSearches());
+        return new BatchSimilarSchedulingRule(RULE_ID + slot);
+    }
+
     @Override
 	public void fetchDeferredChildren(Object object, IElementCollector collector, IProgressMonitor monitor) {
     	final DeferredMethodWrapper deferredMethodWrapper= (DeferredMethodWrapper)object;
     	try {
             fProvider.startFetching();
-            JavaCore.runReadOnly(() -> collector.add((Object[]) deferredMethodWrapper.getCalls(monitor), monitor));
+            JavaCore.runReadOnly(() -> {
+            	MethodWrapper[] calls= deferredMethodWrapper.getCalls(monitor);
+            	collector.add(calls, monitor);
+            	fProvider.prefetch(calls);
+            });
             collector.done();
         } catch (OperationCanceledException e) {
         	final MethodWrapper methodWrapper= deferredMethodWrapper.getMethodWrapper();
@@ -102,7 +125,7 @@ public class DeferredMethodWrapper extends MethodWrapperWorkbenchAdapter impleme
 
     @Override
 	public ISchedulingRule getRule(Object o) {
-        return new BatchSimilarSchedulingRule("org.eclipse.jdt.ui.callhierarchy.methodwrapper"); //$NON-NLS-1$
+        return getSearchRule();
     }
 
     @Override
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2020 Karakun GmbH (http://www.karakun.com) and others.
+ * Copyright (c) 2020, 2024 Karakun GmbH (http://www.karakun.com) and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -177,4 +177,9 @@ public class BitwiseConditionalExpressionCleanup extends AbstractMultiFix {
 			ASTNodes.replaceButKeepComment(rewrite, fExpression, newInfixExpression, group);
 		}
 	}
+
+	@Override
+	public boolean canRunInParallel() {
+		return true;
+	}
 }
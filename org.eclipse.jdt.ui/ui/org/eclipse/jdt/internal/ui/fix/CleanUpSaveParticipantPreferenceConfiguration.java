@@ -82,6 +82,7 @@ public class CleanUpSaveParticipantPreferenceConfiguration extends AbstractSaveP
 	private Link fOrganizeImportsConfigLink;
 	private IPreferencePageContainer fContainer;
 	private Button fAdditionalActionButton;
+	private Button fAdditionalActionsChangesOnlyButton;
 	private Button fConfigureButton;
 	private Button fFormatAllButton;
 
@@ -180,6 +181,18 @@ public class CleanUpSaveParticipantPreferenceConfiguration extends AbstractSaveP
 				changeSettingsValue(CleanUpConstants.CLEANUP_ON_SAVE_ADDITIONAL_OPTIONS, fAdditionalActionButton.getSelection());
 			}
 		});
+
+		fAdditionalActionsChangesOnlyButton= new Button(fCleanUpOptionsComposite, SWT.CHECK);
+		fAdditionalActionsChangesOnlyButton.setText(SaveParticipantMessages.CleanUpSaveParticipantPreferenceConfiguration_AdditionalActionsChangesOnly_Checkbox);
+		gridData= new GridData(SWT.FILL, SWT.TOP, true, false);
+		gridData.horizontalIndent= INDENT;
+		fAdditionalActionsChangesOnlyButton.setLayoutData(gridData);
+		fAdditionalActionsChangesOnlyButton.addSelectionListener(new SelectionAdapter() {
+			@Override
+			public void widgetSelected(SelectionEvent e) {
+				changeSettingsValue(CleanUpConstants.CLEANUP_ON_SAVE_CHANGES_ONLY, fAdditionalActionsChangesOnlyButton.getSelection());
+			}
+		});
 	}
 
 	private Composite createAdvancedComposite(final Composite parent) {
@@ -328,6 +341,8 @@ public class CleanUpSaveParticipantPreferenceConfiguration extends AbstractSaveP
 
 		fSelectedActionsText.setEnabled(additionalEnabled);
 		fConfigureButton.setEnabled(additionalEnabled);
+		fAdditionalActionsChangesOnlyButton.setSelection(CleanUpOptions.TRUE.equals(fSettings.get(CleanUpConstants.CLEANUP_ON_SAVE_CHANGES_ONLY)));
+		fAdditionalActionsChangesOnlyButton.setEnabled(additionalEnabled);
 
 		Map<String, String> settings= new HashMap<>(fSettings);
 		settings.put(CleanUpConstants.FORMAT_SOURCE_CODE, CleanUpOptions.FALSE);
@@ -621,4 +621,9 @@ public class ComparingOnCriteriaCleanUp extends AbstractMultiFix {
 			return lambdaExpression;
 		}
 	}
+
+	@Override
+	public boolean canRunInParallel() {
+		return true;
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -94,4 +94,8 @@ public class ExpressionsCleanUp extends AbstractCleanUp {
 		return buf.toString();
 	}
 
+	@Override
+	public boolean canRunInParallel() {
+		return true;
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -59,8 +59,17 @@ public class ImportsCleanUp extends AbstractCleanUp {
     	if (compilationUnit == null)
     		return null;
 
-		return ImportsFix.createCleanUp(compilationUnit, fCodeGeneratorSettings,
-				isEnabled(CleanUpConstants.ORGANIZE_IMPORTS), fStatus);
+		// the clean up refactoring may call this concurrently, collect into a local status first
+		RefactoringStatus status= new RefactoringStatus();
+		ICleanUpFix fix= ImportsFix.createCleanUp(compilationUnit, fCodeGeneratorSettings,
+				isEnabled(CleanUpConstants.ORGANIZE_IMPORTS), status);
+		if (!status.isOK()) {
+			synchronized (this) {
+				if (fStatus != null)
+					fStatus.merge(status);
+			}
+		}
+		return fix;
 	}
 
     @Override
@@ -109,4 +118,8 @@ public class ImportsCleanUp extends AbstractCleanUp {
 		return buf.toString();
     }
 
+	@Override
+	public boolean canRunInParallel() {
+		return true;
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2020, 2022 Fabrice TIERCELIN and others.
+ * Copyright (c) 2020, 2024 Fabrice TIERCELIN and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -102,4 +102,9 @@ public class LambdaExpressionAndMethodRefCleanUp extends AbstractMultiFix {
 	protected ICleanUpFix createFix(final CompilationUnit unit, IProblemLocation[] problems) throws CoreException {
 		return null;
 	}
+
+	@Override
+	public boolean canRunInParallel() {
+		return true;
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2020 Fabrice TIERCELIN and others.
+ * Copyright (c) 2020, 2024 Fabrice TIERCELIN and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -282,4 +282,9 @@ public class MergeConditionalBlocksCleanUp extends AbstractMultiFix {
 	private static <E> E getLast(final List<E> list) {
 		return list.get(list.size() - 1);
 	}
+
+	@Override
+	public boolean canRunInParallel() {
+		return true;
+	}
 }
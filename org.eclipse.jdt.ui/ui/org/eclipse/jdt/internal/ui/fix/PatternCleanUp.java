@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2020 Fabrice TIERCELIN and others.
+ * Copyright (c) 2020, 2024 Fabrice TIERCELIN and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -446,4 +446,9 @@ public class PatternCleanUp extends AbstractMultiFix {
 		}
 
 	}
+
+	@Override
+	public boolean canRunInParallel() {
+		return true;
+	}
 }
@@ -340,4 +340,9 @@ public class ReduceIndentationCleanUp extends AbstractMultiFix {
 			rewrite.remove(visited.getElseStatement(), group);
 		}
 	}
+
+	@Override
+	public boolean canRunInParallel() {
+		return true;
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2022 Fabrice TIERCELIN and others.
+ * Copyright (c) 2019, 2024 Fabrice TIERCELIN and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -228,4 +228,9 @@ public class UnboxingCleanUp extends AbstractMultiFix {
 			ASTNodes.replaceButKeepComment(rewrite, node, copyOfWrapper, group);
 		}
 	}
-}
\ No newline at end of file
+
+	@Override
+	public boolean canRunInParallel() {
+		return true;
+	}
+}
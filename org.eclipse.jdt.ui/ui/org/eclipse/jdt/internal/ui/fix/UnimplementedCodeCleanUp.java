@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2018 IBM Corporation and others.
+ * Copyright (c) 2007, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -204,4 +204,8 @@ public class UnimplementedCodeCleanUp extends AbstractMultiFix {
 		return buf.toString();
 	}
 
+	@Override
+	public boolean canRunInParallel() {
+		return true;
+	}
 }
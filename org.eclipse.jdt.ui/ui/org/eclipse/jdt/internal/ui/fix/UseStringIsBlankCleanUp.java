@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021 Holger VOORMANN and others.
+ * Copyright (c) 2021, 2024 Holger VOORMANN and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -235,4 +235,8 @@ public class UseStringIsBlankCleanUp extends AbstractCleanUp {
 		}
 	}
 
+	@Override
+	public boolean canRunInParallel() {
+		return true;
+	}
 }
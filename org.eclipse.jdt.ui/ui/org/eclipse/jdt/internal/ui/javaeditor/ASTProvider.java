@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,8 +13,18 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.ui.javaeditor;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.jface.text.IDocument;
+
+import org.eclipse.ui.IEditorPart;
+import org.eclipse.ui.IEditorReference;
 import org.eclipse.ui.IPartListener2;
 import org.eclipse.ui.IWindowListener;
+import org.eclipse.ui.IWorkbenchPage;
 import org.eclipse.ui.IWorkbenchPart;
 import org.eclipse.ui.IWorkbenchPartReference;
 import org.eclipse.ui.IWorkbenchWindow;
@@ -79,6 +89,8 @@ public final class ASTProvider implements IASTSharedValues {
 
 				activeJavaEditorChanged(null);
 			}
+			if (isJavaEditor(ref))
+				javaEditorClosed(ref.getPart(false));
 		}
 
 		/*
@@ -183,6 +195,18 @@ public final class ASTProvider implements IASTSharedValues {
 	private ActivationListener fActivationListener;
 	private IWorkbenchPart fActiveEditor;
 
+	/**
+	 * The cache of the ASTs of inactive editors, or <code>null</code> if disabled.
+	 * @since 3.33
+	 */
+	private ASTWarmCache fWarmCache;
+
+	/**
+	 * The recently active Java editors, the most recent first.
+	 * @since 3.33
+	 */
+	private final List<IWorkbenchPart> fRecentEditors= new ArrayList<>();
+
 	/**
 	 * Returns the Java plug-in's AST provider.
 	 *
@@ -204,6 +228,9 @@ public final class ASTProvider implements IASTSharedValues {
 	 * Installs this AST provider.
 	 */
 	void install() {
+		if (ASTWarmCache.MAX_ENTRIES > 0)
+			fWarmCache= new ASTWarmCache();
+
 		// Create and register activation listener
 		fActivationListener= new ActivationListener();
 		PlatformUI.getWorkbench().addWindowListener(fActivationListener);
@@ -220,10 +247,16 @@ public final class ASTProvider implements IASTSharedValues {
 		if (editor instanceof JavaEditor)
 			javaElement= ((JavaEditor)editor).getInputJavaElement();
 
+		CompilationUnit warmAST= null;
+		if (fWarmCache != null && javaElement != null)
+			warmAST= fWarmCache.get(javaElement, getDocument((JavaEditor) editor));
+
+		IWorkbenchPart previousEditor;
 		synchronized (this) {
+			previousEditor= fActiveEditor;
 			fActiveEditor= editor;
 			INSTANCE.setActiveJavaElement(javaElement);
-			INSTANCE.cache(null, javaElement);
+			INSTANCE.cache(warmAST, javaElement);
 		}
 
 		if (JavaPlugin.DEBUG_AST_PROVIDER)
@@ -233,6 +266,85 @@ public final class ASTProvider implements IASTSharedValues {
 				|| javaElement == null) {
 			INSTANCE.clearReconciliation();
 		}
+
+		if (fWarmCache != null) {
+			fRecentEditors.remove(editor);
+			if (previousEditor instanceof JavaEditor && previousEditor != editor) {
+				fRecentEditors.remove(previousEditor);
+				fRecentEditors.add(0, previousEditor);
+				if (fRecentEditors.size() > ASTWarmCache.MAX_ENTRIES)
+					fRecentEditors.remove(fRecentEditors.size() - 1);
+			}
+			scheduleWarming();
+		}
+	}
+
+	/**
+	 * Forgets a closed Java editor.
+	 *
+	 * @param editor the editor, or <code>null</code>
+	 * @since 3.33
+	 */
+	private void javaEditorClosed(IWorkbenchPart editor) {
+		if (fWarmCache == null || editor == null)
+			return;
+		fRecentEditors.remove(editor);
+		if (editor instanceof JavaEditor) {
+			ITypeRoot javaElement= ((JavaEditor) editor).getInputJavaElement();
+			if (javaElement != null)
+				fWarmCache.remove(javaElement);
+		}
+		scheduleWarming();
+	}
+
+	/**
+	 * Lets the warm cache create the ASTs of the visible and the recently active Java editors
+	 * other than the active one.
+	 *
+	 * @since 3.33
+	 */
+	private void scheduleWarming() {
+		Set<IWorkbenchPart> editors= new LinkedHashSet<>();
+		for (IWorkbenchWindow window : PlatformUI.getWorkbench().getWorkbenchWindows()) {
+			IWorkbenchPage page= window.getActivePage();
+			if (page == null)
+				continue;
+			for (IEditorReference ref : page.getEditorReferences()) {
+				IEditorPart part= ref.getEditor(false);
+				if (part instanceof JavaEditor && page.isPartVisible(part))
+					editors.add(part);
+			}
+		}
+		editors.addAll(fRecentEditors);
+		editors.remove(fActiveEditor);
+
+		List<ASTWarmCache.Candidate> candidates= new ArrayList<>();
+		for (IWorkbenchPart editor : editors) {
+			if (candidates.size() == ASTWarmCache.MAX_ENTRIES)
+				break;
+			JavaEditor javaEditor= (JavaEditor) editor;
+			ITypeRoot javaElement= javaEditor.getInputJavaElement();
+			IDocument document= getDocument(javaEditor);
+			if (javaElement != null && document != null)
+				candidates.add(new ASTWarmCache.Candidate(javaElement, document));
+		}
+		fWarmCache.schedule(candidates);
+	}
+
+	private static IDocument getDocument(JavaEditor editor) {
+		if (editor.getDocumentProvider() == null)
+			return null;
+		return editor.getDocumentProvider().getDocument(editor.getEditorInput());
+	}
+
+	/**
+	 * Returns the cache of the ASTs of inactive editors.
+	 *
+	 * @return the cache, or <code>null</code> if it is disabled
+	 * @since 3.33
+	 */
+	public ASTWarmCache getWarmCache() {
+		return fWarmCache;
 	}
 
 	/**
@@ -267,6 +379,12 @@ public final class ASTProvider implements IASTSharedValues {
 		PlatformUI.getWorkbench().removeWindowListener(fActivationListener);
 		fActivationListener= null;
 
+		if (fWarmCache != null) {
+			fWarmCache.dispose();
+			fWarmCache= null;
+		}
+		fRecentEditors.clear();
+
 		INSTANCE.disposeAST();
 		INSTANCE.waitLockNotifyAll();
 
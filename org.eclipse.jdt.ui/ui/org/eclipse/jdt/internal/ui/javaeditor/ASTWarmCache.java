@@ -0,0 +1,277 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.javaeditor;
+
+import java.lang.ref.SoftReference;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.manipulation.CoreASTProvider;
+
+import org.eclipse.jdt.internal.corext.util.ChangedUnits;
+import org.eclipse.jdt.internal.corext.util.LRUMap;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
+/**
+ * Keeps the shared ASTs of Java editors which are likely to become active soon, so that
+ * {@link ASTProvider} can hand them out right away when the editor is activated instead of letting
+ * the first client wait for a new AST.
+ * <p>
+ * The ASTs are created by a background job of low priority for the candidates passed to
+ * {@link #schedule(List)}, i.e. recently active and visible editors. An AST is used if the
+ * document of the editor has not been modified since its creation and no Java element delta
+ * outdated its bindings. The number of ASTs is bounded, they are softly referenced and no ASTs are
+ * created while the heap is filled above a threshold.
+ * </p>
+ * <p>
+ * The cache counts how often an activated editor found an AST, see {@link #getHitCount()} and
+ * {@link #getMissCount()}. With the <code>org.eclipse.jdt.ui/debug/ASTProvider</code> option the
+ * counts are traced on every activation.
+ * </p>
+ *
+ * @since 3.33
+ */
+public final class ASTWarmCache implements IElementChangedListener {
+
+	/** The maximum number of ASTs, <code>0</code> disables the cache */
+	static final int MAX_ENTRIES= Math.max(0, Integer.getInteger("org.eclipse.jdt.ui.astWarmCache.maxEntries", 3).intValue()); //$NON-NLS-1$
+
+	/** No ASTs are created while more than this percentage of the maximum heap is used */
+	private static final int MAX_HEAP_USAGE= Integer.getInteger("org.eclipse.jdt.ui.astWarmCache.maxHeapUsage", 70).intValue(); //$NON-NLS-1$
+
+	private static final long DELAY= 500;
+
+	/**
+	 * An editor input whose AST should be created.
+	 */
+	static final class Candidate {
+		final ITypeRoot fElement;
+		final IDocument fDocument;
+
+		Candidate(ITypeRoot element, IDocument document) {
+			fElement= element;
+			fDocument= document;
+		}
+	}
+
+	private static final class Entry {
+		final SoftReference<CompilationUnit> fAST;
+		final long fStamp;
+
+		Entry(CompilationUnit ast, long stamp) {
+			fAST= new SoftReference<>(ast);
+			fStamp= stamp;
+		}
+	}
+
+	private final class WarmJob extends Job {
+
+		WarmJob() {
+			super(JavaEditorMessages.ASTWarmCache_job);
+			setSystem(true);
+			setPriority(Job.DECORATE);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			List<Candidate> candidates;
+			synchronized (fEntries) {
+				candidates= fCandidates;
+			}
+			for (Candidate candidate : candidates) {
+				if (monitor.isCanceled())
+					return Status.CANCEL_STATUS;
+				if (isHeapFilled()) {
+					clear();
+					return Status.OK_STATUS;
+				}
+				warm(candidate, monitor);
+			}
+			return Status.OK_STATUS;
+		}
+
+		@Override
+		public boolean belongsTo(Object family) {
+			return family == ASTWarmCache.class;
+		}
+	}
+
+	private final Map<String, Entry> fEntries= new LRUMap<>(Math.max(1, MAX_ENTRIES));
+
+	private List<Candidate> fCandidates= Collections.emptyList();
+
+	private long fGeneration;
+
+	private long fHits;
+
+	private long fMisses;
+
+	private final WarmJob fJob= new WarmJob();
+
+	ASTWarmCache() {
+		JavaCore.addElementChangedListener(this);
+	}
+
+	void dispose() {
+		JavaCore.removeElementChangedListener(this);
+		fJob.cancel();
+		clear();
+	}
+
+	/**
+	 * Creates the ASTs of the given candidates in the background, replacing the candidates of
+	 * previous calls.
+	 *
+	 * @param candidates the editor inputs, the most important first
+	 */
+	void schedule(List<Candidate> candidates) {
+		synchronized (fEntries) {
+			fCandidates= candidates;
+		}
+		fJob.cancel();
+		if (!candidates.isEmpty())
+			fJob.schedule(DELAY);
+	}
+
+	/**
+	 * Returns the AST of an editor input which has just become active.
+	 *
+	 * @param element the Java element of the editor
+	 * @param document the document of the editor
+	 * @return the AST, or <code>null</code> if there is no AST for the current contents
+	 */
+	CompilationUnit get(ITypeRoot element, IDocument document) {
+		long stamp= getModificationStamp(document);
+		CompilationUnit ast= null;
+		synchronized (fEntries) {
+			Entry entry= fEntries.get(element.getHandleIdentifier());
+			if (entry != null && entry.fStamp == stamp && stamp != IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP)
+				ast= entry.fAST.get();
+			if (ast != null)
+				fHits++;
+			else
+				fMisses++;
+		}
+		if (JavaPlugin.DEBUG_AST_PROVIDER)
+			System.out.println(CoreASTProvider.getThreadName() + " - " + CoreASTProvider.DEBUG_PREFIX + "warm cache " + (ast != null ? "hit" : "miss") + " for: " + element.getElementName() + " (hits: " + getHitCount() + ", misses: " + getMissCount() + ")"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$
+		return ast;
+	}
+
+	/**
+	 * Forgets the AST of an editor input which is no longer open.
+	 *
+	 * @param element the Java element of the editor
+	 */
+	void remove(ITypeRoot element) {
+		synchronized (fEntries) {
+			fEntries.remove(element.getHandleIdentifier());
+		}
+	}
+
+	/**
+	 * @return the number of activated editors for which an AST was cached
+	 */
+	public long getHitCount() {
+		synchronized (fEntries) {
+			return fHits;
+		}
+	}
+
+	/**
+	 * @return the number of activated editors for which no AST was cached
+	 */
+	public long getMissCount() {
+		synchronized (fEntries) {
+			return fMisses;
+		}
+	}
+
+	public void clear() {
+		synchronized (fEntries) {
+			fGeneration++;
+			fEntries.clear();
+		}
+	}
+
+	private void warm(Candidate candidate, IProgressMonitor monitor) {
+		if (candidate.fElement.equals(CoreASTProvider.getInstance().getActiveJavaElement()))
+			return; // the active editor has the shared AST
+
+		String key= candidate.fElement.getHandleIdentifier();
+		long stamp= getModificationStamp(candidate.fDocument);
+		if (stamp == IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP)
+			return;
+
+		long generation;
+		synchronized (fEntries) {
+			Entry entry= fEntries.get(key);
+			if (entry != null && entry.fStamp == stamp && entry.fAST.get() != null)
+				return;
+			generation= fGeneration;
+		}
+
+		CompilationUnit ast= CoreASTProvider.createAST(candidate.fElement, monitor);
+		if (ast == null || monitor.isCanceled())
+			return;
+
+		synchronized (fEntries) {
+			if (generation == fGeneration && stamp == getModificationStamp(candidate.fDocument))
+				fEntries.put(key, new Entry(ast, stamp));
+		}
+		if (JavaPlugin.DEBUG_AST_PROVIDER)
+			System.out.println(CoreASTProvider.getThreadName() + " - " + CoreASTProvider.DEBUG_PREFIX + "warmed AST for: " + candidate.fElement.getElementName()); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	private static long getModificationStamp(IDocument document) {
+		if (document instanceof IDocumentExtension4)
+			return ((IDocumentExtension4) document).getModificationStamp();
+		return IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+	}
+
+	private static boolean isHeapFilled() {
+		Runtime runtime= Runtime.getRuntime();
+		long used= runtime.totalMemory() - runtime.freeMemory();
+		return used > runtime.maxMemory() / 100 * MAX_HEAP_USAGE;
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		ChangedUnits changes= ChangedUnits.of(event.getDelta());
+		if (changes.isEmpty())
+			return;
+		synchronized (fEntries) {
+			fGeneration++;
+			// changed method bodies leave the bindings of other units alone
+			if (changes.changesMembers())
+				fEntries.clear();
+			else
+				fEntries.keySet().removeIf(changes::contains);
+		}
+	}
+}
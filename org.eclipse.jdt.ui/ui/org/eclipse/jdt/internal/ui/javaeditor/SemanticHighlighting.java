@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,6 +19,8 @@ import org.eclipse.jface.resource.ColorRegistry;
 
 import org.eclipse.ui.PlatformUI;
 
+import org.eclipse.jdt.core.dom.IBinding;
+
 import org.eclipse.jdt.ui.JavaUI;
 
 
@@ -76,6 +78,36 @@ public abstract class SemanticHighlighting extends SemanticHighlightingCore {
 	 */
 	public abstract boolean isEnabledByDefault();
 
+	/**
+	 * Tells whether the semantic highlighting may consume the token of a name whose binding has the
+	 * given kind and modifiers. The {@link SemanticHighlightingClassifier} only asks the
+	 * highlightings which may consume a name whether they {@link #consumes(SemanticToken) consume}
+	 * its token.
+	 *
+	 * @param bindingKind the kind of the name's binding, see {@link IBinding#getKind()}, or
+	 *            {@link SemanticHighlightingClassifier#NO_BINDING} if the name has no binding
+	 * @param modifiers the modifiers of the binding, restricted to
+	 *            {@link SemanticHighlightingClassifier#MODIFIERS}
+	 * @return <code>false</code> if {@link #consumes(SemanticToken)} returns <code>false</code>
+	 *         for all such tokens, <code>true</code> otherwise
+	 * @since 3.33
+	 */
+	public boolean mayConsume(int bindingKind, int modifiers) {
+		return true;
+	}
+
+	/**
+	 * Tells whether the semantic highlighting may consume the token of a literal. Subclasses which
+	 * override {@link #consumesLiteral(SemanticToken)} must override this method as well.
+	 *
+	 * @return <code>false</code> if {@link #consumesLiteral(SemanticToken)} returns
+	 *         <code>false</code> for all tokens, <code>true</code> otherwise
+	 * @since 3.33
+	 */
+	public boolean mayConsumeLiterals() {
+		return false;
+	}
+
 	private String getThemeColorKey() {
 		return JavaUI.ID_PLUGIN + "." + getPreferenceKey() + "Highlighting";  //$NON-NLS-1$//$NON-NLS-2$
 	}
@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.javaeditor;
+
+import java.util.function.Predicate;
+
+import org.eclipse.jdt.core.dom.IBinding;
+import org.eclipse.jdt.core.dom.Modifier;
+
+/**
+ * Finds the semantic highlighting of a token.
+ * <p>
+ * A token gets the first enabled semantic highlighting which consumes it. Instead of asking all
+ * highlightings, the classifier looks up the highlightings which
+ * {@link SemanticHighlighting#mayConsume(int, int) may consume} a name in a table indexed by the
+ * kind and the {@link #MODIFIERS} of the name's binding, and only asks those in their original
+ * order. The result is the same as the one of the loop over all highlightings.
+ * </p>
+ * <p>
+ * The table is computed when the classifier is created, a new classifier has to be created when a
+ * highlighting is enabled or disabled.
+ * </p>
+ *
+ * @since 3.33
+ */
+public final class SemanticHighlightingClassifier {
+
+	/**
+	 * The binding kind of names without binding.
+	 */
+	public static final int NO_BINDING= 0;
+
+	/**
+	 * The modifiers of bindings the table is indexed by.
+	 */
+	public static final int MODIFIERS= Modifier.STATIC | Modifier.FINAL | Modifier.ABSTRACT;
+
+	/** The binding kinds with a row in the table, larger kinds use {@link #fOtherCandidates} */
+	private static final int KINDS= IBinding.MODULE + 1;
+
+	/** The number of combinations of {@link #MODIFIERS} */
+	private static final int MODIFIER_COMBINATIONS= 8;
+
+	private final SemanticHighlighting[] fHighlightings;
+
+	/** The candidates for names, indexed by <code>kind * MODIFIER_COMBINATIONS + modifierIndex</code> */
+	private final int[][] fNameCandidates;
+
+	/** The candidates for names with an unknown binding kind */
+	private final int[] fOtherCandidates;
+
+	/** The candidates for literals */
+	private final int[] fLiteralCandidates;
+
+	private final int fDeprecatedMember;
+
+	private final int fRestrictedIdentifiers;
+
+	/**
+	 * Creates the table for the given semantic highlightings.
+	 *
+	 * @param highlightings the semantic highlightings in the order they are asked
+	 * @param enabled whether the highlighting at the same index is enabled
+	 */
+	public SemanticHighlightingClassifier(SemanticHighlighting[] highlightings, boolean[] enabled) {
+		fHighlightings= highlightings;
+		fNameCandidates= new int[KINDS * MODIFIER_COMBINATIONS][];
+		for (int kind= 0; kind < KINDS; kind++) {
+			for (int index= 0; index < MODIFIER_COMBINATIONS; index++) {
+				int modifiers= toModifiers(index);
+				int bindingKind= kind;
+				fNameCandidates[kind * MODIFIER_COMBINATIONS + index]= candidates(enabled, highlighting -> highlighting.mayConsume(bindingKind, modifiers));
+			}
+		}
+		fOtherCandidates= candidates(enabled, highlighting -> true);
+		fLiteralCandidates= candidates(enabled, SemanticHighlighting::mayConsumeLiterals);
+
+		int deprecatedMember= -1;
+		int restrictedIdentifiers= -1;
+		for (int i= 0; i < highlightings.length; i++) {
+			if (deprecatedMember == -1 && enabled[i] && highlightings[i] instanceof SemanticHighlightings.DeprecatedMemberHighlighting)
+				deprecatedMember= i;
+			if (restrictedIdentifiers == -1 && highlightings[i] instanceof SemanticHighlightings.RestrictedIdentifiersHighlighting)
+				restrictedIdentifiers= i;
+		}
+		fDeprecatedMember= deprecatedMember;
+		fRestrictedIdentifiers= restrictedIdentifiers;
+	}
+
+	private int[] candidates(boolean[] enabled, Predicate<SemanticHighlighting> filter) {
+		int[] candidates= new int[fHighlightings.length];
+		int count= 0;
+		for (int i= 0; i < fHighlightings.length; i++) {
+			if (enabled[i] && filter.test(fHighlightings[i]))
+				candidates[count++]= i;
+		}
+		int[] result= new int[count];
+		System.arraycopy(candidates, 0, result, 0, count);
+		return result;
+	}
+
+	private static int toModifiers(int index) {
+		return ((index & 1) != 0 ? Modifier.STATIC : 0) | ((index & 2) != 0 ? Modifier.FINAL : 0) | ((index & 4) != 0 ? Modifier.ABSTRACT : 0);
+	}
+
+	private static int toIndex(int modifiers) {
+		return ((modifiers & Modifier.STATIC) != 0 ? 1 : 0) | ((modifiers & Modifier.FINAL) != 0 ? 2 : 0) | ((modifiers & Modifier.ABSTRACT) != 0 ? 4 : 0);
+	}
+
+	/**
+	 * @return the semantic highlightings the classifier was created for
+	 */
+	public SemanticHighlighting[] getHighlightings() {
+		return fHighlightings;
+	}
+
+	/**
+	 * Returns the semantic highlighting of a name.
+	 *
+	 * @param token the semantic token for a {@link org.eclipse.jdt.core.dom.SimpleName}
+	 * @return the index of the first enabled semantic highlighting consuming the token, or
+	 *         <code>-1</code> if there is none
+	 */
+	public int classify(SemanticToken token) {
+		IBinding binding= token.getBinding();
+		int[] candidates;
+		if (binding == null) {
+			candidates= fNameCandidates[NO_BINDING * MODIFIER_COMBINATIONS];
+		} else {
+			int kind= binding.getKind();
+			if (kind > NO_BINDING && kind < KINDS)
+				candidates= fNameCandidates[kind * MODIFIER_COMBINATIONS + toIndex(binding.getModifiers())];
+			else
+				candidates= fOtherCandidates;
+		}
+		for (int candidate : candidates) {
+			if (fHighlightings[candidate].consumes(token))
+				return candidate;
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the semantic highlighting of a literal.
+	 *
+	 * @param token the semantic token for a literal, see
+	 *            {@link SemanticHighlighting#consumesLiteral(SemanticToken)}
+	 * @return the index of the first enabled semantic highlighting consuming the token, or
+	 *         <code>-1</code> if there is none
+	 */
+	public int classifyLiteral(SemanticToken token) {
+		for (int candidate : fLiteralCandidates) {
+			if (fHighlightings[candidate].consumesLiteral(token))
+				return candidate;
+		}
+		return -1;
+	}
+
+	/**
+	 * @return the index of the deprecated member highlighting if it is enabled, <code>-1</code>
+	 *         otherwise
+	 */
+	public int getDeprecatedMemberHighlighting() {
+		return fDeprecatedMember;
+	}
+
+	/**
+	 * @return the index of the restricted identifiers highlighting whether it is enabled or not,
+	 *         <code>-1</code> if there is none
+	 */
+	public int getRestrictedIdentifiersHighlighting() {
+		return fRestrictedIdentifiers;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,6 +15,7 @@
 package org.eclipse.jdt.internal.ui.javaeditor;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.eclipse.swt.widgets.Display;
@@ -25,9 +26,13 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 
+import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ITextInputListener;
 import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.TextPresentation;
 import org.eclipse.jface.text.source.ISourceViewer;
 
@@ -35,15 +40,20 @@ import org.eclipse.ui.IWorkbenchPartSite;
 
 import org.eclipse.jdt.core.ITypeRoot;
 import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.compiler.IProblem;
 import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.Block;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.ConstructorInvocation;
 import org.eclipse.jdt.core.dom.Expression;
 import org.eclipse.jdt.core.dom.GuardedPattern;
 import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.Initializer;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
 import org.eclipse.jdt.core.dom.Modifier;
 import org.eclipse.jdt.core.dom.Modifier.ModifierKeyword;
+import org.eclipse.jdt.core.dom.NodeFinder;
 import org.eclipse.jdt.core.dom.RecordDeclaration;
 import org.eclipse.jdt.core.dom.SimpleName;
 import org.eclipse.jdt.core.dom.SimpleType;
@@ -55,8 +65,6 @@ import org.eclipse.jdt.core.manipulation.SharedASTProviderCore;
 import org.eclipse.jdt.internal.ui.JavaPlugin;
 import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightingManager.HighlightedPosition;
 import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightingManager.Highlighting;
-import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightings.DeprecatedMemberHighlighting;
-import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightings.RestrictedIdentifiersHighlighting;
 import org.eclipse.jdt.internal.ui.text.java.IJavaReconcilingListener;
 import org.eclipse.jdt.internal.ui.util.ASTHelper;
 
@@ -67,6 +75,98 @@ import org.eclipse.jdt.internal.ui.util.ASTHelper;
  */
 public class SemanticHighlightingReconciler implements IJavaReconcilingListener, ITextInputListener {
 
+	/**
+	 * Whether a reconcile after changes inside a single method body only updates the positions in
+	 * that body.
+	 *
+	 * @since 3.33
+	 */
+	private static final boolean INCREMENTAL= Boolean.parseBoolean(System.getProperty("org.eclipse.jdt.ui.semanticHighlighting.incremental", "true")); //$NON-NLS-1$ //$NON-NLS-2$
+
+	/**
+	 * The region of the document changed since some point in time, in the coordinates of the
+	 * current document.
+	 *
+	 * @since 3.33
+	 */
+	private static class ChangedRegion {
+		/** The start offset, <code>-1</code> if empty */
+		int fStart= -1;
+		/** The end offset, <code>-1</code> if empty */
+		int fEnd= -1;
+		/** <code>true</code> if the changes are not known */
+		boolean fUnknown;
+
+		ChangedRegion(boolean unknown) {
+			fUnknown= unknown;
+		}
+
+		boolean isEmpty() {
+			return !fUnknown && fStart == -1;
+		}
+
+		void update(DocumentEvent event) {
+			int offset= event.getOffset();
+			int replacedEnd= offset + event.getLength();
+			int textLength= event.getText() == null ? 0 : event.getText().length();
+			if (fStart == -1) {
+				fStart= offset;
+				fEnd= offset + textLength;
+			} else {
+				int delta= textLength - event.getLength();
+				fStart= Math.min(fStart <= offset ? fStart : fStart >= replacedEnd ? fStart + delta : offset, offset);
+				fEnd= Math.max(fEnd <= offset ? fEnd : fEnd >= replacedEnd ? fEnd + delta : offset + textLength, offset + textLength);
+			}
+		}
+
+		void add(ChangedRegion region) {
+			fUnknown|= region.fUnknown;
+			if (region.fStart != -1) {
+				fStart= fStart == -1 ? region.fStart : Math.min(fStart, region.fStart);
+				fEnd= Math.max(fEnd, region.fEnd);
+			}
+		}
+	}
+
+	/**
+	 * Tracks the changes of the document between two reconciles.
+	 *
+	 * @since 3.33
+	 */
+	private class DocumentChangeTracker implements IDocumentListener, ITextInputListener {
+
+		@Override
+		public void documentAboutToBeChanged(DocumentEvent event) {
+			// Do nothing
+		}
+
+		@Override
+		public void documentChanged(DocumentEvent event) {
+			synchronized (fChangedRegionLock) {
+				fModificationCount++;
+				fChangedRegion.update(event);
+				if (!fReconcileRegion.isEmpty())
+					fReconcileRegion.update(event);
+			}
+		}
+
+		@Override
+		public void inputDocumentAboutToBeChanged(IDocument oldInput, IDocument newInput) {
+			if (oldInput != null)
+				oldInput.removeDocumentListener(this);
+		}
+
+		@Override
+		public void inputDocumentChanged(IDocument oldInput, IDocument newInput) {
+			synchronized (fChangedRegionLock) {
+				fModificationCount++;
+				fChangedRegion.fUnknown= true;
+			}
+			if (newInput != null)
+				newInput.addDocumentListener(this);
+		}
+	}
+
 	/**
 	 * Collects positions from the AST.
 	 */
@@ -79,15 +179,12 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		@Override
 		protected boolean visitLiteral(Expression node) {
 			fToken.update(node);
-			for (int i= 0, n= fJobSemanticHighlightings.length; i < n; i++) {
-				SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
-				if (fJobHighlightings[i].isEnabled() && semanticHighlighting.consumesLiteral(fToken)) {
-					int offset= node.getStartPosition();
-					int length= node.getLength();
-					if (offset > -1 && length > 0)
-						addPosition(offset, length, fJobHighlightings[i]);
-					break;
-				}
+			int index= fJobClassifier.classifyLiteral(fToken);
+			if (index != -1) {
+				int offset= node.getStartPosition();
+				int length= node.getLength();
+				if (offset > -1 && length > 0)
+					addPosition(offset, length, fJobHighlightings[index]);
 			}
 			fToken.clear();
 			return false;
@@ -137,12 +234,10 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 				int offset= node.getStartPosition();
 				int length= node.getLength();
 				if (offset > -1 && length > 0) {
-					for (int i= 0; i < fJobSemanticHighlightings.length; i++) {
-						SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
-						if (semanticHighlighting instanceof RestrictedIdentifiersHighlighting) {
-							addPosition(offset, length, fJobHighlightings[i]);
-							return false;
-						}
+					int restrictedIdentifiers= fJobClassifier.getRestrictedIdentifiersHighlighting();
+					if (restrictedIdentifiers != -1) {
+						addPosition(offset, length, fJobHighlightings[restrictedIdentifiers]);
+						return false;
 					}
 				}
 			}
@@ -156,12 +251,10 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 				int offset= node.getStartPosition();
 				int length= 5; // length of 'yield'
 				if (offset > -1 && length > 0) {
-					for (int i= 0; i < fJobSemanticHighlightings.length; i++) {
-						SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
-						if (semanticHighlighting instanceof RestrictedIdentifiersHighlighting) {
-							addPosition(offset, length, fJobHighlightings[i]);
-							return true;
-						}
+					int restrictedIdentifiers= fJobClassifier.getRestrictedIdentifiersHighlighting();
+					if (restrictedIdentifiers != -1) {
+						addPosition(offset, length, fJobHighlightings[restrictedIdentifiers]);
+						return true;
 					}
 				}
 			}
@@ -175,12 +268,10 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 				int offset= node.getRestrictedIdentifierStartPosition();
 				int length= 6; // length of 'record'
 				if (offset > -1 && length > 0) {
-					for (int i= 0; i < fJobSemanticHighlightings.length; i++) {
-						SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
-						if (semanticHighlighting instanceof RestrictedIdentifiersHighlighting) {
-							addPosition(offset, length, fJobHighlightings[i]);
-							return true;
-						}
+					int restrictedIdentifiers= fJobClassifier.getRestrictedIdentifiersHighlighting();
+					if (restrictedIdentifiers != -1) {
+						addPosition(offset, length, fJobHighlightings[restrictedIdentifiers]);
+						return true;
 					}
 				}
 			}
@@ -194,12 +285,10 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 					int offset= node.getRestrictedIdentifierStartPosition();
 					int length= 7; // length of 'permits'
 					if (offset > -1) {
-						for (int i= 0; i < fJobSemanticHighlightings.length; i++) {
-							SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
-							if (semanticHighlighting instanceof RestrictedIdentifiersHighlighting) {
-								addPosition(offset, length, fJobHighlightings[i]);
-								return true;
-							}
+						int restrictedIdentifiers= fJobClassifier.getRestrictedIdentifiersHighlighting();
+						if (restrictedIdentifiers != -1) {
+							addPosition(offset, length, fJobHighlightings[restrictedIdentifiers]);
+							return true;
 						}
 					}
 				}
@@ -228,12 +317,10 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 				}
 			}
 			if (offset > -1 && length > 0) {
-				for (int i= 0; i < fJobSemanticHighlightings.length; i++) {
-					SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
-					if (semanticHighlighting instanceof RestrictedIdentifiersHighlighting) {
-						addPosition(offset, length, fJobHighlightings[i]);
-						return false;
-					}
+				int restrictedIdentifiers= fJobClassifier.getRestrictedIdentifiersHighlighting();
+				if (restrictedIdentifiers != -1) {
+					addPosition(offset, length, fJobHighlightings[restrictedIdentifiers]);
+					return false;
 				}
 			}
 			return true;
@@ -245,15 +332,12 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		@Override
 		public boolean visit(SimpleName node) {
 			fToken.update(node);
-			for (int i= 0, n= fJobSemanticHighlightings.length; i < n; i++) {
-				SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
-				if (fJobHighlightings[i].isEnabled() && semanticHighlighting.consumes(fToken)) {
-					int offset= node.getStartPosition();
-					int length= node.getLength();
-					if (offset > -1 && length > 0)
-						addPosition(offset, length, fJobHighlightings[i]);
-					break;
-				}
+			int index= fJobClassifier.classify(fToken);
+			if (index != -1) {
+				int offset= node.getStartPosition();
+				int length= node.getLength();
+				if (offset > -1 && length > 0)
+					addPosition(offset, length, fJobHighlightings[index]);
 			}
 			fToken.clear();
 			return false;
@@ -310,12 +394,10 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 					int offset= node.getRestrictedIdentifierStartPosition();
 					int length= 4; // length of 'when'
 					if (offset > -1) {
-						for (int i= 0; i < fJobSemanticHighlightings.length; i++) {
-							SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
-							if (semanticHighlighting instanceof RestrictedIdentifiersHighlighting) {
-								addPosition(offset, length, fJobHighlightings[i]);
-								return true;
-							}
+						int restrictedIdentifiers= fJobClassifier.getRestrictedIdentifiersHighlighting();
+						if (restrictedIdentifiers != -1) {
+							addPosition(offset, length, fJobHighlightings[restrictedIdentifiers]);
+							return true;
 						}
 					}
 				}
@@ -375,13 +457,65 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	 * @since 3.5
 	 */
 	private Highlighting fJobDeprecatedMemberHighlighting;
+	/**
+	 * Classifier of the tokens - cache for background thread, only valid during {@link #reconciled(CompilationUnit, boolean, IProgressMonitor)}
+	 * @since 3.33
+	 */
+	private SemanticHighlightingClassifier fJobClassifier;
+	/**
+	 * The classifier of the last reconcile, reused as long as the same highlightings are enabled.
+	 * @since 3.33
+	 */
+	private SemanticHighlightingClassifier fClassifier;
+	/**
+	 * The enabled state of the highlightings {@link #fClassifier} was created for.
+	 * @since 3.33
+	 */
+	private boolean[] fClassifierEnabled;
+
+	/**
+	 * Tracks the document changes, only installed on compilation unit editors.
+	 * @since 3.33
+	 */
+	private DocumentChangeTracker fDocumentChangeTracker;
+	/**
+	 * Lock for the changed regions.
+	 * @since 3.33
+	 */
+	private final Object fChangedRegionLock= new Object();
+	/**
+	 * The region changed since the last call to {@link #aboutToBeReconciled()}.
+	 * @since 3.33
+	 */
+	private ChangedRegion fChangedRegion= new ChangedRegion(true);
+	/**
+	 * The region changed since the last completed reconcile, up to the last call to
+	 * {@link #aboutToBeReconciled()}.
+	 * @since 3.33
+	 */
+	private ChangedRegion fReconcileRegion= new ChangedRegion(true);
+	/**
+	 * Number of document changes.
+	 * @since 3.33
+	 */
+	private long fModificationCount;
+	/**
+	 * Number of document changes at the last call to {@link #aboutToBeReconciled()}.
+	 * @since 3.33
+	 */
+	private long fReconcileModificationCount;
 
 	/*
 	 * @see org.eclipse.jdt.internal.ui.text.java.IJavaReconcilingListener#aboutToBeReconciled()
 	 */
 	@Override
 	public void aboutToBeReconciled() {
-		// Do nothing
+		synchronized (fChangedRegionLock) {
+			// a region which has not been reconciled yet is kept
+			fReconcileRegion.add(fChangedRegion);
+			fChangedRegion= new ChangedRegion(false);
+			fReconcileModificationCount= fModificationCount;
+		}
 	}
 
 	/*
@@ -389,6 +523,20 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	 */
 	@Override
 	public void reconciled(CompilationUnit ast, boolean forced, IProgressMonitor progressMonitor) {
+		reconciled(ast, forced, progressMonitor, fDocumentChangeTracker != null);
+	}
+
+	/**
+	 * Reconciles the positions with the given AST.
+	 *
+	 * @param ast the AST
+	 * @param forced <code>true</code> iff this reconcile was forced
+	 * @param progressMonitor the progress monitor
+	 * @param afterChanges <code>true</code> iff the AST reflects the changes tracked up to the
+	 *            last call to {@link #aboutToBeReconciled()}
+	 * @since 3.33
+	 */
+	private void reconciled(CompilationUnit ast, boolean forced, IProgressMonitor progressMonitor, boolean afterChanges) {
 		// ensure at most one thread can be reconciling at any time
 		synchronized (fReconcileLock) {
 			if (fIsReconciling)
@@ -400,6 +548,9 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		fJobSemanticHighlightings= fSemanticHighlightings;
 		fJobHighlightings= fHighlightings;
 
+		IRegion changedRegion= afterChanges ? takeReconcileRegion(forced) : null;
+		boolean completed= false;
+		long startTime= JavaPlugin.DEBUG_SEMANTIC_HIGHLIGHTING ? System.nanoTime() : 0;
 		try {
 			if (fJobPresenter == null || fJobSemanticHighlightings == null || fJobHighlightings == null)
 				return;
@@ -409,21 +560,16 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 			if (ast == null || fJobPresenter.isCanceled())
 				return;
 
-			ASTNode[] subtrees= getAffectedSubtrees(ast);
+			ASTNode[] subtrees= getAffectedSubtrees(ast, changedRegion);
 			if (subtrees.length == 0)
 				return;
 
-			startReconcilingPositions();
+			startReconcilingPositions(ast, subtrees);
 
 			if (!fJobPresenter.isCanceled()) {
-				fJobDeprecatedMemberHighlighting= null;
-				for (int i= 0, n= fJobSemanticHighlightings.length; i < n; i++) {
-					SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
-					if (fJobHighlightings[i].isEnabled() && semanticHighlighting instanceof DeprecatedMemberHighlighting) {
-						fJobDeprecatedMemberHighlighting= fJobHighlightings[i];
-						break;
-					}
-				}
+				fJobClassifier= getClassifier(fJobSemanticHighlightings, fJobHighlightings);
+				int deprecatedMember= fJobClassifier.getDeprecatedMemberHighlighting();
+				fJobDeprecatedMemberHighlighting= deprecatedMember != -1 ? fJobHighlightings[deprecatedMember] : null;
 				reconcilePositions(subtrees);
 			}
 
@@ -431,15 +577,30 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 			if (!fJobPresenter.isCanceled())
 				textPresentation= fJobPresenter.createPresentation(fAddedPositions, fRemovedPositions);
 
-			if (!fJobPresenter.isCanceled())
+			if (!fJobPresenter.isCanceled()) {
 				updatePresentation(textPresentation, fAddedPositions, fRemovedPositions);
+				completed= true;
+			}
+
+			if (JavaPlugin.DEBUG_SEMANTIC_HIGHLIGHTING) {
+				long time= (System.nanoTime() - startTime) / 1000000;
+				System.out.println("Semantic highlighting reconcile (" + (subtrees[0] == ast ? "full" : "incremental") + "): " + time + " ms, " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+						+ fAddedPositions.size() + " added, " + fRemovedPositions.size() + " removed" + (completed ? "" : ", canceled")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			}
 
 			stopReconcilingPositions();
 		} finally {
+			if (!completed && fDocumentChangeTracker != null) {
+				synchronized (fChangedRegionLock) {
+					// the positions are not up to date, the next reconcile has to update all of them
+					fChangedRegion.fUnknown= true;
+				}
+			}
 			fJobPresenter= null;
 			fJobSemanticHighlightings= null;
 			fJobHighlightings= null;
 			fJobDeprecatedMemberHighlighting= null;
+			fJobClassifier= null;
 			synchronized (fReconcileLock) {
 				fIsReconciling= false;
 			}
@@ -447,19 +608,97 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	}
 
 	/**
-	 * @param node Root node
+	 * Returns the classifier for the given highlightings and their current enabled state. Only called
+	 * by the reconciling thread.
+	 *
+	 * @param semanticHighlightings the semantic highlightings
+	 * @param highlightings the highlightings
+	 * @return the classifier
+	 * @since 3.33
+	 */
+	private SemanticHighlightingClassifier getClassifier(SemanticHighlighting[] semanticHighlightings, Highlighting[] highlightings) {
+		boolean[] enabled= new boolean[highlightings.length];
+		for (int i= 0; i < highlightings.length; i++)
+			enabled[i]= highlightings[i].isEnabled();
+		if (fClassifier == null || fClassifier.getHighlightings() != semanticHighlightings || !Arrays.equals(enabled, fClassifierEnabled)) {
+			fClassifier= new SemanticHighlightingClassifier(semanticHighlightings, enabled);
+			fClassifierEnabled= enabled;
+		}
+		return fClassifier;
+	}
+
+	/**
+	 * Returns the region changed since the last completed reconcile and resets it.
+	 *
+	 * @param forced <code>true</code> iff the reconcile was forced
+	 * @return the changed region, or <code>null</code> if all positions have to be reconciled
+	 * @since 3.33
+	 */
+	private IRegion takeReconcileRegion(boolean forced) {
+		synchronized (fChangedRegionLock) {
+			ChangedRegion region= fReconcileRegion;
+			fReconcileRegion= new ChangedRegion(false);
+			if (fReconcileModificationCount != fModificationCount) {
+				// the AST may not reflect the latest changes, so the next reconcile has to update all positions
+				fChangedRegion.fUnknown= true;
+				return null;
+			}
+			if (!INCREMENTAL || forced || region.fUnknown || region.fStart == -1)
+				return null;
+			return new Region(region.fStart, region.fEnd - region.fStart);
+		}
+	}
+
+	/**
+	 * Returns the subtrees whose positions may be affected by the changed region. Changes inside a
+	 * method or initializer body can only affect the highlighting of that body, as long as the
+	 * compilation unit has no syntax errors which could change the structure of the AST.
+	 *
+	 * @param ast the AST
+	 * @param changedRegion the changed region, or <code>null</code> if unknown
 	 * @return Array of subtrees that may be affected by past document changes
 	 */
-	private ASTNode[] getAffectedSubtrees(ASTNode node) {
-		// TODO: only return nodes which are affected by document changes - would require an 'anchor' concept for taking distant effects into account
-		return new ASTNode[] { node };
+	private ASTNode[] getAffectedSubtrees(CompilationUnit ast, IRegion changedRegion) {
+		if (changedRegion != null && !hasSyntaxErrors(ast)) {
+			int start= changedRegion.getOffset();
+			int end= start + changedRegion.getLength();
+			ASTNode node= NodeFinder.perform(ast, start, changedRegion.getLength());
+			while (node != null) {
+				Block body= null;
+				if (node instanceof MethodDeclaration)
+					body= ((MethodDeclaration) node).getBody();
+				else if (node instanceof Initializer)
+					body= ((Initializer) node).getBody();
+				// the braces must not have been changed
+				if (body != null && body.getStartPosition() < start && end < body.getStartPosition() + body.getLength())
+					return new ASTNode[] { body };
+				node= node.getParent();
+			}
+		}
+		return new ASTNode[] { ast };
+	}
+
+	private static boolean hasSyntaxErrors(CompilationUnit ast) {
+		for (IProblem problem : ast.getProblems()) {
+			if (problem.isError() && (problem.getID() & IProblem.Syntax) != 0)
+				return true;
+		}
+		return false;
 	}
 
 	/**
 	 * Start reconciling positions.
+	 *
+	 * @param ast the AST
+	 * @param subtrees the AST subtrees to reconcile
 	 */
-	private void startReconcilingPositions() {
-		fJobPresenter.addAllPositions(fRemovedPositions);
+	private void startReconcilingPositions(CompilationUnit ast, ASTNode[] subtrees) {
+		if (subtrees.length == 1 && subtrees[0] == ast) {
+			fJobPresenter.addAllPositions(fRemovedPositions);
+		} else {
+			for (ASTNode subtree : subtrees)
+				fJobPresenter.addPositions(fRemovedPositions, subtree.getStartPosition(), subtree.getLength());
+		}
 		fNOfRemovedPositions= fRemovedPositions.size();
 	}
 
@@ -469,10 +708,7 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	 * @param subtrees the AST subtrees
 	 */
 	private void reconcilePositions(ASTNode[] subtrees) {
-		// FIXME: remove positions not covered by subtrees
-
-
-
+		// only the positions covered by the subtrees are candidates for removal, see startReconcilingPositions
 		for (ASTNode subtree : subtrees)
 			subtree.accept(fCollector);
 		List<Position> oldPositions= fRemovedPositions;
@@ -549,6 +785,11 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		if (fEditor instanceof CompilationUnitEditor) {
 			if (registerAsEditorReconcilingListener()) {
 				((CompilationUnitEditor)fEditor).addReconcileListener(this);
+				fDocumentChangeTracker= new DocumentChangeTracker();
+				fSourceViewer.addTextInputListener(fDocumentChangeTracker);
+				IDocument document= fSourceViewer.getDocument();
+				if (document != null)
+					document.addDocumentListener(fDocumentChangeTracker);
 			}
 		} else if (fEditor != null) {
 			if (registerAsSourceViewerTextInputListener()) {
@@ -582,9 +823,16 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 			fPresenter.setCanceled(true);
 
 		if (fEditor != null) {
-			if (fEditor instanceof CompilationUnitEditor)
+			if (fEditor instanceof CompilationUnitEditor) {
 				((CompilationUnitEditor)fEditor).removeReconcileListener(this);
-			else
+				if (fDocumentChangeTracker != null) {
+					fSourceViewer.removeTextInputListener(fDocumentChangeTracker);
+					IDocument document= fSourceViewer.getDocument();
+					if (document != null)
+						document.removeDocumentListener(fDocumentChangeTracker);
+					fDocumentChangeTracker= null;
+				}
+			} else
 				fSourceViewer.removeTextInputListener(this);
 			fEditor= null;
 		}
@@ -633,7 +881,7 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 							return Status.CANCEL_STATUS;
 						JavaCore.runReadOnly(() -> {
 							CompilationUnit ast= SharedASTProviderCore.getAST(element, SharedASTProviderCore.WAIT_YES, monitor);
-							reconciled(ast, false, monitor);
+							reconciled(ast, false, monitor, false);
 						});
 						synchronized (fJobLock) {
 							// allow the job to be gc'ed
@@ -271,6 +271,14 @@ public class SemanticHighlightings {
 			IBinding binding= token.getBinding();
 			return binding != null && binding.getKind() == IBinding.VARIABLE && ((IVariableBinding)binding).isField() && (binding.getModifiers() & (Modifier.FINAL | Modifier.STATIC)) == (Modifier.FINAL | Modifier.STATIC);
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#mayConsume(int, int)
+		 */
+		@Override
+		public boolean mayConsume(int bindingKind, int modifiers) {
+			return bindingKind == IBinding.VARIABLE && (modifiers & (Modifier.FINAL | Modifier.STATIC)) == (Modifier.FINAL | Modifier.STATIC);
+		}
 	}
 
 	/**
@@ -334,6 +342,14 @@ public class SemanticHighlightings {
 			IBinding binding= token.getBinding();
 			return binding != null && binding.getKind() == IBinding.VARIABLE && ((IVariableBinding)binding).isField() && (binding.getModifiers() & Modifier.STATIC) == Modifier.STATIC;
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#mayConsume(int, int)
+		 */
+		@Override
+		public boolean mayConsume(int bindingKind, int modifiers) {
+			return bindingKind == IBinding.VARIABLE && (modifiers & Modifier.STATIC) == Modifier.STATIC;
+		}
 	}
 
 	/**
@@ -397,6 +413,14 @@ public class SemanticHighlightings {
 			IBinding binding= token.getBinding();
 			return binding != null && binding.getKind() == IBinding.VARIABLE && ((IVariableBinding)binding).isField();
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#mayConsume(int, int)
+		 */
+		@Override
+		public boolean mayConsume(int bindingKind, int modifiers) {
+			return bindingKind == IBinding.VARIABLE;
+		}
 	}
 
 	/**
@@ -468,6 +492,14 @@ public class SemanticHighlightings {
 			return isAutoUnBoxing(token.getNode());
 		}
 
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#mayConsumeLiterals()
+		 */
+		@Override
+		public boolean mayConsumeLiterals() {
+			return true;
+		}
+
 		private boolean isAutoUnBoxing(Expression node) {
 			if (isAutoUnBoxingExpression(node))
 				return true;
@@ -635,6 +667,14 @@ public class SemanticHighlightings {
 			IBinding binding= token.getBinding();
 			return binding != null && binding.getKind() == IBinding.METHOD && (binding.getModifiers() & Modifier.STATIC) == Modifier.STATIC;
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#mayConsume(int, int)
+		 */
+		@Override
+		public boolean mayConsume(int bindingKind, int modifiers) {
+			return bindingKind == IBinding.METHOD && (modifiers & Modifier.STATIC) == Modifier.STATIC;
+		}
 	}
 
 	/**
@@ -706,6 +746,14 @@ public class SemanticHighlightings {
 
 			return false;
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#mayConsume(int, int)
+		 */
+		@Override
+		public boolean mayConsume(int bindingKind, int modifiers) {
+			return bindingKind == IBinding.METHOD;
+		}
 	}
 
 	/**
@@ -784,6 +832,14 @@ public class SemanticHighlightings {
 
 			return true;
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#mayConsume(int, int)
+		 */
+		@Override
+		public boolean mayConsume(int bindingKind, int modifiers) {
+			return bindingKind == IBinding.METHOD && (modifiers & Modifier.ABSTRACT) == Modifier.ABSTRACT;
+		}
 	}
 
 	/**
@@ -859,6 +915,14 @@ public class SemanticHighlightings {
 
 			return Bindings.isSuperType(declaringType, currentType);
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#mayConsume(int, int)
+		 */
+		@Override
+		public boolean mayConsume(int bindingKind, int modifiers) {
+			return bindingKind == IBinding.METHOD;
+		}
 	}
 
 	/**
@@ -922,6 +986,15 @@ public class SemanticHighlightings {
 			IBinding binding= getBinding(token);
 			return binding != null && binding.getKind() == IBinding.METHOD;
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#mayConsume(int, int)
+		 */
+		@Override
+		public boolean mayConsume(int bindingKind, int modifiers) {
+			// the type name of a class instance creation stands for the constructor, see getBinding(SemanticToken)
+			return bindingKind == IBinding.METHOD || bindingKind == IBinding.TYPE || bindingKind == SemanticHighlightingClassifier.NO_BINDING;
+		}
 	}
 
 	/**
@@ -1060,6 +1133,14 @@ public class SemanticHighlightings {
 			}
 			return false;
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#mayConsume(int, int)
+		 */
+		@Override
+		public boolean mayConsume(int bindingKind, int modifiers) {
+			return bindingKind == IBinding.VARIABLE;
+		}
 	}
 
 	/**
@@ -1127,6 +1208,14 @@ public class SemanticHighlightings {
 			}
 			return false;
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#mayConsume(int, int)
+		 */
+		@Override
+		public boolean mayConsume(int bindingKind, int modifiers) {
+			return bindingKind == IBinding.VARIABLE;
+		}
 	}
 
 	/**
@@ -1318,6 +1407,14 @@ public class SemanticHighlightings {
 			IBinding binding= token.getBinding();
 			return binding instanceof ITypeBinding && ((ITypeBinding) binding).isTypeVariable();
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#mayConsume(int, int)
+		 */
+		@Override
+		public boolean mayConsume(int bindingKind, int modifiers) {
+			return bindingKind == IBinding.TYPE;
+		}
 	}
 
 	/**
@@ -1397,6 +1494,14 @@ public class SemanticHighlightings {
 			IBinding binding= token.getBinding();
 			return binding instanceof ITypeBinding && ((ITypeBinding) binding).isClass();
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#mayConsume(int, int)
+		 */
+		@Override
+		public boolean mayConsume(int bindingKind, int modifiers) {
+			return bindingKind == IBinding.TYPE;
+		}
 	}
 
 	/**
@@ -1477,6 +1582,14 @@ public class SemanticHighlightings {
 			IBinding binding= token.getBinding();
 			return binding instanceof ITypeBinding && ((ITypeBinding) binding).isEnum();
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#mayConsume(int, int)
+		 */
+		@Override
+		public boolean mayConsume(int bindingKind, int modifiers) {
+			return bindingKind == IBinding.TYPE;
+		}
 	}
 
 	/**
@@ -1556,6 +1669,14 @@ public class SemanticHighlightings {
 			IBinding binding= token.getBinding();
 			return binding instanceof ITypeBinding && ((ITypeBinding) binding).isInterface();
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#mayConsume(int, int)
+		 */
+		@Override
+		public boolean mayConsume(int bindingKind, int modifiers) {
+			return bindingKind == IBinding.TYPE;
+		}
 	}
 
 	/**
@@ -1636,6 +1757,14 @@ public class SemanticHighlightings {
 			IBinding binding= token.getBinding();
 			return binding instanceof ITypeBinding && ((ITypeBinding) binding).isAnnotation();
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#mayConsume(int, int)
+		 */
+		@Override
+		public boolean mayConsume(int bindingKind, int modifiers) {
+			return bindingKind == IBinding.TYPE;
+		}
 	}
 
 	/**
@@ -1776,6 +1905,14 @@ public class SemanticHighlightings {
 			return false;
 		}
 
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#mayConsume(int, int)
+		 */
+		@Override
+		public boolean mayConsume(int bindingKind, int modifiers) {
+			return false;
+		}
+
 		/*
 		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumesLiteral(org.eclipse.jdt.internal.ui.javaeditor.SemanticToken)
 		 */
@@ -1784,6 +1921,14 @@ public class SemanticHighlightings {
 			Expression expr= token.getLiteral();
 			return expr != null && expr.getNodeType() == ASTNode.NUMBER_LITERAL;
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#mayConsumeLiterals()
+		 */
+		@Override
+		public boolean mayConsumeLiterals() {
+			return true;
+		}
 	}
 
 	/**
@@ -1869,6 +2014,14 @@ public class SemanticHighlightings {
 
 			return false;
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#mayConsume(int, int)
+		 */
+		@Override
+		public boolean mayConsume(int bindingKind, int modifiers) {
+			return bindingKind == IBinding.TYPE && (modifiers & Modifier.ABSTRACT) != 0;
+		}
 	}
 
 	/**
@@ -1947,6 +2100,14 @@ public class SemanticHighlightings {
 
 			return Bindings.isSuperType(declaringType, currentType);
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#mayConsume(int, int)
+		 */
+		@Override
+		public boolean mayConsume(int bindingKind, int modifiers) {
+			return bindingKind == IBinding.VARIABLE;
+		}
 	}
 
 	static final class RestrictedIdentifiersHighlighting extends SemanticHighlighting {
@@ -1985,6 +2146,14 @@ public class SemanticHighlightings {
 		public boolean consumes(SemanticToken token) {
 			return false;
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#mayConsume(int, int)
+		 */
+		@Override
+		public boolean mayConsume(int bindingKind, int modifiers) {
+			return false;
+		}
 	}
 
 	/**
@@ -0,0 +1,385 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.javaeditor.codemining;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.search.FieldReferenceMatch;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.MethodReferenceMatch;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.core.search.SearchParticipant;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.SearchRequestor;
+import org.eclipse.jdt.core.search.TypeReferenceMatch;
+
+import org.eclipse.jdt.internal.corext.util.ChangedUnits;
+
+import org.eclipse.jdt.ui.PreferenceConstants;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.preferences.JavaPreferencesPropertyTester;
+import org.eclipse.jdt.internal.ui.search.JavaSearchScopeFactory;
+
+/**
+ * Counts the references of all elements showing a {@link JavaReferenceCodeMining} in an editor.
+ * <p>
+ * Instead of one workspace search per element, the elements whose count is not cached in the
+ * {@link JavaReferenceCountCache} are searched with one pattern combining all of them. A match is
+ * attributed to the element whose name occurs in the matched source range. Elements are grouped
+ * into rounds with distinct names, so only overloaded methods and constructors need additional
+ * searches. Elements of matches which cannot be attributed, e.g. nested invocations of two
+ * searched methods, are searched again one by one.
+ * </p>
+ */
+final class JavaReferenceCountBatch {
+
+	private final List<IJavaElement> fElements= new ArrayList<>();
+
+	private final Map<IJavaElement, Long> fCounts= new HashMap<>();
+
+	private boolean fSearched;
+
+	/**
+	 * Adds an element to count the references of. Must be called before any count is requested.
+	 *
+	 * @param element the element
+	 */
+	void add(IJavaElement element) {
+		fElements.add(element);
+	}
+
+	/**
+	 * Returns the number of references of the given element. The first request searches the
+	 * references of all elements of the batch.
+	 *
+	 * @param element the element
+	 * @param monitor the monitor
+	 * @return the number of references
+	 * @throws CoreException if the search failed
+	 */
+	long getCount(IJavaElement element, IProgressMonitor monitor) throws CoreException {
+		if (element == null) {
+			return 0;
+		}
+		boolean ignoreInaccurate= JavaPreferencesPropertyTester.isEnabled(PreferenceConstants.EDITOR_JAVA_CODEMINING_IGNORE_INEXACT_MATCHES);
+		JavaReferenceCountCache cache= JavaPlugin.getDefault().getReferenceCountCache();
+		Long cached= cache.get(element, ignoreInaccurate);
+		if (cached != null) {
+			return cached.longValue();
+		}
+		synchronized (this) {
+			if (!fSearched) {
+				search(cache, ignoreInaccurate, monitor);
+				fSearched= true;
+			}
+			Long count= fCounts.get(element);
+			if (count != null) {
+				return count.longValue();
+			}
+		}
+		long generation= cache.getGeneration();
+		Set<String> units= new HashSet<>();
+		long count= countReferences(element, ignoreInaccurate, units, monitor);
+		cache.put(element, ignoreInaccurate, count, units, generation);
+		return count;
+	}
+
+	private void search(JavaReferenceCountCache cache, boolean ignoreInaccurate, IProgressMonitor monitor) throws CoreException {
+		long generation= cache.getGeneration();
+		Map<Boolean, List<IJavaElement>> byScope= new LinkedHashMap<>();
+		JavaSearchScopeFactory factory= JavaSearchScopeFactory.getInstance();
+		for (IJavaElement element : fElements) {
+			if (cache.get(element, ignoreInaccurate) == null) {
+				byScope.computeIfAbsent(Boolean.valueOf(factory.isInsideJRE(element)), k -> new ArrayList<>()).add(element);
+			}
+		}
+		for (Map.Entry<Boolean, List<IJavaElement>> entry : byScope.entrySet()) {
+			if (entry.getKey().booleanValue()) {
+				// matches in class files cannot be attributed, count them one by one on request
+				continue;
+			}
+			for (List<IJavaElement> round : createRounds(entry.getValue())) {
+				if (round.size() > 1) {
+					searchRound(round, factory.createWorkspaceScope(false), cache, ignoreInaccurate, generation, monitor);
+				}
+			}
+		}
+	}
+
+	/*
+	 * Splits the elements into lists in which no two elements of the same kind share a name.
+	 */
+	private static List<List<IJavaElement>> createRounds(List<IJavaElement> elements) {
+		List<List<IJavaElement>> rounds= new ArrayList<>();
+		List<Set<String>> keys= new ArrayList<>();
+		for (IJavaElement element : elements) {
+			String key= getKind(element) + element.getElementName();
+			int i= 0;
+			while (i < rounds.size() && keys.get(i).contains(key)) {
+				i++;
+			}
+			if (i == rounds.size()) {
+				rounds.add(new ArrayList<>());
+				keys.add(new HashSet<>());
+			}
+			rounds.get(i).add(element);
+			keys.get(i).add(key);
+		}
+		return rounds;
+	}
+
+	private static int getKind(IJavaElement element) {
+		if (element instanceof IMethod) {
+			try {
+				if (((IMethod) element).isConstructor()) {
+					return 0;
+				}
+			} catch (JavaModelException e) {
+				// handled as method
+			}
+		}
+		return element.getElementType();
+	}
+
+	private void searchRound(List<IJavaElement> round, IJavaSearchScope scope, JavaReferenceCountCache cache, boolean ignoreInaccurate,
+			long generation, IProgressMonitor monitor) throws CoreException {
+		SearchPattern pattern= null;
+		List<IJavaElement> elements= new ArrayList<>(round.size());
+		for (IJavaElement element : round) {
+			SearchPattern elementPattern= SearchPattern.createPattern(element, IJavaSearchConstants.REFERENCES);
+			if (elementPattern == null) {
+				fCounts.put(element, Long.valueOf(0));
+			} else {
+				pattern= pattern == null ? elementPattern : SearchPattern.createOrPattern(pattern, elementPattern);
+				elements.add(element);
+			}
+		}
+		if (pattern == null) {
+			return;
+		}
+
+		Map<IJavaElement, long[]> counts= new HashMap<>();
+		Map<IJavaElement, Set<String>> units= new HashMap<>();
+		Set<IJavaElement> ambiguous= new HashSet<>();
+		for (IJavaElement element : elements) {
+			counts.put(element, new long[1]);
+			units.put(element, new HashSet<>());
+		}
+		new SearchEngine().search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() }, scope, new SearchRequestor() {
+
+			private IResource fResource;
+
+			private String fContents;
+
+			@Override
+			public void acceptSearchMatch(SearchMatch match) throws CoreException {
+				if (match.getAccuracy() == SearchMatch.A_INACCURATE && ignoreInaccurate) {
+					return;
+				}
+				Object o= match.getElement();
+				if (!(o instanceof IJavaElement)) {
+					return;
+				}
+				IJavaElement e= (IJavaElement) o;
+				IJavaElement unit= e.getAncestor(IJavaElement.COMPILATION_UNIT);
+				if (unit == null && e.getAncestor(IJavaElement.CLASS_FILE) == null) {
+					return;
+				}
+				String text= unit != null ? getText((ICompilationUnit) unit, match) : null;
+				List<IJavaElement> candidates= getCandidates(match, text, elements);
+				IJavaElement target= text != null ? attribute(candidates, text) : null;
+				if (target == null) {
+					ambiguous.addAll(candidates);
+				} else {
+					counts.get(target)[0]++;
+					units.get(target).add(unit.getHandleIdentifier());
+				}
+			}
+
+			private String getText(ICompilationUnit unit, SearchMatch match) throws JavaModelException {
+				int offset= match.getOffset();
+				int length= match.getLength();
+				if (offset < 0 || length <= 0) {
+					return null;
+				}
+				String contents;
+				if (unit.isWorkingCopy()) {
+					IBuffer buffer= unit.getBuffer();
+					contents= buffer != null ? buffer.getContents() : null;
+				} else {
+					IResource resource= match.getResource();
+					if (!resource.equals(fResource)) {
+						fResource= resource;
+						fContents= resource instanceof IFile ? readContents((IFile) resource) : null;
+					}
+					contents= fContents;
+				}
+				if (contents == null || offset + length > contents.length()) {
+					return null;
+				}
+				return contents.substring(offset, offset + length);
+			}
+		}, monitor);
+
+		for (IJavaElement element : elements) {
+			if (!ambiguous.contains(element)) {
+				long count= counts.get(element)[0];
+				fCounts.put(element, Long.valueOf(count));
+				cache.put(element, ignoreInaccurate, count, units.get(element), generation);
+			}
+		}
+	}
+
+	/*
+	 * The elements of the round which can be referenced by a match of the given kind. Constructor
+	 * references are reported as method reference matches, they are told apart by the matched
+	 * text, as the arguments of super(foo()) would otherwise credit the invocation to foo().
+	 */
+	private static List<IJavaElement> getCandidates(SearchMatch match, String text, List<IJavaElement> elements) {
+		int kind;
+		if (match instanceof TypeReferenceMatch) {
+			kind= IJavaElement.TYPE;
+		} else if (match instanceof FieldReferenceMatch) {
+			kind= IJavaElement.FIELD;
+		} else if (match instanceof MethodReferenceMatch) {
+			if (((MethodReferenceMatch) match).isImplicit() || text != null && isConstructorInvocation(text)) {
+				kind= 0;
+			} else if (text != null) {
+				kind= IJavaElement.METHOD;
+			} else {
+				kind= -1;
+			}
+		} else {
+			return elements;
+		}
+		List<IJavaElement> candidates= new ArrayList<>();
+		for (IJavaElement element : elements) {
+			if (kind == -1 ? element.getElementType() == IJavaElement.METHOD : getKind(element) == kind) {
+				candidates.add(element);
+			}
+		}
+		return candidates;
+	}
+
+	private static boolean isConstructorInvocation(String text) {
+		int end= 0;
+		while (end < text.length() && Character.isJavaIdentifierPart(text.charAt(end))) {
+			end++;
+		}
+		String keyword= text.substring(0, end);
+		return "super".equals(keyword) || "this".equals(keyword) || "new".equals(keyword); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	/*
+	 * Returns the only candidate whose name occurs in the matched text. Invocations of super and
+	 * this constructors do not contain a name, they are attributed to the only constructor
+	 * candidate.
+	 */
+	private static IJavaElement attribute(List<IJavaElement> candidates, String text) {
+		Set<String> names= new HashSet<>();
+		ChangedUnits.collectIdentifiers(text, names);
+		IJavaElement target= null;
+		for (IJavaElement candidate : candidates) {
+			if (names.contains(candidate.getElementName())) {
+				if (target != null) {
+					return null;
+				}
+				target= candidate;
+			}
+		}
+		if (target == null) {
+			for (IJavaElement candidate : candidates) {
+				if (getKind(candidate) == 0) {
+					if (target != null) {
+						return null;
+					}
+					target= candidate;
+				}
+			}
+		}
+		return target;
+	}
+
+	private static String readContents(IFile file) throws CoreException {
+		try (InputStream stream= file.getContents(true)) {
+			return new String(stream.readAllBytes(), file.getCharset());
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Return the number of references for the given java element.
+	 *
+	 * @param element the java element.
+	 * @param ignoreInaccurate whether inaccurate matches are not counted
+	 * @param referencingUnits collects the compilation units containing the references
+	 * @param monitor the monitor
+	 * @return the number of references for the given java element.
+	 * @throws CoreException throws when java error.
+	 */
+	static long countReferences(IJavaElement element, boolean ignoreInaccurate, Set<String> referencingUnits, IProgressMonitor monitor)
+			throws CoreException {
+		long[] count= new long[1];
+		SearchPattern pattern= SearchPattern.createPattern(element, IJavaSearchConstants.REFERENCES);
+		if (pattern == null) {
+			return 0;
+		}
+		JavaSearchScopeFactory factory= JavaSearchScopeFactory.getInstance();
+		IJavaSearchScope scope= factory.createWorkspaceScope(factory.isInsideJRE(element));
+		new SearchEngine().search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() }, scope, new SearchRequestor() {
+
+			@Override
+			public void acceptSearchMatch(SearchMatch match) throws CoreException {
+				if (match.getAccuracy() == SearchMatch.A_INACCURATE && ignoreInaccurate) {
+					return;
+				}
+				Object o= match.getElement();
+				if (o instanceof IJavaElement) {
+					IJavaElement e= (IJavaElement) o;
+					IJavaElement unit= e.getAncestor(IJavaElement.COMPILATION_UNIT);
+					if (unit != null) {
+						referencingUnits.add(unit.getHandleIdentifier());
+						count[0]++;
+					} else if (e.getAncestor(IJavaElement.CLASS_FILE) != null) {
+						count[0]++;
+					}
+				}
+			}
+		}, monitor);
+		return count[0];
+	}
+}
@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.javaeditor.codemining;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.JavaCore;
+
+import org.eclipse.jdt.internal.corext.util.ChangedUnits;
+import org.eclipse.jdt.internal.corext.util.LRUMap;
+
+/**
+ * Caches the reference counts shown by {@link JavaReferenceCodeMining}, so that reopening an
+ * editor or scrolling through it does not search the workspace again.
+ * <p>
+ * The entries are keyed by the handle identifier of the referenced element. They are invalidated
+ * from Java element deltas as described in {@link ChangedUnits}.
+ * </p>
+ *
+ * @since 3.33
+ */
+public final class JavaReferenceCountCache implements IElementChangedListener {
+
+	private static final int MAX_ENTRIES= Math.max(1, Integer.getInteger("org.eclipse.jdt.ui.codemining.referenceCountCache.maxEntries", 5000).intValue()); //$NON-NLS-1$
+
+	private static class Entry {
+		final String fName;
+		final String fDeclaringUnit;
+		final boolean fIgnoreInaccurate;
+		final long fCount;
+		final Set<String> fReferencingUnits;
+
+		Entry(IJavaElement element, boolean ignoreInaccurate, long count, Set<String> referencingUnits) {
+			fName= element.getElementName();
+			IJavaElement unit= element.getAncestor(IJavaElement.COMPILATION_UNIT);
+			fDeclaringUnit= unit != null ? unit.getHandleIdentifier() : null;
+			fIgnoreInaccurate= ignoreInaccurate;
+			fCount= count;
+			fReferencingUnits= referencingUnits;
+		}
+
+		boolean isAffectedBy(ChangedUnits changes) {
+			return changes.affects(fName, fDeclaringUnit, fReferencingUnits);
+		}
+	}
+
+	private final Map<String, Entry> fEntries= new LRUMap<>(MAX_ENTRIES);
+
+	private long fGeneration;
+
+	public JavaReferenceCountCache() {
+		JavaCore.addElementChangedListener(this);
+	}
+
+	public void dispose() {
+		JavaCore.removeElementChangedListener(this);
+		clear();
+	}
+
+	/**
+	 * Returns the number of references of the given element, if known.
+	 *
+	 * @param element the referenced element
+	 * @param ignoreInaccurate whether inaccurate matches were not counted
+	 * @return the number of references or <code>null</code> if not cached
+	 */
+	public Long get(IJavaElement element, boolean ignoreInaccurate) {
+		synchronized (fEntries) {
+			Entry entry= fEntries.get(element.getHandleIdentifier());
+			if (entry == null || entry.fIgnoreInaccurate != ignoreInaccurate)
+				return null;
+			return Long.valueOf(entry.fCount);
+		}
+	}
+
+	/**
+	 * Returns the current generation of the cache. It changes whenever entries are invalidated.
+	 *
+	 * @return the generation to pass to {@link #put(IJavaElement, boolean, long, Set, long)}
+	 */
+	public long getGeneration() {
+		synchronized (fEntries) {
+			return fGeneration;
+		}
+	}
+
+	/**
+	 * Stores the number of references of the given element. The count is dropped if the cache was
+	 * invalidated since the search for the references has been started.
+	 *
+	 * @param element the referenced element
+	 * @param ignoreInaccurate whether inaccurate matches were not counted
+	 * @param count the number of references
+	 * @param referencingUnits the handle identifiers of the compilation units containing the
+	 *            references
+	 * @param generation the generation of the cache when the search was started
+	 */
+	public void put(IJavaElement element, boolean ignoreInaccurate, long count, Set<String> referencingUnits, long generation) {
+		Entry entry= new Entry(element, ignoreInaccurate, count, referencingUnits.isEmpty() ? Collections.emptySet() : referencingUnits);
+		synchronized (fEntries) {
+			if (generation == fGeneration)
+				fEntries.put(element.getHandleIdentifier(), entry);
+		}
+	}
+
+	public void clear() {
+		synchronized (fEntries) {
+			fGeneration++;
+			fEntries.clear();
+		}
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		ChangedUnits changes= ChangedUnits.of(event.getDelta());
+		if (changes.isEmpty())
+			return;
+		synchronized (fEntries) {
+			fGeneration++;
+			if (changes.affectsAll()) {
+				fEntries.clear();
+			} else {
+				fEntries.values().removeIf(entry -> entry.isAffectedBy(changes));
+			}
+		}
+	}
+}
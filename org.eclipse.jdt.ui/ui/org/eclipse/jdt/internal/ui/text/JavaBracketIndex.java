@@ -0,0 +1,336 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.text;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension3;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.ITypedRegion;
+import org.eclipse.jface.text.TextUtilities;
+import org.eclipse.jface.text.TypedRegion;
+
+/**
+ * An index of the braces, parentheses and brackets of one partition type of a document, used by
+ * {@link JavaHeuristicScanner#findOpeningPeer(int, int, char, char)} and
+ * {@link JavaHeuristicScanner#findClosingPeer(int, int, char, char)}.
+ * <p>
+ * The scanner finds a peer by reading the document character by character and counting the
+ * nesting depth, which makes indenting many lines quadratic in the size of the blocks. The index
+ * stores the offset of each bracket together with its peer and the bracket enclosing it, so that
+ * the opening peer of any offset is found by a binary search and scopes are skipped in one step.
+ * Only brackets in the given partition type count, like for the scanner.
+ * </p>
+ * <p>
+ * The index is built lazily from the start of the document up to the offsets that are queried.
+ * When the document changes, the brackets from the line of the change on are dropped and read
+ * again by the next query, which keeps the index cheap when the document is modified line by line
+ * as by Correct Indentation.
+ * </p>
+ *
+ * @since 3.33
+ */
+public final class JavaBracketIndex implements IDocumentListener {
+
+	private static final boolean ENABLED= Boolean.parseBoolean(System.getProperty("org.eclipse.jdt.ui.text.bracketIndex", "true")); //$NON-NLS-1$ //$NON-NLS-2$
+
+	/** The number of characters read at once when searching forward */
+	private static final int CHUNK_SIZE= 8192;
+
+	/** The peer of an opening bracket whose closing bracket has not been read yet */
+	private static final int UNKNOWN= -2;
+
+	/** The peer of a bracket without peer, and the parent of a top level bracket */
+	private static final int NONE= -1;
+
+	/** The indexes by document, and by partitioning and partition type */
+	private static final Map<IDocument, Map<String, JavaBracketIndex>> fgIndexes= new WeakHashMap<>();
+
+	/**
+	 * The brackets of one pair of peers, in document order.
+	 */
+	private static final class Brackets {
+		private final char fOpeningPeer;
+		private final char fClosingPeer;
+
+		private int fCount;
+		private int[] fOffsets= new int[64];
+		private boolean[] fOpening= new boolean[64];
+		/** The index of the peer, <code>NONE</code> or <code>UNKNOWN</code> */
+		private int[] fPeers= new int[64];
+		/** The index of the enclosing opening bracket of an opening bracket, or <code>NONE</code> */
+		private int[] fParents= new int[64];
+
+		Brackets(char openingPeer, char closingPeer) {
+			fOpeningPeer= openingPeer;
+			fClosingPeer= closingPeer;
+		}
+
+		/**
+		 * Returns the innermost opening bracket which is not closed by the brackets up to and
+		 * including the given one.
+		 *
+		 * @param index the index of a bracket, or <code>NONE</code>
+		 * @return the index of the opening bracket, or <code>NONE</code>
+		 */
+		int enclosing(int index) {
+			if (index == NONE)
+				return NONE;
+			if (fOpening[index])
+				return index;
+			int peer= fPeers[index];
+			return peer == NONE ? NONE : fParents[peer];
+		}
+
+		void add(int offset, boolean opening) {
+			if (fCount == fOffsets.length) {
+				int length= fCount * 2;
+				fOffsets= Arrays.copyOf(fOffsets, length);
+				fOpening= Arrays.copyOf(fOpening, length);
+				fPeers= Arrays.copyOf(fPeers, length);
+				fParents= Arrays.copyOf(fParents, length);
+			}
+			int top= enclosing(fCount - 1);
+			int index= fCount++;
+			fOffsets[index]= offset;
+			fOpening[index]= opening;
+			if (opening) {
+				fPeers[index]= UNKNOWN;
+				fParents[index]= top;
+			} else {
+				fPeers[index]= top;
+				fParents[index]= NONE;
+				if (top != NONE)
+					fPeers[top]= index;
+			}
+		}
+
+		/**
+		 * @param offset an offset
+		 * @return the number of brackets before the offset
+		 */
+		int countBefore(int offset) {
+			int low= 0;
+			int high= fCount;
+			while (low < high) {
+				int middle= (low + high) >>> 1;
+				if (fOffsets[middle] < offset)
+					low= middle + 1;
+				else
+					high= middle;
+			}
+			return low;
+		}
+
+		void truncate(int offset) {
+			fCount= countBefore(offset);
+			for (int open= enclosing(fCount - 1); open != NONE; open= fParents[open])
+				fPeers[open]= UNKNOWN;
+		}
+	}
+
+	private final String fPartitioning;
+
+	private final String fPartition;
+
+	private final Brackets[] fBrackets= { new Brackets('{', '}'), new Brackets('(', ')'), new Brackets('[', ']') };
+
+	/** The end of the range of the document whose brackets are indexed */
+	private int fIndexed;
+
+	private JavaBracketIndex(String partitioning, String partition) {
+		fPartitioning= partitioning;
+		fPartition= partition;
+	}
+
+	/**
+	 * Returns the index of the given document, creating it if needed.
+	 *
+	 * @param document the document
+	 * @param partitioning the partitioning of the document
+	 * @param partition the partition type whose brackets count
+	 * @return the index, or <code>null</code> if the index is disabled
+	 */
+	public static JavaBracketIndex get(IDocument document, String partitioning, String partition) {
+		if (!ENABLED)
+			return null;
+		synchronized (fgIndexes) {
+			Map<String, JavaBracketIndex> indexes= fgIndexes.computeIfAbsent(document, d -> new HashMap<>());
+			return indexes.computeIfAbsent(partitioning + '\n' + partition, key -> {
+				JavaBracketIndex index= new JavaBracketIndex(partitioning, partition);
+				document.addDocumentListener(index);
+				return index;
+			});
+		}
+	}
+
+	/**
+	 * @param openingPeer the opening peer character
+	 * @param closingPeer the closing peer character
+	 * @return <code>true</code> if the index knows the given pair of peers
+	 */
+	public static boolean isIndexed(char openingPeer, char closingPeer) {
+		return openingPeer == '{' && closingPeer == '}' || openingPeer == '(' && closingPeer == ')' || openingPeer == '[' && closingPeer == ']';
+	}
+
+	private Brackets getBrackets(char openingPeer) {
+		for (Brackets brackets : fBrackets) {
+			if (brackets.fOpeningPeer == openingPeer)
+				return brackets;
+		}
+		throw new IllegalArgumentException(String.valueOf(openingPeer));
+	}
+
+	/**
+	 * Returns the position of the opening peer, with the same result as the backward search of
+	 * {@link JavaHeuristicScanner#findOpeningPeer(int, int, char, char)}.
+	 *
+	 * @param document the document of the index
+	 * @param start the first position to be searched
+	 * @param bound the last position not to be searched, or {@link JavaHeuristicScanner#UNBOUND}
+	 * @param openingPeer the opening peer character, see {@link #isIndexed(char, char)}
+	 * @return the position of the opening peer, or {@link JavaHeuristicScanner#NOT_FOUND}
+	 * @throws BadLocationException if the document was changed concurrently
+	 */
+	public synchronized int findOpeningPeer(IDocument document, int start, int bound, char openingPeer) throws BadLocationException {
+		Brackets brackets= getBrackets(openingPeer);
+		index(document, start + 1);
+		int open= brackets.enclosing(brackets.countBefore(start + 1) - 1);
+		if (open == NONE || brackets.fOffsets[open] <= bound)
+			return JavaHeuristicScanner.NOT_FOUND;
+		return brackets.fOffsets[open];
+	}
+
+	/**
+	 * Returns the position of the closing peer, with the same result as the forward search of
+	 * {@link JavaHeuristicScanner#findClosingPeer(int, int, char, char)}.
+	 *
+	 * @param document the document of the index
+	 * @param start the first position to be searched
+	 * @param bound the first position not to be searched, or {@link JavaHeuristicScanner#UNBOUND}
+	 * @param openingPeer the opening peer character, see {@link #isIndexed(char, char)}
+	 * @return the position of the closing peer, or {@link JavaHeuristicScanner#NOT_FOUND}
+	 * @throws BadLocationException if the document was changed concurrently
+	 */
+	public synchronized int findClosingPeer(IDocument document, int start, int bound, char openingPeer) throws BadLocationException {
+		Brackets brackets= getBrackets(openingPeer);
+		int length= document.getLength();
+		if (bound == JavaHeuristicScanner.UNBOUND || bound > length)
+			bound= length;
+		index(document, Math.min(start, length));
+		int index= brackets.countBefore(start);
+		while (true) {
+			while (index >= brackets.fCount || brackets.fOpening[index] && brackets.fPeers[index] == UNKNOWN) {
+				if (fIndexed >= bound)
+					return JavaHeuristicScanner.NOT_FOUND;
+				index(document, Math.min(fIndexed + CHUNK_SIZE, length));
+			}
+			if (brackets.fOffsets[index] >= bound)
+				return JavaHeuristicScanner.NOT_FOUND;
+			if (!brackets.fOpening[index])
+				return brackets.fOffsets[index];
+			int peer= brackets.fPeers[index];
+			if (peer == NONE)
+				return JavaHeuristicScanner.NOT_FOUND;
+			index= peer + 1;
+		}
+	}
+
+	/**
+	 * Reads the brackets up to the given offset.
+	 *
+	 * @param document the document
+	 * @param end the end of the range to index
+	 * @throws BadLocationException if the document was changed concurrently
+	 */
+	private void index(IDocument document, int end) throws BadLocationException {
+		int length= document.getLength();
+		if (fIndexed > length)
+			invalidate(0);
+		if (end > length)
+			end= length;
+		if (end <= fIndexed)
+			return;
+
+		int start= fIndexed;
+		try {
+			ITypedRegion[] regions;
+			if (document instanceof IDocumentExtension3 && ((IDocumentExtension3) document).getDocumentPartitioner(fPartitioning) == null) {
+				// like TextUtilities.getPartition, a document without the partitioning is one default partition
+				regions= new ITypedRegion[] { new TypedRegion(0, length, IDocument.DEFAULT_CONTENT_TYPE) };
+			} else {
+				regions= TextUtilities.computePartitioning(document, fPartitioning, start, end - start, false);
+			}
+			for (ITypedRegion region : regions) {
+				if (!fPartition.equals(region.getType()))
+					continue;
+				int offset= Math.max(start, region.getOffset());
+				int regionEnd= Math.min(end, region.getOffset() + region.getLength());
+				if (offset >= regionEnd)
+					continue;
+				String text= document.get(offset, regionEnd - offset);
+				for (int i= 0; i < text.length(); i++) {
+					char ch= text.charAt(i);
+					for (Brackets brackets : fBrackets) {
+						if (ch == brackets.fOpeningPeer) {
+							brackets.add(offset + i, true);
+							break;
+						} else if (ch == brackets.fClosingPeer) {
+							brackets.add(offset + i, false);
+							break;
+						}
+					}
+				}
+			}
+		} catch (BadLocationException e) {
+			invalidate(start);
+			throw e;
+		}
+		fIndexed= end;
+	}
+
+	private void invalidate(int offset) {
+		if (offset >= fIndexed)
+			return;
+		for (Brackets brackets : fBrackets)
+			brackets.truncate(offset);
+		fIndexed= offset;
+	}
+
+	private synchronized void invalidate(DocumentEvent event) {
+		int offset= event.getOffset();
+		try {
+			offset= event.getDocument().getLineInformationOfOffset(offset).getOffset();
+		} catch (BadLocationException e) {
+			offset= 0;
+		}
+		invalidate(offset);
+	}
+
+	@Override
+	public void documentAboutToBeChanged(DocumentEvent event) {
+		invalidate(event);
+	}
+
+	@Override
+	public void documentChanged(DocumentEvent event) {
+		invalidate(event);
+	}
+}
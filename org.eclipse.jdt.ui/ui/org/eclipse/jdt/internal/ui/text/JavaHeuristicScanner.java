@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -264,6 +264,11 @@ public final class JavaHeuristicScanner implements Symbols {
 	 * @since 3.2
 	 */
 	private ITypedRegion fCachedPartition= new TypedRegion(-1, 0, "__no_partition_at_all"); //$NON-NLS-1$
+	/**
+	 * The bracket index of the document, created on first use.
+	 * @since 3.33
+	 */
+	private JavaBracketIndex fBracketIndex;
 
 	/* preset stop conditions */
 	private final StopCondition fNonWSDefaultPart= new NonWhitespaceDefaultPartition();
@@ -546,6 +551,15 @@ public final class JavaHeuristicScanner implements Symbols {
 	public int findClosingPeer(int start, int bound, final char openingPeer, final char closingPeer) {
 		Assert.isLegal(start >= 0);
 
+		JavaBracketIndex index= getBracketIndex(openingPeer, closingPeer);
+		if (index != null) {
+			try {
+				return index.findClosingPeer(fDocument, start, bound, openingPeer);
+			} catch (BadLocationException e) {
+				// scan the document
+			}
+		}
+
 		try {
 			CharacterMatch match= new CharacterMatch(new char[] {openingPeer, closingPeer});
 			int depth= 1;
@@ -601,6 +615,15 @@ public final class JavaHeuristicScanner implements Symbols {
 	public int findOpeningPeer(int start, int bound, char openingPeer, char closingPeer) {
 		Assert.isLegal(start < fDocument.getLength());
 
+		JavaBracketIndex index= getBracketIndex(openingPeer, closingPeer);
+		if (index != null) {
+			try {
+				return index.findOpeningPeer(fDocument, start, bound, openingPeer);
+			} catch (BadLocationException e) {
+				// scan the document
+			}
+		}
+
 		try {
 			final CharacterMatch match= new CharacterMatch(new char[] {openingPeer, closingPeer});
 			int depth= 1;
@@ -624,6 +647,22 @@ public final class JavaHeuristicScanner implements Symbols {
 		}
 	}
 
+	/**
+	 * Returns the bracket index used to find the given peers.
+	 *
+	 * @param openingPeer the opening peer character
+	 * @param closingPeer the closing peer character
+	 * @return the bracket index, or <code>null</code> if the document has to be scanned
+	 * @since 3.33
+	 */
+	private JavaBracketIndex getBracketIndex(char openingPeer, char closingPeer) {
+		if (!JavaBracketIndex.isIndexed(openingPeer, closingPeer))
+			return null;
+		if (fBracketIndex == null)
+			fBracketIndex= JavaBracketIndex.get(fDocument, fPartitioning, fPartition);
+		return fBracketIndex;
+	}
+
 	/**
 	 * Computes the surrounding block around <code>offset</code>. The search is started at the
 	 * beginning of <code>offset</code>, i.e. an opening brace at <code>offset</code> will not be
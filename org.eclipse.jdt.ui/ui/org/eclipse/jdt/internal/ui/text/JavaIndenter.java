@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -2160,6 +2160,9 @@ public final class JavaIndenter {
 	 */
 	private boolean skipScope(int openToken, int closeToken) {
 
+		if (skipScopeToPeer(openToken))
+			return true;
+
 		int depth= 1;
 
 		while (true) {
@@ -2176,4 +2179,46 @@ public final class JavaIndenter {
 			}
 		}
 	}
+
+	/**
+	 * Moves the internal cursor to the opening peer of a brace, parenthesis or bracket scope as
+	 * found by {@link JavaHeuristicScanner#findOpeningPeer(int, char, char)}, which does not need
+	 * to read the tokens of the scope. The fields are set as if the tokens had been read by
+	 * {@link #skipScope(int, int)}.
+	 *
+	 * @param openToken the opening peer token
+	 * @return <code>true</code> if the opening peer was found, <code>false</code> if the
+	 *         scope is not a brace, parenthesis or bracket scope or if there is no opening peer
+	 * @since 3.33
+	 */
+	private boolean skipScopeToPeer(int openToken) {
+		char openingPeer;
+		char closingPeer;
+		switch (openToken) {
+			case Symbols.TokenLBRACE:
+				openingPeer= '{';
+				closingPeer= '}';
+				break;
+			case Symbols.TokenLPAREN:
+				openingPeer= '(';
+				closingPeer= ')';
+				break;
+			case Symbols.TokenLBRACKET:
+				openingPeer= '[';
+				closingPeer= ']';
+				break;
+			default:
+				return false;
+		}
+
+		int end= fPosition;
+		int peer= fScanner.findOpeningPeer(end - 1, openingPeer, closingPeer);
+		if (peer == JavaHeuristicScanner.NOT_FOUND)
+			return false;
+
+		int next= fScanner.findNonWhitespaceForward(peer + 1, end);
+		nextToken(peer + 1);
+		fPreviousPos= next == JavaHeuristicScanner.NOT_FOUND ? end : next;
+		return true;
+	}
 }
@@ -13,24 +13,28 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.ui.text.spelling.engine;
 
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.UnsupportedEncodingException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CodingErrorAction;
 import java.nio.charset.MalformedInputException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
-import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.core.runtime.IStatus;
@@ -56,42 +60,16 @@ import org.eclipse.jdt.internal.ui.JavaUIMessages;
 public abstract class AbstractSpellDictionary implements ISpellDictionary {
 
 	/**
-	 * Byte array wrapper
-	 * @since 3.6
+	 * Folder in the plug-in state location with the cached indices of loaded word lists.
+	 * @since 3.33
 	 */
-	private static class ByteArrayWrapper {
-
-		private byte[] byteArray;
-
-		public ByteArrayWrapper(byte[] byteArray) {
-			this.byteArray= byteArray;
-		}
-		@Override
-		public int hashCode() {
-			return 31 + Arrays.hashCode(byteArray);
-		}
-
-		@Override
-		public boolean equals(Object obj) {
-			if (this == obj)
-				return true;
-			if (obj == null)
-				return false;
-			if (!(obj instanceof ByteArrayWrapper))
-				return false;
-			ByteArrayWrapper other= (ByteArrayWrapper)obj;
-			if (!Arrays.equals(byteArray, other.byteArray))
-				return false;
-			return true;
-		}
-	}
-
+	private static final String INDEX_CACHE_FOLDER= "spelling"; //$NON-NLS-1$
 
 	/**
-	 * Canonical name for UTF-8 encoding
-	 * @since 3.6
+	 * Minimal number of words of a word list for which the index is cached.
+	 * @since 3.33
 	 */
-	private static final String UTF_8= "UTF-8"; //$NON-NLS-1$
+	private static final int MIN_CACHED_WORDS= 1000;
 
 	/** The bucket capacity */
 	protected static final int BUCKET_CAPACITY= 4;
@@ -112,7 +90,7 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	private IPhoneticDistanceAlgorithm fDistanceAlgorithm= new DefaultPhoneticDistanceAlgorithm();
 
 	/** The mapping from phonetic hashes to word lists */
-	private final Map<ByteArrayWrapper, Object> fHashBuckets= new HashMap<>(getInitialSize(), LOAD_FACTOR);
+	private PhoneticIndex fHashBuckets= new PhoneticIndex(getInitialSize());
 
 	/** The phonetic hash provider */
 	private IPhoneticHashProvider fHashProvider= new DefaultPhoneticHashProvider();
@@ -141,24 +119,6 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 		return 32;
 	}
 
-	/**
-	 * Returns all candidates with the same phonetic hash.
-	 *
-	 * @param hash
-	 *                   The hash to retrieve the candidates of
-	 * @return Array of candidates for the phonetic hash
-	 */
-	protected final Object getCandidates(final String hash) {
-		ByteArrayWrapper hashBytes;
-		try {
-			hashBytes= new ByteArrayWrapper(hash.getBytes(UTF_8));
-		} catch (UnsupportedEncodingException e) {
-			JavaPlugin.log(e);
-			return null;
-		}
-		return fHashBuckets.get(hashBytes);
-	}
-
 	/**
 	 * Returns all candidates that have a phonetic hash within a bounded
 	 * distance to the specified word.
@@ -180,44 +140,19 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 		final StringBuilder buffer= new StringBuilder(BUFFER_CAPACITY);
 		final HashSet<RankedWordProposal> result= new HashSet<>(BUCKET_CAPACITY * hashs.size());
 
+		final PhoneticIndex index= fHashBuckets;
 		for (String hash2 : hashs) {
 
 			hash= hash2;
 
-			final Object candidates= getCandidates(hash);
-			if (candidates == null)
-				continue;
-			else if (candidates instanceof byte[]) {
-				String candidate;
-				try {
-					candidate= new String((byte[])candidates, UTF_8);
-				} catch (UnsupportedEncodingException e) {
-					JavaPlugin.log(e);
-					return result;
-				}
-				distance= fDistanceAlgorithm.getDistance(word, candidate);
-				if (distance < DISTANCE_THRESHOLD) {
-					buffer.setLength(0);
-					buffer.append(candidate);
-					if (sentence)
-						buffer.setCharAt(0, Character.toUpperCase(buffer.charAt(0)));
-					result.add(new RankedWordProposal(buffer.toString(), -distance));
-				}
+			final int key= index.find(hash);
+			if (key == PhoneticIndex.NONE)
 				continue;
-			}
 
-			@SuppressWarnings("unchecked")
-			final ArrayList<byte[]> candidateList= (ArrayList<byte[]>)candidates;
-			int candidateSize= Math.min(500, candidateList.size()); // see https://bugs.eclipse.org/bugs/show_bug.cgi?id=195357
-			for (int offset= 0; offset < candidateSize; offset++) {
+			int candidateSize= 500; // see https://bugs.eclipse.org/bugs/show_bug.cgi?id=195357
+			for (int candidateIndex= index.getFirstWord(key); candidateIndex != PhoneticIndex.NONE && candidateSize > 0; candidateIndex= index.getNextWord(candidateIndex), candidateSize--) {
 
-				String candidate;
-				try {
-					candidate= new String(candidateList.get(offset), UTF_8);
-				} catch (UnsupportedEncodingException e) {
-					JavaPlugin.log(e);
-					return result;
-				}
+				final String candidate= index.getWord(candidateIndex);
 				distance= fDistanceAlgorithm.getDistance(word, candidate);
 
 				if (distance < DISTANCE_THRESHOLD) {
@@ -255,37 +190,15 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 
 		StringBuilder buffer= new StringBuilder(BUFFER_CAPACITY);
 
-		final Object candidates= getCandidates(fHashProvider.getHash(word));
-		if (candidates == null)
+		final PhoneticIndex index= fHashBuckets;
+		final int key= index.find(fHashProvider.getHash(word));
+		if (key == PhoneticIndex.NONE)
 			return;
-		else if (candidates instanceof byte[]) {
-			String candidate;
-			try {
-				candidate= new String((byte[])candidates, UTF_8);
-			} catch (UnsupportedEncodingException e) {
-				JavaPlugin.log(e);
-				return;
-			}
-			distance= fDistanceAlgorithm.getDistance(word, candidate);
-			buffer.append(candidate);
-			if (sentence)
-				buffer.setCharAt(0, Character.toUpperCase(buffer.charAt(0)));
-			result.add(new RankedWordProposal(buffer.toString(), -distance));
-			return;
-		}
 
-		@SuppressWarnings("unchecked")
-		final ArrayList<byte[]> candidateList= (ArrayList<byte[]>)candidates;
-		final ArrayList<RankedWordProposal> matches= new ArrayList<>(candidateList.size());
+		final ArrayList<RankedWordProposal> matches= new ArrayList<>();
 
-		for (byte[] element : candidateList) {
-			String candidate;
-			try {
-				candidate= new String(element, UTF_8);
-			} catch (UnsupportedEncodingException e) {
-				JavaPlugin.log(e);
-				return;
-			}
+		for (int candidateIndex= index.getFirstWord(key); candidateIndex != PhoneticIndex.NONE; candidateIndex= index.getNextWord(candidateIndex)) {
+			final String candidate= index.getWord(candidateIndex);
 			distance= fDistanceAlgorithm.getDistance(word, candidate);
 
 			if (distance <= minimum) {
@@ -462,31 +375,7 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	 */
 	protected final void hashWord(final String word) {
 
-		final String hash= fHashProvider.getHash(word);
-		ByteArrayWrapper hashBytes;
-		byte[] wordBytes;
-		try {
-			hashBytes= new ByteArrayWrapper(hash.getBytes(UTF_8));
-			wordBytes= word.getBytes(UTF_8);
-		} catch (UnsupportedEncodingException e) {
-			JavaPlugin.log(e);
-			return;
-		}
-
-		Object bucket= fHashBuckets.get(hashBytes);
-
-		if (bucket == null) {
-			fHashBuckets.put(hashBytes, wordBytes);
-		} else if (bucket instanceof ArrayList) {
-			@SuppressWarnings("unchecked")
-			ArrayList<byte[]> bucketList= (ArrayList<byte[]>)bucket;
-			bucketList.add(wordBytes);
-		} else {
-			ArrayList<Object> list= new ArrayList<>(BUCKET_CAPACITY);
-			list.add(bucket);
-			list.add(wordBytes);
-			fHashBuckets.put(hashBytes, list);
-		}
+		fHashBuckets.add(fHashProvider.getHash(word), word);
 	}
 
 	@Override
@@ -506,36 +395,15 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 			// Do nothing
 		}
 
-		final Object candidates= getCandidates(fHashProvider.getHash(word));
-		if (candidates == null)
+		final PhoneticIndex index= fHashBuckets;
+		final int key= index.find(fHashProvider.getHash(word));
+		if (key == PhoneticIndex.NONE)
 			return false;
-		else if (candidates instanceof byte[]) {
-			String candidate;
-			try {
-				candidate= new String((byte[])candidates, UTF_8);
-			} catch (UnsupportedEncodingException e) {
-				JavaPlugin.log(e);
-				return false;
-			}
-			if (candidate.equals(word) || candidate.equals(word.toLowerCase()))
-				return true;
-			return false;
-		}
-		@SuppressWarnings("unchecked")
-		final ArrayList<byte[]> candidateList= (ArrayList<byte[]>)candidates;
-		byte[] wordBytes;
-		byte[] lowercaseWordBytes;
-		try {
-			wordBytes= word.getBytes(UTF_8);
-			lowercaseWordBytes= word.toLowerCase().getBytes(UTF_8);
-		} catch (UnsupportedEncodingException e) {
-			JavaPlugin.log(e);
-			return false;
-		}
-		for (byte[] candidate : candidateList) {
-			if (Arrays.equals(candidate, wordBytes) || Arrays.equals(candidate, lowercaseWordBytes)) {
+
+		final String lowercaseWord= word.toLowerCase();
+		for (int candidateIndex= index.getFirstWord(key); candidateIndex != PhoneticIndex.NONE; candidateIndex= index.getNextWord(candidateIndex)) {
+			if (index.isWord(candidateIndex, word) || index.isWord(candidateIndex, lowercaseWord))
 				return true;
-			}
 		}
 		return false;
 	}
@@ -574,11 +442,15 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 
 	@Override
 	public synchronized final boolean isLoaded() {
-		return fLoaded || fHashBuckets.size() > 0;
+		return fLoaded || !fHashBuckets.isEmpty();
 	}
 
 	/**
 	 * Loads a dictionary word list from disk.
+	 * <p>
+	 * The index of large word lists is cached in the plug-in state location. If the word list did
+	 * not change since, the index is read from the cache instead of hashing the words again.
+	 * </p>
 	 *
 	 * @param url
 	 *                   The URL of the word list to load
@@ -593,8 +465,15 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 			InputStream stream= null;
 			int line= 0;
 			try {
-				stream= url.openStream();
+				URLConnection connection= url.openConnection();
+				stream= connection.getInputStream();
 				if (stream != null) {
+					String cacheStamp= getIndexCacheStamp(url, connection);
+					// the cache only holds the words of this list, not those added before
+					boolean cacheable= cacheStamp != null && fHashBuckets.isEmpty();
+					if (cacheable && readIndexCache(url, cacheStamp))
+						return true;
+
 					String word= null;
 
 					// Setup a reader with a decoder in order to read over malformed input if needed.
@@ -627,6 +506,8 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 								hashWord(word);
 						}
 					}
+					if (cacheable && fHashBuckets.getWordCount() >= MIN_CACHED_WORDS)
+						writeIndexCache(url, cacheStamp);
 					return true;
 				}
 			} catch (FileNotFoundException ex) {
@@ -659,18 +540,107 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 		return false;
 	}
 
+	/**
+	 * Returns the stamp which identifies the current content of a word list and the way it is
+	 * hashed.
+	 *
+	 * @param url the URL of the word list
+	 * @param connection the open connection to the word list
+	 * @return the stamp, or <code>null</code> if the index of the word list cannot be cached
+	 * @since 3.33
+	 */
+	private String getIndexCacheStamp(URL url, URLConnection connection) {
+		long lastModified= connection.getLastModified();
+		long length= connection.getContentLengthLong();
+		if (lastModified == 0 || length <= 0)
+			return null;
+		return url.toExternalForm() + '|' + getEncoding() + '|' + fHashProvider.getClass().getName() + '|' + lastModified + '|' + length;
+	}
+
+	/**
+	 * Returns the file which caches the index of the given word list.
+	 *
+	 * @param url the URL of the word list
+	 * @return the cache file, or <code>null</code> if there is no state location
+	 * @since 3.33
+	 */
+	private static File getIndexCacheFile(URL url) {
+		try {
+			File folder= JavaPlugin.getDefault().getStateLocation().append(INDEX_CACHE_FOLDER).toFile();
+			return new File(folder, Integer.toHexString(url.toExternalForm().hashCode()) + ".index"); //$NON-NLS-1$
+		} catch (IllegalStateException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Replaces the index by the cached index of the word list, if the cache is up to date.
+	 *
+	 * @param url the URL of the word list
+	 * @param stamp the stamp of the word list
+	 * @return <code>true</code> iff the index has been read from the cache
+	 * @since 3.33
+	 */
+	private boolean readIndexCache(URL url, String stamp) {
+		File file= getIndexCacheFile(url);
+		if (file == null || !file.isFile())
+			return false;
+
+		try {
+			// read in one go, a mapped file could not be replaced on all platforms while it is mapped
+			ByteBuffer buffer= ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+			byte[] cachedStamp= new byte[buffer.getInt()];
+			buffer.get(cachedStamp);
+			if (!stamp.equals(new String(cachedStamp, StandardCharsets.UTF_8)))
+				return false;
+
+			PhoneticIndex index= PhoneticIndex.read(buffer);
+			if (index == null)
+				return false;
+			fHashBuckets= index;
+			return true;
+		} catch (IOException | RuntimeException e) {
+			// corrupt cache, hash the word list again
+			return false;
+		}
+	}
+
+	/**
+	 * Writes the index to the cache.
+	 *
+	 * @param url the URL of the word list
+	 * @param stamp the stamp of the word list
+	 * @since 3.33
+	 */
+	private void writeIndexCache(URL url, String stamp) {
+		File file= getIndexCacheFile(url);
+		if (file == null)
+			return;
+
+		fHashBuckets.trimToSize();
+		File tempFile= new File(file.getParentFile(), file.getName() + ".tmp"); //$NON-NLS-1$
+		try {
+			file.getParentFile().mkdirs();
+			try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+				byte[] stampBytes= stamp.getBytes(StandardCharsets.UTF_8);
+				out.writeInt(stampBytes.length);
+				out.write(stampBytes);
+				fHashBuckets.write(out);
+			}
+			Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			tempFile.delete();
+			JavaPlugin.log(e);
+		}
+	}
+
 	/**
 	 * Compacts the dictionary.
 	 *
 	 * @since 3.3.
 	 */
 	private void compact() {
-		Iterator<Object> iter= fHashBuckets.values().iterator();
-		while (iter.hasNext()) {
-			Object element= iter.next();
-			if (element instanceof ArrayList)
-				((ArrayList<?>)element).trimToSize();
-		}
+		fHashBuckets.trimToSize();
 	}
 
 	/**
@@ -697,7 +667,7 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	public synchronized void unload() {
 		fLoaded= false;
 		fMustLoad= true;
-		fHashBuckets.clear();
+		fHashBuckets= new PhoneticIndex(getInitialSize());
 	}
 
 	@Override
@@ -0,0 +1,399 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.text.spelling.engine;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Compact mapping from phonetic hashes to the words with that hash.
+ * <p>
+ * Hashes and words are packed into one byte array, each prefixed by its length. Characters below
+ * <code>0x80</code> take one byte, other characters two or three bytes. The hashes are kept in an
+ * open addressing hash table of <code>int</code>s, and the words of a hash form a linked list of
+ * word indices in insertion order. Like that, the index consists of a handful of arrays
+ * independent of the number of words, and lookups do not allocate.
+ * </p>
+ * <p>
+ * The index is not thread safe. Words can be added at any time, but concurrent readers have to be
+ * synchronized by the client.
+ * </p>
+ *
+ * @since 3.33
+ */
+public final class PhoneticIndex {
+
+	/** Marks the end of a word list and an absent hash */
+	public static final int NONE= -1;
+
+	private static final int MAGIC= 0x50494458; // "PIDX"
+	private static final int VERSION= 1;
+
+	private static final float TABLE_LOAD_FACTOR= 0.7f;
+
+	/** The packed hashes and words */
+	private byte[] fData;
+	private int fDataSize;
+
+	/** Open addressing hash table, contains key index + 1, 0 for empty slots */
+	private int[] fTable;
+
+	/** Per hash: offset in fData, String#hashCode(), first and last word */
+	private int[] fKeyOffset;
+	private int[] fKeyHash;
+	private int[] fKeyFirstWord;
+	private int[] fKeyLastWord;
+	private int fKeyCount;
+
+	/** Per word: offset in fData and next word with the same hash */
+	private int[] fWordOffset;
+	private int[] fWordNext;
+	private int fWordCount;
+
+	/**
+	 * Creates an empty index.
+	 *
+	 * @param expectedHashes the expected number of distinct hashes
+	 */
+	public PhoneticIndex(int expectedHashes) {
+		int keys= Math.max(expectedHashes, 16);
+		fData= new byte[keys * 8];
+		fTable= new int[tableSize(keys)];
+		fKeyOffset= new int[keys];
+		fKeyHash= new int[keys];
+		fKeyFirstWord= new int[keys];
+		fKeyLastWord= new int[keys];
+		fWordOffset= new int[keys];
+		fWordNext= new int[keys];
+	}
+
+	private static int tableSize(int keys) {
+		int size= Integer.highestOneBit(Math.max((int) (keys / TABLE_LOAD_FACTOR), 16) - 1) << 1;
+		return size;
+	}
+
+	/**
+	 * Adds a word.
+	 *
+	 * @param hash the phonetic hash of the word
+	 * @param word the word
+	 */
+	public void add(String hash, String word) {
+		int key= find(hash);
+		if (key == NONE)
+			key= addKey(hash);
+
+		if (fWordCount == fWordOffset.length) {
+			int capacity= grow(fWordCount);
+			fWordOffset= Arrays.copyOf(fWordOffset, capacity);
+			fWordNext= Arrays.copyOf(fWordNext, capacity);
+		}
+		int wordIndex= fWordCount++;
+		fWordOffset[wordIndex]= append(word);
+		fWordNext[wordIndex]= NONE;
+		if (fKeyFirstWord[key] == NONE) {
+			fKeyFirstWord[key]= wordIndex;
+		} else {
+			fWordNext[fKeyLastWord[key]]= wordIndex;
+		}
+		fKeyLastWord[key]= wordIndex;
+	}
+
+	private int addKey(String hash) {
+		if (fKeyCount == fKeyOffset.length) {
+			int capacity= grow(fKeyCount);
+			fKeyOffset= Arrays.copyOf(fKeyOffset, capacity);
+			fKeyHash= Arrays.copyOf(fKeyHash, capacity);
+			fKeyFirstWord= Arrays.copyOf(fKeyFirstWord, capacity);
+			fKeyLastWord= Arrays.copyOf(fKeyLastWord, capacity);
+		}
+		int key= fKeyCount++;
+		fKeyOffset[key]= append(hash);
+		fKeyHash[key]= hash.hashCode();
+		fKeyFirstWord[key]= NONE;
+		fKeyLastWord[key]= NONE;
+
+		if (fKeyCount > fTable.length * TABLE_LOAD_FACTOR) {
+			rehash(fTable.length << 1);
+		} else {
+			insert(key);
+		}
+		return key;
+	}
+
+	private void rehash(int size) {
+		fTable= new int[size];
+		for (int key= 0; key < fKeyCount; key++) {
+			insert(key);
+		}
+	}
+
+	private void insert(int key) {
+		int mask= fTable.length - 1;
+		int slot= spread(fKeyHash[key]) & mask;
+		while (fTable[slot] != 0) {
+			slot= (slot + 1) & mask;
+		}
+		fTable[slot]= key + 1;
+	}
+
+	private static int spread(int hashCode) {
+		return hashCode ^ (hashCode >>> 16);
+	}
+
+	private static int grow(int size) {
+		return size + (size >> 1) + 16;
+	}
+
+	/**
+	 * Returns the index of the given hash.
+	 *
+	 * @param hash the phonetic hash
+	 * @return the key index of the hash or {@link #NONE}
+	 */
+	public int find(String hash) {
+		int hashCode= hash.hashCode();
+		int mask= fTable.length - 1;
+		int slot= spread(hashCode) & mask;
+		int entry;
+		while ((entry= fTable[slot]) != 0) {
+			int key= entry - 1;
+			if (fKeyHash[key] == hashCode && equals(fKeyOffset[key], hash))
+				return key;
+			slot= (slot + 1) & mask;
+		}
+		return NONE;
+	}
+
+	/**
+	 * @param key the key index as returned by {@link #find(String)}
+	 * @return the first word with this hash
+	 */
+	public int getFirstWord(int key) {
+		return fKeyFirstWord[key];
+	}
+
+	/**
+	 * @param word a word index
+	 * @return the next word with the same hash, or {@link #NONE}
+	 */
+	public int getNextWord(int word) {
+		return fWordNext[word];
+	}
+
+	/**
+	 * @param word a word index
+	 * @return the word
+	 */
+	public String getWord(int word) {
+		return decode(fWordOffset[word]);
+	}
+
+	/**
+	 * Compares a word without creating a string.
+	 *
+	 * @param word a word index
+	 * @param string the string to compare with
+	 * @return <code>true</code> iff the word is equal to the given string
+	 */
+	public boolean isWord(int word, String string) {
+		return equals(fWordOffset[word], string);
+	}
+
+	public boolean isEmpty() {
+		return fKeyCount == 0;
+	}
+
+	public int getHashCount() {
+		return fKeyCount;
+	}
+
+	public int getWordCount() {
+		return fWordCount;
+	}
+
+	/**
+	 * Trims the arrays to the current size.
+	 */
+	public void trimToSize() {
+		fData= Arrays.copyOf(fData, fDataSize);
+		fKeyOffset= Arrays.copyOf(fKeyOffset, fKeyCount);
+		fKeyHash= Arrays.copyOf(fKeyHash, fKeyCount);
+		fKeyFirstWord= Arrays.copyOf(fKeyFirstWord, fKeyCount);
+		fKeyLastWord= Arrays.copyOf(fKeyLastWord, fKeyCount);
+		fWordOffset= Arrays.copyOf(fWordOffset, fWordCount);
+		fWordNext= Arrays.copyOf(fWordNext, fWordCount);
+	}
+
+	/*
+	 * Encoding: byte length (1 or 3 bytes) followed by the characters
+	 */
+
+	private int append(String string) {
+		int length= string.length();
+		int byteLength= 0;
+		for (int i= 0; i < length; i++) {
+			char c= string.charAt(i);
+			byteLength+= c < 0x80 ? 1 : c < 0x800 ? 2 : 3;
+		}
+		int required= fDataSize + byteLength + 3;
+		if (required > fData.length)
+			fData= Arrays.copyOf(fData, Math.max(required, grow(fData.length)));
+
+		int offset= fDataSize;
+		int pos= offset;
+		if (byteLength < 0x80) {
+			fData[pos++]= (byte) byteLength;
+		} else {
+			fData[pos++]= (byte) (0x80 | (byteLength >>> 16));
+			fData[pos++]= (byte) (byteLength >>> 8);
+			fData[pos++]= (byte) byteLength;
+		}
+		for (int i= 0; i < length; i++) {
+			char c= string.charAt(i);
+			if (c < 0x80) {
+				fData[pos++]= (byte) c;
+			} else if (c < 0x800) {
+				fData[pos++]= (byte) (0xC0 | (c >>> 6));
+				fData[pos++]= (byte) (0x80 | (c & 0x3F));
+			} else {
+				fData[pos++]= (byte) (0xE0 | (c >>> 12));
+				fData[pos++]= (byte) (0x80 | ((c >>> 6) & 0x3F));
+				fData[pos++]= (byte) (0x80 | (c & 0x3F));
+			}
+		}
+		fDataSize= pos;
+		return offset;
+	}
+
+	private int getByteLength(int offset) {
+		int b= fData[offset] & 0xFF;
+		if (b < 0x80)
+			return b;
+		return ((b & 0x7F) << 16) | ((fData[offset + 1] & 0xFF) << 8) | (fData[offset + 2] & 0xFF);
+	}
+
+	private int getStart(int offset) {
+		return (fData[offset] & 0x80) == 0 ? offset + 1 : offset + 3;
+	}
+
+	private String decode(int offset) {
+		int pos= getStart(offset);
+		int end= pos + getByteLength(offset);
+		char[] chars= new char[end - pos];
+		int count= 0;
+		while (pos < end) {
+			int b= fData[pos++] & 0xFF;
+			if (b < 0x80) {
+				chars[count++]= (char) b;
+			} else if (b < 0xE0) {
+				chars[count++]= (char) (((b & 0x1F) << 6) | (fData[pos++] & 0x3F));
+			} else {
+				chars[count++]= (char) (((b & 0x0F) << 12) | ((fData[pos++] & 0x3F) << 6) | (fData[pos++] & 0x3F));
+			}
+		}
+		return new String(chars, 0, count);
+	}
+
+	private boolean equals(int offset, String string) {
+		int pos= getStart(offset);
+		int end= pos + getByteLength(offset);
+		int length= string.length();
+		int i= 0;
+		while (pos < end) {
+			if (i == length)
+				return false;
+			int b= fData[pos++] & 0xFF;
+			char c;
+			if (b < 0x80) {
+				c= (char) b;
+			} else if (b < 0xE0) {
+				c= (char) (((b & 0x1F) << 6) | (fData[pos++] & 0x3F));
+			} else {
+				c= (char) (((b & 0x0F) << 12) | ((fData[pos++] & 0x3F) << 6) | (fData[pos++] & 0x3F));
+			}
+			if (c != string.charAt(i++))
+				return false;
+		}
+		return i == length;
+	}
+
+	/**
+	 * Writes the index, see {@link #read(ByteBuffer)}.
+	 *
+	 * @param out the stream to write to
+	 * @throws IOException if writing fails
+	 */
+	public void write(DataOutputStream out) throws IOException {
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+		out.writeInt(fDataSize);
+		out.writeInt(fKeyCount);
+		out.writeInt(fWordCount);
+		out.write(fData, 0, fDataSize);
+		writeInts(out, fKeyOffset, fKeyCount);
+		writeInts(out, fKeyHash, fKeyCount);
+		writeInts(out, fKeyFirstWord, fKeyCount);
+		writeInts(out, fKeyLastWord, fKeyCount);
+		writeInts(out, fWordOffset, fWordCount);
+		writeInts(out, fWordNext, fWordCount);
+	}
+
+	private static void writeInts(DataOutputStream out, int[] values, int count) throws IOException {
+		for (int i= 0; i < count; i++) {
+			out.writeInt(values[i]);
+		}
+	}
+
+	/**
+	 * Reads an index written by {@link #write(DataOutputStream)}. The arrays are transferred in
+	 * bulk, the hashes are not recomputed.
+	 *
+	 * @param buffer the buffer to read from, e.g. a mapped file
+	 * @return the index, or <code>null</code> if the buffer does not contain a compatible index
+	 */
+	public static PhoneticIndex read(ByteBuffer buffer) {
+		if (buffer.remaining() < 20 || buffer.getInt() != MAGIC || buffer.getInt() != VERSION)
+			return null;
+		int dataSize= buffer.getInt();
+		int keyCount= buffer.getInt();
+		int wordCount= buffer.getInt();
+		if (dataSize < 0 || keyCount < 0 || wordCount < 0 || buffer.remaining() != dataSize + 16L * keyCount + 8L * wordCount)
+			return null;
+
+		PhoneticIndex index= new PhoneticIndex(0);
+		index.fData= new byte[dataSize];
+		buffer.get(index.fData);
+		index.fDataSize= dataSize;
+		index.fKeyOffset= readInts(buffer, keyCount);
+		index.fKeyHash= readInts(buffer, keyCount);
+		index.fKeyFirstWord= readInts(buffer, keyCount);
+		index.fKeyLastWord= readInts(buffer, keyCount);
+		index.fKeyCount= keyCount;
+		index.fWordOffset= readInts(buffer, wordCount);
+		index.fWordNext= readInts(buffer, wordCount);
+		index.fWordCount= wordCount;
+		index.rehash(tableSize(keyCount));
+		return index;
+	}
+
+	private static int[] readInts(ByteBuffer buffer, int count) {
+		int[] values= new int[count];
+		buffer.asIntBuffer().get(values);
+		buffer.position(buffer.position() + count * 4);
+		return values;
+	}
+}
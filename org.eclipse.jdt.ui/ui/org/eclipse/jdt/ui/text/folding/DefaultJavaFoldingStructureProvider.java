@@ -386,7 +386,9 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 
 				fUpdatingCount++;
 				try {
-					update(createContext(false));
+					FoldingStructureComputationContext ctx= createContext(false);
+					if (!updateIncrementally(ctx, delta))
+						update(ctx);
 				} finally {
 					fUpdatingCount--;
 				}
@@ -748,6 +750,22 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 
 	private volatile int fUpdatingCount= 0;
 
+	/**
+	 * The maximum number of elements an update driven by a fine grained delta recomputes, including
+	 * the elements of changed subtrees and their ancestors. Updates with more elements, and all
+	 * updates if <code>0</code>, recompute the whole folding structure.
+	 *
+	 * @since 3.33
+	 */
+	private static final int MAX_INCREMENTAL_ELEMENTS= Integer.getInteger("org.eclipse.jdt.ui.folding.maxIncrementalElements", 200).intValue(); //$NON-NLS-1$
+
+	/**
+	 * The flags of a compilation unit delta which can be handled incrementally.
+	 *
+	 * @since 3.33
+	 */
+	private static final int INCREMENTAL_FLAGS= IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_CHILDREN | IJavaElementDelta.F_FINE_GRAINED | IJavaElementDelta.F_AST_AFFECTED;
+
 	/**
 	 * Creates a new folding provider. It must be
 	 * {@link #install(ITextEditor, ProjectionViewer) installed} on an editor/viewer pair before it
@@ -912,13 +930,159 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 		if (ctx == null)
 			return;
 
+		computeFoldingStructure(ctx);
+		update(ctx, computeCurrentStructure(ctx, null));
+	}
+
+	/**
+	 * Updates the folding structure of the elements changed by a fine grained delta of the input.
+	 * <p>
+	 * Only the elements of added or changed subtrees, their ancestors and the first type, which
+	 * carries the header comment, are recomputed and compared with their current annotations. The
+	 * annotations of the other elements are kept, their positions are updated by the document
+	 * while typing. The annotations of removed subtrees are deleted.
+	 * </p>
+	 *
+	 * @param ctx the computation context
+	 * @param delta the delta of the input
+	 * @return <code>false</code> if the whole folding structure has to be computed instead
+	 * @since 3.33
+	 */
+	private boolean updateIncrementally(FoldingStructureComputationContext ctx, IJavaElementDelta delta) {
+		if (ctx == null)
+			return true;
+		if (MAX_INCREMENTAL_ELEMENTS <= 0 || !(fInput instanceof ICompilationUnit) || delta.getKind() != IJavaElementDelta.CHANGED)
+			return false;
+		int flags= delta.getFlags();
+		if ((flags & IJavaElementDelta.F_FINE_GRAINED) == 0 || (flags & ~INCREMENTAL_FLAGS) != 0)
+			return false;
+
+		Set<IJavaElement> changed= new HashSet<>();
+		Set<IJavaElement> removed= new HashSet<>();
+		if (!collectChanges(delta, changed, removed))
+			return false;
+		Set<IJavaElement> ancestors= new HashSet<>();
+		for (Set<IJavaElement> elements : List.of(changed, removed)) {
+			for (IJavaElement element : elements) {
+				IJavaElement parent= element.getParent();
+				while (parent != null && !parent.equals(fInput) && ancestors.add(parent))
+					parent= parent.getParent();
+			}
+		}
+
+		Set<IJavaElement> computed= new HashSet<>();
+		try {
+			String source= ((ISourceReference) fInput).getSource();
+			if (source == null)
+				return true;
+
+			ctx.getScanner().setSource(source.toCharArray());
+			IJavaElement[] children= ((IParent) fInput).getChildren();
+			IJavaElement firstType= null;
+			for (IJavaElement child : children) {
+				if (child instanceof IType) {
+					firstType= child;
+					break;
+				}
+			}
+			if (!computeFoldingStructure(children, firstType, changed, ancestors, false, computed, ctx))
+				return false;
+		} catch (JavaModelException x) {
+			return false;
+		}
+
+		Set<IJavaElement> roots= new HashSet<>(changed);
+		roots.addAll(removed);
+		update(ctx, computeCurrentStructure(ctx, annotation -> computed.contains(annotation.getElement()) || isInSubtree(annotation.getElement(), roots)));
+		return true;
+	}
+
+	/**
+	 * Collects the roots of the changed and removed subtrees of a delta.
+	 *
+	 * @param delta the delta
+	 * @param changed the set to add the roots of added or changed subtrees to
+	 * @param removed the set to add the removed elements to
+	 * @return <code>false</code> if there are more than {@link #MAX_INCREMENTAL_ELEMENTS} roots
+	 * @since 3.33
+	 */
+	private boolean collectChanges(IJavaElementDelta delta, Set<IJavaElement> changed, Set<IJavaElement> removed) {
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			switch (child.getKind()) {
+				case IJavaElementDelta.ADDED:
+					changed.add(child.getElement());
+					break;
+				case IJavaElementDelta.REMOVED:
+					removed.add(child.getElement());
+					break;
+				default:
+					if ((child.getFlags() & ~IJavaElementDelta.F_CHILDREN) != 0)
+						changed.add(child.getElement());
+					else if (!collectChanges(child, changed, removed))
+						return false;
+			}
+			if (changed.size() + removed.size() > MAX_INCREMENTAL_ELEMENTS)
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Computes the folding structure of the given elements which are affected by a delta, in the
+	 * order of {@link #computeFoldingStructure(IJavaElement[], FoldingStructureComputationContext)}.
+	 *
+	 * @param elements the elements
+	 * @param firstType the first type of the input
+	 * @param changed the roots of added or changed subtrees
+	 * @param ancestors the ancestors of changed or removed elements
+	 * @param inChangedSubtree whether the elements are in a changed subtree
+	 * @param computed the set to add the elements to whose structure was computed
+	 * @param ctx the computation context
+	 * @return <code>false</code> if more than {@link #MAX_INCREMENTAL_ELEMENTS} elements would be
+	 *         computed
+	 * @throws JavaModelException if the children of an element cannot be accessed
+	 * @since 3.33
+	 */
+	private boolean computeFoldingStructure(IJavaElement[] elements, IJavaElement firstType, Set<IJavaElement> changed, Set<IJavaElement> ancestors, boolean inChangedSubtree,
+			Set<IJavaElement> computed, FoldingStructureComputationContext ctx) throws JavaModelException {
+		for (IJavaElement element : elements) {
+			boolean changedElement= inChangedSubtree || changed.contains(element);
+			boolean ancestor= ancestors.contains(element);
+			if (changedElement || ancestor || element.equals(firstType)) {
+				if (computed.size() >= MAX_INCREMENTAL_ELEMENTS)
+					return false;
+				computeFoldingStructure(element, ctx);
+				computed.add(element);
+			}
+			if ((changedElement || ancestor) && element instanceof IParent) {
+				if (!computeFoldingStructure(((IParent) element).getChildren(), firstType, changed, ancestors, changedElement, computed, ctx))
+					return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isInSubtree(IJavaElement element, Set<IJavaElement> roots) {
+		for (IJavaElement e= element; e != null; e= e.getParent()) {
+			if (roots.contains(e))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Replaces the given current annotations with the structure computed into the context.
+	 *
+	 * @param ctx the computation context
+	 * @param oldStructure the current annotations of the elements whose structure was computed
+	 * @since 3.33
+	 */
+	private void update(FoldingStructureComputationContext ctx, Map<IJavaElement, List<Tuple>> oldStructure) {
 		Map<JavaProjectionAnnotation, Position> additions= new HashMap<>();
 		List<JavaProjectionAnnotation> deletions= new ArrayList<>();
 		List<JavaProjectionAnnotation> updates= new ArrayList<>();
 
-		computeFoldingStructure(ctx);
 		Map<JavaProjectionAnnotation, Position> newStructure= ctx.fMap;
-		Map<IJavaElement, List<Tuple>> oldStructure= computeCurrentStructure(ctx);
 
 		Iterator<JavaProjectionAnnotation> e= newStructure.keySet().iterator();
 		while (e.hasNext()) {
@@ -1416,7 +1580,7 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 		return null;
 	}
 
-	private Map<IJavaElement, List<Tuple>> computeCurrentStructure(FoldingStructureComputationContext ctx) {
+	private Map<IJavaElement, List<Tuple>> computeCurrentStructure(FoldingStructureComputationContext ctx, Filter filter) {
 		Map<IJavaElement, List<Tuple>> map= new HashMap<>();
 		ProjectionAnnotationModel model= ctx.getModel();
 		Iterator<Annotation> e= model.getAnnotationIterator();
@@ -1424,6 +1588,8 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 			Object annotation= e.next();
 			if (annotation instanceof JavaProjectionAnnotation) {
 				JavaProjectionAnnotation java= (JavaProjectionAnnotation) annotation;
+				if (filter != null && !filter.match(java))
+					continue;
 				Position position= model.getPosition(java);
 				Assert.isNotNull(position);
 				List<Tuple> list= map.get(java.getElement());